@@ -1,15 +1,72 @@
 package es.uab.tqs.battleship;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import es.uab.tqs.battleship.ai.AnytimeSearch;
+import es.uab.tqs.battleship.ai.AttackStrategy;
+import es.uab.tqs.battleship.ai.EndgameStrategy;
+import es.uab.tqs.battleship.ai.OpeningBook;
+import es.uab.tqs.battleship.ai.OpeningBookStrategy;
+import es.uab.tqs.battleship.ai.PlacementLearningStrategy;
+import es.uab.tqs.battleship.ai.PlacementPrior;
+import es.uab.tqs.battleship.ai.Strategies;
+import es.uab.tqs.battleship.ai.TranspositionTable;
+import es.uab.tqs.battleship.controller.BoardController;
 import es.uab.tqs.battleship.controller.GameController;
+import es.uab.tqs.battleship.model.ByteBoard;
+import es.uab.tqs.battleship.model.Game;
 import es.uab.tqs.battleship.view.ConsoleView;
 
 public class Main {
-    public static void main(String[] args) {
+    public static void main(String[] args) throws IOException {
         ConsoleView view = new ConsoleView();
-        GameController controller = new GameController(view);
+
+        // The computer's strategies and move budget can be chosen per deployment, e.g.
+        // -Dbattleship.attack=density -Dbattleship.moveMillis=50 -Dbattleship.ponderMillis=2000
+        // -Dbattleship.openingBook=book.bin (written by OpeningBookBuilder)
+        // -Dbattleship.endgameLayouts=20 to solve endgames of up to 20 layouts exactly (0 turns it off)
+        // -Dbattleship.placementPrior=prior.bin to learn where players place their ships
+        AttackStrategy attack = Strategies.attackStrategy(System.getProperty("battleship.attack", "random"));
+        String openingBook = System.getProperty("battleship.openingBook");
+        if (openingBook != null) {
+            attack = new OpeningBookStrategy(OpeningBook.open(Paths.get(openingBook)), attack);
+        }
+        int endgameLayouts = Integer.getInteger("battleship.endgameLayouts",
+                EndgameStrategy.DEFAULT_MAX_LAYOUTS);
+        if (endgameLayouts > 0) {
+            attack = new EndgameStrategy(attack, endgameLayouts, EndgameStrategy.DEFAULT_MAX_NODES,
+                    new TranspositionTable(EndgameStrategy.DEFAULT_TABLE_ENTRIES));
+        }
+        String priorFile = System.getProperty("battleship.placementPrior");
+        PlacementPrior prior = null;
+        if (priorFile != null) {
+            prior = PlacementPrior.loadOrCreate(Paths.get(priorFile), 10);
+            prior.startAutosave(Paths.get(priorFile),
+                    Duration.ofSeconds(Long.getLong("battleship.priorSaveSeconds", 60)));
+            attack = new PlacementLearningStrategy(prior, attack);
+        }
+        String ponderMillis = System.getProperty("battleship.ponderMillis");
+        if (ponderMillis != null) {
+            attack = new AnytimeSearch(attack, Duration.ofMillis(Long.parseLong(ponderMillis)));
+        }
+
+        Game game = new Game(new ByteBoard(10), new ByteBoard(10), attack,
+                Strategies.placementStrategy(System.getProperty("battleship.placement", "random")));
+        String moveMillis = System.getProperty("battleship.moveMillis");
+        if (moveMillis != null) {
+            game.setMoveBudget(Duration.ofMillis(Long.parseLong(moveMillis)),
+                    Long.getLong("battleship.moveNodes", Long.MAX_VALUE));
+        }
+
+        GameController controller = new GameController(view, game, new BoardController(view));
 
         controller.startGame();
 
         view.close();
+        if (prior != null) {
+            prior.close();
+        }
     }
 }
@@ -0,0 +1,263 @@
+package es.uab.tqs.battleship.ai;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.Board;
+
+/**
+ * Runs an attack strategy in the background while the opponent thinks, and
+ * hands out its best move the moment it is needed.
+ *
+ * <p>{@link #start} begins a series of rounds on a background thread. Each
+ * round asks the strategy for a target with a node budget four times larger
+ * than the previous one, so searching strategies return better moves as
+ * rounds go by, and the last round has no node limit. Rounds stop when the
+ * think limit given at construction has passed since start, or when
+ * {@link #commit} is called: the running round is cancelled through its
+ * {@link ComputeBudget}, and the move of the last completed round is returned
+ * (or the answer of the cancelled round if none completed).</p>
+ *
+ * <p>The board must not change between start and commit; in a game the
+ * computer only ponders on the player's board during the player's turn. The
+ * strategy is only called by the background thread until commit returns.</p>
+ *
+ * <p>As an attack strategy it ponders in a game: thinking starts on
+ * {@link #onOpponentTurn}, {@link #nextTarget} commits, and the background
+ * thread is released when the game is over.</p>
+ */
+public class AnytimeSearch implements AttackStrategy, AutoCloseable {
+
+    /** Node budget of the first round. */
+    static final long INITIAL_ROUND_NODES = 1024;
+
+    private final AttackStrategy strategy;
+    private final Duration thinkLimit;
+    private ExecutorService executor;
+
+    private volatile Future<?> thinking;
+    private volatile boolean stopped;
+    private volatile ComputeBudget round;
+    private volatile int best;
+    private volatile int rounds;
+
+    /**
+     * Constructs an anytime search over the given strategy.
+     *
+     * @param strategy   The strategy to run in the background.
+     * @param thinkLimit The longest time to keep improving after start, or null
+     *                   to think until commit.
+     * @throws IllegalArgumentException if thinkLimit is negative.
+     */
+    public AnytimeSearch(AttackStrategy strategy, Duration thinkLimit) {
+        if (thinkLimit != null && thinkLimit.isNegative()) {
+            throw new IllegalArgumentException("Invalid think limit: " + thinkLimit);
+        }
+        this.strategy = strategy;
+        this.thinkLimit = thinkLimit;
+        this.best = -1;
+    }
+
+    /**
+     * Gets the name of the strategy run in the background, so that moves are
+     * timed under the same name whether it ponders or not.
+     *
+     * @return The name of the strategy.
+     */
+    @Override
+    public String getName() {
+        return strategy.getName();
+    }
+
+    /**
+     * Gets the strategy run in the background.
+     *
+     * @return The strategy.
+     */
+    public AttackStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Gets the longest time to keep improving after start.
+     *
+     * @return The think limit, or null to think until commit.
+     */
+    public Duration getThinkLimit() {
+        return thinkLimit;
+    }
+
+    /**
+     * Starts thinking about the next attack on the given board, dropping any
+     * previous thinking.
+     *
+     * @param board The opponent board, which must not change until commit.
+     */
+    public synchronized void start(Board board) {
+        stop();
+        stopped = false;
+        round = null;
+        best = -1;
+        rounds = 0;
+        long deadline = thinkLimit == null ? 0 : System.nanoTime() + thinkLimit.toNanos();
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "anytime-" + strategy.getName());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        thinking = executor.submit(() -> think(board, deadline));
+    }
+
+    /**
+     * Stops thinking and returns the best move found. Without a previous start,
+     * the strategy is called right away with the given budget.
+     *
+     * @param board  The opponent board.
+     * @param budget The budget of a direct call, used when nothing was started.
+     * @return The index of a cell that has not been attacked yet.
+     */
+    public synchronized int commit(Board board, ComputeBudget budget) {
+        boolean started = thinking != null;
+        stop();
+        int move = best;
+        best = -1;
+        if (!started || move < 0) {
+            return strategy.nextTarget(board, budget);
+        }
+        return move;
+    }
+
+    /**
+     * Commits the move thought about since the opponent's turn began.
+     *
+     * @param board  The opponent board.
+     * @param budget The budget of a direct call, used when nothing was started.
+     * @return The index of a cell that has not been attacked yet.
+     */
+    @Override
+    public int nextTarget(Board board, ComputeBudget budget) {
+        return commit(board, budget);
+    }
+
+    /**
+     * Starts thinking about the next attack.
+     *
+     * @param board The opponent board.
+     */
+    @Override
+    public void onOpponentTurn(Board board) {
+        start(board);
+    }
+
+    @Override
+    public void onAttackResult(Board board, int cell, AttackResult result) {
+        strategy.onAttackResult(board, cell, result);
+    }
+
+    @Override
+    public void usePlacementPrior(PlacementPrior prior) {
+        strategy.usePlacementPrior(prior);
+    }
+
+    /**
+     * Stops thinking and releases the background thread; the next start
+     * creates a new one.
+     *
+     * @param board The opponent board.
+     */
+    @Override
+    public void onGameOver(Board board) {
+        close();
+        strategy.onGameOver(board);
+    }
+
+    /**
+     * Checks whether rounds are still running in the background.
+     *
+     * @return true until the think limit passes, the last round ends, or commit.
+     */
+    public boolean isThinking() {
+        Future<?> current = thinking;
+        return current != null && !current.isDone();
+    }
+
+    /**
+     * Gets the number of rounds completed since the last start.
+     *
+     * @return The completed rounds.
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Stops thinking and releases the background thread.
+     */
+    @Override
+    public synchronized void close() {
+        stop();
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Cancels the running round and waits until the strategy returns.
+     */
+    private void stop() {
+        if (thinking == null) {
+            return;
+        }
+        stopped = true;
+        ComputeBudget current = round;
+        if (current != null) {
+            current.cancel();
+        }
+        try {
+            thinking.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Background search failed", e.getCause());
+        } finally {
+            thinking = null;
+        }
+    }
+
+    private void think(Board board, long deadline) {
+        long nodes = INITIAL_ROUND_NODES;
+        while (true) {
+            Duration left = null;
+            if (thinkLimit != null) {
+                left = Duration.ofNanos(Math.max(0, deadline - System.nanoTime()));
+            }
+            ComputeBudget budget = ComputeBudget.cancellable(left, nodes);
+            round = budget;
+            if (stopped || budget.isExpired()) {
+                return;
+            }
+
+            int move = strategy.nextTarget(board, budget);
+            if (budget.isCancelled()) {
+                if (rounds == 0) {
+                    best = move;
+                }
+                return;
+            }
+            best = move;
+            rounds++;
+
+            if (nodes == Long.MAX_VALUE || budget.isExpired()) {
+                return;
+            }
+            nodes = nodes > Long.MAX_VALUE / 4 ? Long.MAX_VALUE : nodes * 4;
+        }
+    }
+}
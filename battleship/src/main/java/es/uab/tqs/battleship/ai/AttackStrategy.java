@@ -0,0 +1,92 @@
+package es.uab.tqs.battleship.ai;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.Board;
+
+/**
+ * Decides where the computer fires next.
+ * A strategy only learns about the opponent board through what a player would
+ * know: which cells have been attacked, the result of every attack it made, and
+ * the ships it has sunk. It must never read the state of cells it has not
+ * attacked.
+ *
+ * <p>Cells are identified by their packed row-major index
+ * ({@code y * size + x}, see {@link Board#cellIndex(int, int)}).</p>
+ *
+ * <p>This is a service interface: implementations with a public no-argument
+ * constructor can be listed in {@code META-INF/services} and looked up by name
+ * through {@link Strategies}.</p>
+ */
+public interface AttackStrategy {
+
+    /**
+     * Gets the name the strategy is looked up by.
+     *
+     * @return A short, unique, lower-case name.
+     */
+    String getName();
+
+    /**
+     * Chooses the next cell to attack within the given compute budget.
+     * Searching strategies must return their best choice so far when the budget
+     * runs out.
+     *
+     * @param board  The opponent board.
+     * @param budget The compute budget for this decision.
+     * @return The index of a cell that has not been attacked yet.
+     */
+    int nextTarget(Board board, ComputeBudget budget);
+
+    /**
+     * Chooses the next cell to attack without a compute budget.
+     *
+     * @param board The opponent board.
+     * @return The index of a cell that has not been attacked yet.
+     */
+    default int nextTarget(Board board) {
+        return nextTarget(board, ComputeBudget.unlimited());
+    }
+
+    /**
+     * Receives the result of an attack, so that strategies can update their
+     * knowledge incrementally. Called by the game after every attack made with
+     * this strategy.
+     *
+     * @param board  The opponent board.
+     * @param cell   The index of the attacked cell.
+     * @param result The result of the attack.
+     */
+    default void onAttackResult(Board board, int cell, AttackResult result) {
+    }
+
+    /**
+     * Tells the strategy that the opponent's turn has begun. The board does not
+     * change until the next call to {@link #nextTarget}, so strategies may
+     * start thinking about it in the background (see {@link AnytimeSearch});
+     * the default does nothing.
+     *
+     * @param board The opponent board.
+     */
+    default void onOpponentTurn(Board board) {
+    }
+
+    /**
+     * Tells the strategy that the game on the given board has ended, whoever
+     * won. Strategies release what they keep for the board, such as listeners
+     * and background threads; the default does nothing.
+     *
+     * @param board The opponent board.
+     */
+    default void onGameOver(Board board) {
+    }
+
+    /**
+     * Gives the strategy a prior over where the opponent places its ships.
+     * Strategies that weight placements use it from their next game on;
+     * others ignore it, which is the default.
+     *
+     * @param prior The placement prior, or null to weight placements uniformly.
+     */
+    default void usePlacementPrior(PlacementPrior prior) {
+    }
+}
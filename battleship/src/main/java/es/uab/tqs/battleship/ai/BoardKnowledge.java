@@ -0,0 +1,243 @@
+package es.uab.tqs.battleship.ai;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.CellState;
+import es.uab.tqs.battleship.model.PlacementIndex;
+import es.uab.tqs.battleship.model.Ship;
+
+/**
+ * What an attacker legitimately knows about an opponent board, as bitsets
+ * over packed cell indexes: attacked cells, blocked cells (misses and sunk
+ * ships, which no remaining ship can cover), and unresolved hits. The lengths
+ * of the ships still afloat are counted too, as the fleet composition is public
+ * in Battleship; sunk ships are read from the cell that sank them.
+ *
+ * <p>The bitsets use the layout of {@link PlacementIndex}, so they can be
+ * passed to it directly. Boards larger than {@link PlacementIndex#MAX_SIZE} are
+ * not supported.</p>
+ */
+class BoardKnowledge {
+
+    private Board board;
+    private PlacementIndex index;
+    private int size;
+    private long[] attacked;
+    private long[] blocked;
+    private long[] hits;
+    private int[] remainingByLength;
+    private int remainingShips;
+
+    /**
+     * Starts tracking a board, reading its public state from scratch, unless
+     * it is the board already tracked.
+     *
+     * @param board The opponent board.
+     * @return true if the knowledge was rebuilt.
+     */
+    boolean sync(Board board) {
+        if (board == this.board) {
+            return false;
+        }
+
+        this.board = board;
+        this.size = board.getSize();
+        this.index = PlacementIndex.forSize(size);
+
+        int words = index.getWordCount();
+        this.attacked = new long[words];
+        this.blocked = new long[words];
+        this.hits = new long[words];
+        this.remainingByLength = new int[size + 1];
+        this.remainingShips = 0;
+
+        board.forEachShip(ship -> {
+            if (ship.getLength() <= size) {
+                remainingByLength[ship.getLength()]++;
+                remainingShips++;
+            }
+        });
+
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (board.isAttacked(x, y)) {
+                    int cell = y * size + x;
+                    set(attacked, cell);
+                    set(board.getCellState(x, y) == CellState.HIT ? hits : blocked, cell);
+                }
+            }
+        }
+
+        board.forEachShip(ship -> {
+            if (ship.isSunk()) {
+                markSunk(ship);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Records the result of an attack. A board other than the tracked one is
+     * read from scratch instead, this attack included.
+     *
+     * @param board  The opponent board.
+     * @param cell   The index of the attacked cell.
+     * @param result The result of the attack.
+     */
+    void record(Board board, int cell, AttackResult result) {
+        if (sync(board)) {
+            return;
+        }
+        switch (result) {
+            case MISS:
+                set(attacked, cell);
+                set(blocked, cell);
+                break;
+            case HIT:
+                set(attacked, cell);
+                set(hits, cell);
+                break;
+            case SUNK:
+                set(attacked, cell);
+                markSunk(board.getShipAt(cell % size, cell / size));
+                break;
+            case ALREADY_ATTACKED:
+            default:
+                break;
+        }
+    }
+
+    private void markSunk(Ship ship) {
+        if (ship == null) {
+            return;
+        }
+        ship.forEachSegment((x, y) -> {
+            int segment = y * size + x;
+            clear(hits, segment);
+            set(blocked, segment);
+        });
+        if (ship.getLength() <= size) {
+            remainingByLength[ship.getLength()]--;
+            remainingShips--;
+        }
+    }
+
+    /**
+     * Gets the tracked board.
+     *
+     * @return The board, or null before the first sync.
+     */
+    Board getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the placement index of the tracked board size.
+     *
+     * @return The shared index.
+     */
+    PlacementIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the size of the tracked board.
+     *
+     * @return The board size.
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Checks whether a cell has been attacked.
+     *
+     * @param cell The index of the cell.
+     * @return true if the cell has been attacked.
+     */
+    boolean isAttacked(int cell) {
+        return test(attacked, cell);
+    }
+
+    /**
+     * Gets the cells no remaining ship can cover. The array is live and must
+     * not be modified.
+     *
+     * @return The blocked bitset.
+     */
+    long[] getBlocked() {
+        return blocked;
+    }
+
+    /**
+     * Gets the hits that do not belong to a sunk ship yet. The array is live
+     * and must not be modified.
+     *
+     * @return The hits bitset.
+     */
+    long[] getHits() {
+        return hits;
+    }
+
+    /**
+     * Checks whether any hit is still unresolved.
+     *
+     * @return true if some hit does not belong to a sunk ship.
+     */
+    boolean hasUnresolvedHits() {
+        for (long word : hits) {
+            if (word != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of ships of a length still afloat.
+     *
+     * @param length The ship length, 1 to the board size.
+     * @return The number of remaining ships of that length.
+     */
+    int getRemaining(int length) {
+        return remainingByLength[length];
+    }
+
+    /**
+     * Gets the number of ships still afloat.
+     *
+     * @return The remaining ship count.
+     */
+    int getRemainingShips() {
+        return remainingShips;
+    }
+
+    /**
+     * Lists the lengths of the ships still afloat, longest first, as long
+     * ships are the hardest to fit.
+     *
+     * @return A new array with one length per remaining ship.
+     */
+    int[] remainingLengths() {
+        int[] lengths = new int[remainingShips];
+        int i = 0;
+        for (int length = size; length >= 1; length--) {
+            for (int k = 0; k < remainingByLength[length]; k++) {
+                lengths[i++] = length;
+            }
+        }
+        return lengths;
+    }
+
+    static boolean test(long[] bits, int bit) {
+        return (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    static void set(long[] bits, int bit) {
+        bits[bit >>> 6] |= 1L << bit;
+    }
+
+    static void clear(long[] bits, int bit) {
+        bits[bit >>> 6] &= ~(1L << bit);
+    }
+}
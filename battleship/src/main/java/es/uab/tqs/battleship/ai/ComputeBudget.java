@@ -0,0 +1,188 @@
+package es.uab.tqs.battleship.ai;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compute allowance for a single strategy call: a wall-clock deadline and a
+ * maximum number of search nodes. Strategies that search are expected to check
+ * the budget regularly and return their best answer so far once it runs out;
+ * cheap strategies may ignore it.
+ *
+ * <p>A budget is created when the call starts, so its deadline is absolute
+ * (measured with {@link System#nanoTime()}). A budget created with
+ * {@link #cancellable} can also be expired early from another thread, which
+ * interrupts a search running in the background.</p>
+ */
+public final class ComputeBudget {
+
+    private static final ComputeBudget UNLIMITED = new ComputeBudget(Long.MAX_VALUE, Long.MAX_VALUE, true, null);
+
+    private final long deadlineNanos;
+    private final long maxNodes;
+    private final boolean untimed;
+    private final AtomicBoolean cancelled;
+
+    private ComputeBudget(long deadlineNanos, long maxNodes, boolean untimed, AtomicBoolean cancelled) {
+        this.deadlineNanos = deadlineNanos;
+        this.maxNodes = maxNodes;
+        this.untimed = untimed;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Gets a budget without time or node limits.
+     *
+     * @return The unlimited budget.
+     */
+    public static ComputeBudget unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * Starts a budget that expires after the given time or number of nodes.
+     *
+     * @param timeLimit The time allowed from now, or null for no time limit.
+     * @param maxNodes  The maximum number of nodes a search may visit.
+     * @return A budget whose deadline is now plus timeLimit.
+     * @throws IllegalArgumentException if timeLimit is negative or maxNodes is not
+     *                                  positive.
+     */
+    public static ComputeBudget start(Duration timeLimit, long maxNodes) {
+        return start(timeLimit, maxNodes, null);
+    }
+
+    /**
+     * Starts a budget like {@link #start}, that can also be cancelled with
+     * {@link #cancel()}.
+     *
+     * @param timeLimit The time allowed from now, or null for no time limit.
+     * @param maxNodes  The maximum number of nodes a search may visit.
+     * @return A cancellable budget whose deadline is now plus timeLimit.
+     * @throws IllegalArgumentException if timeLimit is negative or maxNodes is not
+     *                                  positive.
+     */
+    public static ComputeBudget cancellable(Duration timeLimit, long maxNodes) {
+        return start(timeLimit, maxNodes, new AtomicBoolean());
+    }
+
+    private static ComputeBudget start(Duration timeLimit, long maxNodes, AtomicBoolean cancelled) {
+        if (maxNodes <= 0) {
+            throw new IllegalArgumentException("Invalid node limit: " + maxNodes);
+        }
+        if (timeLimit == null) {
+            return new ComputeBudget(Long.MAX_VALUE, maxNodes, true, cancelled);
+        }
+        if (timeLimit.isNegative()) {
+            throw new IllegalArgumentException("Invalid time limit: " + timeLimit);
+        }
+        return new ComputeBudget(System.nanoTime() + timeLimit.toNanos(), maxNodes, false, cancelled);
+    }
+
+    /**
+     * Checks whether the deadline has passed or the budget was cancelled.
+     *
+     * @return true if there is no time left; false otherwise.
+     */
+    public boolean isExpired() {
+        return isCancelled() || (!untimed && System.nanoTime() - deadlineNanos >= 0);
+    }
+
+    /**
+     * Expires the budget now. Searches notice on their next check, from any
+     * thread. Budgets derived with {@link #withMaxNodes} are cancelled too.
+     *
+     * @throws UnsupportedOperationException if the budget was not created with
+     *                                       {@link #cancellable}.
+     */
+    public void cancel() {
+        if (cancelled == null) {
+            throw new UnsupportedOperationException("Budget is not cancellable");
+        }
+        cancelled.set(true);
+    }
+
+    /**
+     * Checks whether the budget was cancelled.
+     *
+     * @return true if {@link #cancel()} was called.
+     */
+    public boolean isCancelled() {
+        return cancelled != null && cancelled.get();
+    }
+
+    /**
+     * Gets the time left before the deadline.
+     *
+     * @return The remaining nanoseconds, 0 once expired or cancelled, or
+     *         Long.MAX_VALUE if the budget has no time limit.
+     */
+    public long remainingNanos() {
+        if (isCancelled()) {
+            return 0;
+        }
+        if (untimed) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    /**
+     * Gets the absolute deadline, comparable with {@link System#nanoTime()}.
+     * Only meaningful if {@link #hasTimeLimit()} is true.
+     *
+     * @return The deadline in nanoseconds.
+     */
+    public long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    /**
+     * Checks whether the budget has a deadline.
+     *
+     * @return true if the budget is time-limited.
+     */
+    public boolean hasTimeLimit() {
+        return !untimed;
+    }
+
+    /**
+     * Gets the maximum number of search nodes.
+     *
+     * @return The node limit (Long.MAX_VALUE if unlimited).
+     */
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Checks whether a search that has visited the given number of nodes must
+     * stop, either because of the node limit or the deadline.
+     *
+     * @param nodesVisited The nodes visited so far.
+     * @return true if the search must stop.
+     */
+    public boolean isExhausted(long nodesVisited) {
+        return nodesVisited >= maxNodes || isExpired();
+    }
+
+    /**
+     * Derives a budget with the same deadline and at most the given number of
+     * nodes, for a search that must not take the whole node allowance.
+     *
+     * @param limit The node limit of the derived budget.
+     * @return This budget if its node limit is already lower; a new one otherwise.
+     * @throws IllegalArgumentException if limit is not positive.
+     */
+    public ComputeBudget withMaxNodes(long limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Invalid node limit: " + limit);
+        }
+        return limit >= maxNodes ? this : new ComputeBudget(deadlineNanos, limit, untimed, cancelled);
+    }
+
+    @Override
+    public String toString() {
+        return "ComputeBudget{remainingNanos=" + remainingNanos() + ", maxNodes=" + maxNodes + "}";
+    }
+}
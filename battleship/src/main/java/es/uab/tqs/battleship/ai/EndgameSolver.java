@@ -0,0 +1,499 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.Arrays;
+
+import es.uab.tqs.battleship.model.PlacementIndex;
+import es.uab.tqs.battleship.model.Symmetry;
+import es.uab.tqs.battleship.model.Zobrist;
+
+/**
+ * Finds the attack that minimizes the expected number of shots needed to sink
+ * the remaining fleet, by exhaustive expectimax over the consistent layouts.
+ *
+ * <p>The solver lists every layout of the remaining ships consistent with what
+ * is known, each one equally likely, exactly as a {@link LayoutCounter} counts
+ * them; it gives up when there are more than a given number. A position is the
+ * group of layouts consistent with the shots so far. Shooting a cell splits the
+ * group by the answer each layout gives: MISS, HIT, or SUNK with the cells of
+ * the sunk ship. The value of a group is the total, over its layouts, of the
+ * shots the best play needs to finish; it is an integer, so values are exact,
+ * and the expected number of shots is the total divided by the group size.</p>
+ *
+ * <p>Only cells covered by some layout of the group are worth a shot. They are
+ * tried by decreasing coverage, which is also increasing order of a lower bound
+ * on their value: every layout needs one more shot per ship cell it has left,
+ * and the layouts not hit yet need misses first, at least as many as if the
+ * most covered cells were shot without overlap. Searches are bounded by a
+ * cutoff, as in alpha-beta: a cell is abandoned once its bound, refined as its
+ * subgroups get solved, reaches the best value found, and a position whose
+ * bound reaches the cutoff of its parent only returns that bound.</p>
+ *
+ * <p>What matters for the rest of the game is the group and the cells hit so
+ * far; misses are only history. Positions are memoized under the Zobrist keys
+ * of their hits combined with a key per layout, itself built from the Zobrist
+ * keys of its ships. The key is computed for the eight images of the position
+ * under {@link Symmetry} and the smallest one is used, so the key is the same
+ * however the position was reached, mirrored or rotated, and whether it was met
+ * in this search, on a later move or in another game. The memo is a
+ * {@link TranspositionTable}, so memory stays bounded. Every position visited
+ * counts as one node of the {@link ComputeBudget}; when the budget runs out,
+ * no move is returned and nothing partial is memoized. A solver is not
+ * thread-safe, the table is.</p>
+ */
+final class EndgameSolver {
+
+    /** Positions visited between two deadline checks. */
+    private static final int CHECK_INTERVAL = 256;
+
+    /** Placements the layout enumeration may examine per allowed layout. */
+    private static final int ENUMERATION_NODES_PER_LAYOUT = 64;
+
+    private static final int MISS = -2;
+    private static final int HIT = -1;
+
+    /** Flag of memoized values that are exact rather than lower bounds. */
+    private static final long EXACT = 1;
+
+    private final PlacementIndex index;
+    private final int size;
+    private final int cells;
+    private final int[] lengths;
+    private final long[] blocked;
+    private final long[] hits;
+    private final long[] attacked;
+    private final long[] rootHits;
+    private final TranspositionTable table;
+
+    private int[] layouts;
+    private int layoutCount;
+    private byte[] shipAt;
+    private long[][] layoutKeys;
+
+    private ComputeBudget budget;
+    private long nodes;
+    private boolean aborted;
+    private int bestMove;
+    private long bestValue;
+
+    /**
+     * Builds a solver for the current knowledge of a board.
+     *
+     * @param knowledge The knowledge of an opponent board, synced with it.
+     * @param table     The memo of solved positions.
+     */
+    EndgameSolver(BoardKnowledge knowledge, TranspositionTable table) {
+        this.index = knowledge.getIndex();
+        this.size = knowledge.getSize();
+        this.cells = size * size;
+        this.lengths = knowledge.remainingLengths();
+        this.blocked = knowledge.getBlocked().clone();
+        this.hits = knowledge.getHits().clone();
+        this.attacked = new long[blocked.length];
+        for (int cell = 0; cell < cells; cell++) {
+            if (knowledge.isAttacked(cell)) {
+                BoardKnowledge.set(attacked, cell);
+            }
+        }
+        this.table = table;
+
+        this.rootHits = new long[Symmetry.COUNT];
+        for (int t = 0; t < Symmetry.COUNT; t++) {
+            rootHits[t] = Zobrist.empty(size);
+            for (int cell = 0; cell < cells; cell++) {
+                if (BoardKnowledge.test(hits, cell)) {
+                    rootHits[t] ^= Zobrist.hit(Symmetry.of(t).map(cell, size));
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists the consistent layouts, unless there are too many.
+     *
+     * @param maxLayouts The largest number of layouts to accept.
+     * @param budget     Limits the time spent.
+     * @return true if the layouts were listed; false if there are more than
+     *         maxLayouts, none, or the budget ran out.
+     */
+    boolean enumerate(int maxLayouts, ComputeBudget budget) {
+        this.budget = budget.withMaxNodes((long) ENUMERATION_NODES_PER_LAYOUT * (maxLayouts + 1));
+        this.nodes = 0;
+        this.aborted = false;
+        this.layouts = new int[lengths.length * Math.max(1, Math.min(maxLayouts, 64))];
+        this.layoutCount = 0;
+
+        int[] cellsFrom = new int[lengths.length + 1];
+        for (int i = lengths.length - 1; i >= 0; i--) {
+            cellsFrom[i] = cellsFrom[i + 1] + lengths[i];
+        }
+        if (lengths.length > 0) {
+            place(0, blocked.clone(), 0, new int[lengths.length], cellsFrom, maxLayouts);
+        }
+        if (aborted || layoutCount == 0) {
+            layouts = null;
+            return false;
+        }
+
+        shipAt = new byte[layoutCount * cells];
+        layoutKeys = new long[Symmetry.COUNT][layoutCount];
+        long[] keys = new long[Symmetry.COUNT];
+        for (int layout = 0; layout < layoutCount; layout++) {
+            Arrays.fill(keys, 0);
+            for (int ship = 0; ship < lengths.length; ship++) {
+                int placement = layouts[layout * lengths.length + ship];
+                for (int t = 0; t < Symmetry.COUNT; t++) {
+                    keys[t] ^= Zobrist.sunk(Symmetry.of(t).mapPlacement(placement, lengths[ship], size), lengths[ship]);
+                }
+                int step = (placement & 1) == 0 ? 1 : size;
+                for (int k = 0, cell = placement >>> 1; k < lengths[ship]; k++, cell += step) {
+                    shipAt[layout * cells + cell] = (byte) (ship + 1);
+                }
+            }
+            for (int t = 0; t < Symmetry.COUNT; t++) {
+                layoutKeys[t][layout] = mix(keys[t]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of layouts listed by the last enumeration.
+     *
+     * @return The layout count.
+     */
+    int getLayoutCount() {
+        return layoutCount;
+    }
+
+    /**
+     * Solves the current position. {@link #enumerate} must have succeeded.
+     *
+     * @param budget Limits the positions visited and the time spent.
+     * @return The cell to attack, or -1 if the budget ran out first.
+     */
+    int solve(ComputeBudget budget) {
+        this.budget = budget;
+        this.nodes = 0;
+        this.aborted = false;
+        this.bestMove = -1;
+
+        int[] group = new int[layoutCount];
+        for (int i = 0; i < layoutCount; i++) {
+            group[i] = i;
+        }
+        long value = value(group, layoutCount, attacked, rootHits, lengths.length, Long.MAX_VALUE, true);
+        if (aborted) {
+            return -1;
+        }
+        bestValue = value;
+        return bestMove;
+    }
+
+    /**
+     * Gets the expected number of shots to finish with best play, as found by
+     * the last successful solve.
+     *
+     * @return The expected shot count.
+     */
+    double getExpectedShots() {
+        return (double) bestValue / layoutCount;
+    }
+
+    /**
+     * Gets the number of positions visited by the last call.
+     *
+     * @return The node count.
+     */
+    long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Places ships from the given one on, recording every completed layout
+     * that covers all the hits.
+     */
+    private void place(int ship, long[] occupied, int minPlacement, int[] chosen, int[] cellsFrom, int maxLayouts) {
+        if (uncoveredHits(occupied) > cellsFrom[ship]) {
+            return;
+        }
+        int length = lengths[ship];
+        int[] candidates = new int[2 * cells];
+        int count = index.legalPlacements(occupied, length, candidates);
+        boolean last = ship == lengths.length - 1;
+        long[] child = new long[occupied.length];
+
+        for (int i = 0; i < count && !aborted; i++) {
+            int placement = candidates[i];
+            if (placement < minPlacement) {
+                continue;
+            }
+            if (!visit()) {
+                return;
+            }
+            System.arraycopy(occupied, 0, child, 0, child.length);
+            index.occupy(child, length, placement);
+            chosen[ship] = placement;
+            if (!last) {
+                boolean same = lengths[ship + 1] == length;
+                place(ship + 1, child, same ? placement + 1 : 0, chosen, cellsFrom, maxLayouts);
+            } else if (uncoveredHits(child) == 0) {
+                if (layoutCount == maxLayouts) {
+                    aborted = true;
+                    return;
+                }
+                if ((layoutCount + 1) * lengths.length > layouts.length) {
+                    layouts = Arrays.copyOf(layouts, 2 * layouts.length);
+                }
+                System.arraycopy(chosen, 0, layouts, layoutCount * lengths.length, lengths.length);
+                layoutCount++;
+            }
+        }
+    }
+
+    /**
+     * Gets the total number of shots best play needs to finish over the
+     * layouts of a group, and records the best move at the root. Values at or
+     * above the cutoff are only needed as such: the search may then stop early
+     * and return a lower bound that is still at least the cutoff.
+     *
+     * @param group     The layouts of the position, in the first n entries.
+     * @param n         The size of the group.
+     * @param shot      The cells attacked in the position.
+     * @param hitHashes The hashes of the cells hit in the images of the position.
+     * @param shipsLeft The number of ships afloat in the position.
+     * @param cutoff    The value above which exactness does not matter.
+     * @param root      Whether this is the current position.
+     * @return The exact value if below the cutoff; a lower bound of at least
+     *         the cutoff otherwise.
+     */
+    private long value(int[] group, int n, long[] shot, long[] hitHashes, int shipsLeft, long cutoff, boolean root) {
+        if (!visit() || shipsLeft == 0) {
+            return 0;
+        }
+
+        int[] left = new int[n];
+        long hitsNeeded = 0;
+        long[] hashes = hitHashes.clone();
+        int[] cover = new int[cells];
+        for (int i = 0; i < n; i++) {
+            for (int t = 0; t < Symmetry.COUNT; t++) {
+                hashes[t] ^= layoutKeys[t][group[i]];
+            }
+            int base = group[i] * lengths.length;
+            for (int ship = 0; ship < lengths.length; ship++) {
+                int placement = layouts[base + ship];
+                int step = (placement & 1) == 0 ? 1 : size;
+                for (int k = 0, cell = placement >>> 1; k < lengths[ship]; k++, cell += step) {
+                    if (!BoardKnowledge.test(shot, cell)) {
+                        cover[cell]++;
+                        left[i]++;
+                    }
+                }
+            }
+            hitsNeeded += left[i];
+        }
+        if (n == 1 && !root) {
+            return hitsNeeded;
+        }
+
+        long hash = Symmetry.canonicalHash(hashes);
+        int[] order = candidates(cover);
+        long lower = hitsNeeded + missesNeeded(order, cover, n, -1);
+        if (!root) {
+            long known = table.probe(hash);
+            if (known != TranspositionTable.NOT_FOUND) {
+                long entry = TranspositionTable.valueOf(known);
+                if ((entry & EXACT) != 0 || entry >>> 1 >= cutoff) {
+                    return entry >>> 1;
+                }
+                lower = Math.max(lower, entry >>> 1);
+            }
+            if (lower >= cutoff) {
+                return lower;
+            }
+        }
+
+        long best = Long.MAX_VALUE;
+        long floor = Long.MAX_VALUE;
+        long[] keys = new long[n];
+        int[] child = new int[n];
+        long[] next = shot.clone();
+
+        for (int c = 0; c < order.length; c++) {
+            int cell = order[c];
+            long limit = Math.min(best, cutoff);
+            // This shot, plus the hits still needed after it, plus the misses of the layouts it misses.
+            long hitsAfter = n + hitsNeeded - cover[cell];
+            long quick = hitsAfter + missesNeeded(order, cover, n - cover[cell], cell);
+            if (quick >= limit) {
+                floor = Math.min(floor, quick);
+                break;
+            }
+            BoardKnowledge.set(next, cell);
+            long total = split(group, n, cell, next, keys, child, left, hitsAfter, limit, hitHashes, shipsLeft);
+            BoardKnowledge.clear(next, cell);
+            if (aborted) {
+                return 0;
+            }
+            if (total < best) {
+                best = total;
+                if (root) {
+                    bestMove = cell;
+                }
+                if (best == lower) {
+                    break;
+                }
+            } else {
+                floor = Math.min(floor, total);
+            }
+        }
+
+        if (best < cutoff) {
+            table.store(hash, Math.min(n, TranspositionTable.MAX_DEPTH), best << 1 | EXACT);
+            return best;
+        }
+        long bound = Math.max(lower, Math.min(best, floor));
+        table.store(hash, Math.min(n, TranspositionTable.MAX_DEPTH), bound << 1);
+        return bound;
+    }
+
+    /**
+     * Gets the value of shooting a cell: splits the group by answer and solves
+     * every subgroup, giving up once the total reaches the limit.
+     *
+     * @param lower A lower bound on the total, from the hits still needed.
+     * @return The exact total if below the limit; a lower bound of at least
+     *         the limit otherwise.
+     */
+    private long split(int[] group, int n, int cell, long[] next, long[] keys, int[] child, int[] left,
+            long lower, long limit, long[] hitHashes, int shipsLeft) {
+        for (int i = 0; i < n; i++) {
+            keys[i] = (answer(group[i], cell, next) + 2L) << 32 | i;
+        }
+        Arrays.sort(keys, 0, n);
+
+        long total = lower;
+        int start = 0;
+        while (start < n) {
+            long code = (keys[start] >>> 32) - 2;
+            int end = start;
+            long childBound = 0;
+            while (end < n && (keys[end] >>> 32) - 2 == code) {
+                int i = (int) keys[end];
+                child[end - start] = group[i];
+                childBound += left[i] - (code == MISS ? 0 : 1);
+                end++;
+            }
+
+            long[] childHits = hitHashes;
+            if (code != MISS) {
+                childHits = hitHashes.clone();
+                for (int t = 0; t < Symmetry.COUNT; t++) {
+                    childHits[t] ^= Zobrist.hit(Symmetry.of(t).map(cell, size));
+                }
+            }
+            int childShips = code == MISS || code == HIT ? shipsLeft : shipsLeft - 1;
+            int[] members = Arrays.copyOf(child, end - start);
+            long childCutoff = limit - total + childBound;
+            total += value(members, members.length, next, childHits, childShips, childCutoff, false) - childBound;
+            if (aborted || total >= limit) {
+                return total;
+            }
+            start = end;
+        }
+        return total;
+    }
+
+    /**
+     * Gets a lower bound on the misses any play suffers before hitting every
+     * layout of a group once: after j shots without a hit, the layouts not hit
+     * yet are at least the group minus the j largest covers, and each of them
+     * has missed j times. The bound only grows as the group shrinks to the
+     * layouts missed by a shot at a cell, and the more that cell was covered,
+     * the lower the bound of what is left.
+     *
+     * @param order    The covered cells of the group, most covered first.
+     * @param cover    The cover of every cell in the group.
+     * @param n        The number of layouts to hit.
+     * @param excluded A cell that can no longer be shot, or -1.
+     */
+    private static long missesNeeded(int[] order, int[] cover, long n, int excluded) {
+        long misses = 0;
+        long found = 0;
+        for (int j = 0; j < order.length && found < n; j++) {
+            if (order[j] != excluded) {
+                found += cover[order[j]];
+                misses += Math.max(0, n - found);
+            }
+        }
+        return misses;
+    }
+
+    /**
+     * Gets the answer a layout gives to a shot: MISS, HIT, or the placement
+     * and length of the sunk ship packed as {@code placement << 8 | length}.
+     *
+     * @param shot The cells attacked, the new shot included.
+     */
+    private long answer(int layout, int cell, long[] shot) {
+        int ship = shipAt[layout * cells + cell] - 1;
+        if (ship < 0) {
+            return MISS;
+        }
+        int placement = layouts[layout * lengths.length + ship];
+        int step = (placement & 1) == 0 ? 1 : size;
+        for (int k = 0, c = placement >>> 1; k < lengths[ship]; k++, c += step) {
+            if (!BoardKnowledge.test(shot, c)) {
+                return HIT;
+            }
+        }
+        return ((long) placement << 8) | lengths[ship];
+    }
+
+    /**
+     * Lists the cells covered by some layout, most covered first, the lowest
+     * index winning ties.
+     */
+    private int[] candidates(int[] cover) {
+        int count = 0;
+        long[] keys = new long[cells];
+        for (int cell = 0; cell < cells; cell++) {
+            if (cover[cell] > 0) {
+                keys[count++] = ((long) -cover[cell] << 32) | cell;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * Murmur3 finalizer: makes the key of a layout a non-linear function of
+     * the keys of its ships, so that the keys of different groups do not
+     * cancel out when XORed together.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+        z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return z ^ (z >>> 33);
+    }
+
+    private int uncoveredHits(long[] occupied) {
+        int count = 0;
+        for (int w = 0; w < hits.length; w++) {
+            count += Long.bitCount(hits[w] & ~occupied[w]);
+        }
+        return count;
+    }
+
+    private boolean visit() {
+        nodes++;
+        if (nodes >= budget.getMaxNodes() || (nodes % CHECK_INTERVAL == 0 && budget.isExpired())) {
+            aborted = true;
+        }
+        return !aborted;
+    }
+}
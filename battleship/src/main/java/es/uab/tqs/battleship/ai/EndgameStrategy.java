@@ -0,0 +1,190 @@
+package es.uab.tqs.battleship.ai;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.PlacementIndex;
+
+/**
+ * Plays the endgame perfectly: once few enough layouts of the remaining fleet
+ * are consistent with the board, every attack minimizes the expected number of
+ * shots left, as found by an exhaustive expectimax; before that, another
+ * strategy chooses.
+ *
+ * <p>The switch happens by itself on every move: the consistent layouts are
+ * listed, and the solver takes over when there are at most
+ * {@link #getMaxLayouts()} of them. The solve shares the budget of the move,
+ * and gets at most {@link #getMaxNodes()} nodes; if it does not finish in
+ * time, the live strategy plays the move instead.
+ * Solved positions are kept in a fixed-size {@link TranspositionTable}, so
+ * later moves and later games reuse them at no extra memory.</p>
+ */
+public class EndgameStrategy implements AttackStrategy {
+
+    /**
+     * Layout count at or below which the solver takes over by default. The
+     * solve grows about threefold per layout: the default keeps nearly every
+     * solve within the default node limit, and is reached with two ships
+     * afloat once most of the board has been shot.
+     */
+    public static final int DEFAULT_MAX_LAYOUTS = 20;
+
+    /** Nodes a solve may spend by default. */
+    public static final long DEFAULT_MAX_NODES = 250_000;
+
+    /** Positions memoized by default: 4 MiB. */
+    public static final int DEFAULT_TABLE_ENTRIES = 1 << 18;
+
+    private final AttackStrategy live;
+    private final int maxLayouts;
+    private final long maxNodes;
+    private final TranspositionTable table;
+    private final BoardKnowledge knowledge = new BoardKnowledge();
+
+    private EndgameSolver lastSolver;
+
+    /**
+     * Constructs an endgame strategy with the default threshold and table.
+     *
+     * @param live The strategy used before the endgame.
+     */
+    public EndgameStrategy(AttackStrategy live) {
+        this(live, DEFAULT_MAX_LAYOUTS, DEFAULT_MAX_NODES, new TranspositionTable(DEFAULT_TABLE_ENTRIES));
+    }
+
+    /**
+     * Constructs an endgame strategy.
+     *
+     * @param live       The strategy used before the endgame.
+     * @param maxLayouts The layout count at or below which the solver plays.
+     * @param maxNodes   The nodes a solve may spend.
+     * @param table      The memo of solved positions, which may be shared.
+     * @throws IllegalArgumentException if maxLayouts or maxNodes is not positive.
+     */
+    public EndgameStrategy(AttackStrategy live, int maxLayouts, long maxNodes, TranspositionTable table) {
+        if (maxLayouts <= 0 || maxNodes <= 0) {
+            throw new IllegalArgumentException("Invalid endgame limits: " + maxLayouts + ", " + maxNodes);
+        }
+        this.live = live;
+        this.maxLayouts = maxLayouts;
+        this.maxNodes = maxNodes;
+        this.table = table;
+    }
+
+    @Override
+    public String getName() {
+        return "endgame+" + live.getName();
+    }
+
+    /**
+     * Gets the strategy used before the endgame.
+     *
+     * @return The live strategy.
+     */
+    public AttackStrategy getLiveStrategy() {
+        return live;
+    }
+
+    /**
+     * Gets the layout count at or below which the solver plays.
+     *
+     * @return The threshold.
+     */
+    public int getMaxLayouts() {
+        return maxLayouts;
+    }
+
+    /**
+     * Gets the nodes a solve may spend.
+     *
+     * @return The node limit.
+     */
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Gets the memo of solved positions.
+     *
+     * @return The transposition table.
+     */
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Plays the solver's move in the endgame, the live strategy's otherwise.
+     *
+     * @param board  The opponent board.
+     * @param budget The budget of the move, shared by the solver, further capped
+     *               at getMaxNodes(), and the live strategy.
+     * @return The index of a cell that has not been attacked yet.
+     */
+    @Override
+    public int nextTarget(Board board, ComputeBudget budget) {
+        knowledge.sync(board);
+        lastSolver = null;
+        if (board.getSize() <= PlacementIndex.MAX_SIZE) {
+            EndgameSolver solver = new EndgameSolver(knowledge, table);
+            if (solver.enumerate(maxLayouts, budget)) {
+                int move = solver.solve(budget.withMaxNodes(maxNodes));
+                if (move >= 0) {
+                    lastSolver = solver;
+                    return move;
+                }
+            }
+        }
+        return live.nextTarget(board, budget);
+    }
+
+    /**
+     * Records the result of an attack and tells the live strategy about it.
+     *
+     * @param board  The opponent board.
+     * @param cell   The index of the attacked cell.
+     * @param result The result of the attack.
+     */
+    @Override
+    public void onAttackResult(Board board, int cell, AttackResult result) {
+        knowledge.record(board, cell, result);
+        live.onAttackResult(board, cell, result);
+    }
+
+    /**
+     * Passes the prior on to the live strategy; the solver does not need one.
+     *
+     * @param prior The placement prior, or null to weight placements uniformly.
+     */
+    @Override
+    public void usePlacementPrior(PlacementPrior prior) {
+        live.usePlacementPrior(prior);
+    }
+
+    @Override
+    public void onOpponentTurn(Board board) {
+        live.onOpponentTurn(board);
+    }
+
+    @Override
+    public void onGameOver(Board board) {
+        live.onGameOver(board);
+    }
+
+    /**
+     * Checks whether the last move came from the solver.
+     *
+     * @return true if the last call to nextTarget was solved exactly.
+     */
+    public boolean isSolving() {
+        return lastSolver != null;
+    }
+
+    /**
+     * Gets the expected number of shots to finish with best play, as of the
+     * last solved move.
+     *
+     * @return The expected shot count, or NaN if the last move was not solved.
+     */
+    public double getExpectedShots() {
+        return lastSolver != null ? lastSolver.getExpectedShots() : Double.NaN;
+    }
+}
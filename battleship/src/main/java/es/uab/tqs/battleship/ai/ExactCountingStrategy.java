@@ -0,0 +1,148 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.Random;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.Board;
+
+/**
+ * Fires at the unattacked cell with the highest exact probability of holding a
+ * ship, as computed by a {@link LayoutCounter}, ties being broken at random.
+ *
+ * <p>Exact counting is cheap once misses, hits and sunk ships have pruned the
+ * layouts, but far too expensive on an open board. Each decision therefore
+ * gets at most {@link #getMaxNodes()} nodes, and moves whose count does not
+ * finish in time come from a {@link ProbabilityDensityStrategy}.</p>
+ */
+public class ExactCountingStrategy implements AttackStrategy {
+
+    /** Nodes a decision may spend on counting by default. */
+    public static final long DEFAULT_MAX_NODES = 2_000_000;
+
+    private final long maxNodes;
+    private final Random random;
+    private final ProbabilityDensityStrategy fallback;
+    private final BoardKnowledge knowledge = new BoardKnowledge();
+
+    private LayoutCounter.Result lastResult;
+
+    /**
+     * Constructs an exact strategy with the default node limit.
+     */
+    public ExactCountingStrategy() {
+        this(DEFAULT_MAX_NODES, new Random());
+    }
+
+    /**
+     * Constructs an exact strategy.
+     *
+     * @param maxNodes The nodes a decision may spend on counting.
+     * @param random   The source of randomness for tie-breaking.
+     * @throws IllegalArgumentException if maxNodes is not positive.
+     */
+    public ExactCountingStrategy(long maxNodes, Random random) {
+        if (maxNodes <= 0) {
+            throw new IllegalArgumentException("Invalid node limit: " + maxNodes);
+        }
+        this.maxNodes = maxNodes;
+        this.random = random;
+        this.fallback = new ProbabilityDensityStrategy(random);
+    }
+
+    @Override
+    public String getName() {
+        return "exact";
+    }
+
+    /**
+     * Gets the nodes a decision may spend on counting.
+     *
+     * @return The node limit.
+     */
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Chooses the unattacked cell held by the most consistent layouts.
+     *
+     * @param board  The opponent board.
+     * @param budget The compute budget, further capped at getMaxNodes().
+     * @return The index of an unattacked cell.
+     * @throws IllegalStateException if every cell has already been attacked.
+     */
+    @Override
+    public int nextTarget(Board board, ComputeBudget budget) {
+        knowledge.sync(board);
+        lastResult = LayoutCounter.forKnowledge(knowledge).count(budget.withMaxNodes(maxNodes));
+        if (lastResult == null || lastResult.getTotal() == 0) {
+            return fallback.nextTarget(board, budget);
+        }
+
+        int best = -1;
+        long bestCount = -1;
+        int ties = 0;
+        int cells = knowledge.getSize() * knowledge.getSize();
+        for (int cell = 0; cell < cells; cell++) {
+            if (knowledge.isAttacked(cell)) {
+                continue;
+            }
+            long value = lastResult.getCount(cell);
+            if (value > bestCount) {
+                best = cell;
+                bestCount = value;
+                ties = 1;
+            } else if (value == bestCount && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+
+        if (best < 0) {
+            throw new IllegalStateException("Every cell has already been attacked");
+        }
+        return best;
+    }
+
+    /**
+     * Records the result of an attack.
+     *
+     * @param board  The opponent board.
+     * @param cell   The index of the attacked cell.
+     * @param result The result of the attack.
+     */
+    @Override
+    public void onAttackResult(Board board, int cell, AttackResult result) {
+        knowledge.record(board, cell, result);
+        fallback.onAttackResult(board, cell, result);
+    }
+
+    /**
+     * Passes the prior on to the density fallback; exact counts stay uniform.
+     *
+     * @param prior The placement prior, or null to weight placements uniformly.
+     */
+    @Override
+    public void usePlacementPrior(PlacementPrior prior) {
+        fallback.usePlacementPrior(prior);
+    }
+
+    /**
+     * Lets the density fallback detach from the board.
+     *
+     * @param board The opponent board.
+     */
+    @Override
+    public void onGameOver(Board board) {
+        fallback.onGameOver(board);
+    }
+
+    /**
+     * Gets the counts of the last decision.
+     * Exposed for tests and analysis.
+     *
+     * @return The counts, or null if the last count ran out of budget.
+     */
+    LayoutCounter.Result getLastResult() {
+        return lastResult;
+    }
+}
@@ -0,0 +1,339 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.CellState;
+import es.uab.tqs.battleship.model.Ship;
+
+/**
+ * The classic hunt/target player: cheap, allocation-free, and much stronger
+ * than random fire.
+ *
+ * <p>While no hit is pending, it hunts: it fires in a random order at the
+ * cells of a checkerboard-like parity class, {@code (x + y) % m == 0} where m
+ * is the length of the shortest ship afloat, since every remaining ship covers
+ * one such cell. A hit switches it to target mode: the orthogonal neighbours
+ * of the hit join the back of a frontier, kept as a ring-buffer deque of cell
+ * indexes. Once two hits are adjacent, the ship's orientation is inferred and
+ * the cells extending their line at both ends go to the front, so they are
+ * tried before the off-line neighbours. When a ship sinks, its hits are
+ * resolved and the frontier drops the cells that no longer neighbour a
+ * pending hit.</p>
+ *
+ * <p>Every move costs O(1) amortized: the hunt walks a shuffled order of the
+ * cells with a cursor that only moves forward until the parity changes, which
+ * happens at most once per ship length, and frontier cells are pushed at most
+ * twice per hit. All arrays are allocated when a new board is first seen and
+ * reused for later boards of the same size, so moves allocate nothing. Boards
+ * of more than 2^30 cells are not supported.</p>
+ */
+public class HuntTargetStrategy implements AttackStrategy {
+
+    private final Random random;
+
+    private Board board;
+    private int size;
+    private int[] order;
+    private int cursor;
+    private int parity;
+    private int[] remainingByLength;
+
+    private long[] pending;
+    private int pendingCount;
+    private long[] queued;
+    private int[] frontier;
+    private int head;
+    private int count;
+
+    /**
+     * Constructs a hunt/target strategy with its own generator.
+     */
+    public HuntTargetStrategy() {
+        this(new Random());
+    }
+
+    /**
+     * Constructs a hunt/target strategy drawing its hunting order from the
+     * given generator.
+     *
+     * @param random The source of randomness.
+     */
+    public HuntTargetStrategy(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public String getName() {
+        return "hunt";
+    }
+
+    /**
+     * Fires at the front of the frontier while a hit is pending, at the next
+     * parity cell of the hunting order otherwise.
+     *
+     * @param board  The opponent board.
+     * @param budget Ignored: a hunt/target move needs no search.
+     * @return The index of an unattacked cell.
+     * @throws IllegalStateException if every cell has already been attacked.
+     */
+    @Override
+    public int nextTarget(Board board, ComputeBudget budget) {
+        sync(board);
+        while (count > 0) {
+            int cell = frontier[head];
+            if (!board.isAttacked(cell)) {
+                return cell;
+            }
+            pollFirst();
+        }
+        return hunt();
+    }
+
+    /**
+     * Updates the pending hits and the frontier with the result of an attack.
+     * A board other than the tracked one is read from scratch instead, this
+     * attack included.
+     *
+     * @param board  The opponent board.
+     * @param cell   The index of the attacked cell.
+     * @param result The result of the attack.
+     */
+    @Override
+    public void onAttackResult(Board board, int cell, AttackResult result) {
+        if (sync(board)) {
+            return;
+        }
+        if (result == AttackResult.HIT) {
+            addHit(cell);
+        } else if (result == AttackResult.SUNK) {
+            sink(board.getShipAt(cell % size, cell / size));
+        }
+    }
+
+    /**
+     * Checks whether the strategy is in target mode.
+     *
+     * @return true while some hit does not belong to a sunk ship.
+     */
+    public boolean isTargeting() {
+        return pendingCount > 0;
+    }
+
+    /**
+     * Gets the number of cells in the frontier, stale ones included.
+     * Exposed for tests.
+     *
+     * @return The frontier size.
+     */
+    int getFrontierSize() {
+        return count;
+    }
+
+    /**
+     * Starts tracking a board, reading its public state from scratch, unless
+     * it is the board already tracked.
+     *
+     * @return true if the state was rebuilt.
+     */
+    private boolean sync(Board board) {
+        if (board == this.board) {
+            return false;
+        }
+        int newSize = board.getSize();
+        if ((long) newSize * newSize > 1 << 30) {
+            throw new UnsupportedOperationException("Board too large for hunt/target: " + newSize);
+        }
+        this.board = board;
+        if (order == null || newSize != size) {
+            size = newSize;
+            int cells = size * size;
+            order = new int[cells];
+            for (int cell = 0; cell < cells; cell++) {
+                order[cell] = cell;
+            }
+            pending = new long[(cells + 63) >>> 6];
+            queued = new long[pending.length];
+            frontier = new int[Integer.highestOneBit(Math.max(cells, 2) - 1) << 1];
+            remainingByLength = new int[size + 1];
+        } else {
+            Arrays.fill(pending, 0);
+            Arrays.fill(queued, 0);
+            Arrays.fill(remainingByLength, 0);
+        }
+        for (int i = order.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        cursor = 0;
+        head = 0;
+        count = 0;
+        pendingCount = 0;
+
+        board.forEachShip(ship -> {
+            if (!ship.isSunk() && ship.getLength() <= size) {
+                remainingByLength[ship.getLength()]++;
+            }
+        });
+        parity = shortestRemaining();
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (board.getCellState(x, y) == CellState.HIT) {
+                    Ship ship = board.getShipAt(x, y);
+                    if (ship == null || !ship.isSunk()) {
+                        addHit(y * size + x);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the next unattacked cell of the hunting order in the current
+     * parity class, or any unattacked cell once the class is exhausted.
+     */
+    private int hunt() {
+        int cells = order.length;
+        while (cursor < cells) {
+            int cell = order[cursor];
+            if (!board.isAttacked(cell) && (cell % size + cell / size) % parity == 0) {
+                return cell;
+            }
+            cursor++;
+        }
+        // Only reached when the hidden fleet does not match the parity, e.g. a
+        // board attacked before it was tracked; fire at any cell left.
+        for (int cell : order) {
+            if (!board.isAttacked(cell)) {
+                return cell;
+            }
+        }
+        throw new IllegalStateException("Every cell has already been attacked");
+    }
+
+    /**
+     * Records a pending hit and queues the cells it points to: the line
+     * through an adjacent pending hit at the front, the four neighbours at the
+     * back.
+     */
+    private void addHit(int cell) {
+        BoardKnowledge.set(pending, cell);
+        pendingCount++;
+        int x = cell % size;
+        int y = cell / size;
+
+        for (int d = 0; d < 4; d++) {
+            int dx = d == 0 ? 1 : d == 1 ? -1 : 0;
+            int dy = d == 2 ? 1 : d == 3 ? -1 : 0;
+            if (isPending(x + dx, y + dy)) {
+                // Collinear hits: the ship most likely runs along this axis.
+                int ax = x + dx;
+                int ay = y + dy;
+                while (isPending(ax, ay)) {
+                    ax += dx;
+                    ay += dy;
+                }
+                offerFirst(ax, ay);
+                offerFirst(x - dx, y - dy);
+            }
+        }
+        offerLast(x + 1, y);
+        offerLast(x - 1, y);
+        offerLast(x, y + 1);
+        offerLast(x, y - 1);
+    }
+
+    /**
+     * Resolves the hits of a sunk ship, updates the parity and keeps only the
+     * frontier cells that still neighbour a pending hit.
+     */
+    private void sink(Ship ship) {
+        if (ship == null) {
+            return;
+        }
+        for (int segment = 0; segment < ship.getLength(); segment++) {
+            int cell = ship.getSegmentY(segment) * size + ship.getSegmentX(segment);
+            if (BoardKnowledge.test(pending, cell)) {
+                BoardKnowledge.clear(pending, cell);
+                pendingCount--;
+            }
+        }
+        if (ship.getLength() <= size && --remainingByLength[ship.getLength()] == 0
+                && ship.getLength() == parity) {
+            parity = shortestRemaining();
+            cursor = 0;
+        }
+
+        int mask = frontier.length - 1;
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            int cell = frontier[(head + i) & mask];
+            if (pendingCount > 0 && !board.isAttacked(cell) && touchesPending(cell)) {
+                frontier[(head + kept++) & mask] = cell;
+            } else {
+                BoardKnowledge.clear(queued, cell);
+            }
+        }
+        count = kept;
+    }
+
+    private int shortestRemaining() {
+        for (int length = 1; length <= size; length++) {
+            if (remainingByLength[length] > 0) {
+                return length;
+            }
+        }
+        return 1;
+    }
+
+    private boolean isPending(int x, int y) {
+        return x >= 0 && y >= 0 && x < size && y < size && BoardKnowledge.test(pending, y * size + x);
+    }
+
+    private boolean touchesPending(int cell) {
+        int x = cell % size;
+        int y = cell / size;
+        return isPending(x + 1, y) || isPending(x - 1, y) || isPending(x, y + 1) || isPending(x, y - 1);
+    }
+
+    /**
+     * Queues a cell at the front, even if it is already queued further back.
+     */
+    private void offerFirst(int x, int y) {
+        if (x < 0 || y < 0 || x >= size || y >= size || board.isAttacked(x, y) || count == frontier.length) {
+            return;
+        }
+        int cell = y * size + x;
+        head = (head - 1) & (frontier.length - 1);
+        frontier[head] = cell;
+        count++;
+        BoardKnowledge.set(queued, cell);
+    }
+
+    /**
+     * Queues a cell at the back, unless it is already queued.
+     */
+    private void offerLast(int x, int y) {
+        if (x < 0 || y < 0 || x >= size || y >= size || board.isAttacked(x, y) || count == frontier.length) {
+            return;
+        }
+        int cell = y * size + x;
+        if (BoardKnowledge.test(queued, cell)) {
+            return;
+        }
+        frontier[(head + count) & (frontier.length - 1)] = cell;
+        count++;
+        BoardKnowledge.set(queued, cell);
+    }
+
+    private void pollFirst() {
+        BoardKnowledge.clear(queued, frontier[head]);
+        head = (head + 1) & (frontier.length - 1);
+        count--;
+    }
+}
@@ -0,0 +1,461 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.Board;
+
+/**
+ * Fires at the cell whose result is expected to tell the most about where the
+ * remaining fleet is: the one maximizing the expected information gain over
+ * the layouts consistent with everything observed so far.
+ *
+ * <p>Each decision draws up to {@link #getSamples()} consistent layouts, as
+ * {@link MonteCarloStrategy} does, and keeps them as the posterior. A shot has
+ * one of several outcomes in every layout: a miss, a hit, or the sinking of a
+ * ship of some length. As the result is fully determined by the layout, the
+ * expected gain of a shot equals the entropy of its outcomes over the
+ * posterior, in bits: how evenly it splits the layouts, the hit probability
+ * being the main split. Every layout counts with its importance weight (see
+ * {@link LayoutSampler}), so the posterior estimates the uniform distribution
+ * over consistent layouts. Ties go to the cell with the most hit weight, then
+ * are broken at random.</p>
+ *
+ * <p>The posterior is stored cell-major in one flat short array, the ship at a
+ * cell in every layout being contiguous, and is only read while candidate
+ * cells are evaluated in parallel on a {@link ForkJoinPool}. Its buffers are
+ * kept from one decision to the next and only grow, and the layouts drawn per
+ * decision are capped so that it stays within {@value #MAX_POSTERIOR_BYTES}
+ * bytes whatever the size of the board. Fleets of more than
+ * {@value #MAX_SHIPS} ships do not fit, nor do layouts whose weights overflow
+ * a double, and are left to the fallback. Both sampling and
+ * evaluation stop when the deadline of the {@link ComputeBudget} passes; the
+ * best of the cells evaluated by then is attacked. Every layout drawn counts
+ * as one node. If no layout was accepted or no cell evaluated in time, the
+ * decision falls back to a {@link ProbabilityDensityStrategy}. A strategy is
+ * not thread-safe.</p>
+ */
+public class InformationGainStrategy implements AttackStrategy {
+
+    /** Layouts drawn per decision by default. */
+    public static final int DEFAULT_SAMPLES = 20_000;
+
+    /** Bytes the posterior of a decision may take: 16 MiB. */
+    public static final int MAX_POSTERIOR_BYTES = 16 << 20;
+
+    /** Ships the posterior can tell apart: ship numbers are stored as shorts. */
+    public static final int MAX_SHIPS = Short.MAX_VALUE;
+
+    /** Tasks evaluate at least this many cells. */
+    private static final int MIN_TASK_CELLS = 4;
+
+    private final ForkJoinPool pool;
+    private final int samples;
+    private final SplittableRandom random;
+    private final ProbabilityDensityStrategy fallback;
+    private final BoardKnowledge knowledge = new BoardKnowledge();
+    private final Posterior posterior = new Posterior();
+
+    private int[] layouts = new int[0];
+    private double[] weights = new double[0];
+
+    private long lastDrawn;
+    private int lastAccepted;
+    private int lastEvaluated;
+    private double lastGain = Double.NaN;
+
+    /**
+     * Constructs an information gain strategy evaluating on the common pool.
+     */
+    public InformationGainStrategy() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SAMPLES, new SplittableRandom());
+    }
+
+    /**
+     * Constructs an information gain strategy.
+     *
+     * @param pool    The pool sampling and evaluation run on.
+     * @param samples The number of layouts drawn per decision, at most.
+     * @param random  The source of randomness; only used by the calling thread,
+     *                workers get generators split from it.
+     * @throws IllegalArgumentException if samples is not positive.
+     */
+    public InformationGainStrategy(ForkJoinPool pool, int samples, SplittableRandom random) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("Invalid sample count: " + samples);
+        }
+        this.pool = pool;
+        this.samples = samples;
+        this.random = random;
+        this.fallback = new ProbabilityDensityStrategy(new Random(random.nextLong()));
+    }
+
+    @Override
+    public String getName() {
+        return "entropy";
+    }
+
+    /**
+     * Gets the maximum number of layouts drawn per decision.
+     *
+     * @return The sample count.
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    /**
+     * Chooses the unattacked cell with the highest expected information gain.
+     *
+     * @param board  The opponent board.
+     * @param budget Limits the layouts drawn (nodes) and the time spent sampling
+     *               and evaluating.
+     * @return The index of an unattacked cell.
+     * @throws IllegalStateException if every cell has already been attacked.
+     */
+    @Override
+    public int nextTarget(Board board, ComputeBudget budget) {
+        knowledge.sync(board);
+        int[] lengths = knowledge.remainingLengths();
+
+        lastDrawn = 0;
+        lastAccepted = 0;
+        lastEvaluated = 0;
+        lastGain = Double.NaN;
+        int cells = knowledge.getSize() * knowledge.getSize();
+        int draws = (int) Math.min(Math.min(samples, budget.getMaxNodes()), maxDraws(cells, lengths.length));
+        if (lengths.length == 0 || lengths.length > MAX_SHIPS || draws <= 0 || budget.isExpired()) {
+            return fallback.nextTarget(board, budget);
+        }
+
+        if (weights.length < draws || layouts.length < draws * lengths.length) {
+            layouts = new int[draws * lengths.length];
+            weights = new double[draws];
+        } else {
+            Arrays.fill(weights, 0, draws, 0);
+        }
+        int[] drawnLayouts = layouts;
+        double[] drawnWeights = weights;
+        lastDrawn = new LayoutSampler(knowledge, lengths).drawAll(pool, budget, random, 0, draws,
+                () -> new Store(drawnLayouts, drawnWeights, lengths.length)).drawn;
+
+        posterior.build(knowledge, lengths, layouts, weights, draws);
+        lastAccepted = posterior.count;
+        if (lastAccepted == 0 || Double.isInfinite(posterior.totalWeight) || budget.isExpired()) {
+            return fallback.nextTarget(board, budget);
+        }
+
+        int[] candidates = new int[cells];
+        int count = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (!knowledge.isAttacked(cell)) {
+                candidates[count++] = cell;
+            }
+        }
+        if (count == 0) {
+            throw new IllegalStateException("Every cell has already been attacked");
+        }
+
+        double[] gains = new double[cells];
+        double[] hits = new double[cells];
+        Arrays.fill(gains, Double.NaN);
+        int grain = Math.max(MIN_TASK_CELLS, count / (4 * pool.getParallelism()));
+        pool.invoke(new EvaluateTask(posterior, candidates, 0, count, grain, budget, gains, hits));
+
+        int best = -1;
+        int ties = 0;
+        for (int i = 0; i < count; i++) {
+            int cell = candidates[i];
+            if (Double.isNaN(gains[cell])) {
+                continue;
+            }
+            lastEvaluated++;
+            int order = best < 0 ? 1 : Double.compare(gains[cell], gains[best]);
+            if (order == 0) {
+                order = Double.compare(hits[cell], hits[best]);
+            }
+            if (order > 0) {
+                best = cell;
+                ties = 1;
+            } else if (order == 0 && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+
+        if (best < 0) {
+            return fallback.nextTarget(board, budget);
+        }
+        lastGain = gains[best];
+        return best;
+    }
+
+    /**
+     * Records the result of an attack.
+     *
+     * @param board  The opponent board.
+     * @param cell   The index of the attacked cell.
+     * @param result The result of the attack.
+     */
+    @Override
+    public void onAttackResult(Board board, int cell, AttackResult result) {
+        knowledge.record(board, cell, result);
+        fallback.onAttackResult(board, cell, result);
+    }
+
+    /**
+     * Hands the prior to the density fallback only; the posterior is drawn
+     * without it.
+     *
+     * @param prior The placement prior, or null to weight placements uniformly.
+     */
+    @Override
+    public void usePlacementPrior(PlacementPrior prior) {
+        fallback.usePlacementPrior(prior);
+    }
+
+    /**
+     * Lets the density fallback detach from the board.
+     *
+     * @param board The opponent board.
+     */
+    @Override
+    public void onGameOver(Board board) {
+        fallback.onGameOver(board);
+    }
+
+    /**
+     * Gets the number of layouts a decision may draw on a board without its
+     * posterior outgrowing {@link #MAX_POSTERIOR_BYTES}: per layout, a ship
+     * number per cell, the placement and cells left of every ship, and a
+     * weight, both drawn and accepted.
+     *
+     * @param cells The number of cells of the board.
+     * @param ships The number of ships afloat.
+     * @return The layout cap, at least one.
+     */
+    static int maxDraws(int cells, int ships) {
+        long perLayout = (long) Short.BYTES * cells + 2L * Integer.BYTES * ships + 2L * Double.BYTES;
+        return (int) Math.max(1, MAX_POSTERIOR_BYTES / perLayout);
+    }
+
+    /**
+     * Gets the number of layouts drawn by the last decision.
+     * Exposed for tests and analysis.
+     *
+     * @return The layouts drawn, accepted or not.
+     */
+    long getLastDrawn() {
+        return lastDrawn;
+    }
+
+    /**
+     * Gets the number of consistent layouts in the posterior of the last
+     * decision. Exposed for tests and analysis.
+     *
+     * @return The layouts accepted.
+     */
+    int getLastAccepted() {
+        return lastAccepted;
+    }
+
+    /**
+     * Gets the number of candidate cells evaluated by the last decision.
+     * Exposed for tests and analysis.
+     *
+     * @return The cells evaluated before the deadline.
+     */
+    int getLastEvaluated() {
+        return lastEvaluated;
+    }
+
+    /**
+     * Gets the expected information gain of the last cell chosen.
+     *
+     * @return The gain in bits, or NaN if the last decision fell back.
+     */
+    public double getLastGain() {
+        return lastGain;
+    }
+
+    /**
+     * The accepted layouts of a decision: for every cell, the ship covering it
+     * in each layout (its position in the lengths plus one, or 0),
+     * contiguously; for every layout, its importance weight; and for every
+     * layout and ship, the cells of the ship not attacked yet. Ships of equal
+     * length share a kind, as sinking either of them at the same cell is the
+     * same outcome. The arrays are reused by every decision and only the first
+     * entries are valid.
+     */
+    private static final class Posterior {
+
+        private int count;
+        private int ships;
+        private double[] weight = new double[0];
+        private double totalWeight;
+        private short[] shipAt = new short[0];
+        private int[] afloat = new int[0];
+        private int[] kind = new int[0];
+
+        void build(BoardKnowledge knowledge, int[] lengths, int[] layouts, double[] weights, int draws) {
+            int size = knowledge.getSize();
+            int cells = size * size;
+            ships = lengths.length;
+            count = 0;
+            for (int n = 0; n < draws; n++) {
+                if (weights[n] > 0) {
+                    count++;
+                }
+            }
+
+            if (kind.length < ships) {
+                kind = new int[ships];
+            }
+            for (int i = 1; i < ships; i++) {
+                kind[i] = lengths[i] == lengths[i - 1] ? kind[i - 1] : i;
+            }
+            if (shipAt.length < cells * count) {
+                shipAt = new short[cells * count];
+            } else {
+                Arrays.fill(shipAt, 0, cells * count, (short) 0);
+            }
+            if (afloat.length < count * ships) {
+                afloat = new int[count * ships];
+            }
+            if (weight.length < count) {
+                weight = new double[count];
+            }
+
+            totalWeight = 0;
+            int n = 0;
+            for (int d = 0; d < draws; d++) {
+                if (weights[d] == 0) {
+                    continue;
+                }
+                for (int i = 0, s = d * ships; i < ships; i++) {
+                    int placement = layouts[s + i];
+                    int step = (placement & 1) == 0 ? 1 : size;
+                    int left = 0;
+                    for (int k = 0, cell = placement >>> 1; k < lengths[i]; k++, cell += step) {
+                        shipAt[cell * count + n] = (short) (i + 1);
+                        if (!knowledge.isAttacked(cell)) {
+                            left++;
+                        }
+                    }
+                    afloat[n * ships + i] = left;
+                }
+                weight[n] = weights[d];
+                totalWeight += weights[d];
+                n++;
+            }
+        }
+    }
+
+    /**
+     * Stores the layouts of a task at their own entries of the decision's
+     * arrays; layouts never drawn keep weight 0.
+     */
+    private static final class Store implements LayoutSampler.Tally<Store> {
+
+        private final int[] layouts;
+        private final double[] weights;
+        private final int ships;
+        private long drawn;
+
+        Store(int[] layouts, double[] weights, int ships) {
+            this.layouts = layouts;
+            this.weights = weights;
+            this.ships = ships;
+        }
+
+        @Override
+        public void add(int n, int[] layout, double weight) {
+            System.arraycopy(layout, 0, layouts, n * ships, ships);
+            weights[n] = weight;
+            drawn++;
+        }
+
+        @Override
+        public Store merge(Store other) {
+            drawn += other.drawn;
+            return this;
+        }
+    }
+
+    /**
+     * Evaluates a share of the candidate cells, forking halves until shares
+     * are small. Each cell's gain and hit weight go to its own entries, so
+     * tasks never write the same memory.
+     */
+    @SuppressWarnings("serial")
+    private static final class EvaluateTask extends RecursiveAction {
+
+        private final Posterior posterior;
+        private final int[] candidates;
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final ComputeBudget budget;
+        private final double[] gains;
+        private final double[] hits;
+
+        EvaluateTask(Posterior posterior, int[] candidates, int from, int to, int grain,
+                ComputeBudget budget, double[] gains, double[] hits) {
+            this.posterior = posterior;
+            this.candidates = candidates;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.budget = budget;
+            this.gains = gains;
+            this.hits = hits;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                // Outcomes: 0 = miss, 1 = hit, 2 + k = sinks a ship of kind k.
+                double[] outcomes = new double[2 + posterior.ships];
+                for (int i = from; i < to && !budget.isExpired(); i++) {
+                    evaluate(candidates[i], outcomes);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new EvaluateTask(posterior, candidates, from, middle, grain, budget, gains, hits),
+                    new EvaluateTask(posterior, candidates, middle, to, grain, budget, gains, hits));
+        }
+
+        private void evaluate(int cell, double[] outcomes) {
+            int count = posterior.count;
+            double[] weight = posterior.weight;
+            int ships = posterior.ships;
+            short[] shipAt = posterior.shipAt;
+            int[] afloat = posterior.afloat;
+            Arrays.fill(outcomes, 0);
+            for (int n = 0, base = cell * count; n < count; n++) {
+                int ship = shipAt[base + n];
+                if (ship == 0) {
+                    outcomes[0] += weight[n];
+                } else if (afloat[n * ships + ship - 1] == 1) {
+                    outcomes[2 + posterior.kind[ship - 1]] += weight[n];
+                } else {
+                    outcomes[1] += weight[n];
+                }
+            }
+
+            double entropy = 0;
+            for (double outcome : outcomes) {
+                if (outcome > 0) {
+                    double p = outcome / posterior.totalWeight;
+                    entropy -= p * Math.log(p);
+                }
+            }
+            hits[cell] = posterior.totalWeight - outcomes[0];
+            gains[cell] = entropy / Math.log(2);
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.Orientation;
+import es.uab.tqs.battleship.model.PlacementIndex;
+
+/**
+ * Counts exactly the layouts of the remaining fleet that are consistent with
+ * what is known about a board, and how many of them occupy every cell.
+ *
+ * <p>A layout places every ship still afloat on cells that are neither missed
+ * nor part of a sunk ship, without overlaps, so that every unresolved hit is
+ * covered. Ships of the same length are interchangeable: a layout and the same
+ * layout with two such ships swapped count once. The probability that a cell
+ * holds a ship is its count divided by the total.</p>
+ *
+ * <p>Ships are placed longest first. A state is the set of occupied cells
+ * after the first ships are placed, plus the lowest placement allowed for the
+ * next ship when it has the same length as the previous one, which makes each
+ * layout reachable in exactly one order. The number of completions of every
+ * state is memoized, so layouts that differ only in how their first ships were
+ * reached are counted once. The last ship is counted directly: only its
+ * placements through the first uncovered hit, if any, can complete a layout.
+ * A forward pass then spreads, level by level, the number of ways to reach
+ * each state over the placements leading to states that still have
+ * completions, which gives the per-cell counts.</p>
+ *
+ * <p>Counts are exact {@code long}s: arithmetic uses {@link Math#addExact} and
+ * {@link Math#multiplyExact}, and an ArithmeticException is thrown rather than
+ * returning a wrong count. Every placement examined counts as one node of the
+ * {@link ComputeBudget}; when the budget runs out, no result is returned. A
+ * counter is not thread-safe.</p>
+ */
+public final class LayoutCounter {
+
+    /** Placements examined between two deadline checks. */
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final PlacementIndex index;
+    private final int size;
+    private final long[] blocked;
+    private final long[] hits;
+    private final int[] lengths;
+    private final int[] cellsFrom;
+
+    private final int[][] placements;
+    private final long[][] masks;
+    private final List<Map<State, Long>> memo;
+
+    private ComputeBudget budget;
+    private long nodes;
+    private boolean aborted;
+
+    /**
+     * Builds a counter from the public state of a board: misses, sunk ships,
+     * unresolved hits and the ships still afloat.
+     *
+     * @param board The opponent board, up to {@link PlacementIndex#MAX_SIZE}.
+     * @return A counter for the board as it is now.
+     */
+    public static LayoutCounter forBoard(Board board) {
+        BoardKnowledge knowledge = new BoardKnowledge();
+        knowledge.sync(board);
+        return forKnowledge(knowledge);
+    }
+
+    /**
+     * Builds a counter from tracked knowledge. The bitsets are copied.
+     *
+     * @param knowledge The knowledge of an opponent board.
+     * @return A counter for the knowledge as it is now.
+     */
+    static LayoutCounter forKnowledge(BoardKnowledge knowledge) {
+        return new LayoutCounter(knowledge.getIndex(), knowledge.getBlocked(), knowledge.getHits(),
+                knowledge.remainingLengths());
+    }
+
+    private LayoutCounter(PlacementIndex index, long[] blocked, long[] hits, int[] lengths) {
+        this.index = index;
+        this.size = index.getSize();
+        this.blocked = blocked.clone();
+        this.hits = hits.clone();
+        this.lengths = lengths.clone();
+
+        this.cellsFrom = new int[lengths.length + 1];
+        for (int i = lengths.length - 1; i >= 0; i--) {
+            cellsFrom[i] = cellsFrom[i + 1] + lengths[i];
+        }
+
+        this.placements = new int[lengths.length][2 * size * size];
+        this.masks = new long[lengths.length + 1][blocked.length];
+        this.memo = new ArrayList<>(lengths.length);
+        for (int i = 0; i < lengths.length; i++) {
+            memo.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * Counts the layouts and the per-cell occupancy.
+     *
+     * @param budget Limits the placements examined and the time spent.
+     * @return The counts, or null if the budget ran out first.
+     * @throws ArithmeticException if a count does not fit in a long.
+     */
+    public Result count(ComputeBudget budget) {
+        this.budget = budget;
+        this.nodes = 0;
+        this.aborted = false;
+
+        long total = completions(0, blocked, 0);
+        long[] counts = new long[size * size];
+        if (total > 0) {
+            spread(counts);
+        }
+        return aborted ? null : new Result(total, counts, nodes);
+    }
+
+    /**
+     * Gets the number of ways to place ships from the given one on, given the
+     * occupied cells.
+     */
+    private long completions(int ship, long[] occupied, int minPlacement) {
+        if (ship == lengths.length) {
+            return coversHits(occupied) ? 1 : 0;
+        }
+        if (uncoveredHits(occupied) > cellsFrom[ship]) {
+            return 0;
+        }
+        if (ship == lengths.length - 1) {
+            return lastShip(occupied, minPlacement);
+        }
+
+        State state = new State(occupied, minPlacement);
+        Long known = memo.get(ship).get(state);
+        if (known != null) {
+            return known;
+        }
+
+        int length = lengths[ship];
+        int[] candidates = placements[ship];
+        long[] child = masks[ship + 1];
+        int count = index.legalPlacements(occupied, length, candidates);
+        long total = 0;
+
+        for (int i = 0; i < count; i++) {
+            int placement = candidates[i];
+            if (placement < minPlacement) {
+                continue;
+            }
+            if (!visit()) {
+                return 0;
+            }
+            System.arraycopy(occupied, 0, child, 0, child.length);
+            index.occupy(child, length, placement);
+            total = Math.addExact(total, completions(ship + 1, child, nextMin(ship, placement)));
+            if (aborted) {
+                return 0;
+            }
+        }
+
+        memo.get(ship).put(state, total);
+        return total;
+    }
+
+    /**
+     * Counts the placements of the last ship that cover every hit left, without
+     * building the final states. With hits left, only the placements through
+     * the first of them are tried.
+     */
+    private long lastShip(long[] occupied, int minPlacement) {
+        int ship = lengths.length - 1;
+        int length = lengths[ship];
+        long[] uncovered = masks[ship + 1];
+        int first = -1;
+        for (int w = 0; w < uncovered.length; w++) {
+            uncovered[w] = hits[w] & ~occupied[w];
+            if (first < 0 && uncovered[w] != 0) {
+                first = (w << 6) + Long.numberOfTrailingZeros(uncovered[w]);
+            }
+        }
+
+        long total = 0;
+        if (first < 0) {
+            int[] candidates = placements[ship];
+            int count = index.legalPlacements(occupied, length, candidates);
+            for (int i = 0; i < count; i++) {
+                if (!visit()) {
+                    return 0;
+                }
+                if (candidates[i] >= minPlacement) {
+                    total++;
+                }
+            }
+            return total;
+        }
+
+        int needed = uncoveredHits(occupied);
+        int x = first % size;
+        int y = first / size;
+        for (int offset = 0; offset < length; offset++) {
+            if (x - offset >= 0 && x - offset + length <= size) {
+                total += countIfCovering(occupied, uncovered, needed, minPlacement,
+                        index.encode(x - offset, y, Orientation.HORIZONTAL), length);
+            }
+            if (y - offset >= 0 && y - offset + length <= size) {
+                total += countIfCovering(occupied, uncovered, needed, minPlacement,
+                        index.encode(x, y - offset, Orientation.VERTICAL), length);
+            }
+            if (aborted) {
+                return 0;
+            }
+        }
+        return total;
+    }
+
+    private int countIfCovering(long[] occupied, long[] uncovered, int needed, int minPlacement,
+            int placement, int length) {
+        if (placement < minPlacement || !visit()) {
+            return 0;
+        }
+        return index.fits(occupied, length, placement)
+                && index.countOverlap(uncovered, length, placement) == needed ? 1 : 0;
+    }
+
+    /**
+     * Walks the reachable states level by level, carrying the number of ways
+     * each is reached, and adds ways * completions to the cells of every
+     * placement.
+     */
+    private void spread(long[] counts) {
+        Map<State, Long> level = new HashMap<>();
+        level.put(new State(blocked, 0), 1L);
+
+        for (int ship = 0; ship < lengths.length && !aborted; ship++) {
+            Map<State, Long> next = new HashMap<>();
+            int length = lengths[ship];
+            int[] candidates = placements[ship];
+            long[] child = masks[ship + 1];
+
+            for (Map.Entry<State, Long> entry : level.entrySet()) {
+                long[] occupied = entry.getKey().bits;
+                int minPlacement = entry.getKey().minPlacement;
+                long ways = entry.getValue();
+                int count = index.legalPlacements(occupied, length, candidates);
+
+                for (int i = 0; i < count; i++) {
+                    int placement = candidates[i];
+                    if (placement < minPlacement) {
+                        continue;
+                    }
+                    if (!visit()) {
+                        return;
+                    }
+                    System.arraycopy(occupied, 0, child, 0, child.length);
+                    index.occupy(child, length, placement);
+                    int childMin = nextMin(ship, placement);
+                    long completions = completions(ship + 1, child, childMin);
+                    if (completions == 0) {
+                        continue;
+                    }
+
+                    long layouts = Math.multiplyExact(ways, completions);
+                    int step = (placement & 1) == 0 ? 1 : size;
+                    for (int k = 0, cell = placement >>> 1; k < length; k++, cell += step) {
+                        counts[cell] = Math.addExact(counts[cell], layouts);
+                    }
+                    if (ship + 1 < lengths.length) {
+                        next.merge(new State(child, childMin), ways, Math::addExact);
+                    }
+                }
+            }
+            level = next;
+        }
+    }
+
+    private int nextMin(int ship, int placement) {
+        return ship + 1 < lengths.length && lengths[ship + 1] == lengths[ship] ? placement + 1 : 0;
+    }
+
+    private boolean visit() {
+        nodes++;
+        if (nodes >= budget.getMaxNodes() || (nodes % CHECK_INTERVAL == 0 && budget.isExpired())) {
+            aborted = true;
+        }
+        return !aborted;
+    }
+
+    private boolean coversHits(long[] occupied) {
+        for (int w = 0; w < hits.length; w++) {
+            if ((hits[w] & ~occupied[w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int uncoveredHits(long[] occupied) {
+        int count = 0;
+        for (int w = 0; w < hits.length; w++) {
+            count += Long.bitCount(hits[w] & ~occupied[w]);
+        }
+        return count;
+    }
+
+    /**
+     * Memo key: occupied cells plus the lowest allowed next placement.
+     */
+    private static final class State {
+
+        private final long[] bits;
+        private final int minPlacement;
+        private final int hash;
+
+        State(long[] bits, int minPlacement) {
+            this.bits = bits.clone();
+            this.minPlacement = minPlacement;
+            this.hash = 31 * Arrays.hashCode(bits) + minPlacement;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof State)) {
+                return false;
+            }
+            State other = (State) o;
+            return minPlacement == other.minPlacement && Arrays.equals(bits, other.bits);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Exact layout counts of one board state.
+     */
+    public static final class Result {
+
+        private final long total;
+        private final long[] counts;
+        private final long nodes;
+
+        Result(long total, long[] counts, long nodes) {
+            this.total = total;
+            this.counts = counts;
+            this.nodes = nodes;
+        }
+
+        /**
+         * Gets the number of consistent layouts.
+         *
+         * @return The total, 0 if the knowledge is contradictory.
+         */
+        public long getTotal() {
+            return total;
+        }
+
+        /**
+         * Gets the number of consistent layouts with a ship on a cell.
+         *
+         * @param cell The index of the cell.
+         * @return The count; equal to the total on unresolved hits.
+         */
+        public long getCount(int cell) {
+            return counts[cell];
+        }
+
+        /**
+         * Gets the probability that a cell holds a ship.
+         *
+         * @param cell The index of the cell.
+         * @return getCount(cell) / getTotal(), 0 if there are no layouts.
+         */
+        public double getProbability(int cell) {
+            return total == 0 ? 0 : (double) counts[cell] / total;
+        }
+
+        /**
+         * Gets the number of placements examined.
+         *
+         * @return The nodes visited.
+         */
+        public long getNodes() {
+            return nodes;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+import es.uab.tqs.battleship.model.PlacementIndex;
+
+/**
+ * Draws random layouts of the remaining fleet that are consistent with what
+ * is known of a board: every ship is placed in turn, uniformly among the
+ * placements that avoid the blocked cells and the ships placed before it, and
+ * layouts leaving an unresolved hit uncovered are rejected.
+ *
+ * <p>Drawing ship after ship is not uniform over layouts: a layout is drawn
+ * with probability the product of 1/count over its ships, count being the
+ * number of placements its ship could choose from. {@link #draw} returns the
+ * product of those counts as the importance weight of the layout; tallies
+ * weighted by it estimate the uniform distribution over consistent layouts,
+ * which {@link LayoutCounter} computes exactly.</p>
+ *
+ * <p>A sampler only reads the arrays it was given, so any number of threads
+ * may draw from it at once, each with its own generator and scratch arrays.
+ * {@link #drawAll} does so on a {@link ForkJoinPool}, checking the deadline of
+ * a {@link ComputeBudget} as it goes: every task hands its layouts to a
+ * {@link Tally} of its own, merged with the others as tasks join, and every
+ * worker thread keeps its scratch arrays from one task, and one decision, to
+ * the next.</p>
+ */
+final class LayoutSampler {
+
+    /** Tasks draw at least this many layouts, to keep forking cheap. */
+    private static final int MIN_TASK_SAMPLES = 256;
+
+    /** Layouts drawn between two deadline checks. */
+    private static final int CHECK_INTERVAL = 64;
+
+    /** Scratch arrays of every thread that draws through drawAll. */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final PlacementIndex index;
+    private final long[] blocked;
+    private final long[] hits;
+    private final int[] lengths;
+
+    /**
+     * Constructs a sampler over the current knowledge of a board. The arrays
+     * are shared, not copied, and must not change while sampling.
+     *
+     * @param knowledge The knowledge of the board.
+     * @param lengths   The lengths of the ships to place, longest first.
+     */
+    LayoutSampler(BoardKnowledge knowledge, int[] lengths) {
+        this.index = knowledge.getIndex();
+        this.blocked = knowledge.getBlocked();
+        this.hits = knowledge.getHits();
+        this.lengths = lengths;
+    }
+
+    PlacementIndex getIndex() {
+        return index;
+    }
+
+    int[] getLengths() {
+        return lengths;
+    }
+
+    /**
+     * Allocates the occupancy scratch bitset of a drawing thread.
+     *
+     * @return A new bitset.
+     */
+    long[] newOccupancy() {
+        return new long[blocked.length];
+    }
+
+    /**
+     * Allocates the candidate scratch array of a drawing thread.
+     *
+     * @return A new array large enough for every placement of a ship.
+     */
+    int[] newCandidates() {
+        return new int[2 * index.getSize() * index.getSize()];
+    }
+
+    /**
+     * Draws one layout.
+     *
+     * @param random     The generator of the calling thread.
+     * @param occupancy  Scratch bitset, from newOccupancy().
+     * @param candidates Scratch array, from newCandidates().
+     * @param layout     Receives the placement of each ship, by position in the lengths.
+     * @param offset     The position of the first placement in layout.
+     * @return The importance weight of the layout, or 0 if a ship did not fit
+     *         or a hit was left uncovered.
+     */
+    double draw(SplittableRandom random, long[] occupancy, int[] candidates, int[] layout, int offset) {
+        System.arraycopy(blocked, 0, occupancy, 0, blocked.length);
+        double weight = 1;
+        for (int i = 0; i < lengths.length; i++) {
+            int count = index.legalPlacements(occupancy, lengths[i], candidates);
+            if (count == 0) {
+                return 0;
+            }
+            weight *= count;
+            layout[offset + i] = candidates[random.nextInt(count)];
+            index.occupy(occupancy, lengths[i], layout[offset + i]);
+        }
+        for (int w = 0; w < hits.length; w++) {
+            if ((hits[w] & ~occupancy[w]) != 0) {
+                return 0;
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Draws a range of layouts in parallel. Every task creates a tally and
+     * hands it the layouts it draws, rejected ones included; layouts not drawn
+     * because the deadline of the budget passed never reach a tally.
+     *
+     * @param pool     The pool drawing runs on.
+     * @param budget   Its deadline stops drawing; node limits are the caller's.
+     * @param random   The generator of the calling thread; workers get
+     *                 generators split from it.
+     * @param from     The number of the first layout to draw.
+     * @param to       The number after the last layout to draw.
+     * @param newTally Creates the tally of a task.
+     * @param <T>      The type of tally.
+     * @return The tallies of all tasks, merged.
+     */
+    <T extends Tally<T>> T drawAll(ForkJoinPool pool, ComputeBudget budget, SplittableRandom random,
+            int from, int to, Supplier<T> newTally) {
+        int grain = Math.max(MIN_TASK_SAMPLES, (to - from) / (4 * pool.getParallelism()));
+        return pool.invoke(new DrawTask<>(newTally, from, to, grain, budget, random.split()));
+    }
+
+    /**
+     * Collects the layouts drawn by one task of {@link #drawAll}.
+     *
+     * @param <T> The type of tally, merged with tallies of its own type.
+     */
+    interface Tally<T extends Tally<T>> {
+
+        /**
+         * Receives a layout.
+         *
+         * @param n      The number of the layout.
+         * @param layout The placement of each ship, by position in the
+         *               lengths; scratch that is only valid during the call.
+         * @param weight The importance weight of the layout, or 0 if it was
+         *               rejected.
+         */
+        void add(int n, int[] layout, double weight);
+
+        /**
+         * Adds the layouts of another task.
+         *
+         * @param other The tally of the other task, not used afterwards.
+         * @return The merged tally.
+         */
+        T merge(T other);
+    }
+
+    /**
+     * Gets the scratch arrays of the calling thread, sized for this sampler.
+     */
+    private Scratch scratch() {
+        Scratch scratch = SCRATCH.get();
+        if (scratch.occupancy.length != blocked.length) {
+            scratch.occupancy = newOccupancy();
+        }
+        if (scratch.candidates.length < 2 * index.getSize() * index.getSize()) {
+            scratch.candidates = newCandidates();
+        }
+        if (scratch.layout.length < lengths.length) {
+            scratch.layout = new int[lengths.length];
+        }
+        return scratch;
+    }
+
+    /**
+     * Scratch arrays of one thread, grown as needed.
+     */
+    private static final class Scratch {
+
+        private long[] occupancy = new long[0];
+        private int[] candidates = new int[0];
+        private int[] layout = new int[0];
+    }
+
+    /**
+     * Draws a share of the layouts into a tally of its own, forking halves
+     * until shares are small and merging tallies as halves join.
+     */
+    @SuppressWarnings("serial")
+    private final class DrawTask<T extends Tally<T>> extends RecursiveTask<T> {
+
+        private final Supplier<T> newTally;
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final ComputeBudget budget;
+        private final SplittableRandom random;
+
+        DrawTask(Supplier<T> newTally, int from, int to, int grain, ComputeBudget budget, SplittableRandom random) {
+            this.newTally = newTally;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.budget = budget;
+            this.random = random;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= grain) {
+                return drawShare();
+            }
+            int middle = (from + to) >>> 1;
+            DrawTask<T> left = new DrawTask<>(newTally, from, middle, grain, budget, random.split());
+            DrawTask<T> right = new DrawTask<>(newTally, middle, to, grain, budget, random);
+            left.fork();
+            T tally = right.compute();
+            return tally.merge(left.join());
+        }
+
+        private T drawShare() {
+            T tally = newTally.get();
+            Scratch scratch = scratch();
+            for (int n = from; n < to; n++) {
+                if ((n - from) % CHECK_INTERVAL == 0 && budget.isExpired()) {
+                    break;
+                }
+                tally.add(n, scratch.layout, draw(random, scratch.occupancy, scratch.candidates, scratch.layout, 0));
+            }
+            return tally;
+        }
+    }
+}
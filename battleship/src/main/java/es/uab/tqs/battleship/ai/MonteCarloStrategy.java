@@ -0,0 +1,237 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.Board;
+
+/**
+ * Fires at the cell occupied most often in random layouts of the remaining
+ * fleet that are consistent with everything observed so far.
+ *
+ * <p>Each decision draws up to {@link #getSamples()} layouts of the ships still
+ * afloat, every ship among the placements that avoid misses, sunk ships and the
+ * ships drawn before it. Layouts that leave an unresolved hit uncovered are
+ * rejected. The accepted layouts vote for the cells they occupy, each with its
+ * importance weight (see {@link LayoutSampler}) so that the votes estimate
+ * the share of all consistent layouts covering each cell, and the unattacked
+ * cell with the most votes is attacked, ties being broken at random.</p>
+ *
+ * <p>Sampling is split across a {@link ForkJoinPool} by
+ * {@link LayoutSampler#drawAll}, every task drawing with its own
+ * {@link SplittableRandom} and tallying its layouts into its own counts,
+ * which are summed as tasks join, so more cores buy more layouts in the same
+ * time and layouts are never stored. Every
+ * layout drawn counts as one node of the {@link ComputeBudget}, and tasks stop
+ * early when its deadline passes. If no layout was accepted in time, the
+ * decision falls back to a {@link ProbabilityDensityStrategy}.</p>
+ */
+public class MonteCarloStrategy implements AttackStrategy {
+
+    /** Layouts drawn per decision by default. */
+    public static final int DEFAULT_SAMPLES = 20_000;
+
+    private final ForkJoinPool pool;
+    private final int samples;
+    private final SplittableRandom random;
+    private final ProbabilityDensityStrategy fallback;
+    private final BoardKnowledge knowledge = new BoardKnowledge();
+
+    private long lastDrawn;
+    private long lastAccepted;
+
+    /**
+     * Constructs a Monte Carlo strategy sampling on the common pool.
+     */
+    public MonteCarloStrategy() {
+        this(ForkJoinPool.commonPool(), DEFAULT_SAMPLES, new SplittableRandom());
+    }
+
+    /**
+     * Constructs a Monte Carlo strategy.
+     *
+     * @param pool    The pool sampling runs on.
+     * @param samples The number of layouts drawn per decision, at most.
+     * @param random  The source of randomness; only used by the calling thread,
+     *                workers get generators split from it.
+     * @throws IllegalArgumentException if samples is not positive.
+     */
+    public MonteCarloStrategy(ForkJoinPool pool, int samples, SplittableRandom random) {
+        if (samples <= 0) {
+            throw new IllegalArgumentException("Invalid sample count: " + samples);
+        }
+        this.pool = pool;
+        this.samples = samples;
+        this.random = random;
+        this.fallback = new ProbabilityDensityStrategy(new Random(random.nextLong()));
+    }
+
+    @Override
+    public String getName() {
+        return "montecarlo";
+    }
+
+    /**
+     * Gets the maximum number of layouts drawn per decision.
+     *
+     * @return The sample count.
+     */
+    public int getSamples() {
+        return samples;
+    }
+
+    /**
+     * Chooses the unattacked cell occupied by the most consistent layouts.
+     *
+     * @param board  The opponent board.
+     * @param budget Limits the layouts drawn (nodes) and the sampling time.
+     * @return The index of an unattacked cell.
+     * @throws IllegalStateException if every cell has already been attacked.
+     */
+    @Override
+    public int nextTarget(Board board, ComputeBudget budget) {
+        knowledge.sync(board);
+        int size = knowledge.getSize();
+        int[] lengths = knowledge.remainingLengths();
+
+        double[] counts = null;
+        lastDrawn = 0;
+        lastAccepted = 0;
+        int draws = (int) Math.min(samples, budget.getMaxNodes());
+        if (lengths.length > 0 && !budget.isExpired()) {
+            Tally tally = new LayoutSampler(knowledge, lengths).drawAll(pool, budget, random, 0, draws,
+                    () -> new Tally(lengths, size));
+            counts = tally.counts;
+            lastDrawn = tally.drawn;
+            lastAccepted = tally.accepted;
+        }
+
+        if (lastAccepted == 0) {
+            return fallback.nextTarget(board, budget);
+        }
+
+        int best = -1;
+        double bestCount = -1;
+        int ties = 0;
+        for (int cell = 0; cell < size * size; cell++) {
+            if (knowledge.isAttacked(cell)) {
+                continue;
+            }
+            double value = counts[cell];
+            if (value > bestCount) {
+                best = cell;
+                bestCount = value;
+                ties = 1;
+            } else if (value == bestCount && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+
+        if (best < 0) {
+            throw new IllegalStateException("Every cell has already been attacked");
+        }
+        return best;
+    }
+
+    /**
+     * Records the result of an attack.
+     *
+     * @param board  The opponent board.
+     * @param cell   The index of the attacked cell.
+     * @param result The result of the attack.
+     */
+    @Override
+    public void onAttackResult(Board board, int cell, AttackResult result) {
+        knowledge.record(board, cell, result);
+        fallback.onAttackResult(board, cell, result);
+    }
+
+    /**
+     * Passes the prior on to the density fallback; sampling stays uniform.
+     *
+     * @param prior The placement prior, or null to weight placements uniformly.
+     */
+    @Override
+    public void usePlacementPrior(PlacementPrior prior) {
+        fallback.usePlacementPrior(prior);
+    }
+
+    /**
+     * Lets the density fallback detach from the board.
+     *
+     * @param board The opponent board.
+     */
+    @Override
+    public void onGameOver(Board board) {
+        fallback.onGameOver(board);
+    }
+
+    /**
+     * Gets the number of layouts drawn by the last decision.
+     * Exposed for tests and analysis.
+     *
+     * @return The layouts drawn, accepted or not.
+     */
+    long getLastDrawn() {
+        return lastDrawn;
+    }
+
+    /**
+     * Gets the number of consistent layouts found by the last decision.
+     * Exposed for tests and analysis.
+     *
+     * @return The layouts accepted.
+     */
+    long getLastAccepted() {
+        return lastAccepted;
+    }
+
+    /**
+     * Weighted occupancy counts of the accepted layouts of one task.
+     */
+    private static final class Tally implements LayoutSampler.Tally<Tally> {
+
+        private final int[] lengths;
+        private final int size;
+        private final double[] counts;
+        private long drawn;
+        private long accepted;
+
+        Tally(int[] lengths, int size) {
+            this.lengths = lengths;
+            this.size = size;
+            this.counts = new double[size * size];
+        }
+
+        /**
+         * Adds the weight of the layout to every cell its ships occupy.
+         */
+        @Override
+        public void add(int n, int[] layout, double weight) {
+            drawn++;
+            if (weight == 0) {
+                return;
+            }
+            accepted++;
+            for (int i = 0; i < lengths.length; i++) {
+                int placement = layout[i];
+                int step = (placement & 1) == 0 ? 1 : size;
+                for (int k = 0, cell = placement >>> 1; k < lengths[i]; k++, cell += step) {
+                    counts[cell] += weight;
+                }
+            }
+        }
+
+        @Override
+        public Tally merge(Tally other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            drawn += other.drawn;
+            accepted += other.accepted;
+            return this;
+        }
+    }
+}
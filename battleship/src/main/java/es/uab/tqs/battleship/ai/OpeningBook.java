@@ -0,0 +1,203 @@
+package es.uab.tqs.battleship.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.Symmetry;
+
+/**
+ * Read-only opening book: the best first shots of a game, as a trie keyed by
+ * the results of the previous shots.
+ *
+ * <p>Every node holds the cell to attack and the nodes to continue from after
+ * a MISS, a HIT or a SUNK on that cell. The book is memory-mapped, so lookups
+ * read the file through the page cache and cost nothing on the heap. Books are
+ * written by {@link OpeningBookBuilder}.</p>
+ *
+ * <p>Positions that are images of each other under a {@link Symmetry} share
+ * one node. A node stores its move as seen from the position it was built for;
+ * the link to a child also holds the symmetry mapping that stored position to
+ * the actual one, and readers map the moves of the child through it (see
+ * {@link #getChildSymmetry}).</p>
+ *
+ * <p>File layout (big-endian ints): a header {@code MAGIC, VERSION, boardSize,
+ * nodeCount}, then nodeCount nodes of {@code move, missChild, hitChild,
+ * sunkChild}. Each child is packed as {@code node << 3 | symmetry ordinal}.
+ * Node 0 is the root; a child node of 0 means the book has no move for that
+ * result, as the root is nobody's child. Every move and link is checked when
+ * the book is opened, and books with moves off the board or links out of the
+ * book are rejected.</p>
+ */
+public final class OpeningBook {
+
+    /** "BSOB": Battleship opening book. */
+    static final int MAGIC = 0x42534F42;
+
+    static final int VERSION = 2;
+
+    /** Bits of a child link holding the symmetry ordinal. */
+    static final int SYMMETRY_BITS = 3;
+
+    static final int HEADER_BYTES = 16;
+
+    static final int NODE_BYTES = 16;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int nodeCount;
+
+    private OpeningBook(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an opening book");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported opening book version: " + buffer.getInt(4));
+        }
+        this.buffer = buffer;
+        this.size = buffer.getInt(8);
+        this.nodeCount = buffer.getInt(12);
+        if (size <= 0 || nodeCount < 0 || (long) nodeCount * NODE_BYTES > buffer.capacity() - HEADER_BYTES) {
+            throw new IOException("Corrupt opening book header");
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            validate(node);
+        }
+    }
+
+    /**
+     * Checks that a node attacks a cell of the board and links to nodes of
+     * the book, so that readers never need to.
+     */
+    private void validate(int node) throws IOException {
+        int at = HEADER_BYTES + node * NODE_BYTES;
+        int move = buffer.getInt(at);
+        if (move < 0 || move >= (long) size * size) {
+            throw new IOException("Corrupt opening book node " + node + ": move " + move);
+        }
+        for (int slot = 1; slot <= 3; slot++) {
+            int link = buffer.getInt(at + 4 * slot);
+            if ((link >>> SYMMETRY_BITS) >= nodeCount || (link & ((1 << SYMMETRY_BITS) - 1)) >= Symmetry.COUNT) {
+                throw new IOException("Corrupt opening book node " + node + ": link " + link);
+            }
+        }
+    }
+
+    /**
+     * Memory-maps a book file.
+     *
+     * @param path The book file.
+     * @return The mapped book.
+     * @throws IOException if the file cannot be read or is not a valid book,
+     *                     including moves off the board or links out of the book.
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new OpeningBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Wraps a book already in memory, e.g. straight from the builder.
+     *
+     * @param buffer The serialized book.
+     * @return The book.
+     * @throws IOException if the buffer is not a valid book.
+     */
+    public static OpeningBook wrap(ByteBuffer buffer) throws IOException {
+        return new OpeningBook(buffer.duplicate());
+    }
+
+    /**
+     * Gets the board size the book was built for.
+     *
+     * @return The board size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of positions in the book.
+     *
+     * @return The node count.
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Gets the position before the first shot.
+     *
+     * @return The root node, or -1 if the book is empty.
+     */
+    public int getRoot() {
+        return nodeCount > 0 ? 0 : -1;
+    }
+
+    /**
+     * Gets the cell to attack in a position.
+     *
+     * @param node A node of the book.
+     * @return The packed index of the cell.
+     */
+    public int getMove(int node) {
+        return buffer.getInt(offset(node));
+    }
+
+    /**
+     * Gets the position reached after the move of a node got the given result.
+     *
+     * @param node   A node of the book.
+     * @param result The result of its move.
+     * @return The next node, or -1 if the book ends there.
+     */
+    public int getChild(int node, AttackResult result) {
+        int link = link(node, result);
+        int child = link >>> SYMMETRY_BITS;
+        return child > 0 ? child : -1;
+    }
+
+    /**
+     * Gets the symmetry mapping the position stored in a child to the one
+     * actually reached: the moves of the child must be mapped through it.
+     *
+     * @param node   A node of the book.
+     * @param result The result of its move.
+     * @return The symmetry, IDENTITY if the book ends there.
+     */
+    public Symmetry getChildSymmetry(int node, AttackResult result) {
+        if (getChild(node, result) < 0) {
+            return Symmetry.IDENTITY;
+        }
+        return Symmetry.of(link(node, result) & ((1 << SYMMETRY_BITS) - 1));
+    }
+
+    private int link(int node, AttackResult result) {
+        int slot;
+        switch (result) {
+            case MISS:
+                slot = 1;
+                break;
+            case HIT:
+                slot = 2;
+                break;
+            case SUNK:
+                slot = 3;
+                break;
+            default:
+                return 0;
+        }
+        return buffer.getInt(offset(node) + 4 * slot);
+    }
+
+    private int offset(int node) {
+        if (node < 0 || node >= nodeCount) {
+            throw new IllegalArgumentException("Invalid book node: " + node);
+        }
+        return HEADER_BYTES + node * NODE_BYTES;
+    }
+}
@@ -0,0 +1,241 @@
+package es.uab.tqs.battleship.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import es.uab.tqs.battleship.model.FleetGenerator;
+import es.uab.tqs.battleship.model.ShipType;
+import es.uab.tqs.battleship.model.Symmetry;
+import es.uab.tqs.battleship.model.Zobrist;
+
+/**
+ * Precomputes an {@link OpeningBook} by playing the opening against many
+ * random fleets.
+ *
+ * <p>The builder draws uniformly random layouts of the fleet. At the root, the
+ * best shot is the cell holding a ship in the most layouts. The layouts are
+ * then split by the result that shot gets against each of them (MISS, HIT or
+ * SUNK), and every group picks its own best next shot among the cells not shot
+ * yet, down to the requested depth. Groups with fewer than
+ * {@link #MIN_SAMPLES} layouts are too rare to be trusted and end the book.</p>
+ *
+ * <p>Positions are keyed by the canonical Zobrist hash of their shots and
+ * results under {@link Symmetry}. A position that is an image of one already
+ * in the book links to the existing node through the symmetry between them
+ * instead of getting a subtree of its own, so the book holds one subtree per
+ * class of equivalent positions. A sunk result is keyed as a hit plus the
+ * sunk key of a zero-length ship at the cell, since the book does not tell the
+ * sunk ships apart.</p>
+ */
+public final class OpeningBookBuilder {
+
+    /** Fewest layouts a position needs to get a move. */
+    public static final int MIN_SAMPLES = 64;
+
+    private final int size;
+    private final ShipType[] fleet;
+    private final int depth;
+    private final int samples;
+    private final long seed;
+
+    private byte[] shipAt;
+    private final List<int[]> nodes = new ArrayList<>();
+    private final Map<Long, Integer> positions = new HashMap<>();
+
+    /**
+     * Constructs a builder.
+     *
+     * @param boardSize The size of the board.
+     * @param fleet     The fleet of the opponent.
+     * @param depth     The number of shots covered by the book.
+     * @param samples   The number of random layouts to play against.
+     * @param seed      The seed of the layouts, for reproducible books.
+     * @throws IllegalArgumentException if depth or samples is not positive.
+     */
+    public OpeningBookBuilder(int boardSize, ShipType[] fleet, int depth, int samples, long seed) {
+        if (depth <= 0 || samples <= 0) {
+            throw new IllegalArgumentException("Invalid book depth or sample count: " + depth + ", " + samples);
+        }
+        this.size = boardSize;
+        this.fleet = fleet.clone();
+        this.depth = depth;
+        this.samples = samples;
+        this.seed = seed;
+    }
+
+    /**
+     * Builds the book.
+     *
+     * @return The serialized book, ready to be written or wrapped.
+     */
+    public ByteBuffer build() {
+        int cells = size * size;
+        int[] layouts = new int[samples * fleet.length];
+        new FleetGenerator(size, fleet, FleetGenerator.Mode.UNIFORM, new SplittableRandom(seed))
+                .generate(samples, layouts);
+
+        shipAt = new byte[samples * cells];
+        for (int s = 0; s < samples; s++) {
+            for (int i = 0; i < fleet.length; i++) {
+                int placement = layouts[s * fleet.length + i];
+                int step = (placement & 1) == 0 ? 1 : size;
+                for (int k = 0, cell = placement >>> 1; k < fleet[i].getLength(); k++, cell += step) {
+                    shipAt[s * cells + cell] = (byte) (i + 1);
+                }
+            }
+        }
+
+        int[] all = new int[samples];
+        for (int s = 0; s < samples; s++) {
+            all[s] = s;
+        }
+        nodes.clear();
+        positions.clear();
+        long[] hashes = new long[Symmetry.COUNT];
+        Arrays.fill(hashes, Zobrist.empty(size));
+        addNode(all, samples, new int[depth], 0, hashes);
+
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + nodes.size() * OpeningBook.NODE_BYTES);
+        buffer.putInt(OpeningBook.MAGIC).putInt(OpeningBook.VERSION).putInt(size).putInt(nodes.size());
+        for (int[] node : nodes) {
+            for (int value : node) {
+                buffer.putInt(value);
+            }
+        }
+        shipAt = null;
+        return buffer.flip();
+    }
+
+    /**
+     * Builds the book and writes it to a file.
+     *
+     * @param path The file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public void write(Path path) throws IOException {
+        ByteBuffer book = build();
+        Files.write(path, book.array());
+    }
+
+    /**
+     * Adds the node of a position and, recursively, its children, unless an
+     * equivalent position already has one.
+     *
+     * @param group  The layouts consistent with the position, in the first count entries.
+     * @param count  The number of such layouts.
+     * @param path   The cells shot so far, in the first ply entries.
+     * @param ply    The number of shots so far.
+     * @param hashes The hashes of the images of the position, by symmetry ordinal.
+     * @return The link to the node: its index and the symmetry mapping it to the position.
+     */
+    private int addNode(int[] group, int count, int[] path, int ply, long[] hashes) {
+        Symmetry canonical = Symmetry.canonical(hashes);
+        Long key = Symmetry.canonicalHash(hashes);
+        Integer known = positions.get(key);
+        if (known != null) {
+            // canonical(position) == stored(node), so position = canonical^-1(stored(node)).
+            Symmetry stored = Symmetry.of(known & ((1 << OpeningBook.SYMMETRY_BITS) - 1));
+            Symmetry link = canonical.inverse().after(stored);
+            return (known >>> OpeningBook.SYMMETRY_BITS) << OpeningBook.SYMMETRY_BITS | link.ordinal();
+        }
+
+        int cells = size * size;
+        int[] occupancy = new int[cells];
+        for (int i = 0; i < count; i++) {
+            int base = group[i] * cells;
+            for (int cell = 0; cell < cells; cell++) {
+                if (shipAt[base + cell] != 0) {
+                    occupancy[cell]++;
+                }
+            }
+        }
+        for (int i = 0; i < ply; i++) {
+            occupancy[path[i]] = -1;
+        }
+
+        int move = 0;
+        for (int cell = 1; cell < cells; cell++) {
+            if (occupancy[cell] > occupancy[move]) {
+                move = cell;
+            }
+        }
+
+        int[] node = {move, 0, 0, 0};
+        int index = nodes.size();
+        nodes.add(node);
+        positions.put(key, index << OpeningBook.SYMMETRY_BITS | canonical.ordinal());
+        int link = index << OpeningBook.SYMMETRY_BITS | Symmetry.IDENTITY.ordinal();
+        path[ply] = move;
+        if (ply + 1 == depth) {
+            return link;
+        }
+
+        // Split the group by result: 0 = miss, 1 = hit, 2 = sunk.
+        int[][] groups = new int[3][count];
+        int[] sizes = new int[3];
+        for (int i = 0; i < count; i++) {
+            int result = resultOf(group[i], path, ply);
+            groups[result][sizes[result]++] = group[i];
+        }
+        for (int result = 0; result < 3; result++) {
+            if (sizes[result] >= MIN_SAMPLES) {
+                long[] next = new long[Symmetry.COUNT];
+                for (int t = 0; t < Symmetry.COUNT; t++) {
+                    int image = Symmetry.of(t).map(move, size);
+                    next[t] = hashes[t] ^ (result == 0 ? Zobrist.miss(image) : Zobrist.hit(image));
+                    if (result == 2) {
+                        next[t] ^= Zobrist.sunk(image << 1, 0);
+                    }
+                }
+                node[1 + result] = addNode(groups[result], sizes[result], path, ply + 1, next);
+            }
+        }
+        return link;
+    }
+
+    /**
+     * Gets the result of the last shot of the path against a layout.
+     */
+    private int resultOf(int sample, int[] path, int ply) {
+        int base = sample * size * size;
+        int ship = shipAt[base + path[ply]];
+        if (ship == 0) {
+            return 0;
+        }
+        int hits = 0;
+        for (int i = 0; i <= ply; i++) {
+            if (shipAt[base + path[i]] == ship) {
+                hits++;
+            }
+        }
+        return hits == fleet[ship - 1].getLength() ? 2 : 1;
+    }
+
+    /**
+     * Builds a book for the standard game and writes it.
+     * Arguments: output file, then optionally depth (default 6), number of
+     * layouts (default 200000) and seed (default 1).
+     *
+     * @param args The command-line arguments.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: OpeningBookBuilder <file> [depth] [samples] [seed]");
+            return;
+        }
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        int samples = args.length > 2 ? Integer.parseInt(args[2]) : 200_000;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1;
+        new OpeningBookBuilder(10, ShipType.values(), depth, samples, seed).write(Paths.get(args[0]));
+    }
+}
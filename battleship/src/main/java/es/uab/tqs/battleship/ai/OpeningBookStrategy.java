@@ -0,0 +1,143 @@
+package es.uab.tqs.battleship.ai;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.Symmetry;
+
+/**
+ * Plays the moves of an {@link OpeningBook} while the game follows it, then
+ * hands over to another strategy.
+ *
+ * <p>The book is followed from its root on every new board: each result moves
+ * to the matching child. The live strategy takes over for good once the book
+ * has no child for a result, its move was already attacked, or the board size
+ * does not match the book. The live strategy is told about every attack, book
+ * moves included, so it knows the board when it takes over. Book moves are
+ * mapped through the symmetries on the links followed so far, as equivalent
+ * positions share their nodes.</p>
+ */
+public class OpeningBookStrategy implements AttackStrategy {
+
+    private final OpeningBook book;
+    private final AttackStrategy live;
+
+    private Board board;
+    private int node;
+    private Symmetry frame = Symmetry.IDENTITY;
+
+    /**
+     * Constructs a strategy opening with a book.
+     *
+     * @param book The opening book.
+     * @param live The strategy used once out of book.
+     */
+    public OpeningBookStrategy(OpeningBook book, AttackStrategy live) {
+        this.book = book;
+        this.live = live;
+        this.node = -1;
+    }
+
+    @Override
+    public String getName() {
+        return "book+" + live.getName();
+    }
+
+    /**
+     * Gets the strategy used once out of book.
+     *
+     * @return The live strategy.
+     */
+    public AttackStrategy getLiveStrategy() {
+        return live;
+    }
+
+    /**
+     * Plays the book move if the game is still in book; asks the live strategy
+     * otherwise.
+     *
+     * @param board  The opponent board.
+     * @param budget The budget of the live strategy.
+     * @return The index of a cell that has not been attacked yet.
+     */
+    @Override
+    public int nextTarget(Board board, ComputeBudget budget) {
+        sync(board);
+        if (node >= 0) {
+            int move = currentMove();
+            if (!board.isAttacked(move)) {
+                return move;
+            }
+            node = -1;
+        }
+        return live.nextTarget(board, budget);
+    }
+
+    /**
+     * Follows the book with the result of its move, and tells the live
+     * strategy about the attack.
+     *
+     * @param board  The opponent board.
+     * @param cell   The index of the attacked cell.
+     * @param result The result of the attack.
+     */
+    @Override
+    public void onAttackResult(Board board, int cell, AttackResult result) {
+        sync(board);
+        if (node >= 0) {
+            if (currentMove() == cell) {
+                frame = frame.after(book.getChildSymmetry(node, result));
+                node = book.getChild(node, result);
+            } else {
+                node = -1;
+            }
+        }
+        live.onAttackResult(board, cell, result);
+    }
+
+    /**
+     * Passes the prior on to the live strategy.
+     *
+     * @param prior The placement prior, or null to weight placements uniformly.
+     */
+    @Override
+    public void usePlacementPrior(PlacementPrior prior) {
+        live.usePlacementPrior(prior);
+    }
+
+    @Override
+    public void onOpponentTurn(Board board) {
+        live.onOpponentTurn(board);
+    }
+
+    @Override
+    public void onGameOver(Board board) {
+        live.onGameOver(board);
+    }
+
+    /**
+     * Checks whether the next move comes from the book.
+     *
+     * @return true while in book.
+     */
+    public boolean isInBook() {
+        return node >= 0;
+    }
+
+    private void sync(Board board) {
+        if (board == this.board) {
+            return;
+        }
+        this.board = board;
+        boolean fresh = board.getUntargetedCellCount() == (long) board.getSize() * board.getSize();
+        node = fresh && board.getSize() == book.getSize() ? book.getRoot() : -1;
+        frame = Symmetry.IDENTITY;
+    }
+
+    /**
+     * Gets the move of the current node, mapped from the position stored in
+     * the book to the actual one.
+     */
+    private int currentMove() {
+        return frame.map(book.getMove(node), book.getSize());
+    }
+}
@@ -0,0 +1,91 @@
+package es.uab.tqs.battleship.ai;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.Board;
+
+/**
+ * Learns where the opponent places ships: the opponent's fleet is recorded
+ * into a {@link PlacementPrior} when the game ends, and the live strategy
+ * weights placements by the same prior (see
+ * {@link AttackStrategy#usePlacementPrior}). A prior may be shared by any
+ * number of concurrent games.
+ */
+public class PlacementLearningStrategy implements AttackStrategy {
+
+    private final AttackStrategy live;
+    private PlacementPrior prior;
+
+    /**
+     * Constructs a strategy learning into the given prior, and hands the prior
+     * to the live strategy.
+     *
+     * @param prior The placement prior.
+     * @param live  The strategy choosing the attacks.
+     */
+    public PlacementLearningStrategy(PlacementPrior prior, AttackStrategy live) {
+        this.live = live;
+        usePlacementPrior(prior);
+    }
+
+    @Override
+    public String getName() {
+        return live.getName();
+    }
+
+    /**
+     * Gets the strategy choosing the attacks.
+     *
+     * @return The live strategy.
+     */
+    public AttackStrategy getLiveStrategy() {
+        return live;
+    }
+
+    /**
+     * Gets the prior the opponent's fleet is recorded into.
+     *
+     * @return The placement prior, or null if learning was stopped.
+     */
+    public PlacementPrior getPlacementPrior() {
+        return prior;
+    }
+
+    @Override
+    public int nextTarget(Board board, ComputeBudget budget) {
+        return live.nextTarget(board, budget);
+    }
+
+    @Override
+    public void onAttackResult(Board board, int cell, AttackResult result) {
+        live.onAttackResult(board, cell, result);
+    }
+
+    @Override
+    public void onOpponentTurn(Board board) {
+        live.onOpponentTurn(board);
+    }
+
+    /**
+     * Records the opponent's fleet into the prior.
+     *
+     * @param board The opponent board.
+     */
+    @Override
+    public void onGameOver(Board board) {
+        if (prior != null) {
+            prior.record(board);
+        }
+        live.onGameOver(board);
+    }
+
+    /**
+     * Learns into another prior, and passes it on to the live strategy.
+     *
+     * @param prior The placement prior, or null to stop learning.
+     */
+    @Override
+    public void usePlacementPrior(PlacementPrior prior) {
+        this.prior = prior;
+        live.usePlacementPrior(prior);
+    }
+}
@@ -0,0 +1,345 @@
+package es.uab.tqs.battleship.ai;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.PlacementIndex;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Where human players actually put their ships: how often each
+ * {@link ShipType} was seen at each placement in the fleets of finished games.
+ *
+ * <p>Players do not place uniformly (they favour edges, corners and clusters),
+ * so attackers that weight placements can weight them by this prior instead
+ * of treating all of them alike. Counts are {@link LongAdder}s, striped
+ * internally, so any number of games can record their fleets at once without
+ * contending on shared counters.</p>
+ *
+ * <p>{@link #weights(int)} turns the counts into relative weights, smoothed
+ * towards uniform with {@link #PSEUDO_COUNT} imaginary sightings of every
+ * placement, so that a young prior barely moves the attacker and a mature one
+ * follows the data. Weights are computed once per call, so attackers fetch
+ * them once per game, not per move.</p>
+ *
+ * <p>File layout (big-endian): a header {@code MAGIC, VERSION, boardSize,
+ * shipTypeCount} as ints and the number of fleets recorded as a long, then,
+ * for every ship type in declaration order, its length and the number of
+ * placements seen as ints, followed by that many {@code placement} int,
+ * {@code count} long pairs. Placements never seen are not stored.</p>
+ */
+public final class PlacementPrior implements Closeable {
+
+    /** "BSPP": Battleship placement prior. */
+    static final int MAGIC = 0x42535050;
+
+    static final int VERSION = 1;
+
+    /** Imaginary sightings of every placement, the weight of the uniform prior. */
+    public static final int PSEUDO_COUNT = 4;
+
+    /** Weight of a placement seen exactly as often as under a uniform prior. */
+    public static final int SCALE = 1 << 6;
+
+    /** Largest weight, 256 times uniform, so that weighted densities cannot overflow. */
+    static final int MAX_WEIGHT = SCALE << 8;
+
+    private static final ShipType[] TYPES = ShipType.values();
+
+    private final PlacementIndex index;
+    private final LongAdder[][] counts;
+    private final LongAdder fleets = new LongAdder();
+
+    private ScheduledExecutorService autosave;
+    private Path autosavePath;
+    private volatile IOException lastSaveError;
+    private long savedFleets;
+
+    /**
+     * Constructs an empty prior.
+     *
+     * @param boardSize The size of the boards recorded.
+     * @throws IllegalArgumentException if boardSize is not positive or above
+     *                                  {@link PlacementIndex#MAX_SIZE}.
+     */
+    public PlacementPrior(int boardSize) {
+        this.index = PlacementIndex.forSize(boardSize);
+        this.counts = new LongAdder[TYPES.length][2 * boardSize * boardSize];
+        for (LongAdder[] byPlacement : counts) {
+            for (int p = 0; p < byPlacement.length; p++) {
+                byPlacement[p] = new LongAdder();
+            }
+        }
+    }
+
+    /**
+     * Gets the size of the boards recorded.
+     *
+     * @return The board size.
+     */
+    public int getSize() {
+        return index.getSize();
+    }
+
+    /**
+     * Gets the number of fleets recorded.
+     *
+     * @return The fleet count.
+     */
+    public long getFleetCount() {
+        return fleets.sum();
+    }
+
+    /**
+     * Gets the number of times a ship type was seen at a placement.
+     *
+     * @param type      The ship type.
+     * @param placement The placement, encoded as by {@link PlacementIndex}.
+     * @return The count.
+     */
+    public long getCount(ShipType type, int placement) {
+        return counts[type.ordinal()][placement].sum();
+    }
+
+    /**
+     * Records the fleet placed on a board. Safe to call from any thread.
+     * Boards of another size are ignored.
+     *
+     * @param board A board with its fleet placed, typically the human
+     *              player's at the end of a game.
+     */
+    public void record(Board board) {
+        if (board.getSize() != index.getSize()) {
+            return;
+        }
+        board.forEachShip(ship -> {
+            if (ship.getOrientation() != null) {
+                int placement = index.encode(ship.getStartX(), ship.getStartY(), ship.getOrientation());
+                counts[ship.getType().ordinal()][placement].increment();
+            }
+        });
+        fleets.increment();
+    }
+
+    /**
+     * Computes the relative weights of the placements of ships of a length,
+     * over every ship type of that length. A weight of {@link #SCALE} means
+     * as likely as under a uniform prior.
+     *
+     * @param length The ship length.
+     * @return A new array of weights, indexed by encoded placement, between 1
+     *         and {@link #MAX_WEIGHT}; uniform if no ship type has that length.
+     */
+    public int[] weights(int length) {
+        int[] weights = new int[counts[0].length];
+        long seen = 0;
+        long[] sums = new long[weights.length];
+        for (ShipType type : TYPES) {
+            if (type.getLength() == length) {
+                LongAdder[] byPlacement = counts[type.ordinal()];
+                for (int p = 0; p < byPlacement.length; p++) {
+                    sums[p] += byPlacement[p].sum();
+                }
+            }
+        }
+        for (long sum : sums) {
+            seen += sum;
+        }
+
+        int placements = length <= index.getSize() ? index.countPlacements(length) : 0;
+        double mean = placements > 0 ? (double) seen / placements : 0;
+        for (int p = 0; p < weights.length; p++) {
+            double weight = SCALE * (sums[p] + PSEUDO_COUNT) / (mean + PSEUDO_COUNT);
+            weights[p] = (int) Math.max(1, Math.min(MAX_WEIGHT, Math.round(weight)));
+        }
+        return weights;
+    }
+
+    /**
+     * Writes the prior to a file, replacing it atomically.
+     *
+     * @param path The file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public synchronized void save(Path path) throws IOException {
+        long recorded = fleets.sum();
+        int pairs = 0;
+        long[][] snapshot = new long[TYPES.length][];
+        for (int t = 0; t < TYPES.length; t++) {
+            snapshot[t] = new long[counts[t].length];
+            for (int p = 0; p < snapshot[t].length; p++) {
+                snapshot[t][p] = counts[t][p].sum();
+                if (snapshot[t][p] != 0) {
+                    pairs++;
+                }
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(24 + TYPES.length * 8 + pairs * 12);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(index.getSize()).putInt(TYPES.length).putLong(recorded);
+        for (int t = 0; t < TYPES.length; t++) {
+            int seen = 0;
+            for (long count : snapshot[t]) {
+                if (count != 0) {
+                    seen++;
+                }
+            }
+            buffer.putInt(TYPES[t].getLength()).putInt(seen);
+            for (int p = 0; p < snapshot[t].length; p++) {
+                if (snapshot[t][p] != 0) {
+                    buffer.putInt(p).putLong(snapshot[t][p]);
+                }
+            }
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temp, buffer.array());
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        savedFleets = recorded;
+    }
+
+    /**
+     * Reads a prior written by {@link #save}.
+     *
+     * @param path The file to read.
+     * @return The prior.
+     * @throws IOException if the file cannot be read or is not a valid prior.
+     */
+    public static PlacementPrior load(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        try {
+            if (buffer.remaining() < 24 || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a placement prior");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported placement prior version: " + version);
+            }
+            int size = buffer.getInt();
+            int types = buffer.getInt();
+            if (size <= 0 || size > PlacementIndex.MAX_SIZE || types != TYPES.length) {
+                throw new IOException("Placement prior does not match the fleet: " + size + ", " + types);
+            }
+            PlacementPrior prior = new PlacementPrior(size);
+            prior.fleets.add(buffer.getLong());
+            for (ShipType type : TYPES) {
+                int length = buffer.getInt();
+                int seen = buffer.getInt();
+                if (length != type.getLength() || seen < 0 || seen > prior.counts[0].length) {
+                    throw new IOException("Corrupt placement prior entry for " + type);
+                }
+                for (int i = 0; i < seen; i++) {
+                    int placement = buffer.getInt();
+                    long count = buffer.getLong();
+                    if (placement < 0 || placement >= prior.counts[0].length || count < 0) {
+                        throw new IOException("Corrupt placement prior entry for " + type);
+                    }
+                    prior.counts[type.ordinal()][placement].add(count);
+                }
+            }
+            prior.savedFleets = prior.fleets.sum();
+            return prior;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated placement prior", e);
+        }
+    }
+
+    /**
+     * Reads a prior if its file exists, or starts an empty one.
+     *
+     * @param path      The file to read.
+     * @param boardSize The board size of a new prior.
+     * @return The prior.
+     * @throws IOException if the file exists but cannot be read or is not a
+     *                     valid prior.
+     */
+    public static PlacementPrior loadOrCreate(Path path, int boardSize) throws IOException {
+        return Files.exists(path) ? load(path) : new PlacementPrior(boardSize);
+    }
+
+    /**
+     * Saves the prior to a file periodically in the background, whenever
+     * fleets were recorded since the last save. Replaces any earlier schedule.
+     * A failed save is retried on the next period; see {@link #getLastSaveError()}.
+     *
+     * @param path   The file to write.
+     * @param period The time between saves.
+     * @throws IllegalArgumentException if period is not positive.
+     */
+    public synchronized void startAutosave(Path path, Duration period) {
+        if (period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Invalid autosave period: " + period);
+        }
+        stopAutosave();
+        autosavePath = path;
+        autosave = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "placement-prior-autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = period.toMillis();
+        autosave.scheduleWithFixedDelay(() -> saveIfChanged(path), millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops saving periodically. Does not save; see {@link #close()}.
+     */
+    public synchronized void stopAutosave() {
+        if (autosave != null) {
+            autosave.shutdownNow();
+            autosave = null;
+            autosavePath = null;
+        }
+    }
+
+    /**
+     * Gets the error of the last periodic save, if it failed.
+     *
+     * @return The error, or null if the last periodic save succeeded.
+     */
+    public IOException getLastSaveError() {
+        return lastSaveError;
+    }
+
+    /**
+     * Stops saving periodically and saves a last time if needed.
+     *
+     * @throws IOException if the last save fails.
+     */
+    @Override
+    public void close() throws IOException {
+        Path path;
+        long saved;
+        synchronized (this) {
+            path = autosavePath;
+            saved = savedFleets;
+            stopAutosave();
+        }
+        if (path != null && fleets.sum() != saved) {
+            save(path);
+        }
+    }
+
+    private synchronized void saveIfChanged(Path path) {
+        if (fleets.sum() == savedFleets) {
+            return;
+        }
+        try {
+            save(path);
+            lastSaveError = null;
+        } catch (IOException e) {
+            lastSaveError = e;
+        }
+    }
+}
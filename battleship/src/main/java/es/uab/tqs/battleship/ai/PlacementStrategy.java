@@ -0,0 +1,31 @@
+package es.uab.tqs.battleship.ai;
+
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Decides where the computer places its fleet.
+ *
+ * <p>This is a service interface: implementations with a public no-argument
+ * constructor can be listed in {@code META-INF/services} and looked up by name
+ * through {@link Strategies}.</p>
+ */
+public interface PlacementStrategy {
+
+    /**
+     * Gets the name the strategy is looked up by.
+     *
+     * @return A short, unique, lower-case name.
+     */
+    String getName();
+
+    /**
+     * Places one ship of every given type on the board.
+     *
+     * @param board  The board to place the fleet on.
+     * @param fleet  The types of the ships to place, in placement order.
+     * @param budget The compute budget for this call.
+     * @throws IllegalStateException if the fleet cannot be placed.
+     */
+    void placeFleet(Board board, ShipType[] fleet, ComputeBudget budget);
+}
@@ -0,0 +1,189 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.Random;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.HeatmapIndex;
+import es.uab.tqs.battleship.model.PlacementIndex;
+
+/**
+ * Fires at the cell covered by the most placements of the ships still afloat.
+ * For every remaining ship it enumerates the placements that avoid known misses
+ * and sunk ships, weighting placements that cover unresolved hits much higher,
+ * and adds each placement's weight to the cells it covers. The unattacked cell
+ * with the highest total is attacked, ties being broken at random.
+ *
+ * <p>The totals are read from the {@link HeatmapIndex} shared by every
+ * strategy following the board, attached on the first decision about it and
+ * detached when the game ends ({@link #onGameOver}) or another board comes
+ * along. It only walks the placements through each attacked cell, so a
+ * decision costs one pass over the cells. Knowledge
+ * (attacked cells, misses, hits and sunk ships) is kept in a
+ * {@link BoardKnowledge} updated by {@link #onAttackResult}. Boards larger than
+ * {@link PlacementIndex#MAX_SIZE} are not supported.</p>
+ *
+ * <p>With a {@link PlacementPrior}, every placement's weight is also multiplied
+ * by how often players put ships of its length there: the strategy then
+ * attaches a heatmap of its own, weighted by the prior, whose weights are
+ * fetched once per board.</p>
+ */
+public class ProbabilityDensityStrategy implements AttackStrategy {
+
+    private final Random random;
+
+    private final BoardKnowledge knowledge = new BoardKnowledge();
+
+    private long[] density;
+
+    private Board followedBoard;
+    private HeatmapIndex heatmap;
+
+    private PlacementPrior prior;
+
+    /**
+     * Constructs a density strategy with its own generator.
+     */
+    public ProbabilityDensityStrategy() {
+        this(new Random());
+    }
+
+    /**
+     * Constructs a density strategy that breaks ties with the given generator.
+     *
+     * @param random The source of randomness for tie-breaking.
+     */
+    public ProbabilityDensityStrategy(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public String getName() {
+        return "density";
+    }
+
+    /**
+     * Chooses the unattacked cell with the highest placement density.
+     * A full evaluation costs a few thousand operations on 10x10, so it always
+     * completes regardless of the budget.
+     *
+     * @param board  The opponent board.
+     * @param budget Ignored.
+     * @return The index of an unattacked cell.
+     * @throws IllegalStateException if every cell has already been attacked.
+     */
+    @Override
+    public int nextTarget(Board board, ComputeBudget budget) {
+        knowledge.sync(board);
+        readHeatmap(board);
+
+        int best = -1;
+        long bestDensity = -1;
+        int ties = 0;
+        int cells = density.length;
+
+        for (int cell = 0; cell < cells; cell++) {
+            if (knowledge.isAttacked(cell)) {
+                continue;
+            }
+            long value = density[cell];
+            if (value > bestDensity) {
+                best = cell;
+                bestDensity = value;
+                ties = 1;
+            } else if (value == bestDensity && random.nextInt(++ties) == 0) {
+                best = cell;
+            }
+        }
+
+        if (best < 0) {
+            throw new IllegalStateException("Every cell has already been attacked");
+        }
+        return best;
+    }
+
+    /**
+     * Records the result of an attack in the knowledge bitsets.
+     *
+     * @param board  The opponent board.
+     * @param cell   The index of the attacked cell.
+     * @param result The result of the attack.
+     */
+    @Override
+    public void onAttackResult(Board board, int cell, AttackResult result) {
+        knowledge.record(board, cell, result);
+    }
+
+    /**
+     * Detaches from the heatmap of the board.
+     *
+     * @param board The opponent board.
+     */
+    @Override
+    public void onGameOver(Board board) {
+        if (board == followedBoard) {
+            detach();
+        }
+    }
+
+    /**
+     * Weights placements by the prior from the next decision on.
+     *
+     * @param prior The placement prior, or null to weight placements uniformly.
+     */
+    @Override
+    public void usePlacementPrior(PlacementPrior prior) {
+        this.prior = prior;
+        if (heatmap != null) {
+            detach();
+        }
+    }
+
+    /**
+     * Gets the density computed by the last decision for the given cell.
+     * Exposed for tests and analysis.
+     *
+     * @param cell The index of the cell.
+     * @return The weighted number of placements covering the cell.
+     */
+    long getDensity(int cell) {
+        return density[cell];
+    }
+
+    /**
+     * Copies the heat of every cell, attaching a heatmap to a board seen for
+     * the first time and detaching the previous one: the shared heatmap of the
+     * board, or one of its own weighted by the prior.
+     */
+    private void readHeatmap(Board board) {
+        if (board != followedBoard) {
+            if (heatmap != null) {
+                detach();
+            }
+            int size = board.getSize();
+            if (prior != null && prior.getSize() == size) {
+                // Only lengths afloat now can be afloat later in the game.
+                int[][] weights = new int[size + 1][];
+                for (int length = 1; length <= size; length++) {
+                    if (knowledge.getRemaining(length) > 0) {
+                        weights[length] = prior.weights(length);
+                    }
+                }
+                heatmap = HeatmapIndex.attach(board, weights);
+            } else {
+                heatmap = HeatmapIndex.attachShared(board);
+            }
+            followedBoard = board;
+            if (density == null || density.length != size * size) {
+                density = new long[size * size];
+            }
+        }
+        heatmap.view().get(density);
+    }
+
+    private void detach() {
+        heatmap.detach();
+        heatmap = null;
+        followedBoard = null;
+    }
+}
@@ -0,0 +1,48 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.Random;
+
+import es.uab.tqs.battleship.model.Board;
+
+/**
+ * Fires at uniformly random cells that have not been attacked yet.
+ * This is the original behaviour of the computer player.
+ */
+public class RandomAttackStrategy implements AttackStrategy {
+
+    private final Random random;
+
+    /**
+     * Constructs a random strategy with its own generator.
+     */
+    public RandomAttackStrategy() {
+        this(new Random());
+    }
+
+    /**
+     * Constructs a random strategy drawing from the given generator.
+     *
+     * @param random The source of randomness.
+     */
+    public RandomAttackStrategy(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public String getName() {
+        return "random";
+    }
+
+    /**
+     * Picks a uniformly random cell among those not attacked yet (state is
+     * EMPTY or SHIP), from the board's pool of untargeted cells.
+     *
+     * @param board  The opponent board.
+     * @param budget Ignored: a random pick needs no search.
+     * @return The index of an unattacked cell.
+     */
+    @Override
+    public int nextTarget(Board board, ComputeBudget budget) {
+        return board.randomUntargetedCell(random);
+    }
+}
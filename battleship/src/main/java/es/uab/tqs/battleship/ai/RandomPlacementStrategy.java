@@ -0,0 +1,88 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.Random;
+
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.Coordinate;
+import es.uab.tqs.battleship.model.FleetGenerator;
+import es.uab.tqs.battleship.model.Orientation;
+import es.uab.tqs.battleship.model.PlacementIndex;
+import es.uab.tqs.battleship.model.Ship;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Places every ship uniformly among the placements still legal for it, given
+ * the ships placed before. Boards larger than {@link PlacementIndex#MAX_SIZE}
+ * fall back to the original placement of the computer player: random
+ * coordinates and orientations, retried until the ship fits.
+ */
+public class RandomPlacementStrategy implements PlacementStrategy {
+
+    private final Random random;
+
+    /**
+     * Constructs a random placement strategy with its own generator.
+     */
+    public RandomPlacementStrategy() {
+        this(new Random());
+    }
+
+    /**
+     * Constructs a random placement strategy drawing from the given generator.
+     *
+     * @param random The source of randomness.
+     */
+    public RandomPlacementStrategy(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public String getName() {
+        return "random";
+    }
+
+    /**
+     * Draws the fleet with a sequential {@link FleetGenerator}, whose cost per
+     * ship is bounded by its number of placements.
+     *
+     * @param board  The board to place the fleet on.
+     * @param fleet  The types of the ships to place, in placement order.
+     * @param budget Ignored: the generator is bounded on its own.
+     * @throws IllegalStateException if the fleet cannot be placed.
+     */
+    @Override
+    public void placeFleet(Board board, ShipType[] fleet, ComputeBudget budget) {
+        if (board.getSize() > PlacementIndex.MAX_SIZE) {
+            placeByTrial(board, fleet);
+            return;
+        }
+        new FleetGenerator(board.getSize(), fleet, FleetGenerator.Mode.SEQUENTIAL, random)
+                .place(board, fleet);
+    }
+
+    /**
+     * Attempts random positions for each ship until a valid placement is found.
+     *
+     * @param board The board to place the fleet on.
+     * @param fleet The types of the ships to place, in placement order.
+     */
+    private void placeByTrial(Board board, ShipType[] fleet) {
+        for (ShipType type : fleet) {
+            Ship ship = new Ship(type);
+            boolean placed = false;
+
+            // Keep trying random positions until the ship fits
+            while (!placed) {
+                int x = random.nextInt(board.getSize());
+                int y = random.nextInt(board.getSize());
+                Orientation orientation = random.nextBoolean()
+                        ? Orientation.HORIZONTAL
+                        : Orientation.VERTICAL;
+
+                Coordinate start = Coordinate.of(x, y);
+                // The board handles collision detection and boundaries
+                placed = board.placeShip(ship, start, orientation);
+            }
+        }
+    }
+}
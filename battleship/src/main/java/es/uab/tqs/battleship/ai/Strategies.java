@@ -0,0 +1,70 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Discovers the attack and placement strategies available on the class path
+ * through {@link ServiceLoader}. Every lookup instantiates fresh strategies, as
+ * strategies keep per-game state.
+ */
+public final class Strategies {
+
+    private Strategies() {
+    }
+
+    /**
+     * Instantiates every registered attack strategy.
+     *
+     * @return One new instance of each attack strategy.
+     */
+    public static List<AttackStrategy> attackStrategies() {
+        List<AttackStrategy> strategies = new ArrayList<>();
+        ServiceLoader.load(AttackStrategy.class).forEach(strategies::add);
+        return strategies;
+    }
+
+    /**
+     * Instantiates every registered placement strategy.
+     *
+     * @return One new instance of each placement strategy.
+     */
+    public static List<PlacementStrategy> placementStrategies() {
+        List<PlacementStrategy> strategies = new ArrayList<>();
+        ServiceLoader.load(PlacementStrategy.class).forEach(strategies::add);
+        return strategies;
+    }
+
+    /**
+     * Instantiates the attack strategy registered under the given name.
+     *
+     * @param name The name of the strategy.
+     * @return A new instance of the strategy.
+     * @throws IllegalArgumentException if no strategy has that name.
+     */
+    public static AttackStrategy attackStrategy(String name) {
+        for (AttackStrategy strategy : ServiceLoader.load(AttackStrategy.class)) {
+            if (strategy.getName().equals(name)) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown attack strategy: " + name);
+    }
+
+    /**
+     * Instantiates the placement strategy registered under the given name.
+     *
+     * @param name The name of the strategy.
+     * @return A new instance of the strategy.
+     * @throws IllegalArgumentException if no strategy has that name.
+     */
+    public static PlacementStrategy placementStrategy(String name) {
+        for (PlacementStrategy strategy : ServiceLoader.load(PlacementStrategy.class)) {
+            if (strategy.getName().equals(name)) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown placement strategy: " + name);
+    }
+}
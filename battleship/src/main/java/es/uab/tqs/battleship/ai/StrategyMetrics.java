@@ -0,0 +1,136 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timing statistics of strategy calls, kept per strategy name.
+ * The game records every call it makes to its strategies here, so strategies
+ * do not have to measure themselves. A metrics instance can be shared by
+ * several games (and threads) to benchmark strategies side by side.
+ */
+public class StrategyMetrics {
+
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Records one call.
+     *
+     * @param name  The name of the strategy.
+     * @param nanos The duration of the call, in nanoseconds.
+     */
+    public void record(String name, long nanos) {
+        timers.computeIfAbsent(name, key -> new Timer()).record(nanos);
+    }
+
+    /**
+     * Gets the statistics of one strategy.
+     *
+     * @param name The name of the strategy.
+     * @return Its statistics, all zero if it was never called.
+     */
+    public Timing getTiming(String name) {
+        Timer timer = timers.get(name);
+        return timer == null ? new Timing(0, 0, 0) : timer.timing();
+    }
+
+    /**
+     * Gets the statistics of every strategy called so far.
+     *
+     * @return A sorted map from strategy name to statistics.
+     */
+    public Map<String, Timing> getTimings() {
+        Map<String, Timing> result = new TreeMap<>();
+        timers.forEach((name, timer) -> result.put(name, timer.timing()));
+        return result;
+    }
+
+    /**
+     * Forgets all recorded calls.
+     */
+    public void reset() {
+        timers.clear();
+    }
+
+    /**
+     * Lock-free accumulator behind one strategy name.
+     */
+    private static final class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        Timing timing() {
+            return new Timing(count.sum(), totalNanos.sum(), maxNanos.get());
+        }
+    }
+
+    /**
+     * Immutable statistics of one strategy.
+     */
+    public static final class Timing {
+
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        Timing(long count, long totalNanos, long maxNanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        /**
+         * Gets the number of recorded calls.
+         *
+         * @return The call count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the total time spent in the strategy.
+         *
+         * @return The total in nanoseconds.
+         */
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        /**
+         * Gets the slowest recorded call.
+         *
+         * @return The maximum in nanoseconds.
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Gets the average duration of a call.
+         *
+         * @return The mean in nanoseconds, 0 if there were no calls.
+         */
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        @Override
+        public String toString() {
+            return "Timing{count=" + count + ", meanNanos=" + (long) getMeanNanos()
+                    + ", maxNanos=" + maxNanos + "}";
+        }
+    }
+}
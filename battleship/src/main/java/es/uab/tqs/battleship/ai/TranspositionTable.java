@@ -0,0 +1,222 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size table of search results keyed by state hash, shared by any number
+ * of search threads without locks.
+ *
+ * <p>Each slot holds two words: the entry data and the key XORed with it. A
+ * writer stores both words without locking; a reader only accepts a slot whose
+ * two words XOR back to the key it looks for, so an entry torn by concurrent
+ * writers reads as a miss instead of a wrong answer. The data packs a search
+ * depth (0 to {@link #MAX_DEPTH}) and a signed 48-bit value; callers choose what
+ * the depth and the value mean, for instance remaining plies and a score.</p>
+ *
+ * <p>A new entry replaces the one in its slot when it has the same key or is
+ * searched at least as deep, so the costly results survive. Probes, hits,
+ * stores and replacements of other keys are counted with {@link LongAdder}s,
+ * which threads update without contending.</p>
+ */
+public final class TranspositionTable {
+
+    /** Largest depth an entry can be stored with. */
+    public static final int MAX_DEPTH = 0x7FFF;
+
+    /** Returned by {@link #probe} when the key is not in the table. */
+    public static final long NOT_FOUND = -1;
+
+    private static final int VALUE_BITS = 48;
+    private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+
+    private final AtomicLongArray slots;
+    private final int mask;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder replacements = new LongAdder();
+
+    /**
+     * Constructs a table with room for at least the given number of entries,
+     * rounded up to a power of two.
+     *
+     * @param entries The number of entries.
+     * @throws IllegalArgumentException if entries is not positive or above 2^29.
+     */
+    public TranspositionTable(int entries) {
+        if (entries <= 0 || entries > 1 << 29) {
+            throw new IllegalArgumentException("Invalid table size: " + entries);
+        }
+        int capacity = Integer.highestOneBit(entries);
+        if (capacity < entries) {
+            capacity <<= 1;
+        }
+        this.slots = new AtomicLongArray(2 * capacity);
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Gets the number of slots.
+     *
+     * @return The capacity of the table.
+     */
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Packs a depth and a value into entry data.
+     *
+     * @param depth The depth, from 0 to MAX_DEPTH.
+     * @param value The value, which must fit in 48 signed bits.
+     * @return The entry data.
+     * @throws IllegalArgumentException if the depth or the value is out of range.
+     */
+    public static long pack(int depth, long value) {
+        if (depth < 0 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Invalid depth: " + depth);
+        }
+        if (value != (value << (64 - VALUE_BITS)) >> (64 - VALUE_BITS)) {
+            throw new IllegalArgumentException("Value out of range: " + value);
+        }
+        return ((long) depth << VALUE_BITS) | (value & VALUE_MASK);
+    }
+
+    /**
+     * Gets the depth of entry data.
+     *
+     * @param entry Data returned by {@link #probe}.
+     * @return The depth.
+     */
+    public static int depthOf(long entry) {
+        return (int) (entry >>> VALUE_BITS);
+    }
+
+    /**
+     * Gets the value of entry data.
+     *
+     * @param entry Data returned by {@link #probe}.
+     * @return The value, sign-extended.
+     */
+    public static long valueOf(long entry) {
+        return (entry << (64 - VALUE_BITS)) >> (64 - VALUE_BITS);
+    }
+
+    /**
+     * Looks up a state.
+     *
+     * @param key The state hash.
+     * @return The entry data, or NOT_FOUND.
+     */
+    public long probe(long key) {
+        probes.increment();
+        int slot = slot(key);
+        long check = slots.getAcquire(slot);
+        long data = slots.getAcquire(slot + 1);
+        if ((check ^ data) != key || (check | data) == 0) {
+            return NOT_FOUND;
+        }
+        hits.increment();
+        return data;
+    }
+
+    /**
+     * Stores the result of a search, unless its slot holds another state
+     * searched deeper.
+     *
+     * @param key   The state hash.
+     * @param depth The depth searched, from 0 to MAX_DEPTH.
+     * @param value The value found, which must fit in 48 signed bits.
+     * @return true if the entry was written.
+     * @throws IllegalArgumentException if the depth or the value is out of range.
+     */
+    public boolean store(long key, int depth, long value) {
+        long data = pack(depth, value);
+        int slot = slot(key);
+        long check = slots.getAcquire(slot);
+        long old = slots.getAcquire(slot + 1);
+        boolean empty = (check | old) == 0;
+        boolean same = (check ^ old) == key;
+        if (!empty && !same && depthOf(old) > depth) {
+            return false;
+        }
+        if (!empty && !same) {
+            replacements.increment();
+        }
+        slots.setRelease(slot + 1, data);
+        slots.setRelease(slot, key ^ data);
+        stores.increment();
+        return true;
+    }
+
+    /**
+     * Empties the table. Statistics are kept.
+     */
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.setRelease(i, 0);
+        }
+    }
+
+    /**
+     * Gets the number of lookups.
+     *
+     * @return The probe count.
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * Gets the number of lookups that found their state.
+     *
+     * @return The hit count.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets the number of entries written.
+     *
+     * @return The store count.
+     */
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * Gets the number of entries that evicted another state.
+     *
+     * @return The replacement count.
+     */
+    public long getReplacements() {
+        return replacements.sum();
+    }
+
+    /**
+     * Gets the share of lookups that found their state.
+     *
+     * @return The hit rate, from 0 to 1; 0 before any lookup.
+     */
+    public double getHitRate() {
+        long total = probes.sum();
+        return total == 0 ? 0 : (double) hits.sum() / total;
+    }
+
+    /**
+     * Resets every statistic to zero.
+     */
+    public void resetStats() {
+        probes.reset();
+        hits.reset();
+        stores.reset();
+        replacements.reset();
+    }
+
+    private int slot(long key) {
+        return (int) ((key ^ (key >>> 32)) & mask) << 1;
+    }
+}
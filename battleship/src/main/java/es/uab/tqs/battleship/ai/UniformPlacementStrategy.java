@@ -0,0 +1,56 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.FleetGenerator;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Places the fleet so that every legal layout is equally likely, which gives
+ * an opponent no placement bias to learn from. Layouts are drawn by a
+ * {@link FleetGenerator} in {@link FleetGenerator.Mode#UNIFORM} mode.
+ */
+public class UniformPlacementStrategy implements PlacementStrategy {
+
+    private final RandomGenerator random;
+
+    /**
+     * Constructs a uniform placement strategy with its own generator.
+     */
+    public UniformPlacementStrategy() {
+        this(new SplittableRandom());
+    }
+
+    /**
+     * Constructs a uniform placement strategy drawing from the given generator.
+     *
+     * @param random The source of randomness.
+     */
+    public UniformPlacementStrategy(RandomGenerator random) {
+        this.random = random;
+    }
+
+    @Override
+    public String getName() {
+        return "uniform";
+    }
+
+    /**
+     * Draws a uniformly random layout that avoids the ships already on the
+     * board, and places it.
+     *
+     * @param board  The board to place the fleet on.
+     * @param fleet  The types of the ships to place, in placement order.
+     * @param budget Ignored: the generator is bounded on its own.
+     * @throws IllegalArgumentException if the board is larger than the
+     *                                  placement index supports.
+     * @throws IllegalStateException    if the fleet cannot be placed.
+     */
+    @Override
+    public void placeFleet(Board board, ShipType[] fleet, ComputeBudget budget) {
+        new FleetGenerator(board.getSize(), fleet, FleetGenerator.Mode.UNIFORM, random)
+                .place(board, fleet);
+    }
+}
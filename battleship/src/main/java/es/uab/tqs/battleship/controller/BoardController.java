@@ -110,21 +110,15 @@ public class BoardController {
     }
 
     /**
-     * Calculates the number of ships remaining (not sunk) on the board.
+     * Gets the number of ships remaining (not sunk) on the board.
+     * The board keeps this count up to date on every attack, so no ship list
+     * has to be scanned.
      *
      * @param board The board to check.
      * @return The count of active ships.
      */
     public int getRemainingShips(Board board) {
-        int remaining = 0;
-
-        for (Ship ship : board.getShips()) {
-            if (!ship.isSunk()) {
-                remaining++;
-            }
-        }
-
-        return remaining;
+        return board.getRemainingShipCount();
     }
 
     /**
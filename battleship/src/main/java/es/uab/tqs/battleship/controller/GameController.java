@@ -131,20 +131,14 @@ public class GameController {
 
     /**
      * Handles the logic for a single turn of the computer opponent.
-     * 1. Adds a delay for better user experience (simulating "thinking").
-     * 2. Executes the computer's attack via the model.
-     * 3. Checks if the attack hit/sunk a player's ship and notifies the user.
+     * 1. Executes the computer's attack via the model; the only wait is the
+     * time the AI actually needs to decide.
+     * 2. Checks if the attack hit/sunk a player's ship and notifies the user.
      */
     public void processComputerTurn() {
         view.displayMessage("\n=== COMPUTER'S TURN ===\n");
         view.displayMessage("The computer is attacking...\n");
 
-        try {
-            Thread.sleep(1000); // Dramatic pause for UX
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
-
         // The model determines where the computer attacks
         Coordinate attacked = game.processComputerAttack();
         view.displayMessage("Computer attacked: " + attacked);
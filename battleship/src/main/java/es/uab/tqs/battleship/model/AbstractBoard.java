@@ -0,0 +1,544 @@
+package es.uab.tqs.battleship.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * Base class for Board implementations.
+ * Keeps the state every storage strategy shares (the board size, the list of
+ * placed ships, the afloat/unhit counters and the pool of untargeted cells) so
+ * that concrete boards only have to deal with cell storage. Implementations must
+ * register ships through {@link #registerShip(Ship)}, report the first attack on
+ * every cell through {@link #cellAttacked(int, int)}, and its outcome through
+ * {@link #recordMiss(int, int)} or {@link #recordHit(Ship, int, int)} once the
+ * cell has been updated, so that this state and the attack listeners stay in
+ * sync.
+ */
+public abstract class AbstractBoard implements Board {
+
+    /** Largest number of cells a snapshot can be taken of. */
+    protected static final int MAX_SNAPSHOT_CELLS = 1 << 24;
+
+    /** Snapshots identify ships by unsigned byte ids. */
+    protected static final int MAX_SNAPSHOT_SHIPS = 255;
+
+    /** Larger boards pick random untargeted cells by rejection instead of a pool. */
+    protected static final int MAX_POOLED_CELLS = 1 << 22;
+
+    protected final int size;
+    protected final List<Ship> ships;
+    private final List<Ship> shipsView;
+    private int shipsAfloat;
+    private int unhitSegments;
+    private long attackedCells;
+    private CellPool untargeted;
+    private long stateHash;
+    private long[] misses = new long[16];
+    private int missCount;
+    /** Copy-on-write: listeners may come and go from any thread, e.g. one thinking ahead. */
+    private final List<AttackListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs the shared state of a board with the specified size.
+     * Also makes sure the coordinates of the board are interned, so that
+     * {@link Coordinate#of(int, int)} never allocates for cells of this board.
+     *
+     * @param size The dimension of the square board.
+     */
+    protected AbstractBoard(int size) {
+        this.size = size;
+        this.ships = new ArrayList<>();
+        this.shipsView = Collections.unmodifiableList(ships);
+        this.stateHash = Zobrist.empty(size);
+        Coordinate.ensureCached(size);
+    }
+
+    /**
+     * Gets the size of the board.
+     *
+     * @return The size of the board (width/height).
+     */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Retrieves a specific cell from the board using a Coordinate object.
+     *
+     * @param coordinate The coordinate of the cell.
+     * @return The cell at the specified coordinate.
+     */
+    @Override
+    public Cell getCell(Coordinate coordinate) {
+        return getCell(coordinate.getX(), coordinate.getY());
+    }
+
+    /**
+     * Gets the state of the cell at the given position.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The state of the cell.
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    @Override
+    public CellState getCellState(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw invalidCoordinate(x, y);
+        }
+        return stateAt(x, y);
+    }
+
+    /**
+     * Gets the ship placed on the cell at the given position.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The ship on the cell, or null if there is none.
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    @Override
+    public Ship getShipAt(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw invalidCoordinate(x, y);
+        }
+        return shipAt(x, y);
+    }
+
+    /**
+     * Processes an attack on a specific coordinate.
+     * Thin wrapper over {@link #processAttack(int, int)}.
+     *
+     * @param coordinate The target coordinate of the attack.
+     * @return The result of the attack (HIT, MISS, SUNK, ALREADY_ATTACKED).
+     * @throws IllegalArgumentException if the coordinate is invalid.
+     */
+    @Override
+    public AttackResult processAttack(Coordinate coordinate) {
+        return processAttack(coordinate.getX(), coordinate.getY());
+    }
+
+    /**
+     * Lists every placement where a ship of the given type could currently be
+     * placed. This generic version probes {@link #isValidPlacement} on every
+     * anchor; boards with an occupancy bitset answer from a {@link PlacementIndex}.
+     *
+     * @param type The type of ship to place.
+     * @param out  Receives the encoded placements.
+     * @return The number of placements written to out.
+     */
+    @Override
+    public int legalPlacements(ShipType type, int[] out) {
+        Ship probe = new Ship(type);
+        int count = 0;
+
+        for (Orientation orientation : Orientation.values()) {
+            int o = orientation == Orientation.VERTICAL ? 1 : 0;
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    if (isValidPlacement(probe, Coordinate.of(x, y), orientation)) {
+                        out[count++] = ((y * size + x) << 1) | o;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Captures the current state of the board as an immutable snapshot.
+     * This generic version rebuilds the layout from the ships and scans every
+     * cell, so it costs O(size * size); boards with bitsets share their storage
+     * with the snapshot instead.
+     *
+     * @return A snapshot of the board.
+     * @throws UnsupportedOperationException if the board has more than
+     *                                       MAX_SNAPSHOT_CELLS cells or more than
+     *                                       MAX_SNAPSHOT_SHIPS ships.
+     */
+    @Override
+    public BoardSnapshot snapshot() {
+        if ((long) size * size > MAX_SNAPSHOT_CELLS || ships.size() > MAX_SNAPSHOT_SHIPS) {
+            throw new UnsupportedOperationException("Board too large to snapshot");
+        }
+
+        int cells = size * size;
+        long[] occupancy = new long[(cells + 63) >>> 6];
+        long[] hits = new long[occupancy.length];
+        long[] misses = new long[occupancy.length];
+        byte[] shipIds = new byte[cells];
+
+        for (int i = 0; i < ships.size(); i++) {
+            Ship ship = ships.get(i);
+            byte id = (byte) (i + 1);
+            ship.forEachSegment((x, y) -> {
+                int cell = y * size + x;
+                occupancy[cell >>> 6] |= 1L << cell;
+                shipIds[cell] = id;
+            });
+        }
+
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (isAttacked(x, y)) {
+                    int cell = y * size + x;
+                    long[] bits = shipIds[cell] != 0 ? hits : misses;
+                    bits[cell >>> 6] |= 1L << cell;
+                }
+            }
+        }
+
+        return new BoardSnapshot(new BoardSnapshot.Layout(size, occupancy, shipIds),
+                ChunkedBits.fromWords(hits), ChunkedBits.fromWords(misses),
+                remainingSegmentsPerShip(), shipsAfloat, unhitSegments, null);
+    }
+
+    /**
+     * Gets the number of unhit segments of every ship, by placement order, as
+     * stored in a snapshot.
+     *
+     * @return A new array with one entry per ship.
+     */
+    protected byte[] remainingSegmentsPerShip() {
+        byte[] remaining = new byte[ships.size()];
+        for (int i = 0; i < remaining.length; i++) {
+            Ship ship = ships.get(i);
+            remaining[i] = (byte) (ship.getLength() - ship.getHitCount());
+        }
+        return remaining;
+    }
+
+    /**
+     * Checks whether the given position lies inside the board.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return true if the position is inside the board; false otherwise.
+     */
+    protected boolean inBounds(int x, int y) {
+        return x >= 0 && x < size && y >= 0 && y < size;
+    }
+
+    /**
+     * Gets the state of the cell at an already validated position.
+     * Boards without Cell objects override this to answer from their own storage;
+     * it backs the cell views they hand out.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The state of the cell.
+     */
+    protected CellState stateAt(int x, int y) {
+        return getCell(x, y).getState();
+    }
+
+    /**
+     * Gets the ship placed on the cell at an already validated position.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The ship on the cell, or null if there is none.
+     */
+    protected Ship shipAt(int x, int y) {
+        return getCell(x, y).getShip();
+    }
+
+    /**
+     * Builds the exception thrown for positions outside the board.
+     * Kept apart so that the message is only built on the failure path.
+     *
+     * @param x The offending x-coordinate.
+     * @param y The offending y-coordinate.
+     * @return The exception to throw.
+     */
+    protected static IllegalArgumentException invalidCoordinate(int x, int y) {
+        return new IllegalArgumentException("Invalid coordinate: (" + x + ", " + y + ")");
+    }
+
+    /**
+     * Adds a freshly placed ship to the board and to the afloat counters.
+     *
+     * @param ship The ship that has just been placed.
+     */
+    protected void registerShip(Ship ship) {
+        ships.add(ship);
+        shipsAfloat++;
+        unhitSegments += ship.getLength();
+    }
+
+    /**
+     * Updates the attacked-cell count and the untargeted pool after a cell has
+     * been attacked for the first time.
+     *
+     * @param x The x-coordinate of the attacked cell.
+     * @param y The y-coordinate of the attacked cell.
+     */
+    protected void cellAttacked(int x, int y) {
+        attackedCells++;
+        if (untargeted != null) {
+            untargeted.remove(y * size + x);
+        }
+    }
+
+    /**
+     * Gets the Zobrist hash of the public state of the board, kept up to date
+     * by every attack.
+     *
+     * @return The hash of the attacked cells, their results and the sunk ships.
+     */
+    @Override
+    public long getStateHash() {
+        return stateHash;
+    }
+
+    /**
+     * Gets the smallest of the state hashes of the eight images of the board.
+     * The images are hashed on demand from the missed cells and the ships, in
+     * time proportional to the misses and ship segments.
+     *
+     * @return The hash of the canonical form of the public state.
+     */
+    @Override
+    public long getCanonicalStateHash() {
+        return Symmetry.canonicalHash(imageHashes());
+    }
+
+    /**
+     * Gets the symmetry mapping the board to the canonical form of its public
+     * state. Computed on demand, like {@link #getCanonicalStateHash()}.
+     *
+     * @return The canonical symmetry.
+     */
+    @Override
+    public Symmetry getCanonicalSymmetry() {
+        return Symmetry.canonical(imageHashes());
+    }
+
+    /**
+     * Hashes the public state of every image of the board, by symmetry ordinal.
+     */
+    private long[] imageHashes() {
+        long[] hashes = new long[Symmetry.COUNT];
+        Arrays.fill(hashes, Zobrist.empty(size));
+        for (int t = 0; t < Symmetry.COUNT; t++) {
+            Symmetry symmetry = Symmetry.of(t);
+            for (int i = 0; i < missCount; i++) {
+                hashes[t] ^= Zobrist.miss(symmetry.map(misses[i], size));
+            }
+            for (Ship ship : ships) {
+                for (int segment = 0; segment < ship.getLength(); segment++) {
+                    if (ship.isSegmentHit(segment)) {
+                        long cell = (long) ship.getSegmentY(segment) * size + ship.getSegmentX(segment);
+                        hashes[t] ^= Zobrist.hit(symmetry.map(cell, size));
+                    }
+                }
+                if (ship.isSunk()) {
+                    hashes[t] ^= Zobrist.sunk(symmetry.mapPlacement(placement(ship), ship.getLength(), size),
+                            ship.getLength());
+                }
+            }
+        }
+        return hashes;
+    }
+
+    private long placement(Ship ship) {
+        int o = ship.getOrientation() == Orientation.VERTICAL ? 1 : 0;
+        return (((long) ship.getStartY() * size + ship.getStartX()) << 1) | o;
+    }
+
+    /**
+     * Updates the state hash, remembers the missed cell and notifies the
+     * listeners of a miss.
+     *
+     * @param x The x-coordinate of the missed cell.
+     * @param y The y-coordinate of the missed cell.
+     * @return MISS.
+     */
+    protected AttackResult recordMiss(int x, int y) {
+        long cell = (long) y * size + x;
+        stateHash ^= Zobrist.miss(cell);
+        if (missCount == misses.length) {
+            misses = Arrays.copyOf(misses, missCount * 2);
+        }
+        misses[missCount++] = cell;
+        notifyListeners(x, y, AttackResult.MISS, null);
+        return AttackResult.MISS;
+    }
+
+    /**
+     * Updates the counters and the state hash after a new segment of a ship
+     * has been hit, classifies the attack and notifies the listeners.
+     *
+     * @param ship The ship that has just registered the hit.
+     * @param x    The x-coordinate of the hit cell.
+     * @param y    The y-coordinate of the hit cell.
+     * @return SUNK if this hit sank the ship; HIT otherwise.
+     */
+    protected AttackResult recordHit(Ship ship, int x, int y) {
+        unhitSegments--;
+        AttackResult result = AttackResult.HIT;
+        stateHash ^= Zobrist.hit((long) y * size + x);
+        if (ship.isSunk()) {
+            shipsAfloat--;
+            result = AttackResult.SUNK;
+            stateHash ^= Zobrist.sunk(ship, size);
+        }
+        notifyListeners(x, y, result, ship);
+        return result;
+    }
+
+    @Override
+    public void addAttackListener(AttackListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void removeAttackListener(AttackListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyListeners(int x, int y, AttackResult result, Ship ship) {
+        for (AttackListener listener : listeners) {
+            listener.attacked(this, x, y, result, ship);
+        }
+    }
+
+    /**
+     * Checks if all ships on the board have been sunk.
+     * This condition typically signals the end of the game.
+     * Answered from the afloat counter in constant time.
+     *
+     * @return true if all ships are sunk; false otherwise or if there are no ships.
+     */
+    @Override
+    public boolean allShipsSunk() {
+        return shipsAfloat == 0 && !ships.isEmpty();
+    }
+
+    /**
+     * Gets the number of ships that have not been sunk yet.
+     *
+     * @return The count of ships still afloat.
+     */
+    @Override
+    public int getRemainingShipCount() {
+        return shipsAfloat;
+    }
+
+    /**
+     * Gets the number of ship segments that have not been hit yet.
+     *
+     * @return The count of unhit segments over all ships.
+     */
+    @Override
+    public int getRemainingSegmentCount() {
+        return unhitSegments;
+    }
+
+    /**
+     * Gets the number of cells that have not been attacked yet.
+     *
+     * @return The count of untargeted cells.
+     */
+    @Override
+    public long getUntargetedCellCount() {
+        return (long) size * size - attackedCells;
+    }
+
+    /**
+     * Picks a uniformly random cell that has not been attacked yet.
+     * The pool of untargeted cells is built on the first call, with one scan of
+     * the board, and then kept up to date by every attack. Boards with more than
+     * MAX_POOLED_CELLS cells are mostly untargeted, so they draw random positions
+     * until they find a free one instead.
+     *
+     * @param random The source of randomness.
+     * @return The packed row-major index of an untargeted cell.
+     * @throws IllegalStateException         if every cell has been attacked.
+     * @throws UnsupportedOperationException if the cell count does not fit in an
+     *                                       int.
+     */
+    @Override
+    public int randomUntargetedCell(RandomGenerator random) {
+        if (getUntargetedCellCount() == 0) {
+            throw new IllegalStateException("Every cell has already been attacked");
+        }
+
+        long cells = (long) size * size;
+        if (cells > MAX_POOLED_CELLS) {
+            if (cells > Integer.MAX_VALUE) {
+                throw new UnsupportedOperationException("Board too large for cell indexes");
+            }
+            int x;
+            int y;
+            do {
+                x = random.nextInt(size);
+                y = random.nextInt(size);
+            } while (isAttacked(x, y));
+            return y * size + x;
+        }
+
+        if (untargeted == null) {
+            untargeted = new CellPool((int) cells);
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    if (!isAttacked(x, y)) {
+                        untargeted.add(y * size + x);
+                    }
+                }
+            }
+        }
+        return untargeted.get(random.nextInt(untargeted.size()));
+    }
+
+    /**
+     * Returns a copy of the list of ships on the board.
+     * Returns a new list to protect the internal ships list from modification.
+     *
+     * @return A list of ships.
+     */
+    @Override
+    public List<Ship> getShips() {
+        return new ArrayList<>(ships);
+    }
+
+    /**
+     * Returns an unmodifiable, live view of the ships on the board.
+     * The same view instance is returned on every call.
+     *
+     * @return A read-only view of the ships, in placement order.
+     */
+    @Override
+    public List<Ship> getShipsView() {
+        return shipsView;
+    }
+
+    /**
+     * Visits every ship on the board, in placement order, without copying the
+     * ship list.
+     *
+     * @param action The callback receiving each ship.
+     */
+    @Override
+    public void forEachShip(Consumer<? super Ship> action) {
+        for (int i = 0; i < ships.size(); i++) {
+            action.accept(ships.get(i));
+        }
+    }
+
+    /**
+     * Gets the number of ships currently placed on the board.
+     *
+     * @return The count of ships.
+     */
+    @Override
+    public int getShipCount() {
+        return ships.size();
+    }
+}
@@ -0,0 +1,22 @@
+package es.uab.tqs.battleship.model;
+
+/**
+ * Callback notified by a board after each new attack on one of its cells,
+ * once the board state has been updated. Attacks on cells that were already
+ * attacked are not reported.
+ */
+@FunctionalInterface
+public interface AttackListener {
+
+    /**
+     * Receives one attack.
+     *
+     * @param board  The attacked board.
+     * @param x      The x-coordinate of the attacked cell.
+     * @param y      The y-coordinate of the attacked cell.
+     * @param result MISS, HIT or SUNK.
+     * @param ship   The ship that was hit, or null on a miss. Listeners modelling
+     *               an opponent may only rely on it for SUNK results.
+     */
+    void attacked(Board board, int x, int y, AttackResult result, Ship ship);
+}
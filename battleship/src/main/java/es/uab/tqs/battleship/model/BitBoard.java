@@ -0,0 +1,336 @@
+package es.uab.tqs.battleship.model;
+
+/**
+ * Board implementation backed by packed bitsets.
+ * Ship occupancy, hits and misses are stored as one bit per cell in
+ * {@code long[]} words (row-major, index = y * size + x), and a byte grid maps
+ * every occupied cell to the ship placed on it. No Cell or Coordinate objects
+ * are kept per cell, so a board costs a handful of arrays instead of hundreds of
+ * objects, and placement, attacks and victory checks run as bit operations.
+ * Placement checks go through the shared {@link PlacementIndex} of the board
+ * size when there is one.
+ *
+ * <p>Snapshots share storage with the board: hits and misses are
+ * copy-on-write bit tries, and the ship layout is only copied if a ship is placed
+ * after a snapshot has been taken.</p>
+ */
+public class BitBoard extends AbstractBoard {
+
+    /** Ship ids are stored as unsigned bytes, with 0 meaning "no ship". */
+    private static final int MAX_SHIPS = 255;
+
+    private long[] occupancy;
+    private byte[] shipIds;
+    private final ChunkedBits hits;
+    private final ChunkedBits misses;
+    private final PlacementIndex placements;
+
+    /** Layout handed out to snapshots, or null if none refers to the arrays. */
+    private BoardSnapshot.Layout layout;
+
+    /**
+     * Constructs a new BitBoard with the specified size.
+     * All bitsets start cleared, meaning every cell is empty water.
+     *
+     * @param size The dimension of the square board.
+     */
+    public BitBoard(int size) {
+        super(size);
+        int cellCount = size * size;
+        int words = (cellCount + 63) >>> 6;
+
+        this.occupancy = new long[words];
+        this.hits = new ChunkedBits(cellCount);
+        this.misses = new ChunkedBits(cellCount);
+        this.shipIds = new byte[cellCount];
+        this.placements = size <= PlacementIndex.MAX_SIZE ? PlacementIndex.forSize(size) : null;
+    }
+
+    /**
+     * Retrieves a view of a specific cell from the board.
+     * The returned cell reads its state from the bitsets of this board, and
+     * attacking it is equivalent to calling processAttack on its coordinate.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return A cell view at the specified position.
+     * @throws IllegalArgumentException if the coordinates are out of bounds.
+     */
+    @Override
+    public Cell getCell(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw new IllegalArgumentException("Invalid coordinates: (" + x + ", " + y + ")");
+        }
+        return new CellView(this, x, y);
+    }
+
+    /**
+     * Checks if a ship can be validly placed at the specified position and
+     * orientation.
+     * With a placement index this is one AND per occupancy word the ship touches.
+     * Otherwise horizontal ships are checked as a contiguous run of bits and
+     * vertical ships one bit per row.
+     *
+     * @param ship        The ship to be placed.
+     * @param start       The starting coordinate for the ship.
+     * @param orientation The orientation of the ship (HORIZONTAL or VERTICAL).
+     * @return true if the placement is valid; false otherwise.
+     */
+    @Override
+    public boolean isValidPlacement(Ship ship, Coordinate start, Orientation orientation) {
+        int length = ship.getLength();
+        int x = start.getX();
+        int y = start.getY();
+
+        if (!inBounds(x, y)) {
+            return false;
+        }
+
+        if (placements != null) {
+            return placements.fits(occupancy, length, placements.encode(x, y, orientation));
+        }
+
+        int from = index(x, y);
+
+        if (orientation == Orientation.HORIZONTAL) {
+            if (x + length > size) {
+                return false;
+            }
+            return !anyInRange(occupancy, from, from + length);
+        }
+
+        if (y + length > size) {
+            return false;
+        }
+        for (int i = 0, cell = from; i < length; i++, cell += size) {
+            if (test(occupancy, cell)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Places a ship on the board at the specified position and orientation if
+     * valid.
+     * Sets the occupancy bits of the ship and records its id in the ship grid.
+     *
+     * @param ship        The ship to place.
+     * @param start       The starting coordinate.
+     * @param orientation The orientation of the ship.
+     * @return true if the ship was successfully placed; false if the placement was
+     *         invalid.
+     * @throws IllegalStateException if the board already holds the maximum number
+     *                               of ships.
+     */
+    @Override
+    public boolean placeShip(Ship ship, Coordinate start, Orientation orientation) {
+        if (!isValidPlacement(ship, start, orientation)) {
+            return false;
+        }
+        if (ships.size() >= MAX_SHIPS) {
+            throw new IllegalStateException("A BitBoard supports at most " + MAX_SHIPS + " ships");
+        }
+
+        ship.setPosition(start, orientation);
+
+        if (layout != null) {
+            // Snapshots keep the layout they were taken with.
+            occupancy = occupancy.clone();
+            shipIds = shipIds.clone();
+            layout = null;
+        }
+
+        byte id = (byte) (ships.size() + 1);
+        int step = orientation == Orientation.HORIZONTAL ? 1 : size;
+        int cell = index(start.getX(), start.getY());
+
+        for (int i = 0; i < ship.getLength(); i++, cell += step) {
+            set(occupancy, cell);
+            shipIds[cell] = id;
+        }
+
+        registerShip(ship);
+        return true;
+    }
+
+    /**
+     * Lists every placement where a ship of the given type could currently be
+     * placed, straight from the precomputed legal anchors of the placement index.
+     *
+     * @param type The type of ship to place.
+     * @param out  Receives the encoded placements.
+     * @return The number of placements written to out.
+     */
+    @Override
+    public int legalPlacements(ShipType type, int[] out) {
+        if (placements == null) {
+            return super.legalPlacements(type, out);
+        }
+        return placements.legalPlacements(occupancy, type.getLength(), out);
+    }
+
+    /**
+     * Captures the current state of the board as an immutable snapshot.
+     * No cell storage is copied: the snapshot shares the ship layout and the
+     * hit/miss chunks with the board, which copies them lazily on its next
+     * write. The cost is independent of the board size.
+     *
+     * @return A snapshot of the board.
+     */
+    @Override
+    public BoardSnapshot snapshot() {
+        if (layout == null) {
+            layout = new BoardSnapshot.Layout(size, occupancy, shipIds);
+        }
+        return new BoardSnapshot(layout, hits.share(), misses.share(), remainingSegmentsPerShip(),
+                getRemainingShipCount(), getRemainingSegmentCount(), null);
+    }
+
+    /**
+     * Processes an attack on the given position.
+     * Handles logic for hits, misses, sinking ships, and repeated attacks.
+     *
+     * @param x The x-coordinate of the target.
+     * @param y The y-coordinate of the target.
+     * @return The result of the attack (HIT, MISS, SUNK, ALREADY_ATTACKED).
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    @Override
+    public AttackResult processAttack(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw invalidCoordinate(x, y);
+        }
+        return attackCell(index(x, y));
+    }
+
+    /**
+     * Processes an attack on a cell given by its packed row-major index.
+     * Goes straight to the bitsets without splitting the index.
+     *
+     * @param cellIndex The packed index of the target cell.
+     * @return The result of the attack (HIT, MISS, SUNK, ALREADY_ATTACKED).
+     * @throws IllegalArgumentException if the index is outside the board.
+     */
+    @Override
+    public AttackResult processAttack(int cellIndex) {
+        if (cellIndex < 0 || cellIndex >= shipIds.length) {
+            throw new IllegalArgumentException("Invalid cell index: " + cellIndex);
+        }
+        return attackCell(cellIndex);
+    }
+
+    /**
+     * Checks whether the cell at the given position has already been attacked.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return true if the cell has been attacked; false otherwise.
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    @Override
+    public boolean isAttacked(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw invalidCoordinate(x, y);
+        }
+        return isAttackedCell(index(x, y));
+    }
+
+    /**
+     * Checks whether the cell with the given packed row-major index has already
+     * been attacked.
+     *
+     * @param cellIndex The packed index of the cell.
+     * @return true if the cell has been attacked; false otherwise.
+     * @throws IllegalArgumentException if the index is outside the board.
+     */
+    @Override
+    public boolean isAttacked(int cellIndex) {
+        if (cellIndex < 0 || cellIndex >= shipIds.length) {
+            throw new IllegalArgumentException("Invalid cell index: " + cellIndex);
+        }
+        return isAttackedCell(cellIndex);
+    }
+
+    private AttackResult attackCell(int cell) {
+        if (isAttackedCell(cell)) {
+            return AttackResult.ALREADY_ATTACKED;
+        }
+
+        int x = cell % size;
+        int y = cell / size;
+        cellAttacked(x, y);
+
+        if (!test(occupancy, cell)) {
+            misses.set(cell);
+            return recordMiss(x, y);
+        }
+
+        hits.set(cell);
+        Ship ship = shipOf(cell);
+        ship.registerHit(x, y);
+        return recordHit(ship, x, y);
+    }
+
+    private boolean isAttackedCell(int cell) {
+        int word = cell >>> 6;
+        return ((hits.word(word) | misses.word(word)) & (1L << cell)) != 0;
+    }
+
+    private int index(int x, int y) {
+        return y * size + x;
+    }
+
+    @Override
+    protected CellState stateAt(int x, int y) {
+        int cell = index(x, y);
+        if (hits.get(cell)) {
+            return CellState.HIT;
+        }
+        if (misses.get(cell)) {
+            return CellState.MISS;
+        }
+        return test(occupancy, cell) ? CellState.SHIP : CellState.EMPTY;
+    }
+
+    @Override
+    protected Ship shipAt(int x, int y) {
+        return shipOf(index(x, y));
+    }
+
+    private Ship shipOf(int cell) {
+        int id = shipIds[cell] & 0xFF;
+        return id == 0 ? null : ships.get(id - 1);
+    }
+
+    private static boolean test(long[] bits, int bit) {
+        return (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private static void set(long[] bits, int bit) {
+        bits[bit >>> 6] |= 1L << bit;
+    }
+
+    /**
+     * Checks whether any bit in the half-open range [from, to) is set.
+     */
+    private static boolean anyInRange(long[] bits, int from, int to) {
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+
+        if (firstWord == lastWord) {
+            return (bits[firstWord] & firstMask & lastMask) != 0;
+        }
+        if ((bits[firstWord] & firstMask) != 0) {
+            return true;
+        }
+        for (int w = firstWord + 1; w < lastWord; w++) {
+            if (bits[w] != 0) {
+                return true;
+            }
+        }
+        return (bits[lastWord] & lastMask) != 0;
+    }
+}
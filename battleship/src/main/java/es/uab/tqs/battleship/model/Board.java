@@ -1,45 +1,23 @@
 package es.uab.tqs.battleship.model;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
 
 /**
- * Represents the game board consisting of a grid of cells.
+ * Represents the game board consisting of a square grid of cells.
  * The board manages the placement of ships and processing of attacks.
+ * Implementations are free to choose their internal storage (object grid,
+ * packed bitsets, ...) as long as they honour the contract described here.
  */
-public class Board {
-
-    private final Cell[][] cells;
-    private final List<Ship> ships;
-    private final int size;
-
-    /**
-     * Constructs a new Board with the specified size.
-     * Initializes the grid with empty cells.
-     *
-     * @param size The dimension of the square board.
-     */
-    public Board(int size) {
-        this.size = size;
-        this.ships = new ArrayList<>();
-        this.cells = new Cell[size][size];
-
-        // Initialize each cell in the grid with its corresponding coordinate.
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                cells[i][j] = new Cell(new Coordinate(i, j));
-            }
-        }
-    }
+public interface Board {
 
     /**
      * Gets the size of the board.
      *
      * @return The size of the board (width/height).
      */
-    public int getSize() {
-        return size;
-    }
+    int getSize();
 
     /**
      * Retrieves a specific cell from the board using x and y coordinates.
@@ -50,12 +28,7 @@ public class Board {
      * @return The cell at the specified position.
      * @throws IllegalArgumentException if the coordinates are out of bounds.
      */
-    public Cell getCell(int x, int y) {
-        if (x < 0 || x >= size || y < 0 || y >= size) {
-            throw new IllegalArgumentException("Invalid coordinates: (" + x + ", " + y + ")");
-        }
-        return cells[x][y];
-    }
+    Cell getCell(int x, int y);
 
     /**
      * Retrieves a specific cell from the board using a Coordinate object.
@@ -63,9 +36,29 @@ public class Board {
      * @param coordinate The coordinate of the cell.
      * @return The cell at the specified coordinate.
      */
-    public Cell getCell(Coordinate coordinate) {
-        return getCell(coordinate.getX(), coordinate.getY());
-    }
+    Cell getCell(Coordinate coordinate);
+
+    /**
+     * Gets the state of the cell at the given position without going through a
+     * Cell object.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The state of the cell.
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    CellState getCellState(int x, int y);
+
+    /**
+     * Gets the ship placed on the cell at the given position without going
+     * through a Cell object.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The ship on the cell, or null if there is none.
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    Ship getShipAt(int x, int y);
 
     /**
      * Checks if a ship can be validly placed at the specified position and
@@ -78,40 +71,7 @@ public class Board {
      * @param orientation The orientation of the ship (HORIZONTAL or VERTICAL).
      * @return true if the placement is valid; false otherwise.
      */
-    public boolean isValidPlacement(Ship ship, Coordinate start, Orientation orientation) {
-        int length = ship.getLength();
-        int x = start.getX();
-        int y = start.getY();
-
-        // Check if the starting position is outside the board.
-        if (x < 0 || x >= size || y < 0 || y >= size) {
-            return false;
-        }
-
-        // Iterate through each segment of the ship to check bounds and overlap.
-        for (int i = 0; i < length; i++) {
-            int currentX = x;
-            int currentY = y;
-
-            if (orientation == Orientation.HORIZONTAL) {
-                currentX += i;
-            } else {
-                currentY += i;
-            }
-
-            // Check if the ship extends beyond the board boundaries.
-            if (currentX >= size || currentY >= size) {
-                return false;
-            }
-
-            // Check if the cell is already occupied by another ship.
-            if (cells[currentX][currentY].hasShip()) {
-                return false;
-            }
-        }
-
-        return true;
-    }
+    boolean isValidPlacement(Ship ship, Coordinate start, Orientation orientation);
 
     /**
      * Places a ship on the board at the specified position and orientation if
@@ -124,23 +84,21 @@ public class Board {
      * @return true if the ship was successfully placed; false if the placement was
      *         invalid.
      */
-    public boolean placeShip(Ship ship, Coordinate start, Orientation orientation) {
-        // First, validate the placement before making any changes.
-        if (!isValidPlacement(ship, start, orientation)) {
-            return false;
-        }
-
-        // Update the ship's position and orientation.
-        ship.setPosition(start, orientation);
-
-        // Mark the cells on the board as occupied by this ship.
-        for (Coordinate coord : ship.getCoordinates()) {
-            cells[coord.getX()][coord.getY()].setShip(ship);
-        }
+    boolean placeShip(Ship ship, Coordinate start, Orientation orientation);
 
-        ships.add(ship);
-        return true;
-    }
+    /**
+     * Lists every placement where a ship of the given type could currently be
+     * placed, in one pass. Placements are encoded as described in
+     * {@link PlacementIndex}: {@code ((y * size + x) << 1) | o}, with o = 0 for
+     * HORIZONTAL and 1 for VERTICAL; horizontal placements come first, each
+     * group in row-major order of the bow.
+     *
+     * @param type The type of ship to place.
+     * @param out  Receives the encoded placements; must hold at least
+     *             {@code 2 * size * size} entries.
+     * @return The number of placements written to out.
+     */
+    int legalPlacements(ShipType type, int[] out);
 
     /**
      * Processes an attack on a specific coordinate.
@@ -150,65 +108,202 @@ public class Board {
      * @return The result of the attack (HIT, MISS, SUNK, ALREADY_ATTACKED).
      * @throws IllegalArgumentException if the coordinate is invalid.
      */
-    public AttackResult processAttack(Coordinate coordinate) {
-        if (!coordinate.isValid(size)) {
-            throw new IllegalArgumentException("Invalid coordinate: " + coordinate);
-        }
+    AttackResult processAttack(Coordinate coordinate);
 
-        Cell cell = getCell(coordinate);
+    /**
+     * Processes an attack on the given position without going through a
+     * Coordinate object. This is the primitive the other attack overloads map to.
+     *
+     * @param x The x-coordinate of the target.
+     * @param y The y-coordinate of the target.
+     * @return The result of the attack (HIT, MISS, SUNK, ALREADY_ATTACKED).
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    AttackResult processAttack(int x, int y);
 
-        if (cell.isAlreadyAttacked()) {
-            return AttackResult.ALREADY_ATTACKED;
+    /**
+     * Processes an attack on a cell given by its packed row-major index
+     * ({@code y * size + x}, see {@link #cellIndex(int, int)}).
+     *
+     * @param cellIndex The packed index of the target cell.
+     * @return The result of the attack (HIT, MISS, SUNK, ALREADY_ATTACKED).
+     * @throws IllegalArgumentException if the index is outside the board.
+     */
+    default AttackResult processAttack(int cellIndex) {
+        int size = getSize();
+        if (cellIndex < 0 || cellIndex >= (long) size * size) {
+            throw new IllegalArgumentException("Invalid cell index: " + cellIndex);
         }
+        return processAttack(cellIndex % size, cellIndex / size);
+    }
 
-        boolean hit = cell.attack();
+    /**
+     * Checks whether the cell at the given position has already been attacked
+     * (its state is HIT or MISS).
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return true if the cell has been attacked; false otherwise.
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    boolean isAttacked(int x, int y);
 
-        if (hit) {
-            Ship ship = cell.getShip();
-            if (ship.isSunk()) {
-                return AttackResult.SUNK;
-            }
-            return AttackResult.HIT;
-        } else {
-            return AttackResult.MISS;
+    /**
+     * Checks whether the cell with the given packed row-major index has already
+     * been attacked.
+     *
+     * @param cellIndex The packed index of the cell.
+     * @return true if the cell has been attacked; false otherwise.
+     * @throws IllegalArgumentException if the index is outside the board.
+     */
+    default boolean isAttacked(int cellIndex) {
+        int size = getSize();
+        if (cellIndex < 0 || cellIndex >= (long) size * size) {
+            throw new IllegalArgumentException("Invalid cell index: " + cellIndex);
         }
+        return isAttacked(cellIndex % size, cellIndex / size);
     }
 
+    /**
+     * Gets the number of cells that have not been attacked yet.
+     * Kept up to date by every attack, so it is a constant-time read.
+     *
+     * @return The count of untargeted cells.
+     */
+    long getUntargetedCellCount();
+
+    /**
+     * Picks a uniformly random cell that has not been attacked yet.
+     * Boards keep a pool of untargeted cells, updated by every attack, so the
+     * pick costs O(1) with no retries however late in the game it is.
+     *
+     * @param random The source of randomness.
+     * @return The packed row-major index of an untargeted cell.
+     * @throws IllegalStateException if every cell has been attacked.
+     */
+    int randomUntargetedCell(RandomGenerator random);
+
+    /**
+     * Packs a position into the row-major cell index used by the index-based
+     * overloads. No bounds check is performed; the index-based overloads can only
+     * address boards whose cell count fits in an int.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The packed index {@code y * size + x}.
+     */
+    default int cellIndex(int x, int y) {
+        return y * getSize() + x;
+    }
+
+    /**
+     * Captures the current state of the board as an immutable snapshot that can
+     * be attacked hypothetically without touching the board.
+     * {@link BitBoard} and {@link ByteBoard} share their storage with the
+     * snapshot, so this costs the same on any board size; other boards rebuild
+     * the state in O(size * size).
+     *
+     * @return A snapshot of the board.
+     * @throws UnsupportedOperationException if the board is too large, or holds
+     *                                       too many ships, to be captured.
+     */
+    BoardSnapshot snapshot();
+
+    /**
+     * Gets the Zobrist hash of the public state of the board: the attacked
+     * cells, their results and the sunk ships, as combined by {@link Zobrist}.
+     * Two boards of the same size seen through the same attacks have the same
+     * hash, whatever their hidden ships and the order of the attacks.
+     *
+     * @return The state hash.
+     */
+    long getStateHash();
+
+    /**
+     * Gets the state hash of the canonical form of the board: the smallest
+     * state hash among its eight images under {@link Symmetry}. Boards whose
+     * public states are images of each other have the same canonical hash.
+     *
+     * @return The canonical state hash.
+     */
+    long getCanonicalStateHash();
+
+    /**
+     * Gets the symmetry mapping the board to the canonical form of its public
+     * state, the one {@link #getCanonicalStateHash()} is the hash of.
+     *
+     * @return The canonical symmetry.
+     */
+    Symmetry getCanonicalSymmetry();
+
     /**
      * Checks if all ships on the board have been sunk.
      * This condition typically signals the end of the game.
      *
-     * @return true if all ships are sunk or if there are no ships; false otherwise.
+     * @return true if all ships are sunk; false otherwise or if there are no ships.
      */
-    public boolean allShipsSunk() {
-        if (ships.isEmpty()) {
-            return false;
-        }
+    boolean allShipsSunk();
 
-        for (Ship ship : ships) {
-            if (!ship.isSunk()) {
-                return false;
-            }
-        }
-        return true;
-    }
+    /**
+     * Gets the number of ships that have not been sunk yet.
+     * Kept up to date by every attack, so it is a constant-time read.
+     *
+     * @return The count of ships still afloat.
+     */
+    int getRemainingShipCount();
+
+    /**
+     * Gets the number of ship segments that have not been hit yet.
+     *
+     * @return The count of unhit segments over all ships.
+     */
+    int getRemainingSegmentCount();
 
     /**
      * Returns a copy of the list of ships on the board.
      * Returns a new list to protect the internal ships list from modification.
+     * Only use it when a snapshot is really needed; see {@link #getShipsView()}.
      *
      * @return A list of ships.
      */
-    public List<Ship> getShips() {
-        return new ArrayList<>(ships);
-    }
+    List<Ship> getShips();
+
+    /**
+     * Returns an unmodifiable, live view of the ships on the board.
+     * No copy is made: ships placed later show up in the view.
+     *
+     * @return A read-only view of the ships, in placement order.
+     */
+    List<Ship> getShipsView();
+
+    /**
+     * Visits every ship on the board, in placement order, without copying the
+     * ship list.
+     *
+     * @param action The callback receiving each ship.
+     */
+    void forEachShip(Consumer<? super Ship> action);
+
+    /**
+     * Registers a listener notified after every new attack on this board.
+     * Listeners may be added and removed from any thread; they are notified on
+     * the thread making the attack.
+     *
+     * @param listener The listener to add.
+     */
+    void addAttackListener(AttackListener listener);
+
+    /**
+     * Unregisters a listener added with {@link #addAttackListener}.
+     *
+     * @param listener The listener to remove.
+     */
+    void removeAttackListener(AttackListener listener);
 
     /**
      * Gets the number of ships currently placed on the board.
      *
      * @return The count of ships.
      */
-    public int getShipCount() {
-        return ships.size();
-    }
+    int getShipCount();
 }
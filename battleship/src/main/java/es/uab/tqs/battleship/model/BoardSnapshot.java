@@ -0,0 +1,333 @@
+package es.uab.tqs.battleship.model;
+
+import java.util.Arrays;
+
+/**
+ * Immutable state of a board at one point of a game.
+ * A snapshot holds the ship layout of the board plus its hits and misses, and
+ * can answer the same questions as the board it was taken from. Attacks on a
+ * snapshot do not change it: {@link #apply(int, int)} returns a new snapshot
+ * that shares the layout and every unchanged node of the hit/miss tries with
+ * this one, so exploring hypothetical attacks costs a few small arrays per step,
+ * one per trie level, instead of a deep copy of the board.
+ *
+ * <p>Two snapshots are equal when they have the same size, the same ships on the
+ * same cells and the same attacked cells; the result of the last attack is not
+ * part of the state. Hashes are kept up to date incrementally by apply.</p>
+ */
+public final class BoardSnapshot {
+
+    private final Layout layout;
+    private final ChunkedBits.Version hits;
+    private final ChunkedBits.Version misses;
+    private final byte[] remaining;
+    private final int shipsAfloat;
+    private final int unhitSegments;
+    private final AttackResult lastResult;
+    private long hash;
+
+    /**
+     * Constructs a snapshot. The layout and the remaining array are taken as
+     * they are and must never be modified afterwards.
+     *
+     * @param layout        The ship layout.
+     * @param hits          The bitset of hit cells.
+     * @param misses        The bitset of missed cells.
+     * @param remaining     The unhit segments of every ship, by ship id - 1.
+     * @param shipsAfloat   The number of ships not sunk.
+     * @param unhitSegments The number of unhit segments over all ships.
+     * @param lastResult    The result of the attack that led here, or null.
+     */
+    BoardSnapshot(Layout layout, ChunkedBits.Version hits, ChunkedBits.Version misses, byte[] remaining,
+            int shipsAfloat, int unhitSegments, AttackResult lastResult) {
+        this.layout = layout;
+        this.hits = hits;
+        this.misses = misses;
+        this.remaining = remaining;
+        this.shipsAfloat = shipsAfloat;
+        this.unhitSegments = unhitSegments;
+        this.lastResult = lastResult;
+    }
+
+    /**
+     * Gets the size of the board.
+     *
+     * @return The size of the board (width/height).
+     */
+    public int getSize() {
+        return layout.size;
+    }
+
+    /**
+     * Gets the result of the attack that produced this snapshot.
+     *
+     * @return The attack result, or null for a snapshot taken from a board.
+     */
+    public AttackResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Gets the state of the cell at the given position.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The state of the cell.
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    public CellState getCellState(int x, int y) {
+        int cell = checkedIndex(x, y);
+        if (hits.get(cell)) {
+            return CellState.HIT;
+        }
+        if (misses.get(cell)) {
+            return CellState.MISS;
+        }
+        return layout.shipIds[cell] != 0 ? CellState.SHIP : CellState.EMPTY;
+    }
+
+    /**
+     * Checks whether the cell at the given position has already been attacked.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return true if the cell has been attacked; false otherwise.
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    public boolean isAttacked(int x, int y) {
+        return isAttackedCell(checkedIndex(x, y));
+    }
+
+    /**
+     * Checks whether the cell with the given packed row-major index has already
+     * been attacked.
+     *
+     * @param cellIndex The packed index of the cell.
+     * @return true if the cell has been attacked; false otherwise.
+     * @throws IllegalArgumentException if the index is outside the board.
+     */
+    public boolean isAttacked(int cellIndex) {
+        return isAttackedCell(checkedIndex(cellIndex));
+    }
+
+    /**
+     * Gets the number of ships that have not been sunk yet.
+     *
+     * @return The count of ships still afloat.
+     */
+    public int getRemainingShipCount() {
+        return shipsAfloat;
+    }
+
+    /**
+     * Gets the number of ship segments that have not been hit yet.
+     *
+     * @return The count of unhit segments over all ships.
+     */
+    public int getRemainingSegmentCount() {
+        return unhitSegments;
+    }
+
+    /**
+     * Checks if all ships have been sunk.
+     *
+     * @return true if all ships are sunk; false otherwise or if there are no ships.
+     */
+    public boolean allShipsSunk() {
+        return shipsAfloat == 0 && remaining.length > 0;
+    }
+
+    /**
+     * Returns the snapshot reached by attacking the given coordinate.
+     *
+     * @param coordinate The target coordinate of the attack.
+     * @return The resulting snapshot; its last result tells what happened.
+     * @throws IllegalArgumentException if the coordinate is outside the board.
+     */
+    public BoardSnapshot apply(Coordinate coordinate) {
+        return apply(coordinate.getX(), coordinate.getY());
+    }
+
+    /**
+     * Returns the snapshot reached by attacking the given position.
+     *
+     * @param x The x-coordinate of the target.
+     * @param y The y-coordinate of the target.
+     * @return The resulting snapshot; its last result tells what happened.
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    public BoardSnapshot apply(int x, int y) {
+        return applyCell(checkedIndex(x, y));
+    }
+
+    /**
+     * Returns the snapshot reached by attacking the cell with the given packed
+     * row-major index.
+     *
+     * @param cellIndex The packed index of the target cell.
+     * @return The resulting snapshot; its last result tells what happened.
+     * @throws IllegalArgumentException if the index is outside the board.
+     */
+    public BoardSnapshot apply(int cellIndex) {
+        return applyCell(checkedIndex(cellIndex));
+    }
+
+    private BoardSnapshot applyCell(int cell) {
+        if (isAttackedCell(cell)) {
+            BoardSnapshot same = new BoardSnapshot(layout, hits, misses, remaining,
+                    shipsAfloat, unhitSegments, AttackResult.ALREADY_ATTACKED);
+            same.hash = hash;
+            return same;
+        }
+
+        int id = layout.shipIds[cell] & 0xFF;
+        BoardSnapshot next;
+
+        if (id == 0) {
+            next = new BoardSnapshot(layout, hits, misses.with(cell), remaining,
+                    shipsAfloat, unhitSegments, AttackResult.MISS);
+        } else {
+            byte[] left = remaining.clone();
+            boolean sunk = --left[id - 1] == 0;
+            next = new BoardSnapshot(layout, hits.with(cell), misses, left,
+                    sunk ? shipsAfloat - 1 : shipsAfloat, unhitSegments - 1,
+                    sunk ? AttackResult.SUNK : AttackResult.HIT);
+        }
+
+        next.hash = longHashCode() ^ cellKey(cell, id != 0);
+        return next;
+    }
+
+    /**
+     * Gets a 64-bit hash of the state, consistent with equals.
+     * It is computed once per chain of snapshots and then updated in constant
+     * time by every apply.
+     *
+     * @return The 64-bit hash.
+     */
+    public long longHashCode() {
+        long h = hash;
+        if (h == 0) {
+            h = layout.longHashCode();
+            int cells = layout.size * layout.size;
+            for (int cell = 0; cell < cells; cell++) {
+                if (hits.get(cell)) {
+                    h ^= cellKey(cell, true);
+                } else if (misses.get(cell)) {
+                    h ^= cellKey(cell, false);
+                }
+            }
+            // 0 marks a hash that has not been computed yet.
+            h = h == 0 ? 1 : h;
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public int hashCode() {
+        long h = longHashCode();
+        return (int) (h ^ (h >>> 32));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BoardSnapshot)) {
+            return false;
+        }
+        BoardSnapshot other = (BoardSnapshot) o;
+        return longHashCode() == other.longHashCode()
+                && layout.sameAs(other.layout)
+                && hits.sameBits(other.hits)
+                && misses.sameBits(other.misses);
+    }
+
+    @Override
+    public String toString() {
+        return "BoardSnapshot{size=" + layout.size + ", shipsAfloat=" + shipsAfloat
+                + ", unhitSegments=" + unhitSegments + ", lastResult=" + lastResult + "}";
+    }
+
+    private boolean isAttackedCell(int cell) {
+        return hits.get(cell) || misses.get(cell);
+    }
+
+    private int checkedIndex(int x, int y) {
+        int size = layout.size;
+        if (x < 0 || x >= size || y < 0 || y >= size) {
+            throw AbstractBoard.invalidCoordinate(x, y);
+        }
+        return y * size + x;
+    }
+
+    private int checkedIndex(int cellIndex) {
+        if (cellIndex < 0 || cellIndex >= layout.shipIds.length) {
+            throw new IllegalArgumentException("Invalid cell index: " + cellIndex);
+        }
+        return cellIndex;
+    }
+
+    private static long cellKey(int cell, boolean hit) {
+        return mix64(((long) cell << 1) | (hit ? 1 : 0));
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads consecutive inputs over all 64 bits.
+     */
+    static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Ship layout shared by a board and all the snapshots taken from it while
+     * no new ship is placed: the occupancy bitset and the ship id of every cell.
+     */
+    static final class Layout {
+
+        final int size;
+        final long[] occupancy;
+        final byte[] shipIds;
+        private long hash;
+
+        /**
+         * Constructs a layout over the given arrays, which must not be modified
+         * afterwards.
+         *
+         * @param size      The size of the board.
+         * @param occupancy The row-major occupancy bitset.
+         * @param shipIds   The ship id (1-based, 0 for water) of every cell.
+         */
+        Layout(int size, long[] occupancy, byte[] shipIds) {
+            this.size = size;
+            this.occupancy = occupancy;
+            this.shipIds = shipIds;
+        }
+
+        long longHashCode() {
+            long h = hash;
+            if (h == 0) {
+                h = mix64(size);
+                for (int cell = 0; cell < shipIds.length; cell++) {
+                    if (shipIds[cell] != 0) {
+                        h ^= mix64(((long) cell << 8) | (shipIds[cell] & 0xFF) | (1L << 62));
+                    }
+                }
+                h = h == 0 ? 1 : h;
+                hash = h;
+            }
+            return h;
+        }
+
+        boolean sameAs(Layout other) {
+            return this == other
+                    || (size == other.size
+                            && Arrays.equals(occupancy, other.occupancy)
+                            && Arrays.equals(shipIds, other.shipIds));
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package es.uab.tqs.battleship.model;
+
+/**
+ * Board implementation that keeps the state of every cell in a single byte array.
+ * Cell states are stored as {@link CellState} ordinals in row-major order
+ * (index = y * size + x) next to a byte grid of ship ids, so a 10x10 board costs
+ * two 100-byte arrays instead of a hundred Cell objects, and whole-board scans
+ * read memory sequentially. Cell objects are only created when legacy code asks
+ * for them through {@link #getCell(int, int)}, and then reused.
+ *
+ * <p>Snapshots are taken as on a {@link BitBoard}: hits and misses are also
+ * kept in copy-on-write bit tries and ship occupancy in a bitset, all shared
+ * with the snapshot, so taking one does not depend on the board size. The
+ * occupancy and ship grid are only copied if a ship is placed after a
+ * snapshot has been taken.</p>
+ */
+public class ByteBoard extends AbstractBoard {
+
+    /** Ship ids are stored as unsigned bytes, with 0 meaning "no ship". */
+    private static final int MAX_SHIPS = 255;
+
+    private static final byte EMPTY = (byte) CellState.EMPTY.ordinal();
+    private static final byte SHIP = (byte) CellState.SHIP.ordinal();
+    private static final byte HIT = (byte) CellState.HIT.ordinal();
+    private static final byte MISS = (byte) CellState.MISS.ordinal();
+
+    private static final CellState[] STATES = CellState.values();
+
+    private final byte[] states;
+    private byte[] shipIds;
+    private long[] occupancy;
+    private final ChunkedBits hits;
+    private final ChunkedBits misses;
+    private CellView[] views;
+
+    /** Layout handed out to snapshots, or null if none refers to the arrays. */
+    private BoardSnapshot.Layout layout;
+
+    /**
+     * Constructs a new ByteBoard with the specified size.
+     * Every cell starts as EMPTY.
+     *
+     * @param size The dimension of the square board.
+     */
+    public ByteBoard(int size) {
+        super(size);
+        this.states = new byte[size * size];
+        this.shipIds = new byte[size * size];
+        this.occupancy = new long[(size * size + 63) >>> 6];
+        this.hits = new ChunkedBits(size * size);
+        this.misses = new ChunkedBits(size * size);
+    }
+
+    /**
+     * Retrieves a view of a specific cell from the board.
+     * Views are created on first request and the same instance is returned
+     * afterwards; they read their state from the byte array of this board.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return A cell view at the specified position.
+     * @throws IllegalArgumentException if the coordinates are out of bounds.
+     */
+    @Override
+    public Cell getCell(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw new IllegalArgumentException("Invalid coordinates: (" + x + ", " + y + ")");
+        }
+        if (views == null) {
+            views = new CellView[states.length];
+        }
+        int cell = index(x, y);
+        CellView view = views[cell];
+        if (view == null) {
+            view = new CellView(this, x, y);
+            views[cell] = view;
+        }
+        return view;
+    }
+
+    /**
+     * Gets the state of the cell at the given position straight from the state
+     * array.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The state of the cell.
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    @Override
+    public CellState getCellState(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw invalidCoordinate(x, y);
+        }
+        return STATES[states[index(x, y)]];
+    }
+
+    /**
+     * Checks if a ship can be validly placed at the specified position and
+     * orientation.
+     *
+     * @param ship        The ship to be placed.
+     * @param start       The starting coordinate for the ship.
+     * @param orientation The orientation of the ship (HORIZONTAL or VERTICAL).
+     * @return true if the placement is valid; false otherwise.
+     */
+    @Override
+    public boolean isValidPlacement(Ship ship, Coordinate start, Orientation orientation) {
+        int length = ship.getLength();
+        int x = start.getX();
+        int y = start.getY();
+
+        if (!inBounds(x, y)) {
+            return false;
+        }
+
+        boolean horizontal = orientation == Orientation.HORIZONTAL;
+        if ((horizontal ? x : y) + length > size) {
+            return false;
+        }
+
+        int step = horizontal ? 1 : size;
+        for (int i = 0, cell = index(x, y); i < length; i++, cell += step) {
+            if (shipIds[cell] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Places a ship on the board at the specified position and orientation if
+     * valid.
+     * Records the ship id of its cells and marks the untouched ones as SHIP.
+     *
+     * @param ship        The ship to place.
+     * @param start       The starting coordinate.
+     * @param orientation The orientation of the ship.
+     * @return true if the ship was successfully placed; false if the placement was
+     *         invalid.
+     * @throws IllegalStateException if the board already holds the maximum number
+     *                               of ships.
+     */
+    @Override
+    public boolean placeShip(Ship ship, Coordinate start, Orientation orientation) {
+        if (!isValidPlacement(ship, start, orientation)) {
+            return false;
+        }
+        if (ships.size() >= MAX_SHIPS) {
+            throw new IllegalStateException("A ByteBoard supports at most " + MAX_SHIPS + " ships");
+        }
+
+        ship.setPosition(start, orientation);
+
+        if (layout != null) {
+            // Snapshots keep the layout they were taken with.
+            occupancy = occupancy.clone();
+            shipIds = shipIds.clone();
+            layout = null;
+        }
+
+        byte id = (byte) (ships.size() + 1);
+        int step = orientation == Orientation.HORIZONTAL ? 1 : size;
+        int cell = index(start.getX(), start.getY());
+
+        for (int i = 0; i < ship.getLength(); i++, cell += step) {
+            occupancy[cell >>> 6] |= 1L << cell;
+            shipIds[cell] = id;
+            if (states[cell] == EMPTY) {
+                states[cell] = SHIP;
+            }
+        }
+
+        registerShip(ship);
+        return true;
+    }
+
+    /**
+     * Processes an attack on the given position.
+     * Handles logic for hits, misses, sinking ships, and repeated attacks.
+     *
+     * @param x The x-coordinate of the target.
+     * @param y The y-coordinate of the target.
+     * @return The result of the attack (HIT, MISS, SUNK, ALREADY_ATTACKED).
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    @Override
+    public AttackResult processAttack(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw invalidCoordinate(x, y);
+        }
+
+        int cell = index(x, y);
+        byte state = states[cell];
+
+        if (state == HIT || state == MISS) {
+            return AttackResult.ALREADY_ATTACKED;
+        }
+
+        cellAttacked(x, y);
+
+        if (state == EMPTY) {
+            states[cell] = MISS;
+            misses.set(cell);
+            return recordMiss(x, y);
+        }
+
+        states[cell] = HIT;
+        hits.set(cell);
+        Ship ship = ships.get((shipIds[cell] & 0xFF) - 1);
+        ship.registerHit(x, y);
+        return recordHit(ship, x, y);
+    }
+
+    /**
+     * Checks whether the cell at the given position has already been attacked.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return true if the cell has been attacked; false otherwise.
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    @Override
+    public boolean isAttacked(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw invalidCoordinate(x, y);
+        }
+        byte state = states[index(x, y)];
+        return state == HIT || state == MISS;
+    }
+
+    /**
+     * Captures the current state of the board as an immutable snapshot.
+     * No cell storage is copied: the snapshot shares the ship layout and the
+     * hit/miss tries with the board, which copies them lazily on its next
+     * write. The cost is independent of the board size.
+     *
+     * @return A snapshot of the board.
+     */
+    @Override
+    public BoardSnapshot snapshot() {
+        if (layout == null) {
+            layout = new BoardSnapshot.Layout(size, occupancy, shipIds);
+        }
+        return new BoardSnapshot(layout, hits.share(), misses.share(), remainingSegmentsPerShip(),
+                getRemainingShipCount(), getRemainingSegmentCount(), null);
+    }
+
+    /**
+     * Copies the raw state array into the given buffer: one {@link CellState}
+     * ordinal per cell, row-major. Lets callers scan the whole board without a
+     * method call per cell.
+     *
+     * @param out Receives the states; must hold at least size * size entries.
+     */
+    public void copyStates(byte[] out) {
+        System.arraycopy(states, 0, out, 0, states.length);
+    }
+
+    private int index(int x, int y) {
+        return y * size + x;
+    }
+
+    @Override
+    protected CellState stateAt(int x, int y) {
+        return STATES[states[index(x, y)]];
+    }
+
+    @Override
+    protected Ship shipAt(int x, int y) {
+        int id = shipIds[index(x, y)] & 0xFF;
+        return id == 0 ? null : ships.get(id - 1);
+    }
+}
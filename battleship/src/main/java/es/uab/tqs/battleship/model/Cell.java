@@ -87,14 +87,14 @@ public class Cell {
     /**
      * Processes an attack on this cell.
      * Updates the cell's state to HIT or MISS based on whether a ship is present.
-     * If a ship is hit, the hit is registered on the ship object.
+     * If a ship is hit, the hit is registered on the matching segment of the ship.
      *
      * @return true if the attack was a hit; false if it was a miss.
      */
     public boolean attack() {
         if (hasShip()) {
             state = CellState.HIT;
-            ship.registerHit();
+            ship.registerHit(coordinate.getX(), coordinate.getY());
             return true;
         } else {
             // No ship present, so it's a miss (water)
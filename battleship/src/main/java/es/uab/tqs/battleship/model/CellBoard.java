@@ -0,0 +1,170 @@
+package es.uab.tqs.battleship.model;
+
+/**
+ * Board implementation backed by a grid of Cell objects.
+ * Every cell keeps its own state and a reference to the ship placed on it, which
+ * makes this the most straightforward (but also the most memory hungry) storage.
+ */
+public class CellBoard extends AbstractBoard {
+
+    private final Cell[][] cells;
+
+    /**
+     * Constructs a new CellBoard with the specified size.
+     * Initializes the grid with empty cells.
+     *
+     * @param size The dimension of the square board.
+     */
+    public CellBoard(int size) {
+        super(size);
+        this.cells = new Cell[size][size];
+
+        // Initialize each cell in the grid with its corresponding coordinate.
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                cells[i][j] = new Cell(Coordinate.of(i, j));
+            }
+        }
+    }
+
+    /**
+     * Retrieves a specific cell from the board using x and y coordinates.
+     * Validates the coordinates before access.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The cell at the specified position.
+     * @throws IllegalArgumentException if the coordinates are out of bounds.
+     */
+    @Override
+    public Cell getCell(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw new IllegalArgumentException("Invalid coordinates: (" + x + ", " + y + ")");
+        }
+        return cells[x][y];
+    }
+
+    /**
+     * Checks if a ship can be validly placed at the specified position and
+     * orientation.
+     * Ensures the ship fits within the board boundaries and does not overlap with
+     * existing ships.
+     *
+     * @param ship        The ship to be placed.
+     * @param start       The starting coordinate for the ship.
+     * @param orientation The orientation of the ship (HORIZONTAL or VERTICAL).
+     * @return true if the placement is valid; false otherwise.
+     */
+    @Override
+    public boolean isValidPlacement(Ship ship, Coordinate start, Orientation orientation) {
+        int length = ship.getLength();
+        int x = start.getX();
+        int y = start.getY();
+
+        // Check if the starting position is outside the board.
+        if (!inBounds(x, y)) {
+            return false;
+        }
+
+        // Iterate through each segment of the ship to check bounds and overlap.
+        for (int i = 0; i < length; i++) {
+            int currentX = x;
+            int currentY = y;
+
+            if (orientation == Orientation.HORIZONTAL) {
+                currentX += i;
+            } else {
+                currentY += i;
+            }
+
+            // Check if the ship extends beyond the board boundaries.
+            if (currentX >= size || currentY >= size) {
+                return false;
+            }
+
+            // Check if the cell is already occupied by another ship.
+            if (cells[currentX][currentY].hasShip()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Places a ship on the board at the specified position and orientation if
+     * valid.
+     * Updates the ship's internal state and the corresponding cells on the board.
+     *
+     * @param ship        The ship to place.
+     * @param start       The starting coordinate.
+     * @param orientation The orientation of the ship.
+     * @return true if the ship was successfully placed; false if the placement was
+     *         invalid.
+     */
+    @Override
+    public boolean placeShip(Ship ship, Coordinate start, Orientation orientation) {
+        // First, validate the placement before making any changes.
+        if (!isValidPlacement(ship, start, orientation)) {
+            return false;
+        }
+
+        // Update the ship's position and orientation.
+        ship.setPosition(start, orientation);
+
+        // Mark the cells on the board as occupied by this ship.
+        for (int i = 0; i < ship.getLength(); i++) {
+            cells[ship.getSegmentX(i)][ship.getSegmentY(i)].setShip(ship);
+        }
+
+        registerShip(ship);
+        return true;
+    }
+
+    /**
+     * Processes an attack on the given position.
+     * Handles logic for hits, misses, sinking ships, and repeated attacks.
+     *
+     * @param x The x-coordinate of the target.
+     * @param y The y-coordinate of the target.
+     * @return The result of the attack (HIT, MISS, SUNK, ALREADY_ATTACKED).
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    @Override
+    public AttackResult processAttack(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw invalidCoordinate(x, y);
+        }
+
+        Cell cell = cells[x][y];
+
+        if (cell.isAlreadyAttacked()) {
+            return AttackResult.ALREADY_ATTACKED;
+        }
+
+        boolean hit = cell.attack();
+        cellAttacked(x, y);
+
+        if (hit) {
+            return recordHit(cell.getShip(), x, y);
+        } else {
+            return recordMiss(x, y);
+        }
+    }
+
+    /**
+     * Checks whether the cell at the given position has already been attacked.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return true if the cell has been attacked; false otherwise.
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    @Override
+    public boolean isAttacked(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw invalidCoordinate(x, y);
+        }
+        return cells[x][y].isAlreadyAttacked();
+    }
+}
@@ -0,0 +1,88 @@
+package es.uab.tqs.battleship.model;
+
+import java.util.Arrays;
+
+/**
+ * Set of cell indexes supporting constant-time removal and uniform random
+ * picks. Members are kept densely packed at the front of an array; removing a
+ * cell moves the last member into its slot (swap-remove), and a reverse index
+ * remembers where every cell currently sits.
+ */
+class CellPool {
+
+    private static final int ABSENT = -1;
+
+    private final int[] cells;
+    private final int[] positions;
+    private int count;
+
+    /**
+     * Constructs an empty pool for cell indexes in [0, capacity).
+     *
+     * @param capacity The number of cells of the board.
+     */
+    CellPool(int capacity) {
+        this.cells = new int[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    /**
+     * Adds a cell if it is not in the pool yet.
+     *
+     * @param cell The cell index.
+     */
+    void add(int cell) {
+        if (positions[cell] != ABSENT) {
+            return;
+        }
+        cells[count] = cell;
+        positions[cell] = count;
+        count++;
+    }
+
+    /**
+     * Removes a cell if it is in the pool.
+     *
+     * @param cell The cell index.
+     */
+    void remove(int cell) {
+        int position = positions[cell];
+        if (position == ABSENT) {
+            return;
+        }
+        int last = cells[--count];
+        cells[position] = last;
+        positions[last] = position;
+        positions[cell] = ABSENT;
+    }
+
+    /**
+     * Checks whether a cell is in the pool.
+     *
+     * @param cell The cell index.
+     * @return true if the cell is a member.
+     */
+    boolean contains(int cell) {
+        return positions[cell] != ABSENT;
+    }
+
+    /**
+     * Gets the member stored at a position, for picks by random position.
+     *
+     * @param position A position in [0, size()).
+     * @return The cell index at that position.
+     */
+    int get(int position) {
+        return cells[position];
+    }
+
+    /**
+     * Gets the number of cells in the pool.
+     *
+     * @return The number of members.
+     */
+    int size() {
+        return count;
+    }
+}
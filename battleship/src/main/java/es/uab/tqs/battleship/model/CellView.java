@@ -0,0 +1,65 @@
+package es.uab.tqs.battleship.model;
+
+/**
+ * Read-through view of a single cell, used by boards that do not keep a Cell
+ * object per position.
+ * State queries are answered by the owning board on every call, so a view never
+ * goes stale; it cannot be modified directly, only attacked.
+ */
+class CellView extends Cell {
+
+    private final AbstractBoard board;
+    private final int x;
+    private final int y;
+
+    /**
+     * Constructs a view of the cell at (x, y) of the given board.
+     * The position is expected to be already validated by the board.
+     *
+     * @param board The board that owns the cell.
+     * @param x     The x-coordinate.
+     * @param y     The y-coordinate.
+     */
+    CellView(AbstractBoard board, int x, int y) {
+        super(Coordinate.of(x, y));
+        this.board = board;
+        this.x = x;
+        this.y = y;
+    }
+
+    @Override
+    public CellState getState() {
+        return board.stateAt(x, y);
+    }
+
+    @Override
+    public void setState(CellState state) {
+        throw new UnsupportedOperationException("Board cell views are read-only");
+    }
+
+    @Override
+    public boolean hasShip() {
+        return board.shipAt(x, y) != null;
+    }
+
+    @Override
+    public void setShip(Ship ship) {
+        throw new UnsupportedOperationException("Ships must be placed through the board");
+    }
+
+    @Override
+    public Ship getShip() {
+        return board.shipAt(x, y);
+    }
+
+    @Override
+    public boolean attack() {
+        board.processAttack(x, y);
+        return hasShip();
+    }
+
+    @Override
+    public boolean isAlreadyAttacked() {
+        return board.isAttacked(x, y);
+    }
+}
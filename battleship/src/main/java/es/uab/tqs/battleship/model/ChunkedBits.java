@@ -0,0 +1,268 @@
+package es.uab.tqs.battleship.model;
+
+/**
+ * Bitset stored as a trie of chunks of {@value #CHUNK_WORDS} long words, with
+ * copy-on-write sharing.
+ * Inner nodes have {@value #FANOUT} children and chunks never written are left
+ * out, so any bit is a few levels deep whatever the size of the board. The
+ * owner mutates it in place until {@link #share()} hands the trie to a snapshot
+ * as an immutable {@link Version}; from then on a node is copied the first time
+ * it is written again, one node per level (path copying), so the snapshot never
+ * sees later changes and a write costs O(log n) whatever was shared.
+ * Versions are persistent values: {@link Version#with} copies the path to one
+ * chunk and shares everything else.
+ *
+ * <p>Every node carries the stamp of the owner's sharing period it was created
+ * in, in its last slot; only nodes of the current period are written in
+ * place. Nodes of versions carry stamp 0, which no owner ever uses.</p>
+ */
+final class ChunkedBits {
+
+    static final int CHUNK_SHIFT = 3;
+    static final int CHUNK_WORDS = 1 << CHUNK_SHIFT;
+
+    static final int FANOUT_SHIFT = 5;
+    static final int FANOUT = 1 << FANOUT_SHIFT;
+
+    private static final Long NEVER_OWNED = 0L;
+
+    private final int levels;
+    private Object[] root;
+    private long stamp = 1;
+
+    /**
+     * Constructs a cleared bitset able to hold the given number of bits.
+     *
+     * @param bitCount The number of bits.
+     */
+    ChunkedBits(int bitCount) {
+        this.levels = levels(bitCount);
+        this.root = inner(stamp);
+    }
+
+    /**
+     * Gets a bit.
+     *
+     * @param bit The bit index.
+     * @return true if the bit is set.
+     */
+    boolean get(int bit) {
+        return get(root, levels, bit);
+    }
+
+    /**
+     * Gets a whole 64-bit word.
+     *
+     * @param word The word index.
+     * @return The word.
+     */
+    long word(int word) {
+        long[] chunk = chunk(root, levels, word >>> CHUNK_SHIFT);
+        return chunk == null ? 0 : chunk[word & (CHUNK_WORDS - 1)];
+    }
+
+    /**
+     * Sets a bit, copying the nodes on its path still shared with a snapshot
+     * first.
+     *
+     * @param bit The bit index.
+     */
+    void set(int bit) {
+        or(bit >>> 6, 1L << bit);
+    }
+
+    /**
+     * Hands out the current trie, which later writes on this bitset will not
+     * show through.
+     *
+     * @return The trie as an immutable version.
+     */
+    Version share() {
+        stamp++;
+        return new Version(root, levels);
+    }
+
+    /**
+     * Builds a version from a flat array of words.
+     *
+     * @param words The words, left untouched.
+     * @return A new version holding the same bits.
+     */
+    static Version fromWords(long[] words) {
+        ChunkedBits bits = new ChunkedBits(words.length << 6);
+        for (int w = 0; w < words.length; w++) {
+            if (words[w] != 0) {
+                bits.or(w, words[w]);
+            }
+        }
+        return bits.share();
+    }
+
+    private void or(int word, long mask) {
+        int chunk = word >>> CHUNK_SHIFT;
+        root = own(root);
+        Object[] node = root;
+        for (int level = levels; level > 1; level--) {
+            int i = childIndex(chunk, level);
+            Object[] child = (Object[]) node[i];
+            child = child == null ? inner(stamp) : own(child);
+            node[i] = child;
+            node = child;
+        }
+
+        int i = childIndex(chunk, 1);
+        long[] leaf = (long[]) node[i];
+        if (leaf == null) {
+            leaf = new long[CHUNK_WORDS + 1];
+            leaf[CHUNK_WORDS] = stamp;
+        } else if (leaf[CHUNK_WORDS] != stamp) {
+            leaf = leaf.clone();
+            leaf[CHUNK_WORDS] = stamp;
+        }
+        node[i] = leaf;
+        leaf[word & (CHUNK_WORDS - 1)] |= mask;
+    }
+
+    private Object[] own(Object[] node) {
+        if (((Long) node[FANOUT]) == stamp) {
+            return node;
+        }
+        Object[] copy = node.clone();
+        copy[FANOUT] = stamp;
+        return copy;
+    }
+
+    /**
+     * Computes the number of inner levels needed to reach every chunk.
+     */
+    private static int levels(int bitCount) {
+        long chunks = Math.max(1, (((bitCount + 63L) >>> 6) + CHUNK_WORDS - 1) >>> CHUNK_SHIFT);
+        int levels = 1;
+        while ((1L << (FANOUT_SHIFT * levels)) < chunks) {
+            levels++;
+        }
+        return levels;
+    }
+
+    private static Object[] inner(Object stamp) {
+        Object[] node = new Object[FANOUT + 1];
+        node[FANOUT] = stamp;
+        return node;
+    }
+
+    private static int childIndex(int chunk, int level) {
+        return (chunk >>> (FANOUT_SHIFT * (level - 1))) & (FANOUT - 1);
+    }
+
+    private static long[] chunk(Object[] root, int levels, int chunk) {
+        Object[] node = root;
+        for (int level = levels; level > 1; level--) {
+            node = (Object[]) node[childIndex(chunk, level)];
+            if (node == null) {
+                return null;
+            }
+        }
+        return (long[]) node[childIndex(chunk, 1)];
+    }
+
+    private static boolean get(Object[] root, int levels, int bit) {
+        int word = bit >>> 6;
+        long[] chunk = chunk(root, levels, word >>> CHUNK_SHIFT);
+        return chunk != null && (chunk[word & (CHUNK_WORDS - 1)] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Compares two subtrees of the same level bit by bit, a missing node
+     * standing for a cleared one. Nodes shared through path copying are
+     * compared by reference.
+     */
+    private static boolean sameBits(Object a, Object b, int level) {
+        if (a == b) {
+            return true;
+        }
+        if (level == 0) {
+            for (int w = 0; w < CHUNK_WORDS; w++) {
+                long x = a == null ? 0 : ((long[]) a)[w];
+                long y = b == null ? 0 : ((long[]) b)[w];
+                if (x != y) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (int i = 0; i < FANOUT; i++) {
+            Object x = a == null ? null : ((Object[]) a)[i];
+            Object y = b == null ? null : ((Object[]) b)[i];
+            if (!sameBits(x, y, level - 1)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Immutable bitset sharing its nodes with the bitset it was taken from and
+     * with the versions derived from it.
+     */
+    static final class Version {
+
+        final Object[] root;
+        final int levels;
+
+        private Version(Object[] root, int levels) {
+            this.root = root;
+            this.levels = levels;
+        }
+
+        /**
+         * Gets a bit.
+         *
+         * @param bit The bit index.
+         * @return true if the bit is set.
+         */
+        boolean get(int bit) {
+            return ChunkedBits.get(root, levels, bit);
+        }
+
+        /**
+         * Returns a version with one more bit set, copying the nodes on the
+         * path to its chunk and sharing all the others.
+         *
+         * @param bit The bit index to set.
+         * @return The new version.
+         */
+        Version with(int bit) {
+            int word = bit >>> 6;
+            int chunk = word >>> CHUNK_SHIFT;
+            Object[] copy = root.clone();
+            copy[FANOUT] = NEVER_OWNED;
+            Object[] node = copy;
+            for (int level = levels; level > 1; level--) {
+                int i = childIndex(chunk, level);
+                Object[] child = (Object[]) node[i];
+                child = child == null ? inner(NEVER_OWNED) : child.clone();
+                child[FANOUT] = NEVER_OWNED;
+                node[i] = child;
+                node = child;
+            }
+
+            int i = childIndex(chunk, 1);
+            long[] leaf = (long[]) node[i];
+            leaf = leaf == null ? new long[CHUNK_WORDS + 1] : leaf.clone();
+            leaf[CHUNK_WORDS] = 0;
+            leaf[word & (CHUNK_WORDS - 1)] |= 1L << bit;
+            node[i] = leaf;
+            return new Version(copy, levels);
+        }
+
+        /**
+         * Checks whether two versions of the same size hold the same bits.
+         *
+         * @param other The other version.
+         * @return true if every bit is equal.
+         */
+        boolean sameBits(Version other) {
+            return levels == other.levels && ChunkedBits.sameBits(root, other.root, levels);
+        }
+    }
+}
@@ -1,18 +1,31 @@
 package es.uab.tqs.battleship.model;
 
-import java.util.Objects;
-
 /**
  * Represents a 2D coordinate on the game board.
  * This class is immutable and is used to identify positions for cells and
  * ships.
+ * Coordinates inside the largest board seen so far are interned: use
+ * {@link #of(int, int)} to obtain the canonical instance instead of allocating
+ * a new one.
  */
 public class Coordinate {
+
+    /** Boards larger than this are not interned, to bound the table memory. */
+    static final int MAX_CACHED_SIZE = 256;
+
+    /** Default table size, large enough for the standard 10x10 board. */
+    private static final int DEFAULT_CACHED_SIZE = 16;
+
+    /** Canonical instances indexed by [y][x]. Replaced on growth, never mutated. */
+    private static volatile Coordinate[][] cache = createCache(new Coordinate[0][], DEFAULT_CACHED_SIZE);
+
     private final int x;
     private final int y;
+    private final int hash;
 
     /**
      * Constructs a new Coordinate with the specified position.
+     * Prefer {@link #of(int, int)}, which returns a shared instance.
      *
      * @param x The horizontal position.
      * @param y The vertical position.
@@ -20,6 +33,58 @@ public class Coordinate {
     public Coordinate(int x, int y) {
         this.x = x;
         this.y = y;
+        this.hash = 31 * x + y;
+    }
+
+    /**
+     * Returns the canonical Coordinate for the given position.
+     * Positions inside the interned table are returned without allocating; any
+     * other position (negative or beyond the table) gets a fresh instance.
+     *
+     * @param x The horizontal position.
+     * @param y The vertical position.
+     * @return A Coordinate equal to (x, y).
+     */
+    public static Coordinate of(int x, int y) {
+        Coordinate[][] table = cache;
+        if (x >= 0 && x < table.length && y >= 0 && y < table.length) {
+            return table[y][x];
+        }
+        return new Coordinate(x, y);
+    }
+
+    /**
+     * Makes sure every coordinate of a board of the given size is interned.
+     * Boards call this on construction; sizes above {@value #MAX_CACHED_SIZE}
+     * are ignored and keep allocating on demand.
+     *
+     * @param boardSize The size of the board that is about to be used.
+     */
+    public static void ensureCached(int boardSize) {
+        if (boardSize <= cache.length || boardSize > MAX_CACHED_SIZE) {
+            return;
+        }
+        synchronized (Coordinate.class) {
+            if (boardSize > cache.length) {
+                cache = createCache(cache, boardSize);
+            }
+        }
+    }
+
+    /**
+     * Builds a table for the given size, reusing the instances of the previous
+     * table so that canonical coordinates keep their identity.
+     */
+    private static Coordinate[][] createCache(Coordinate[][] previous, int newSize) {
+        Coordinate[][] table = new Coordinate[newSize][newSize];
+        for (int y = 0; y < newSize; y++) {
+            for (int x = 0; x < newSize; x++) {
+                table[y][x] = x < previous.length && y < previous.length
+                        ? previous[y][x]
+                        : new Coordinate(x, y);
+            }
+        }
+        return table;
     }
 
     /**
@@ -72,11 +137,11 @@ public class Coordinate {
      * Generates a hash code for this coordinate.
      * Required for using Coordinate as a key in HashMaps or inside HashSets.
      *
-     * @return The hash code based on x and y.
+     * @return The hash code based on x and y, precomputed at construction.
      */
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return hash;
     }
 
     /**
@@ -0,0 +1,334 @@
+package es.uab.tqs.battleship.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates random fleet layouts from the precomputed placements of a
+ * {@link PlacementIndex}, without trial-and-error calls to
+ * {@link Board#placeShip}.
+ *
+ * <p>Two modes are available:</p>
+ * <ul>
+ * <li>{@link Mode#SEQUENTIAL}: every ship is drawn uniformly among the
+ * placements that are still legal given the ships already drawn. The cost per
+ * ship is one pass over its legal placements. If a ship has no legal placement
+ * left, the fleet is started over.</li>
+ * <li>{@link Mode#UNIFORM}: every ship is drawn among all its placements on an
+ * empty board, and the whole fleet is started over as soon as one overlaps.
+ * Every layout is drawn with the same probability, and each try costs one AND
+ * per ship.</li>
+ * </ul>
+ *
+ * <p>After {@link #MAX_ATTEMPTS} failed tries, which only happens when the
+ * fleet barely fits, both modes fall back to exact sampling: every ship is
+ * drawn among its legal placements weighted by the number of ways the ships
+ * after it can still be placed, counted with memoization over the occupied
+ * cells. That draw never restarts and is uniform over all layouts. Once it
+ * has fallen back, the generator keeps sampling exactly, and keeps its memo,
+ * for as long as it is asked for layouts around the same ships; the empty
+ * board of {@link #next} and {@link #generate} is always the same. Only a
+ * fleet with no layout at all throws an IllegalStateException. Layouts are
+ * written as encoded placements (see {@link PlacementIndex}), one per ship in
+ * fleet order. A generator is not thread-safe; use one per thread.</p>
+ */
+public final class FleetGenerator {
+
+    /** Maximum number of tries for a single fleet before sampling exactly. */
+    public static final int MAX_ATTEMPTS = 10_000;
+
+    /**
+     * How layouts are drawn.
+     */
+    public enum Mode {
+        /** Each ship uniformly among the placements left by the previous ones. */
+        SEQUENTIAL,
+        /** Uniformly among all layouts, by rejecting overlapping fleets. */
+        UNIFORM
+    }
+
+    private final PlacementIndex index;
+    private final int[] lengths;
+    private final Mode mode;
+    private final RandomGenerator random;
+    private final int maxAttempts;
+
+    private final long[] occupancy;
+    private final int[] candidates;
+    private final int[][] allPlacements;
+    private final long[] noneBlocked;
+
+    private int[][] exactCandidates;
+    private long[][] exactMasks;
+    private List<Map<Occupancy, Long>> memo;
+    private Occupancy probe;
+    /** The blocked cells exact sampling was set up for, or null before any fallback. */
+    private long[] exactBlocked;
+
+    /**
+     * Constructs a generator for the given board size and fleet.
+     *
+     * @param boardSize The size of the board, up to {@link PlacementIndex#MAX_SIZE}.
+     * @param fleet     The types of the ships, in placement order.
+     * @param mode      How layouts are drawn.
+     * @param random    The source of randomness.
+     * @throws IllegalArgumentException if the board size is not supported or a
+     *                                  ship does not fit on the board at all.
+     */
+    public FleetGenerator(int boardSize, ShipType[] fleet, Mode mode, RandomGenerator random) {
+        this(boardSize, fleet, mode, random, MAX_ATTEMPTS);
+    }
+
+    /**
+     * Constructs a generator that samples exactly after the given number of
+     * failed tries. Exposed for tests.
+     */
+    FleetGenerator(int boardSize, ShipType[] fleet, Mode mode, RandomGenerator random, int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+        this.index = PlacementIndex.forSize(boardSize);
+        this.lengths = new int[fleet.length];
+        this.mode = mode;
+        this.random = random;
+        this.occupancy = new long[index.getWordCount()];
+        this.candidates = new int[2 * boardSize * boardSize];
+        this.allPlacements = new int[fleet.length][];
+        this.noneBlocked = new long[index.getWordCount()];
+
+        for (int i = 0; i < fleet.length; i++) {
+            lengths[i] = fleet[i].getLength();
+            if (index.countPlacements(lengths[i]) == 0) {
+                throw new IllegalArgumentException(fleet[i].getDisplayName() + " does not fit on the board");
+            }
+            if (mode == Mode.UNIFORM) {
+                allPlacements[i] = new int[index.countPlacements(lengths[i])];
+                index.legalPlacements(noneBlocked, lengths[i], allPlacements[i]);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of ships of a layout.
+     *
+     * @return The fleet size.
+     */
+    public int getFleetSize() {
+        return lengths.length;
+    }
+
+    /**
+     * Draws one layout on an empty board.
+     *
+     * @param out    Receives one encoded placement per ship.
+     * @param offset The position of the first ship in out.
+     * @throws IllegalStateException if the fleet has no layout.
+     */
+    public void next(int[] out, int offset) {
+        next(noneBlocked, out, offset);
+    }
+
+    /**
+     * Draws many layouts on an empty board into a reusable buffer, without
+     * allocating.
+     *
+     * @param count The number of layouts to draw.
+     * @param out   Receives count * getFleetSize() placements, fleet after fleet.
+     * @throws IllegalStateException if the fleet has no layout.
+     */
+    public void generate(int count, int[] out) {
+        for (int f = 0, offset = 0; f < count; f++, offset += lengths.length) {
+            next(noneBlocked, out, offset);
+        }
+    }
+
+    /**
+     * Draws a layout that avoids the ships already on the board, and places it.
+     * Ships are created from the fleet types and placed in fleet order; every
+     * placement is valid by construction.
+     *
+     * @param board The board, whose size must match the generator.
+     * @param fleet The fleet the generator was built for.
+     * @throws IllegalArgumentException if the board size does not match.
+     * @throws IllegalStateException    if the fleet has no layout around the
+     *                                  ships already placed.
+     */
+    public void place(Board board, ShipType[] fleet) {
+        if (board.getSize() != index.getSize()) {
+            throw new IllegalArgumentException("Board size " + board.getSize()
+                    + " does not match the generator size " + index.getSize());
+        }
+
+        long[] blocked = new long[index.getWordCount()];
+        int size = index.getSize();
+        board.forEachShip(ship -> ship.forEachSegment((x, y) -> {
+            int cell = y * size + x;
+            blocked[cell >>> 6] |= 1L << cell;
+        }));
+
+        int[] layout = new int[lengths.length];
+        next(blocked, layout, 0);
+
+        for (int i = 0; i < layout.length; i++) {
+            int placement = layout[i];
+            board.placeShip(new Ship(fleet[i]),
+                    Coordinate.of(index.anchorX(placement), index.anchorY(placement)),
+                    PlacementIndex.orientation(placement));
+        }
+    }
+
+    private void next(long[] blocked, int[] out, int offset) {
+        if (!Arrays.equals(blocked, exactBlocked)) {
+            for (int attempt = 0; attempt < maxAttempts; attempt++) {
+                resetOccupancy(blocked);
+                if (mode == Mode.UNIFORM ? drawUniform(out, offset) : drawSequential(out, offset)) {
+                    return;
+                }
+            }
+            startExact(blocked);
+        }
+        resetOccupancy(blocked);
+        if (!drawExact(out, offset)) {
+            throw new IllegalStateException("The fleet has no layout on a board of size " + index.getSize());
+        }
+    }
+
+    private void resetOccupancy(long[] blocked) {
+        System.arraycopy(blocked, 0, occupancy, 0, occupancy.length);
+    }
+
+    /**
+     * Switches to exact sampling around the given cells, dropping the counts
+     * memoized around other ones.
+     */
+    private void startExact(long[] blocked) {
+        if (memo == null) {
+            exactCandidates = new int[lengths.length][candidates.length];
+            exactMasks = new long[lengths.length + 1][occupancy.length];
+            memo = new ArrayList<>(lengths.length);
+            for (int i = 0; i < lengths.length; i++) {
+                memo.add(new HashMap<>());
+            }
+            probe = new Occupancy();
+        }
+        for (Map<Occupancy, Long> counts : memo) {
+            counts.clear();
+        }
+        exactBlocked = blocked.clone();
+    }
+
+    private boolean drawSequential(int[] out, int offset) {
+        for (int i = 0; i < lengths.length; i++) {
+            int count = index.legalPlacements(occupancy, lengths[i], candidates);
+            if (count == 0) {
+                return false;
+            }
+            int placement = candidates[random.nextInt(count)];
+            index.occupy(occupancy, lengths[i], placement);
+            out[offset + i] = placement;
+        }
+        return true;
+    }
+
+    private boolean drawUniform(int[] out, int offset) {
+        for (int i = 0; i < lengths.length; i++) {
+            int[] placements = allPlacements[i];
+            int placement = placements[random.nextInt(placements.length)];
+            if (!index.fits(occupancy, lengths[i], placement)) {
+                return false;
+            }
+            index.occupy(occupancy, lengths[i], placement);
+            out[offset + i] = placement;
+        }
+        return true;
+    }
+
+    /**
+     * Draws every ship weighted by its number of completions, so each ship
+     * costs one pass over its legal placements and no draw is rejected.
+     *
+     * @return false if the fleet has no layout on the current occupancy.
+     * @throws ArithmeticException if the layout count does not fit in a long.
+     */
+    private boolean drawExact(int[] out, int offset) {
+        long total = completions(0, occupancy);
+        if (total == 0) {
+            return false;
+        }
+        long[] child = exactMasks[0];
+        for (int i = 0; i < lengths.length; i++) {
+            int count = index.legalPlacements(occupancy, lengths[i], candidates);
+            long target = random.nextLong(total);
+            for (int c = 0; c < count; c++) {
+                int placement = candidates[c];
+                System.arraycopy(occupancy, 0, child, 0, child.length);
+                index.occupy(child, lengths[i], placement);
+                long ways = completions(i + 1, child);
+                if (target < ways) {
+                    index.occupy(occupancy, lengths[i], placement);
+                    out[offset + i] = placement;
+                    total = ways;
+                    break;
+                }
+                target -= ways;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of ways to place the ships from the given one on.
+     */
+    private long completions(int ship, long[] occupied) {
+        if (ship == lengths.length) {
+            return 1;
+        }
+        int[] placements = exactCandidates[ship];
+        int count = index.legalPlacements(occupied, lengths[ship], placements);
+        if (ship == lengths.length - 1 || count == 0) {
+            return count;
+        }
+
+        Long known = memo.get(ship).get(probe.of(occupied));
+        if (known != null) {
+            return known;
+        }
+        long[] child = exactMasks[ship + 1];
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(occupied, 0, child, 0, child.length);
+            index.occupy(child, lengths[ship], placements[i]);
+            total = Math.addExact(total, completions(ship + 1, child));
+        }
+        memo.get(ship).put(new Occupancy().of(occupied.clone()), total);
+        return total;
+    }
+
+    /**
+     * Memo key: the occupied cells. Stored keys own a copy; lookups go through
+     * a probe pointing at the caller's array, so a hit allocates nothing.
+     */
+    private static final class Occupancy {
+
+        private long[] bits;
+        private int hash;
+
+        Occupancy of(long[] bits) {
+            this.bits = bits;
+            this.hash = Arrays.hashCode(bits);
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Occupancy && Arrays.equals(bits, ((Occupancy) o).bits);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -1,19 +1,36 @@
 package es.uab.tqs.battleship.model;
 
-import java.util.Random;
+import java.time.Duration;
+
+import es.uab.tqs.battleship.ai.AttackStrategy;
+import es.uab.tqs.battleship.ai.ComputeBudget;
+import es.uab.tqs.battleship.ai.PlacementStrategy;
+import es.uab.tqs.battleship.ai.Strategies;
+import es.uab.tqs.battleship.ai.StrategyMetrics;
 
 /**
  * Manages the core game logic, state, and flow of a Battleship game.
  * This class coordinates the player's and computer's boards, tracks the current
  * game status,
  * and handles the turn-based mechanics including AI behavior.
+ *
+ * <p>The game only knows the computer's strategies through their interfaces:
+ * decorators such as opening books, endgame solving or pondering are built by
+ * whoever creates the game, and strategies hear about every turn and the end
+ * of the game through their callbacks.</p>
  */
 public class Game {
 
     private final Board playerBoard;
     private final Board computerBoard;
     private GameStatus status;
-    private final Random random;
+    private AttackStrategy attackStrategy;
+    private String attackMetric;
+    private final PlacementStrategy placementStrategy;
+    private final String placementMetric;
+    private StrategyMetrics metrics;
+    private Duration moveTimeLimit;
+    private long moveNodeLimit;
 
     /**
      * Constructs a new Game instance.
@@ -21,10 +38,107 @@ public class Game {
      */
     public Game() {
         // Standard Battleship board size is 10x10
-        this.playerBoard = new Board(10);
-        this.computerBoard = new Board(10);
+        this(new ByteBoard(10), new ByteBoard(10));
+    }
+
+    /**
+     * Constructs a new Game instance on the given boards.
+     * Allows choosing the Board implementation (e.g. a BitBoard for simulations).
+     * The computer uses the strategies named "random". The initial state is SETUP.
+     *
+     * @param playerBoard   The board of the human player.
+     * @param computerBoard The board of the computer.
+     */
+    public Game(Board playerBoard, Board computerBoard) {
+        this(playerBoard, computerBoard, Strategies.attackStrategy("random"), Strategies.placementStrategy("random"));
+    }
+
+    /**
+     * Constructs a new Game instance on the given boards, with the strategies the
+     * computer uses to attack and to place its fleet.
+     * Moves have no compute budget until {@link #setMoveBudget} is called.
+     *
+     * @param playerBoard       The board of the human player.
+     * @param computerBoard     The board of the computer.
+     * @param attackStrategy    The strategy choosing the computer's attacks.
+     * @param placementStrategy The strategy placing the computer's fleet.
+     */
+    public Game(Board playerBoard, Board computerBoard, AttackStrategy attackStrategy,
+            PlacementStrategy placementStrategy) {
+        this.playerBoard = playerBoard;
+        this.computerBoard = computerBoard;
         this.status = GameStatus.SETUP;
-        this.random = new Random();
+        this.attackStrategy = attackStrategy;
+        this.attackMetric = "attack/" + attackStrategy.getName();
+        this.placementStrategy = placementStrategy;
+        this.placementMetric = "placement/" + placementStrategy.getName();
+        this.metrics = new StrategyMetrics();
+        this.moveTimeLimit = null;
+        this.moveNodeLimit = Long.MAX_VALUE;
+    }
+
+    /**
+     * Gets the strategy the computer uses to choose its attacks.
+     *
+     * @return The current attack strategy.
+     */
+    public AttackStrategy getAttackStrategy() {
+        return attackStrategy;
+    }
+
+    /**
+     * Selects the strategy the computer uses to choose its attacks.
+     * Random targeting is used unless another strategy is set.
+     *
+     * @param attackStrategy The attack strategy to use from the next computer turn.
+     */
+    public void setAttackStrategy(AttackStrategy attackStrategy) {
+        this.attackStrategy = attackStrategy;
+        this.attackMetric = "attack/" + attackStrategy.getName();
+    }
+
+    /**
+     * Gets the strategy the computer uses to place its fleet.
+     *
+     * @return The placement strategy.
+     */
+    public PlacementStrategy getPlacementStrategy() {
+        return placementStrategy;
+    }
+
+    /**
+     * Sets the compute budget given to every strategy call from now on.
+     *
+     * @param timeLimit The time allowed per call, or null for no time limit.
+     * @param maxNodes  The maximum number of search nodes per call.
+     * @throws IllegalArgumentException if timeLimit is negative or maxNodes is not
+     *                                  positive.
+     */
+    public void setMoveBudget(Duration timeLimit, long maxNodes) {
+        // Fail now rather than on the next move if the limits are invalid.
+        ComputeBudget.start(timeLimit, maxNodes);
+        this.moveTimeLimit = timeLimit;
+        this.moveNodeLimit = maxNodes;
+    }
+
+    /**
+     * Gets the timing statistics of the strategy calls made by this game.
+     * Entries are named "attack/" or "placement/" followed by the strategy name.
+     *
+     * @return The strategy metrics.
+     */
+    public StrategyMetrics getStrategyMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Records the strategy calls of this game into the given metrics, e.g. to
+     * aggregate several games.
+     *
+     * @param metrics The metrics to record into.
+     */
+    public void setStrategyMetrics(StrategyMetrics metrics) {
+        this.metrics = metrics;
     }
 
     /**
@@ -62,6 +176,7 @@ public class Game {
     public void startGame() {
         if (status == GameStatus.SETUP) {
             status = GameStatus.PLAYER_TURN;
+            attackStrategy.onOpponentTurn(playerBoard);
         }
     }
 
@@ -77,16 +192,31 @@ public class Game {
      * @throws IllegalStateException if called when it is not the player's turn.
      */
     public AttackResult processPlayerAttack(Coordinate coordinate) {
+        return processPlayerAttack(coordinate.getX(), coordinate.getY());
+    }
+
+    /**
+     * Processes an attack action initiated by the human player on the given
+     * position. Same rules as {@link #processPlayerAttack(Coordinate)}, without
+     * requiring a Coordinate object.
+     *
+     * @param x The x-coordinate on the computer's board to attack.
+     * @param y The y-coordinate on the computer's board to attack.
+     * @return The result of the attack (HIT, MISS, SUNK, ALREADY_ATTACKED).
+     * @throws IllegalStateException if called when it is not the player's turn.
+     */
+    public AttackResult processPlayerAttack(int x, int y) {
         if (status != GameStatus.PLAYER_TURN) {
             throw new IllegalStateException("No es el turno del jugador");
         }
 
         // Execute attack on the computer's board
-        AttackResult result = computerBoard.processAttack(coordinate);
+        AttackResult result = computerBoard.processAttack(x, y);
 
         // Check for victory condition immediately after the attack
         if (isGameOver()) {
             status = GameStatus.PLAYER_WON;
+            attackStrategy.onGameOver(playerBoard);
         } else {
             // Pass turn to the computer if the game isn't over
             status = GameStatus.COMPUTER_TURN;
@@ -97,8 +227,9 @@ public class Game {
 
     /**
      * Processes the computer's turn to attack the player.
-     * Generates a random valid attack coordinate and executes it against the
-     * player's board.
+     * Asks the attack strategy for a valid target, executes the attack against
+     * the player's board and reports the result back to the strategy, which is
+     * then told that the player's turn has begun or that the game is over.
      * Updates the game status to COMPUTER_WON if the player loses all ships,
      * otherwise returns control to the player.
      *
@@ -110,42 +241,27 @@ public class Game {
             throw new IllegalStateException("No es el turno de la computadora");
         }
 
-        // AI Logic: Generate a random coordinate that hasn't been attacked yet
-        Coordinate attackCoord = generateRandomAttack();
+        // AI Logic: let the strategy pick a cell that hasn't been attacked yet
+        long start = System.nanoTime();
+        int cell = attackStrategy.nextTarget(playerBoard, newMoveBudget());
+        metrics.record(attackMetric, System.nanoTime() - start);
+        int size = playerBoard.getSize();
+        Coordinate attackCoord = Coordinate.of(cell % size, cell / size);
 
-        playerBoard.processAttack(attackCoord);
+        AttackResult result = playerBoard.processAttack(attackCoord.getX(), attackCoord.getY());
+        attackStrategy.onAttackResult(playerBoard, cell, result);
 
         if (playerBoard.allShipsSunk()) {
             status = GameStatus.COMPUTER_WON;
+            attackStrategy.onGameOver(playerBoard);
         } else {
             status = GameStatus.PLAYER_TURN;
+            attackStrategy.onOpponentTurn(playerBoard);
         }
 
         return attackCoord;
     }
 
-    /**
-     * Helper method for the AI to find a valid attack target.
-     * It loops until it finds a coordinate that has not been attacked previously
-     * (state is EMPTY or SHIP).
-     *
-     * @return A valid Coordinate for the attack.
-     */
-    private Coordinate generateRandomAttack() {
-        Coordinate coord;
-        Cell cell;
-
-        do {
-            int x = random.nextInt(10);
-            int y = random.nextInt(10);
-            coord = new Coordinate(x, y);
-            cell = playerBoard.getCell(coord);
-            // Keep trying if we accidentally picked a cell that was already HIT or MISS
-        } while (cell.isAlreadyAttacked());
-
-        return coord;
-    }
-
     /**
      * Checks if the game has reached a terminal state (win/loss).
      * A game is over if all ships on either board are sunk.
@@ -181,29 +297,18 @@ public class Game {
 
     /**
      * Automates the placement of ships for the computer player.
-     * Iterates through all available ship types and attempts to place them at
-     * random coordinates
-     * and orientations until a valid placement is found for each.
+     * Hands one ship of every available type to the placement strategy.
      */
     public void placeComputerShipsRandomly() {
-        ShipType[] types = ShipType.values();
-
-        for (ShipType type : types) {
-            Ship ship = new Ship(type);
-            boolean placed = false;
-
-            // Keep trying random positions until the ship fits
-            while (!placed) {
-                int x = random.nextInt(10);
-                int y = random.nextInt(10);
-                Orientation orientation = random.nextBoolean()
-                        ? Orientation.HORIZONTAL
-                        : Orientation.VERTICAL;
-
-                Coordinate start = new Coordinate(x, y);
-                // The board handles collision detection and boundaries
-                placed = computerBoard.placeShip(ship, start, orientation);
-            }
+        long start = System.nanoTime();
+        placementStrategy.placeFleet(computerBoard, ShipType.values(), newMoveBudget());
+        metrics.record(placementMetric, System.nanoTime() - start);
+    }
+
+    private ComputeBudget newMoveBudget() {
+        if (moveTimeLimit == null && moveNodeLimit == Long.MAX_VALUE) {
+            return ComputeBudget.unlimited();
         }
+        return ComputeBudget.start(moveTimeLimit, moveNodeLimit);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,407 @@
+package es.uab.tqs.battleship.model;
+
+import java.nio.LongBuffer;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Per-cell placement counts of the ships still afloat on a board, kept up to
+ * date as the board is attacked.
+ *
+ * <p>The heat of a cell is the weighted number of legal placements covering
+ * it, summed over the remaining ships: a placement is legal if it avoids
+ * missed cells and the cells of sunk ships, and every unresolved hit it covers
+ * multiplies its weight by 2^{@value #HIT_WEIGHT_SHIFT}, so the cells around a
+ * hit get hot. A heatmap may also be given a weight per placement, such as how
+ * often players put ships there, which then multiplies its contribution too.
+ * Hit cells keep their heat, but they are skipped by
+ * {@link #argmax()} and {@link #topK}. Only public information is used:
+ * attacked cells, their results, and the cells of sunk ships.</p>
+ *
+ * <p>The index listens to the board through an {@link AttackListener}. Counts
+ * are kept per ship length, so a miss or a hit only walks the placements
+ * through its cell (at most two per length and segment). A sink also walks the
+ * placements through the ship's cells; taking the sunk ship's length layer out
+ * of the totals is deferred to the next {@link #argmax()} or {@link #topK},
+ * which scan every cell anyway, and {@link #getHeat} subtracts pending layers
+ * on the fly. Attach the index once the fleet is placed; ships placed later
+ * are not counted. Boards larger than {@link PlacementIndex#MAX_SIZE} are not
+ * supported.</p>
+ *
+ * <p>This is the placement density AIs are expected to use: the density
+ * strategy of the computer reads its counts from a heatmap attached to the
+ * board it attacks. Unweighted heatmaps are got through {@link #attachShared},
+ * so that every strategy following a board reads one heatmap, which stops
+ * listening once the last of them has detached; a weighted one belongs to the
+ * caller of {@link #attach(Board, int[][])}.</p>
+ */
+public final class HeatmapIndex {
+
+    /** Each unresolved hit covered by a placement multiplies its weight by 2^5. */
+    public static final int HIT_WEIGHT_SHIFT = 5;
+
+    /** Hits beyond this count add no weight, so that the heat cannot overflow. */
+    public static final int MAX_WEIGHTED_HITS = 3;
+
+    private final Board board;
+    private final PlacementIndex index;
+    private final int size;
+    private final long[] blocked;
+    private final long[] attacked;
+    private final long[] hits;
+    private final int[] remainingByLength;
+    private final int[] countedByLength;
+    private final long[][] byLength;
+    private final long[] heat;
+    private final int[][] weights;
+    private final AttackListener listener = this::attacked;
+
+    /** Heatmaps handed out by attachShared, by board; guards the user counts. */
+    private static final Map<Board, HeatmapIndex> SHARED = new IdentityHashMap<>();
+
+    private boolean stale;
+    private int users = 1;
+
+    private HeatmapIndex(Board board, int[][] weights) {
+        this.board = board;
+        this.weights = weights;
+        this.size = board.getSize();
+        this.index = PlacementIndex.forSize(size);
+        this.blocked = new long[index.getWordCount()];
+        this.attacked = new long[index.getWordCount()];
+        this.hits = new long[index.getWordCount()];
+        this.remainingByLength = new int[size + 1];
+        this.countedByLength = new int[size + 1];
+        this.byLength = new long[size + 1][];
+        this.heat = new long[size * size];
+    }
+
+    /**
+     * Builds the heatmap of a board from its current state and keeps it up to
+     * date from now on.
+     *
+     * @param board The board to follow.
+     * @return The attached heatmap.
+     */
+    public static HeatmapIndex attach(Board board) {
+        return attach(board, null);
+    }
+
+    /**
+     * Builds the heatmap of a board from its current state, multiplying the
+     * weight of every placement by a weight of its own, and keeps it up to
+     * date from now on.
+     *
+     * @param board   The board to follow.
+     * @param weights The weights of the placements of every ship length,
+     *                indexed by length then by encoded placement, between 1
+     *                and 2^24 so that the heat cannot overflow, and not to be
+     *                changed while attached; null, or null for a length, to
+     *                weight its placements alike.
+     * @return The attached heatmap.
+     */
+    public static HeatmapIndex attach(Board board, int[][] weights) {
+        HeatmapIndex heatmap = new HeatmapIndex(board, weights);
+        heatmap.build();
+        board.addAttackListener(heatmap.listener);
+        return heatmap;
+    }
+
+    /**
+     * Gets the heatmap of a board shared by every caller of this method: the
+     * first call attaches one, later calls return it until each of them has
+     * detached it. May be called from any thread, with the board not being
+     * attacked meanwhile.
+     *
+     * @param board The board to follow.
+     * @return The shared heatmap of the board.
+     */
+    public static HeatmapIndex attachShared(Board board) {
+        synchronized (SHARED) {
+            HeatmapIndex heatmap = SHARED.get(board);
+            if (heatmap != null) {
+                heatmap.users++;
+            } else {
+                heatmap = attach(board);
+                SHARED.put(board, heatmap);
+            }
+            return heatmap;
+        }
+    }
+
+    /**
+     * Gives up one use of the heatmap; once every user has detached, it stops
+     * following the board. The counts stay as they are.
+     */
+    public void detach() {
+        synchronized (SHARED) {
+            if (users == 0 || --users > 0) {
+                return;
+            }
+            SHARED.remove(board, this);
+        }
+        board.removeAttackListener(listener);
+    }
+
+    /**
+     * Gets the heat of a cell.
+     *
+     * @param cell The packed index of the cell.
+     * @return The weighted number of legal placements covering it, over the
+     *         remaining ships.
+     */
+    public long getHeat(int cell) {
+        long value = heat[cell];
+        if (stale) {
+            for (int length = 1; length <= size; length++) {
+                int sunk = countedByLength[length] - remainingByLength[length];
+                if (sunk > 0) {
+                    value -= sunk * byLength[length][cell];
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Gets a read-only view of the heat of every cell, indexed by packed cell
+     * index. The view follows later misses and hits without copying; ships
+     * sunk later are taken out of it by the next {@link #argmax()} or
+     * {@link #topK}.
+     *
+     * @return A new read-only buffer over the counts.
+     */
+    public LongBuffer view() {
+        flush();
+        return LongBuffer.wrap(heat).asReadOnlyBuffer();
+    }
+
+    /**
+     * Finds the unattacked cell with the highest heat, the lowest index
+     * winning ties.
+     *
+     * @return The packed index of the cell, or -1 if every cell has been attacked.
+     */
+    public int argmax() {
+        flush();
+        int best = -1;
+        for (int cell = 0; cell < heat.length; cell++) {
+            if (!test(attacked, cell) && (best < 0 || heat[cell] > heat[best])) {
+                best = cell;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the unattacked cells with the highest heat, hottest first, the
+     * lowest index winning ties.
+     *
+     * @param k   The number of cells wanted.
+     * @param out Receives up to k packed cell indexes; must hold at least k entries.
+     * @return The number of cells written, less than k if fewer cells are left.
+     */
+    public int topK(int k, int[] out) {
+        flush();
+        int count = 0;
+        for (int cell = 0; cell < heat.length; cell++) {
+            if (test(attacked, cell)) {
+                continue;
+            }
+            long value = heat[cell];
+            if (count == k && (k == 0 || value <= heat[out[k - 1]])) {
+                continue;
+            }
+            int i = count < k ? count++ : k - 1;
+            while (i > 0 && heat[out[i - 1]] < value) {
+                out[i] = out[i - 1];
+                i--;
+            }
+            out[i] = cell;
+        }
+        return count;
+    }
+
+    private void build() {
+        board.forEachShip(ship -> {
+            if (ship.getLength() <= size) {
+                remainingByLength[ship.getLength()]++;
+            }
+        });
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                if (board.isAttacked(x, y)) {
+                    int cell = y * size + x;
+                    set(attacked, cell);
+                    if (board.getCellState(x, y) == CellState.MISS) {
+                        set(blocked, cell);
+                    } else {
+                        set(hits, cell);
+                    }
+                }
+            }
+        }
+        board.forEachShip(ship -> {
+            if (ship.isSunk()) {
+                ship.forEachSegment((x, y) -> {
+                    set(blocked, y * size + x);
+                    clear(hits, y * size + x);
+                });
+                if (ship.getLength() <= size) {
+                    remainingByLength[ship.getLength()]--;
+                }
+            }
+        });
+
+        int[] placements = new int[2 * size * size];
+        for (int length = 1; length <= size; length++) {
+            int ships = remainingByLength[length];
+            countedByLength[length] = ships;
+            if (ships == 0) {
+                continue;
+            }
+            byLength[length] = new long[size * size];
+            int count = index.legalPlacements(blocked, length, placements);
+            for (int i = 0; i < count; i++) {
+                add(placements[i], length, weight(placements[i], length));
+            }
+        }
+    }
+
+    private void attacked(Board source, int x, int y, AttackResult result, Ship ship) {
+        set(attacked, y * size + x);
+        if (result == AttackResult.MISS) {
+            block(x, y);
+        } else if (result == AttackResult.HIT) {
+            hit(x, y);
+        } else if (result == AttackResult.SUNK) {
+            ship.forEachSegment(this::block);
+            ship.forEachSegment((sx, sy) -> clear(hits, sy * size + sx));
+            int length = ship.getLength();
+            if (length <= size && remainingByLength[length] > 0) {
+                remainingByLength[length]--;
+                stale = true;
+            }
+        }
+    }
+
+    /**
+     * Takes the layers of the ships sunk since the last call out of the heat,
+     * in one pass over the cells.
+     */
+    private void flush() {
+        if (!stale) {
+            return;
+        }
+        for (int length = 1; length <= size; length++) {
+            int sunk = countedByLength[length] - remainingByLength[length];
+            if (sunk == 0) {
+                continue;
+            }
+            long[] counts = byLength[length];
+            for (int cell = 0; cell < heat.length; cell++) {
+                heat[cell] -= sunk * counts[cell];
+            }
+            countedByLength[length] = remainingByLength[length];
+            if (countedByLength[length] == 0) {
+                byLength[length] = null;
+            }
+        }
+        stale = false;
+    }
+
+    /**
+     * Raises the weight of the placements through a newly hit cell, then
+     * records the hit.
+     */
+    private void hit(int x, int y) {
+        for (int length = 1; length <= size; length++) {
+            if (countedByLength[length] == 0) {
+                continue;
+            }
+            for (int offset = 0; offset < length; offset++) {
+                if (x - offset >= 0 && x - offset + length <= size) {
+                    reweigh(index.encode(x - offset, y, Orientation.HORIZONTAL), length);
+                }
+                if (y - offset >= 0 && y - offset + length <= size) {
+                    reweigh(index.encode(x, y - offset, Orientation.VERTICAL), length);
+                }
+            }
+        }
+        set(hits, y * size + x);
+    }
+
+    private void reweigh(int placement, int length) {
+        if (index.fits(blocked, length, placement)) {
+            int covered = index.countOverlap(hits, length, placement);
+            add(placement, length, weight(placement, length, covered + 1) - weight(placement, length, covered));
+        }
+    }
+
+    /**
+     * Removes the placements through a cell that were still legal, then
+     * blocks the cell.
+     */
+    private void block(int x, int y) {
+        int cell = y * size + x;
+        if (test(blocked, cell)) {
+            return;
+        }
+
+        for (int length = 1; length <= size; length++) {
+            if (countedByLength[length] == 0) {
+                continue;
+            }
+            for (int offset = 0; offset < length; offset++) {
+                if (x - offset >= 0 && x - offset + length <= size) {
+                    remove(index.encode(x - offset, y, Orientation.HORIZONTAL), length);
+                }
+                if (y - offset >= 0 && y - offset + length <= size) {
+                    remove(index.encode(x, y - offset, Orientation.VERTICAL), length);
+                }
+            }
+        }
+        set(blocked, cell);
+    }
+
+    private void remove(int placement, int length) {
+        if (index.fits(blocked, length, placement)) {
+            add(placement, length, -weight(placement, length));
+        }
+    }
+
+    private long weight(int placement, int length) {
+        return weight(placement, length, index.countOverlap(hits, length, placement));
+    }
+
+    private long weight(int placement, int length, int covered) {
+        long weight = weights != null && weights[length] != null ? weights[length][placement] : 1;
+        return weight << (HIT_WEIGHT_SHIFT * Math.min(covered, MAX_WEIGHTED_HITS));
+    }
+
+    /**
+     * Adds a weight to the cells of a placement, in its length layer and, for
+     * every ship of that length counted in the heat, in the heat.
+     */
+    private void add(int placement, int length, long weight) {
+        long[] counts = byLength[length];
+        long delta = countedByLength[length] * weight;
+        int step = (placement & 1) == 0 ? 1 : size;
+        for (int k = 0, cell = placement >>> 1; k < length; k++, cell += step) {
+            counts[cell] += weight;
+            heat[cell] += delta;
+        }
+    }
+
+    private static boolean test(long[] bits, int bit) {
+        return (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    private static void set(long[] bits, int bit) {
+        bits[bit >>> 6] |= 1L << bit;
+    }
+
+    private static void clear(long[] bits, int bit) {
+        bits[bit >>> 6] &= ~(1L << bit);
+    }
+}
@@ -0,0 +1,105 @@
+package es.uab.tqs.battleship.model;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open-addressing hash map from non-negative long keys to int values.
+ * Keys and values live in two parallel primitive arrays probed linearly, so
+ * lookups and insertions neither box nor allocate (except when the table grows).
+ * Entries cannot be removed, which is all the sparse board needs.
+ */
+class LongIntHashMap {
+
+    private static final long FREE = -1L;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Constructs an empty map.
+     */
+    LongIntHashMap() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Gets the value mapped to the key.
+     *
+     * @param key          A non-negative key.
+     * @param defaultValue The value returned when the key is absent.
+     * @return The mapped value, or defaultValue.
+     */
+    int get(long key, int defaultValue) {
+        int slot = find(key);
+        return keys[slot] == FREE ? defaultValue : values[slot];
+    }
+
+    /**
+     * Maps the key to the value, replacing any previous mapping.
+     *
+     * @param key   A non-negative key.
+     * @param value The value to store.
+     */
+    void put(long key, int value) {
+        int slot = find(key);
+        if (keys[slot] == FREE) {
+            keys[slot] = key;
+            size++;
+            if (size * 2 > keys.length) {
+                values[slot] = value;
+                grow();
+                return;
+            }
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Gets the number of keys in the map.
+     *
+     * @return The number of entries.
+     */
+    int size() {
+        return size;
+    }
+
+    private int find(long key) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        Arrays.fill(keys, FREE);
+    }
+
+    /**
+     * Spreads the key bits so that row-major neighbours do not cluster.
+     */
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,309 @@
+package es.uab.tqs.battleship.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Precomputed placement tables for a square board of a given size.
+ * For every ship length and orientation it stores the bitset of anchors that
+ * are legal on an empty board, plus the footprint of every legal placement as a
+ * short list of (word, mask) pairs over a row-major occupancy bitset. Checking
+ * a placement against the current occupancy is then one AND per touched word
+ * (one or two on a 10x10 board), with no per-segment bounds or orientation
+ * branching.
+ *
+ * <p>Placements are encoded as ints: {@code (anchorIndex << 1) | o}, where
+ * anchorIndex is the row-major index {@code y * size + x} of the bow and o is 0
+ * for HORIZONTAL and 1 for VERTICAL.</p>
+ *
+ * <p>Indexes are immutable and shared: obtain them with {@link #forSize(int)}.
+ * Tables for a given length are built lazily on first use. Their size grows
+ * with the area of the board, so indexes are only offered up to
+ * {@link #MAX_SIZE}.</p>
+ */
+public final class PlacementIndex {
+
+    /** Largest board size an index can be built for. */
+    public static final int MAX_SIZE = 256;
+
+    private static final ConcurrentMap<Integer, PlacementIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final int size;
+    private final int cellCount;
+    private final int words;
+    private final AtomicReferenceArray<Footprints> byLength;
+
+    private PlacementIndex(int size) {
+        this.size = size;
+        this.cellCount = size * size;
+        this.words = (cellCount + 63) >>> 6;
+        this.byLength = new AtomicReferenceArray<>(size + 1);
+    }
+
+    /**
+     * Returns the shared placement index for boards of the given size.
+     *
+     * @param size The dimension of the square board.
+     * @return The placement index for that size.
+     * @throws IllegalArgumentException if size is not between 1 and MAX_SIZE.
+     */
+    public static PlacementIndex forSize(int size) {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Invalid board size for a placement index: " + size);
+        }
+        return INDEXES.computeIfAbsent(size, PlacementIndex::new);
+    }
+
+    /**
+     * Gets the board size this index was built for.
+     *
+     * @return The size of the board.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the number of long words of an occupancy bitset for this size.
+     *
+     * @return The number of words.
+     */
+    public int getWordCount() {
+        return words;
+    }
+
+    /**
+     * Encodes a placement.
+     *
+     * @param x           The x-coordinate of the bow.
+     * @param y           The y-coordinate of the bow.
+     * @param orientation The orientation of the ship.
+     * @return The encoded placement.
+     */
+    public int encode(int x, int y, Orientation orientation) {
+        return ((y * size + x) << 1) | (orientation == Orientation.VERTICAL ? 1 : 0);
+    }
+
+    /**
+     * Gets the x-coordinate of the bow of an encoded placement.
+     *
+     * @param placement The encoded placement.
+     * @return The x value of the bow.
+     */
+    public int anchorX(int placement) {
+        return (placement >>> 1) % size;
+    }
+
+    /**
+     * Gets the y-coordinate of the bow of an encoded placement.
+     *
+     * @param placement The encoded placement.
+     * @return The y value of the bow.
+     */
+    public int anchorY(int placement) {
+        return (placement >>> 1) / size;
+    }
+
+    /**
+     * Gets the orientation of an encoded placement.
+     *
+     * @param placement The encoded placement.
+     * @return HORIZONTAL or VERTICAL.
+     */
+    public static Orientation orientation(int placement) {
+        return (placement & 1) == 0 ? Orientation.HORIZONTAL : Orientation.VERTICAL;
+    }
+
+    /**
+     * Gets the number of placements of a ship of the given length that fit on
+     * an empty board. This is also the capacity needed by
+     * {@link #legalPlacements(long[], int, int[])}.
+     *
+     * @param length The length of the ship.
+     * @return The number of legal placements on an empty board.
+     */
+    public int countPlacements(int length) {
+        return footprints(length).count;
+    }
+
+    /**
+     * Checks whether a placement lies on the board and does not overlap the
+     * given occupancy.
+     *
+     * @param occupancy The row-major occupancy bitset.
+     * @param length    The length of the ship.
+     * @param placement The encoded placement.
+     * @return true if the ship can be placed there; false otherwise.
+     */
+    public boolean fits(long[] occupancy, int length, int placement) {
+        Footprints table = footprints(length);
+        if (placement < 0 || placement >= table.start.length - 1) {
+            return false;
+        }
+        // Placements that do not fit on an empty board have no entries and no anchor bit.
+        int anchor = placement >>> 1;
+        if ((table.anchors[placement & 1][anchor >>> 6] & (1L << anchor)) == 0) {
+            return false;
+        }
+        return !table.overlaps(occupancy, placement);
+    }
+
+    /**
+     * Marks the cells of a placement in the occupancy bitset. The placement is
+     * expected to be legal.
+     *
+     * @param occupancy The row-major occupancy bitset to update.
+     * @param length    The length of the ship.
+     * @param placement The encoded placement.
+     */
+    public void occupy(long[] occupancy, int length, int placement) {
+        Footprints table = footprints(length);
+        for (int e = table.start[placement]; e < table.start[placement + 1]; e++) {
+            occupancy[table.entryWord[e]] |= table.entryMask[e];
+        }
+    }
+
+    /**
+     * Counts how many cells of a placement are set in the given bitset.
+     *
+     * @param bits      A row-major bitset (e.g. the cells hit so far).
+     * @param length    The length of the ship.
+     * @param placement The encoded placement.
+     * @return The number of cells of the placement found in bits.
+     */
+    public int countOverlap(long[] bits, int length, int placement) {
+        Footprints table = footprints(length);
+        int count = 0;
+        for (int e = table.start[placement]; e < table.start[placement + 1]; e++) {
+            count += Long.bitCount(bits[table.entryWord[e]] & table.entryMask[e]);
+        }
+        return count;
+    }
+
+    /**
+     * Lists every placement of a ship of the given length that fits the current
+     * occupancy, in one pass over the precomputed anchors.
+     *
+     * @param occupancy The row-major occupancy bitset.
+     * @param length    The length of the ship.
+     * @param out       Receives the encoded placements; must hold at least
+     *                  {@link #countPlacements(int)} entries.
+     * @return The number of placements written to out.
+     */
+    public int legalPlacements(long[] occupancy, int length, int[] out) {
+        Footprints table = footprints(length);
+        int count = 0;
+
+        for (int o = 0; o < 2; o++) {
+            long[] anchors = table.anchors[o];
+            for (int w = 0; w < anchors.length; w++) {
+                long bits = anchors[w];
+                while (bits != 0) {
+                    int anchor = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    int placement = (anchor << 1) | o;
+                    if (!table.overlaps(occupancy, placement)) {
+                        out[count++] = placement;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private Footprints footprints(int length) {
+        if (length < 1 || length > size) {
+            return Footprints.EMPTY;
+        }
+        Footprints table = byLength.get(length);
+        if (table == null) {
+            byLength.compareAndSet(length, null, new Footprints(this, length));
+            table = byLength.get(length);
+        }
+        return table;
+    }
+
+    /**
+     * Immutable tables for one ship length.
+     */
+    private static final class Footprints {
+
+        static final Footprints EMPTY = new Footprints();
+
+        /** Legal anchors on an empty board, per orientation (0 = H, 1 = V). */
+        final long[][] anchors;
+        /** Entries of placement p are start[p] (inclusive) to start[p + 1]. */
+        final int[] start;
+        final int[] entryWord;
+        final long[] entryMask;
+        final int count;
+
+        private Footprints() {
+            this.anchors = new long[2][0];
+            this.start = new int[1];
+            this.entryWord = new int[0];
+            this.entryMask = new long[0];
+            this.count = 0;
+        }
+
+        Footprints(PlacementIndex index, int length) {
+            int size = index.size;
+            int placements = index.cellCount * 2;
+            // At most one entry per segment of every placement that fits.
+            int bound = 2 * (size - length + 1) * size * length;
+            int[] words = new int[bound];
+            long[] masks = new long[bound];
+            int entries = 0;
+            int legal = 0;
+
+            this.anchors = new long[2][index.words];
+            this.start = new int[placements + 1];
+
+            for (int anchor = 0; anchor < index.cellCount; anchor++) {
+                int x = anchor % size;
+                int y = anchor / size;
+
+                for (int o = 0; o < 2; o++) {
+                    int placement = (anchor << 1) | o;
+                    start[placement] = entries;
+
+                    boolean horizontal = o == 0;
+                    if ((horizontal ? x : y) + length > size) {
+                        continue;
+                    }
+
+                    anchors[o][anchor >>> 6] |= 1L << anchor;
+                    legal++;
+
+                    int step = horizontal ? 1 : size;
+                    for (int i = 0, cell = anchor; i < length; i++, cell += step) {
+                        int word = cell >>> 6;
+                        if (entries > start[placement] && words[entries - 1] == word) {
+                            masks[entries - 1] |= 1L << cell;
+                        } else {
+                            words[entries] = word;
+                            masks[entries] = 1L << cell;
+                            entries++;
+                        }
+                    }
+                }
+            }
+            start[placements] = entries;
+
+            this.entryWord = Arrays.copyOf(words, entries);
+            this.entryMask = Arrays.copyOf(masks, entries);
+            this.count = legal;
+        }
+
+        boolean overlaps(long[] occupancy, int placement) {
+            for (int e = start[placement]; e < start[placement + 1]; e++) {
+                if ((occupancy[entryWord[e]] & entryMask[e]) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
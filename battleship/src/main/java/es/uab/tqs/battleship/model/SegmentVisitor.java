@@ -0,0 +1,17 @@
+package es.uab.tqs.battleship.model;
+
+/**
+ * Callback used to walk the segments of a ship (or the cells of a fleet)
+ * without materialising Coordinate lists.
+ */
+@FunctionalInterface
+public interface SegmentVisitor {
+
+    /**
+     * Visits one segment.
+     *
+     * @param x The x-coordinate of the segment.
+     * @param y The y-coordinate of the segment.
+     */
+    void visit(int x, int y);
+}
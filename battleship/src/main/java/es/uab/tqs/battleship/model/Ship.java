@@ -1,19 +1,25 @@
 package es.uab.tqs.battleship.model;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Represents a ship on the game board.
- * A ship has a type, a set of coordinates it occupies, a hit count, and an
- * orientation.
+ * A ship has a type and, once placed, a compact geometry (start position,
+ * orientation and length) from which every segment is derived arithmetically.
+ * Damage is kept as a bitmask with one bit per segment, so the ship knows both
+ * how many and which of its segments have been hit.
  */
 public class Ship {
 
     private final ShipType type;
-    private final List<Coordinate> coordinates;
-    private int hitCount;
+    private final int fullMask;
+    private final List<Coordinate> coordinatesView;
+    private int startX;
+    private int startY;
     private Orientation orientation;
+    private int hitMask;
 
     /**
      * Constructs a new Ship of the specified type.
@@ -23,9 +29,10 @@ public class Ship {
      */
     public Ship(ShipType type) {
         this.type = type;
-        this.coordinates = new ArrayList<>();
-        this.hitCount = 0;
+        this.fullMask = (1 << type.getLength()) - 1;
+        this.hitMask = 0;
         this.orientation = null;
+        this.coordinatesView = new CoordinatesView();
     }
 
     /**
@@ -47,39 +54,48 @@ public class Ship {
     }
 
     /**
-     * Returns a copy of the list of coordinates occupied by the ship.
-     * Returns a new list to protect the internal state from modification.
+     * Returns a new list with the coordinates occupied by the ship.
+     * The list is built from the ship geometry on every call; prefer
+     * {@link #getCoordinatesView()}, {@link #forEachSegment(SegmentVisitor)} or
+     * the per-segment getters when a snapshot is not needed.
      *
-     * @return A list of coordinates.
+     * @return A list of coordinates, empty if the ship has not been placed.
      */
     public List<Coordinate> getCoordinates() {
-        return new ArrayList<>(coordinates);
+        if (orientation == null) {
+            return new ArrayList<>();
+        }
+
+        List<Coordinate> coordinates = new ArrayList<>(getLength());
+        for (int i = 0; i < getLength(); i++) {
+            coordinates.add(Coordinate.of(getSegmentX(i), getSegmentY(i)));
+        }
+        return coordinates;
+    }
+
+    /**
+     * Returns an unmodifiable, live view of the coordinates occupied by the ship.
+     * Elements are computed from the ship geometry on access, so the view follows
+     * later calls to setPosition and costs no copy.
+     *
+     * @return A read-only view of the coordinates, empty if the ship is not placed.
+     */
+    public List<Coordinate> getCoordinatesView() {
+        return coordinatesView;
     }
 
     /**
      * Sets the position of the ship on the board based on a starting coordinate and
      * orientation.
-     * Calculates all occupied coordinates based on the ship's length.
+     * Only the start and orientation are stored; segments are derived from them.
      *
      * @param startCoordinate The starting coordinate (bow of the ship).
      * @param orientation     The orientation (HORIZONTAL or VERTICAL).
      */
     public void setPosition(Coordinate startCoordinate, Orientation orientation) {
+        this.startX = startCoordinate.getX();
+        this.startY = startCoordinate.getY();
         this.orientation = orientation;
-        this.coordinates.clear();
-
-        for (int i = 0; i < getLength(); i++) {
-            int x = startCoordinate.getX();
-            int y = startCoordinate.getY();
-
-            if (orientation == Orientation.HORIZONTAL) {
-                x += i;
-            } else {
-                y += i;
-            }
-
-            coordinates.add(new Coordinate(x, y));
-        }
     }
 
     /**
@@ -92,11 +108,110 @@ public class Ship {
     }
 
     /**
-     * Registers a hit on the ship.
-     * Increments the hit count.
+     * Gets the x-coordinate of the bow (first segment) of the ship.
+     *
+     * @return The starting x value; meaningless if the ship is not placed.
+     */
+    public int getStartX() {
+        return startX;
+    }
+
+    /**
+     * Gets the y-coordinate of the bow (first segment) of the ship.
+     *
+     * @return The starting y value; meaningless if the ship is not placed.
+     */
+    public int getStartY() {
+        return startY;
+    }
+
+    /**
+     * Gets the x-coordinate of a segment of the placed ship.
+     *
+     * @param segment The segment index, from 0 (bow) to length - 1.
+     * @return The x value of the segment.
+     */
+    public int getSegmentX(int segment) {
+        return orientation == Orientation.HORIZONTAL ? startX + segment : startX;
+    }
+
+    /**
+     * Gets the y-coordinate of a segment of the placed ship.
+     *
+     * @param segment The segment index, from 0 (bow) to length - 1.
+     * @return The y value of the segment.
+     */
+    public int getSegmentY(int segment) {
+        return orientation == Orientation.HORIZONTAL ? startY : startY + segment;
+    }
+
+    /**
+     * Visits every segment of the placed ship, bow first, without allocating.
+     * Does nothing if the ship has not been placed.
+     *
+     * @param visitor The callback receiving the position of each segment.
+     */
+    public void forEachSegment(SegmentVisitor visitor) {
+        if (orientation == null) {
+            return;
+        }
+        for (int i = 0; i < getLength(); i++) {
+            visitor.visit(getSegmentX(i), getSegmentY(i));
+        }
+    }
+
+    /**
+     * Gets the index of the segment at the given position.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return The segment index, or -1 if the ship does not occupy the position.
+     */
+    public int segmentIndex(int x, int y) {
+        if (orientation == null) {
+            return -1;
+        }
+
+        int along;
+        if (orientation == Orientation.HORIZONTAL) {
+            if (y != startY) {
+                return -1;
+            }
+            along = x - startX;
+        } else {
+            if (x != startX) {
+                return -1;
+            }
+            along = y - startY;
+        }
+        return along >= 0 && along < getLength() ? along : -1;
+    }
+
+    /**
+     * Registers a hit on the ship without a known position.
+     * Marks the first segment that has not been hit yet.
      */
     public void registerHit() {
-        hitCount++;
+        int undamaged = ~hitMask & fullMask;
+        // Keep only the lowest undamaged segment.
+        hitMask |= undamaged & -undamaged;
+    }
+
+    /**
+     * Registers a hit on the segment at the given position.
+     * If the ship does not occupy the position (e.g. it has not been placed),
+     * the hit is counted on the first undamaged segment instead.
+     *
+     * @param x The x-coordinate of the hit.
+     * @param y The y-coordinate of the hit.
+     */
+    public void registerHit(int x, int y) {
+        int segment = segmentIndex(x, y);
+        if (segment < 0) {
+            registerHit();
+        } else {
+            hitMask |= 1 << segment;
+        }
     }
 
     /**
@@ -105,17 +220,37 @@ public class Ship {
      * @return The hit count.
      */
     public int getHitCount() {
-        return hitCount;
+        return Integer.bitCount(hitMask);
+    }
+
+    /**
+     * Gets the damage bitmask of the ship: bit i is set when segment i has been
+     * hit.
+     *
+     * @return The hit bitmask.
+     */
+    public int getHitMask() {
+        return hitMask;
+    }
+
+    /**
+     * Checks whether a specific segment has been hit.
+     *
+     * @param segment The segment index, from 0 (bow) to length - 1.
+     * @return true if the segment has been hit; false otherwise.
+     */
+    public boolean isSegmentHit(int segment) {
+        return (hitMask & (1 << segment)) != 0;
     }
 
     /**
      * Checks if the ship is sunk.
-     * A ship is sunk if the number of hits equals or exceeds its length.
+     * A ship is sunk once every one of its segments has been hit.
      *
      * @return true if the ship is sunk; false otherwise.
      */
     public boolean isSunk() {
-        return hitCount >= getLength();
+        return hitMask == fullMask;
     }
 
     /**
@@ -125,12 +260,18 @@ public class Ship {
      * @return true if the ship occupies the given coordinate; false otherwise.
      */
     public boolean occupiesCoordinate(Coordinate coordinate) {
-        for (Coordinate coord : coordinates) {
-            if (coord.equals(coordinate)) {
-                return true;
-            }
-        }
-        return false;
+        return occupiesCoordinate(coordinate.getX(), coordinate.getY());
+    }
+
+    /**
+     * Checks if the ship occupies a specific position, in constant time.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return true if the ship occupies the given position; false otherwise.
+     */
+    public boolean occupiesCoordinate(int x, int y) {
+        return segmentIndex(x, y) >= 0;
     }
 
     /**
@@ -143,4 +284,23 @@ public class Ship {
     public String toString() {
         return type.getDisplayName() + " (" + getLength() + " cells)";
     }
-}
\ No newline at end of file
+
+    /**
+     * Read-only list over the segments of this ship.
+     */
+    private final class CoordinatesView extends AbstractList<Coordinate> {
+
+        @Override
+        public Coordinate get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Segment " + index + " of " + size());
+            }
+            return Coordinate.of(getSegmentX(index), getSegmentY(index));
+        }
+
+        @Override
+        public int size() {
+            return orientation == null ? 0 : getLength();
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package es.uab.tqs.battleship.model;
+
+/**
+ * Board implementation that only stores the cells that matter.
+ * Ship segments and attacked cells are kept in a primitive long-keyed hash map
+ * (key = y * size + x), so memory grows with the number of ship segments plus
+ * shots instead of with the area of the board. This makes very large "ocean"
+ * boards practical. Cells are handed out as views created on demand.
+ */
+public class SparseBoard extends AbstractBoard {
+
+    /** Flag set in the value of every cell that has been attacked. */
+    private static final int ATTACKED = 1 << 30;
+
+    /** Lower bits of a value hold the ship id (1-based), 0 meaning water. */
+    private static final int SHIP_ID_MASK = ATTACKED - 1;
+
+    private final LongIntHashMap cells;
+
+    /**
+     * Constructs a new SparseBoard with the specified size.
+     * No per-cell storage is allocated up front.
+     *
+     * @param size The dimension of the square board.
+     */
+    public SparseBoard(int size) {
+        super(size);
+        this.cells = new LongIntHashMap();
+    }
+
+    /**
+     * Retrieves a view of a specific cell from the board.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return A cell view at the specified position.
+     * @throws IllegalArgumentException if the coordinates are out of bounds.
+     */
+    @Override
+    public Cell getCell(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw new IllegalArgumentException("Invalid coordinates: (" + x + ", " + y + ")");
+        }
+        return new CellView(this, x, y);
+    }
+
+    /**
+     * Checks if a ship can be validly placed at the specified position and
+     * orientation. Costs one map lookup per segment.
+     *
+     * @param ship        The ship to be placed.
+     * @param start       The starting coordinate for the ship.
+     * @param orientation The orientation of the ship (HORIZONTAL or VERTICAL).
+     * @return true if the placement is valid; false otherwise.
+     */
+    @Override
+    public boolean isValidPlacement(Ship ship, Coordinate start, Orientation orientation) {
+        int length = ship.getLength();
+        int x = start.getX();
+        int y = start.getY();
+
+        if (!inBounds(x, y)) {
+            return false;
+        }
+
+        boolean horizontal = orientation == Orientation.HORIZONTAL;
+        if ((horizontal ? x : y) + length > size) {
+            return false;
+        }
+
+        long key = key(x, y);
+        long step = horizontal ? 1 : size;
+        for (int i = 0; i < length; i++, key += step) {
+            if ((cells.get(key, 0) & SHIP_ID_MASK) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Places a ship on the board at the specified position and orientation if
+     * valid. Records one map entry per segment.
+     *
+     * @param ship        The ship to place.
+     * @param start       The starting coordinate.
+     * @param orientation The orientation of the ship.
+     * @return true if the ship was successfully placed; false if the placement was
+     *         invalid.
+     */
+    @Override
+    public boolean placeShip(Ship ship, Coordinate start, Orientation orientation) {
+        if (!isValidPlacement(ship, start, orientation)) {
+            return false;
+        }
+
+        ship.setPosition(start, orientation);
+
+        int id = ships.size() + 1;
+        long key = key(start.getX(), start.getY());
+        long step = orientation == Orientation.HORIZONTAL ? 1 : size;
+
+        for (int i = 0; i < ship.getLength(); i++, key += step) {
+            // Keep the attacked flag of cells that were already shot at.
+            cells.put(key, cells.get(key, 0) | id);
+        }
+
+        registerShip(ship);
+        return true;
+    }
+
+    /**
+     * Processes an attack on the given position with a single map lookup.
+     *
+     * @param x The x-coordinate of the target.
+     * @param y The y-coordinate of the target.
+     * @return The result of the attack (HIT, MISS, SUNK, ALREADY_ATTACKED).
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    @Override
+    public AttackResult processAttack(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw invalidCoordinate(x, y);
+        }
+
+        long key = key(x, y);
+        int value = cells.get(key, 0);
+
+        if ((value & ATTACKED) != 0) {
+            return AttackResult.ALREADY_ATTACKED;
+        }
+
+        cells.put(key, value | ATTACKED);
+        cellAttacked(x, y);
+
+        int id = value & SHIP_ID_MASK;
+        if (id == 0) {
+            return recordMiss(x, y);
+        }
+
+        Ship ship = ships.get(id - 1);
+        ship.registerHit(x, y);
+        return recordHit(ship, x, y);
+    }
+
+    /**
+     * Checks whether the cell at the given position has already been attacked.
+     *
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @return true if the cell has been attacked; false otherwise.
+     * @throws IllegalArgumentException if the position is outside the board.
+     */
+    @Override
+    public boolean isAttacked(int x, int y) {
+        if (!inBounds(x, y)) {
+            throw invalidCoordinate(x, y);
+        }
+        return (cells.get(key(x, y), 0) & ATTACKED) != 0;
+    }
+
+    /**
+     * Gets the number of cells that currently have an entry in the map, i.e.
+     * ship segments plus attacked water. Useful to check the memory footprint.
+     *
+     * @return The number of stored cells.
+     */
+    public int getStoredCellCount() {
+        return cells.size();
+    }
+
+    @Override
+    protected CellState stateAt(int x, int y) {
+        int value = cells.get(key(x, y), 0);
+        boolean hasShip = (value & SHIP_ID_MASK) != 0;
+
+        if ((value & ATTACKED) != 0) {
+            return hasShip ? CellState.HIT : CellState.MISS;
+        }
+        return hasShip ? CellState.SHIP : CellState.EMPTY;
+    }
+
+    @Override
+    protected Ship shipAt(int x, int y) {
+        int id = cells.get(key(x, y), 0) & SHIP_ID_MASK;
+        return id == 0 ? null : ships.get(id - 1);
+    }
+
+    private long key(int x, int y) {
+        return (long) y * size + x;
+    }
+}
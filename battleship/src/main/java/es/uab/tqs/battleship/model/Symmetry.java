@@ -0,0 +1,248 @@
+package es.uab.tqs.battleship.model;
+
+/**
+ * The eight symmetries of a square board: the rotations by quarter turns and
+ * the reflections across the two axes and the two diagonals.
+ *
+ * <p>Battleship is played the same on a board and on any of its images, so
+ * search results only depend on a state up to symmetry. Caches can store one
+ * entry per class of equivalent states: each state is keyed by its canonical
+ * form, the image with the smallest Zobrist hash, and remembers the symmetry
+ * that maps it there. Boards only keep the hash of their own state up to
+ * date and hash their eight images on demand (see
+ * {@link Board#getCanonicalStateHash()}); searches that need the images at
+ * every node keep all eight hashes themselves. {@link #map(long[], int)}
+ * builds the canonical representative itself when it is needed.</p>
+ *
+ * <p>Rotations are clockwise with y growing downwards, as the board is printed.</p>
+ */
+public enum Symmetry {
+
+    IDENTITY,
+    ROTATE_90,
+    ROTATE_180,
+    ROTATE_270,
+    FLIP_HORIZONTAL,
+    FLIP_VERTICAL,
+    TRANSPOSE,
+    ANTI_TRANSPOSE;
+
+    /** Number of symmetries of a square. */
+    public static final int COUNT = 8;
+
+    private static final Symmetry[] VALUES = values();
+    private static final Symmetry[][] COMPOSITION = new Symmetry[COUNT][COUNT];
+
+    static {
+        for (Symmetry outer : VALUES) {
+            for (Symmetry inner : VALUES) {
+                // A corner and an edge centre of a 3x3 board pin down a symmetry.
+                for (Symmetry candidate : VALUES) {
+                    if (candidate.map(0, 3) == outer.map(inner.map(0, 3), 3)
+                            && candidate.map(1, 3) == outer.map(inner.map(1, 3), 3)) {
+                        COMPOSITION[outer.ordinal()][inner.ordinal()] = candidate;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets a symmetry by ordinal without copying the values array.
+     *
+     * @param ordinal The ordinal, from 0 to COUNT - 1.
+     * @return The symmetry.
+     */
+    public static Symmetry of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Gets the image of a position's x-coordinate.
+     *
+     * @param x    The x-coordinate.
+     * @param y    The y-coordinate.
+     * @param size The size of the board.
+     * @return The x-coordinate of the image.
+     */
+    public int mapX(int x, int y, int size) {
+        switch (this) {
+            case ROTATE_90:
+            case ANTI_TRANSPOSE:
+                return size - 1 - y;
+            case ROTATE_180:
+            case FLIP_HORIZONTAL:
+                return size - 1 - x;
+            case ROTATE_270:
+            case TRANSPOSE:
+                return y;
+            default:
+                return x;
+        }
+    }
+
+    /**
+     * Gets the image of a position's y-coordinate.
+     *
+     * @param x    The x-coordinate.
+     * @param y    The y-coordinate.
+     * @param size The size of the board.
+     * @return The y-coordinate of the image.
+     */
+    public int mapY(int x, int y, int size) {
+        switch (this) {
+            case ROTATE_90:
+            case TRANSPOSE:
+                return x;
+            case ROTATE_180:
+            case FLIP_VERTICAL:
+                return size - 1 - y;
+            case ROTATE_270:
+            case ANTI_TRANSPOSE:
+                return size - 1 - x;
+            default:
+                return y;
+        }
+    }
+
+    /**
+     * Gets the image of a cell.
+     *
+     * @param cell The packed index of the cell.
+     * @param size The size of the board.
+     * @return The packed index of the image.
+     */
+    public int map(int cell, int size) {
+        return (int) map((long) cell, size);
+    }
+
+    /**
+     * Gets the image of a cell of a board whose cell count may not fit in an
+     * int.
+     *
+     * @param cell The packed index of the cell, y * size + x.
+     * @param size The size of the board.
+     * @return The packed index of the image.
+     */
+    public long map(long cell, int size) {
+        int x = (int) (cell % size);
+        int y = (int) (cell / size);
+        return (long) mapY(x, y, size) * size + mapX(x, y, size);
+    }
+
+    /**
+     * Gets the image of a ship placement.
+     *
+     * @param placement The placement, encoded as by {@link PlacementIndex}.
+     * @param length    The length of the ship.
+     * @param size      The size of the board.
+     * @return The encoded placement of the image.
+     */
+    public int mapPlacement(int placement, int length, int size) {
+        return (int) mapPlacement((long) placement, length, size);
+    }
+
+    /**
+     * Gets the image of a ship placement on a board whose cell count may not
+     * fit in an int.
+     *
+     * @param placement The placement, {@code (y * size + x) << 1 | vertical}.
+     * @param length    The length of the ship.
+     * @param size      The size of the board.
+     * @return The placement of the image, encoded the same way.
+     */
+    public long mapPlacement(long placement, int length, int size) {
+        long anchor = placement >>> 1;
+        int vertical = (int) (placement & 1);
+        long end = anchor + (long) (length - 1) * (vertical == 0 ? 1 : size);
+        long a = map(anchor, size);
+        long b = map(end, size);
+        long x = Math.min(a % size, b % size);
+        long y = Math.min(a / size, b / size);
+        return ((y * size + x) << 1) | (swapsAxes() ? vertical ^ 1 : vertical);
+    }
+
+    /**
+     * Builds the image of a bitset over packed cell indexes.
+     *
+     * @param bits The bitset.
+     * @param size The size of the board.
+     * @return A new bitset of the same length.
+     */
+    public long[] map(long[] bits, int size) {
+        long[] image = new long[bits.length];
+        for (int w = 0; w < bits.length; w++) {
+            for (long word = bits[w]; word != 0; word &= word - 1) {
+                int cell = map((w << 6) + Long.numberOfTrailingZeros(word), size);
+                image[cell >>> 6] |= 1L << cell;
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Checks whether the symmetry turns rows into columns.
+     *
+     * @return true for quarter turns and diagonal reflections.
+     */
+    public boolean swapsAxes() {
+        return this == ROTATE_90 || this == ROTATE_270 || this == TRANSPOSE || this == ANTI_TRANSPOSE;
+    }
+
+    /**
+     * Gets the symmetry that undoes this one.
+     *
+     * @return The inverse.
+     */
+    public Symmetry inverse() {
+        switch (this) {
+            case ROTATE_90:
+                return ROTATE_270;
+            case ROTATE_270:
+                return ROTATE_90;
+            default:
+                return this;
+        }
+    }
+
+    /**
+     * Composes this symmetry after another one.
+     *
+     * @param inner The symmetry applied first.
+     * @return The symmetry mapping every cell c to this.map(inner.map(c)).
+     */
+    public Symmetry after(Symmetry inner) {
+        return COMPOSITION[ordinal()][inner.ordinal()];
+    }
+
+    /**
+     * Finds the symmetry leading to the canonical form of a state.
+     *
+     * @param hashes The hashes of the images of the state, by symmetry ordinal.
+     * @return The symmetry whose image has the smallest hash, the lowest
+     *         ordinal winning ties.
+     */
+    public static Symmetry canonical(long[] hashes) {
+        int best = 0;
+        for (int t = 1; t < COUNT; t++) {
+            if (hashes[t] < hashes[best]) {
+                best = t;
+            }
+        }
+        return VALUES[best];
+    }
+
+    /**
+     * Gets the smallest of the hashes of the images of a state.
+     *
+     * @param hashes The hashes of the images of the state, by symmetry ordinal.
+     * @return The canonical hash.
+     */
+    public static long canonicalHash(long[] hashes) {
+        long best = hashes[0];
+        for (int t = 1; t < COUNT; t++) {
+            best = Math.min(best, hashes[t]);
+        }
+        return best;
+    }
+}
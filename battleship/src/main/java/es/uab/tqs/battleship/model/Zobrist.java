@@ -0,0 +1,82 @@
+package es.uab.tqs.battleship.model;
+
+/**
+ * Zobrist keys of the public state of a board: which cells were attacked, with
+ * which result, and where the sunk ships lie.
+ *
+ * <p>The hash of a state is the XOR of the keys of its parts, starting from
+ * {@link #empty(int)}, so it is updated with one XOR per change and does not
+ * depend on the order of the attacks. Boards keep theirs up to date in
+ * {@link Board#getStateHash()}; searches that explore hypothetical attacks
+ * without a board update their own hash with the same keys and reach the same
+ * value for the same state. Keys are derived from their component by a
+ * SplitMix64 finalizer instead of being drawn into tables, so they exist for
+ * every board size without any setup. Cells and placements are taken as
+ * longs, since the cell count of a large {@link SparseBoard} does not fit in
+ * an int.</p>
+ */
+public final class Zobrist {
+
+    private static final long MISS_TAG = 1L << 60;
+    private static final long HIT_TAG = 2L << 60;
+    private static final long SUNK_TAG = 3L << 60;
+    private static final long EMPTY_TAG = 4L << 60;
+
+    private Zobrist() {
+    }
+
+    /**
+     * Gets the hash of a board of the given size before any attack.
+     *
+     * @param size The size of the board.
+     * @return The hash of the empty state.
+     */
+    public static long empty(int size) {
+        return BoardSnapshot.mix64(EMPTY_TAG | size);
+    }
+
+    /**
+     * Gets the key of a missed cell.
+     *
+     * @param cell The packed index of the cell.
+     * @return The key.
+     */
+    public static long miss(long cell) {
+        return BoardSnapshot.mix64(MISS_TAG | cell);
+    }
+
+    /**
+     * Gets the key of a hit cell, sunk or not.
+     *
+     * @param cell The packed index of the cell.
+     * @return The key.
+     */
+    public static long hit(long cell) {
+        return BoardSnapshot.mix64(HIT_TAG | cell);
+    }
+
+    /**
+     * Gets the key of a sunk ship. It is added on top of the keys of the hits
+     * on the ship's cells.
+     *
+     * @param placement The placement of the ship, encoded as by {@link PlacementIndex}
+     *                  but in long arithmetic: {@code (y * size + x) << 1 | vertical}.
+     * @param length    The length of the ship.
+     * @return The key.
+     */
+    public static long sunk(long placement, int length) {
+        return BoardSnapshot.mix64(SUNK_TAG | ((long) length << 40) | placement);
+    }
+
+    /**
+     * Gets the key of a sunk ship.
+     *
+     * @param ship The sunk ship.
+     * @param size The size of its board.
+     * @return The key.
+     */
+    public static long sunk(Ship ship, int size) {
+        int o = ship.getOrientation() == Orientation.VERTICAL ? 1 : 0;
+        return sunk((((long) ship.getStartY() * size + ship.getStartX()) << 1) | o, ship.getLength());
+    }
+}
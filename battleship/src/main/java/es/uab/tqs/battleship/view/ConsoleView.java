@@ -4,7 +4,6 @@ import java.util.Scanner;
 
 import es.uab.tqs.battleship.model.AttackResult;
 import es.uab.tqs.battleship.model.Board;
-import es.uab.tqs.battleship.model.Cell;
 import es.uab.tqs.battleship.model.CellState;
 import es.uab.tqs.battleship.model.Coordinate;
 import es.uab.tqs.battleship.model.Orientation;
@@ -29,8 +28,7 @@ public class ConsoleView implements GameView {
             System.out.print(y + "|");
 
             for (int x = 0; x < board.getSize(); x++) {
-                Cell cell = board.getCell(x, y);
-                System.out.print(getCellDisplay(cell, hideShips) + " ");
+                System.out.print(getCellDisplay(board.getCellState(x, y), hideShips) + " ");
             }
 
             System.out.println("|");
@@ -40,13 +38,11 @@ public class ConsoleView implements GameView {
     }
 
     /** 
-     * @param cell
+     * @param state
      * @param hideShips
      * @return String
      */
-    private String getCellDisplay(Cell cell, boolean hideShips) {
-        CellState state = cell.getState();
-
+    private String getCellDisplay(CellState state, boolean hideShips) {
         switch (state) {
             case HIT:
                 return "X";  // Hit
@@ -115,7 +111,7 @@ public class ConsoleView implements GameView {
                 int x = Integer.parseInt(parts[0]);
                 int y = Integer.parseInt(parts[1]);
 
-                Coordinate coord = new Coordinate(x, y);
+                Coordinate coord = Coordinate.of(x, y);
 
                 if (!coord.isValid(10)) {
                     displayMessage("Error: Coordinates off board (0-9)");
@@ -0,0 +1,146 @@
+package es.uab.tqs.battleship.ai;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Board;
+
+/**
+ * Unit tests for the AnytimeSearch class.
+ */
+public class AnytimeSearchTest {
+
+    /**
+     * Strategy that searches until its budget runs out, then answers with the
+     * node limit it was given, so tests can tell rounds apart.
+     */
+    private static final class SlowStrategy implements AttackStrategy {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public String getName() {
+            return "slow";
+        }
+
+        @Override
+        public int nextTarget(Board board, ComputeBudget budget) {
+            calls.incrementAndGet();
+            if (budget.getMaxNodes() > AnytimeSearch.INITIAL_ROUND_NODES) {
+                while (!budget.isExpired()) {
+                    Thread.onSpinWait();
+                }
+            }
+            return (int) Math.min(budget.getMaxNodes() % 97, 99);
+        }
+    }
+
+    /**
+     * Test Case: Verify that commit interrupts the running round.
+     * * Type: Unit Testing
+     * * Technique: State Transition Testing (thinking -> committed).
+     * * Description: The first round completes at once, the second one would run until its
+     * budget expires. Commit cancels it and returns the move of the completed round.
+     */
+    @Test
+    public void testCommitReturnsBestCompletedRound() throws InterruptedException {
+        SlowStrategy strategy = new SlowStrategy();
+        try (AnytimeSearch search = new AnytimeSearch(strategy, null)) {
+            Board board = new BitBoard(10);
+            search.start(board);
+            while (strategy.calls.get() < 2) {
+                Thread.sleep(1);
+            }
+
+            assertTrue(search.isThinking());
+            int move = search.commit(board, ComputeBudget.unlimited());
+
+            assertEquals((int) (AnytimeSearch.INITIAL_ROUND_NODES % 97), move);
+            assertEquals(1, search.getRounds());
+            assertFalse(search.isThinking());
+        }
+    }
+
+    /**
+     * Test Case: Verify that thinking stops at the think limit.
+     * * Type: Unit Testing
+     * * Technique: Boundary Value Analysis (deadline).
+     * * Description: With a 50 ms think limit, the background rounds end on their own and the
+     * best move stays available for the commit.
+     */
+    @Test
+    public void testThinkLimit() throws InterruptedException {
+        SlowStrategy strategy = new SlowStrategy();
+        try (AnytimeSearch search = new AnytimeSearch(strategy, Duration.ofMillis(50))) {
+            Board board = new BitBoard(10);
+            search.start(board);
+            long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+            while (search.isThinking() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            assertFalse(search.isThinking());
+            assertTrue(search.getRounds() >= 1);
+            assertTrue(search.commit(board, ComputeBudget.unlimited()) >= 0);
+        }
+    }
+
+    /**
+     * Test Case: Verify commit without pondering.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Partitioning (not started).
+     * * Description: Without a start, commit asks the strategy directly with the given budget.
+     */
+    @Test
+    public void testCommitWithoutStart() {
+        try (AnytimeSearch search = new AnytimeSearch(new SlowStrategy(), null)) {
+            assertEquals(10, search.commit(new BitBoard(10), ComputeBudget.start(null, 10)));
+            assertEquals(0, search.getRounds());
+        }
+    }
+
+    /**
+     * Test Case: Verify pondering through the strategy callbacks.
+     * * Type: Unit Testing
+     * * Technique: State Transition Testing (opponent turn -> move -> game over -> next game).
+     * * Description: Thinking starts on the opponent's turn and nextTarget commits it; the end of
+     * the game stops thinking, and the next opponent turn thinks again on a new thread.
+     */
+    @Test
+    public void testStrategyCallbacks() throws InterruptedException {
+        SlowStrategy strategy = new SlowStrategy();
+        BitBoard board = new BitBoard(10);
+        try (AnytimeSearch search = new AnytimeSearch(strategy, null)) {
+            assertEquals("slow", search.getName());
+            search.onOpponentTurn(board);
+            while (strategy.calls.get() < 2) {
+                Thread.sleep(1);
+            }
+            assertTrue(search.isThinking());
+            assertEquals((int) (AnytimeSearch.INITIAL_ROUND_NODES % 97), search.nextTarget(board, ComputeBudget.unlimited()));
+
+            search.onOpponentTurn(board);
+            search.onGameOver(board);
+            assertFalse(search.isThinking());
+
+            search.onOpponentTurn(board);
+            assertTrue(search.isThinking());
+        }
+    }
+
+    /**
+     * Test Case: Verify invalid think limits.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Partitioning - Invalid Class.
+     * * Description: Negative think limits are rejected.
+     */
+    @Test
+    public void testInvalidThinkLimit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AnytimeSearch(new SlowStrategy(), Duration.ofMillis(-1)));
+    }
+}
@@ -0,0 +1,104 @@
+package es.uab.tqs.battleship.ai;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ComputeBudget class.
+ */
+public class ComputeBudgetTest {
+
+    /**
+     * Test Case: Verify the unlimited budget.
+     * * Type: Unit Testing
+     * * Technique: Statement Coverage.
+     * * Description: The unlimited budget never expires and is never exhausted.
+     */
+    @Test
+    public void testUnlimited() {
+        ComputeBudget budget = ComputeBudget.unlimited();
+
+        assertFalse(budget.hasTimeLimit());
+        assertFalse(budget.isExpired());
+        assertFalse(budget.isExhausted(Long.MAX_VALUE - 1));
+        assertEquals(Long.MAX_VALUE, budget.remainingNanos());
+    }
+
+    /**
+     * Test Case: Verify node and time limits.
+     * * Type: Unit Testing / Boundary Value Analysis
+     * * Technique: Boundary Value Analysis.
+     * * Description: A budget is exhausted exactly when the node count reaches the limit, and a
+     * zero time limit is expired immediately.
+     */
+    @Test
+    public void testLimits() {
+        ComputeBudget nodes = ComputeBudget.start(Duration.ofHours(1), 10);
+        assertFalse(nodes.isExhausted(9));
+        assertTrue(nodes.isExhausted(10));
+        assertTrue(nodes.remainingNanos() > 0);
+
+        ComputeBudget expired = ComputeBudget.start(Duration.ZERO, 10);
+        assertTrue(expired.isExpired());
+        assertTrue(expired.isExhausted(0));
+        assertEquals(0, expired.remainingNanos());
+
+        ComputeBudget untimed = ComputeBudget.start(null, 5);
+        assertFalse(untimed.hasTimeLimit());
+        assertTrue(untimed.isExhausted(5));
+    }
+
+    /**
+     * Test Case: Verify validation of the limits.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Partitioning - Invalid Class.
+     * * Description: Negative time limits and non-positive node limits are rejected.
+     */
+    @Test
+    public void testInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> ComputeBudget.start(Duration.ofMillis(-1), 10));
+        assertThrows(IllegalArgumentException.class, () -> ComputeBudget.start(Duration.ofMillis(1), 0));
+    }
+
+    /**
+     * Test Case: Verify derived node limits.
+     * * Type: Unit Testing
+     * * Technique: Boundary Value Analysis (limit above and below the current one).
+     * * Description: withMaxNodes lowers the node limit and keeps the deadline; a higher limit
+     * returns the same budget.
+     */
+    @Test
+    public void testWithMaxNodes() {
+        ComputeBudget budget = ComputeBudget.start(Duration.ofHours(1), 100);
+        ComputeBudget capped = budget.withMaxNodes(10);
+
+        assertEquals(10, capped.getMaxNodes());
+        assertEquals(budget.getDeadlineNanos(), capped.getDeadlineNanos());
+        assertSame(budget, budget.withMaxNodes(1000));
+        assertThrows(IllegalArgumentException.class, () -> budget.withMaxNodes(0));
+    }
+
+    /**
+     * Test Case: Verify cancellation.
+     * * Type: Unit Testing
+     * * Technique: State Transition Testing (running -> cancelled).
+     * * Description: A cancellable budget expires as soon as it is cancelled, along with the
+     * budgets derived from it. Regular budgets cannot be cancelled.
+     */
+    @Test
+    public void testCancellable() {
+        ComputeBudget budget = ComputeBudget.cancellable(null, 100);
+        ComputeBudget derived = budget.withMaxNodes(10);
+        assertFalse(budget.isExpired());
+
+        budget.cancel();
+
+        assertTrue(budget.isCancelled());
+        assertTrue(budget.isExpired());
+        assertTrue(derived.isExpired());
+        assertEquals(0, budget.remainingNanos());
+        assertThrows(UnsupportedOperationException.class, () -> ComputeBudget.unlimited().cancel());
+    }
+}
@@ -0,0 +1,206 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.Coordinate;
+import es.uab.tqs.battleship.model.Orientation;
+import es.uab.tqs.battleship.model.Ship;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Unit tests for the EndgameSolver class.
+ */
+public class EndgameSolverTest {
+
+    /**
+     * Builds a 4x4 board with a Cruiser and a Destroyer, after a hit on the
+     * Cruiser and two misses.
+     */
+    private static Board endgameBoard() {
+        Board board = new BitBoard(4);
+        board.placeShip(new Ship(ShipType.CRUISER), Coordinate.of(0, 0), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(3, 1), Orientation.VERTICAL);
+        board.processAttack(1, 0);
+        board.processAttack(1, 1);
+        board.processAttack(2, 2);
+        return board;
+    }
+
+    private static EndgameSolver solver(Board board) {
+        return solver(board, new TranspositionTable(1 << 12));
+    }
+
+    private static EndgameSolver solver(Board board, TranspositionTable table) {
+        BoardKnowledge knowledge = new BoardKnowledge();
+        knowledge.sync(board);
+        return new EndgameSolver(knowledge, table);
+    }
+
+    /**
+     * Test Case: Verify the solver against a naive expectimax.
+     * * Type: White Box Testing
+     * * Technique: Exhaustive enumeration (oracle comparison).
+     * * Description: The layouts listed match the LayoutCounter total, and the expected shot
+     * count of the chosen move equals the optimum of a plain expectimax that tries every
+     * unattacked cell, covered or not, without bounds nor a transposition table.
+     */
+    @Test
+    public void testMatchesNaiveExpectimax() {
+        Board board = endgameBoard();
+        EndgameSolver solver = solver(board);
+
+        assertTrue(solver.enumerate(1000, ComputeBudget.unlimited()));
+        int move = solver.solve(ComputeBudget.unlimited());
+
+        List<int[]> layouts = new ArrayList<>();
+        int shots = (1 << 1) | (1 << 5) | (1 << 10);
+        for (int cruiser : placements(3)) {
+            for (int destroyer : placements(2)) {
+                if ((cruiser & destroyer) == 0 && ((cruiser | destroyer) & ((1 << 5) | (1 << 10))) == 0
+                        && ((cruiser | destroyer) & (1 << 1)) != 0) {
+                    layouts.add(new int[] {cruiser, destroyer});
+                }
+            }
+        }
+        assertEquals(LayoutCounter.forBoard(board).count(ComputeBudget.unlimited()).getTotal(), layouts.size());
+        assertEquals(layouts.size(), solver.getLayoutCount());
+
+        Map<String, Long> memo = new HashMap<>();
+        long optimum = Long.MAX_VALUE;
+        long chosen = -1;
+        for (int cell = 0; cell < 16; cell++) {
+            if ((shots & (1 << cell)) == 0) {
+                long value = shoot(layouts, shots, cell, memo);
+                optimum = Math.min(optimum, value);
+                if (cell == move) {
+                    chosen = value;
+                }
+            }
+        }
+        assertEquals(optimum, chosen);
+        assertEquals((double) optimum / layouts.size(), solver.getExpectedShots(), 1e-9);
+    }
+
+    /**
+     * Test Case: Verify the layout threshold and the node budget.
+     * * Type: Unit Testing
+     * * Technique: Boundary Value Analysis (threshold) / Error Guessing (budget).
+     * * Description: The enumeration refuses one layout less than there are, and a solve with a
+     * node budget of one gives no move.
+     */
+    @Test
+    public void testLimits() {
+        EndgameSolver solver = solver(endgameBoard());
+        assertTrue(solver.enumerate(1000, ComputeBudget.unlimited()));
+        int layouts = solver.getLayoutCount();
+
+        assertFalse(solver(endgameBoard()).enumerate(layouts - 1, ComputeBudget.unlimited()));
+        assertTrue(solver(endgameBoard()).enumerate(layouts, ComputeBudget.unlimited()));
+        assertEquals(-1, solver.solve(ComputeBudget.start(null, 1)));
+        assertTrue(solver.solve(ComputeBudget.unlimited()) >= 0);
+    }
+
+    /**
+     * Test Case: Verify that mirrored positions share the transposition table.
+     * * Type: White Box Testing
+     * * Technique: Equivalence Testing (transposed board).
+     * * Description: Once the endgame board is solved, its transpose is solved with the same
+     * table: it finds the same expected shot count in fewer nodes, since its subpositions are
+     * already memoized.
+     */
+    @Test
+    public void testMirroredPositionsShareTable() {
+        Board mirror = new BitBoard(4);
+        mirror.placeShip(new Ship(ShipType.CRUISER), Coordinate.of(0, 0), Orientation.VERTICAL);
+        mirror.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(1, 3), Orientation.HORIZONTAL);
+        mirror.processAttack(0, 1);
+        mirror.processAttack(1, 1);
+        mirror.processAttack(2, 2);
+        TranspositionTable table = new TranspositionTable(1 << 12);
+
+        EndgameSolver first = solver(endgameBoard(), table);
+        assertTrue(first.enumerate(1000, ComputeBudget.unlimited()));
+        assertTrue(first.solve(ComputeBudget.unlimited()) >= 0);
+        EndgameSolver second = solver(mirror, table);
+        assertTrue(second.enumerate(1000, ComputeBudget.unlimited()));
+        assertTrue(second.solve(ComputeBudget.unlimited()) >= 0);
+
+        assertEquals(first.getLayoutCount(), second.getLayoutCount());
+        assertEquals(first.getExpectedShots(), second.getExpectedShots(), 1e-9);
+        assertTrue(second.getNodes() < first.getNodes(), second.getNodes() + " vs " + first.getNodes());
+    }
+
+    /**
+     * Gets the total shots the best play needs after shooting a cell, over
+     * the given layouts.
+     */
+    private static long shoot(List<int[]> group, int shots, int cell, Map<String, Long> memo) {
+        int next = shots | (1 << cell);
+        Map<Integer, List<int[]>> answers = new HashMap<>();
+        for (int[] layout : group) {
+            int answer = -1;
+            for (int ship : layout) {
+                if ((ship & (1 << cell)) != 0) {
+                    answer = (ship & ~next) == 0 ? ship : 0;
+                }
+            }
+            answers.computeIfAbsent(answer, k -> new ArrayList<>()).add(layout);
+        }
+        long total = group.size();
+        for (List<int[]> child : answers.values()) {
+            total += value(child, next, memo);
+        }
+        return total;
+    }
+
+    private static long value(List<int[]> group, int shots, Map<String, Long> memo) {
+        boolean done = true;
+        for (int[] layout : group) {
+            for (int ship : layout) {
+                done &= (ship & ~shots) == 0;
+            }
+        }
+        if (done) {
+            return 0;
+        }
+        StringBuilder key = new StringBuilder().append(shots);
+        for (int[] layout : group) {
+            key.append(',').append(layout[0]).append('/').append(layout[1]);
+        }
+        Long known = memo.get(key.toString());
+        if (known != null) {
+            return known;
+        }
+        long best = Long.MAX_VALUE;
+        for (int cell = 0; cell < 16; cell++) {
+            if ((shots & (1 << cell)) == 0) {
+                best = Math.min(best, shoot(group, shots, cell, memo));
+            }
+        }
+        memo.put(key.toString(), best);
+        return best;
+    }
+
+    private static List<Integer> placements(int length) {
+        List<Integer> masks = new ArrayList<>();
+        for (int y = 0; y < 4; y++) {
+            for (int x = 0; x + length <= 4; x++) {
+                masks.add(((1 << length) - 1) << (y * 4 + x));
+                int vertical = 0;
+                for (int k = 0; k < length; k++) {
+                    vertical |= 1 << ((x + k) * 4 + y);
+                }
+                masks.add(vertical);
+            }
+        }
+        return masks;
+    }
+}
@@ -0,0 +1,110 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.Coordinate;
+import es.uab.tqs.battleship.model.Orientation;
+import es.uab.tqs.battleship.model.Ship;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Unit tests for the EndgameStrategy class.
+ */
+public class EndgameStrategyTest {
+
+    /**
+     * Test Case: Verify that the solver takes over in the endgame.
+     * * Type: Black Box Testing
+     * * Technique: State Transition Testing (live strategy -> solver).
+     * * Description: With a whole fleet afloat the live strategy plays. Once a lone Destroyer
+     * has been hit, only four layouts are left: the solver plays a neighbour of the hit, expects
+     * (1 + 2 + 3 + 4) / 4 = 2.5 more shots, and sinks the ship in at most four.
+     */
+    @Test
+    public void testSwitchesToSolver() {
+        Board open = new BitBoard(10);
+        new RandomPlacementStrategy(new Random(3)).placeFleet(open, ShipType.values(), ComputeBudget.unlimited());
+        EndgameStrategy strategy = new EndgameStrategy(new RandomAttackStrategy(new Random(3)));
+        assertEquals("endgame+random", strategy.getName());
+        strategy.nextTarget(open);
+        assertFalse(strategy.isSolving());
+        assertTrue(Double.isNaN(strategy.getExpectedShots()));
+
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(4, 4), Orientation.HORIZONTAL);
+        strategy.onAttackResult(board, 44, board.processAttack(44));
+        int shots = 0;
+        while (!board.allShipsSunk()) {
+            int cell = strategy.nextTarget(board);
+            assertTrue(strategy.isSolving());
+            if (shots == 0) {
+                assertEquals(2.5, strategy.getExpectedShots(), 1e-9);
+                assertTrue(cell == 34 || cell == 43 || cell == 45 || cell == 54, "cell " + cell);
+            }
+            AttackResult result = board.processAttack(cell);
+            strategy.onAttackResult(board, cell, result);
+            shots++;
+        }
+        assertTrue(shots <= 4);
+        assertTrue(strategy.getTable().getStores() > 0);
+    }
+
+    /**
+     * Test Case: Verify that the default threshold engages with two ships afloat.
+     * * Type: Black Box Testing
+     * * Technique: Boundary Value Analysis (layout count at the default threshold).
+     * * Description: A Destroyer and a Submarine are left in the only eight cells not missed yet,
+     * which leaves (5 choose 2) = 10 layouts per order of the two ships, 20 in all. The default
+     * strategy solves every move from there on and sinks both ships in at most eight shots.
+     */
+    @Test
+    public void testEngagesWithTwoShipsAfloat() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(0, 0), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.SUBMARINE), Coordinate.of(4, 0), Orientation.HORIZONTAL);
+        for (int cell = 8; cell < 100; cell++) {
+            board.processAttack(cell);
+        }
+        EndgameStrategy strategy = new EndgameStrategy(new RandomAttackStrategy(new Random(5)));
+        assertEquals(20, EndgameStrategy.DEFAULT_MAX_LAYOUTS);
+
+        int shots = 0;
+        while (!board.allShipsSunk()) {
+            int cell = strategy.nextTarget(board);
+            assertTrue(strategy.isSolving(), "move " + shots);
+            assertTrue(cell < 8, "cell " + cell);
+            strategy.onAttackResult(board, cell, board.processAttack(cell));
+            shots++;
+        }
+        assertTrue(shots <= 8);
+    }
+
+    /**
+     * Test Case: Verify the fallback when the solve does not fit the budget.
+     * * Type: Unit Testing
+     * * Technique: Error Guessing (exhausted budget).
+     * * Description: A solve limited to one node gives up, and the move comes from the live
+     * strategy instead.
+     */
+    @Test
+    public void testFallsBackWhenOverBudget() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(4, 4), Orientation.HORIZONTAL);
+        board.processAttack(44);
+        EndgameStrategy strategy = new EndgameStrategy(new RandomAttackStrategy(new Random(1)), 10, 1,
+                new TranspositionTable(64));
+
+        int cell = strategy.nextTarget(board);
+
+        assertFalse(strategy.isSolving());
+        assertFalse(board.isAttacked(cell));
+        assertThrows(IllegalArgumentException.class,
+                () -> new EndgameStrategy(new RandomAttackStrategy(), 0, 1, new TranspositionTable(64)));
+    }
+}
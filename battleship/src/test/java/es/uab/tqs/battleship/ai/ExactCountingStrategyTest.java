@@ -0,0 +1,75 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.Coordinate;
+import es.uab.tqs.battleship.model.Orientation;
+import es.uab.tqs.battleship.model.Ship;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Unit tests for the ExactCountingStrategy class.
+ */
+public class ExactCountingStrategyTest {
+
+    /**
+     * Test Case: Verify the fallback on an open board.
+     * * Type: Unit Testing
+     * * Technique: Boundary Value Analysis (node limit far below the count).
+     * * Description: The full fleet on an empty board cannot be counted in 1,000 nodes; the
+     * move comes from the density strategy and no counts are kept.
+     */
+    @Test
+    public void testFallsBackWhenCountIsTooLarge() {
+        Board board = new BitBoard(10);
+        int row = 0;
+        for (ShipType type : ShipType.values()) {
+            board.placeShip(new Ship(type), Coordinate.of(0, row), Orientation.HORIZONTAL);
+            row += 2;
+        }
+        ExactCountingStrategy strategy = new ExactCountingStrategy(1000, new Random(1));
+
+        int target = strategy.nextTarget(board);
+
+        assertNull(strategy.getLastResult());
+        assertFalse(board.isAttacked(target));
+    }
+
+    /**
+     * Test Case: Verify the target in an endgame.
+     * * Type: Black Box Testing
+     * * Technique: State Transition Testing (hunt -> target).
+     * * Description: With only a Destroyer left and one hit on it, the exact counts put all the
+     * probability on the neighbours of the hit, and one of them is attacked.
+     */
+    @Test
+    public void testEndgameTarget() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(4, 4), Orientation.VERTICAL);
+        ExactCountingStrategy strategy = new ExactCountingStrategy(100_000, new Random(1));
+
+        int hit = board.cellIndex(4, 4);
+        strategy.onAttackResult(board, hit, board.processAttack(hit));
+        int target = strategy.nextTarget(board);
+
+        assertEquals(4, strategy.getLastResult().getTotal());
+        assertEquals(1, strategy.getLastResult().getCount(target));
+        assertTrue(target == hit - 1 || target == hit + 1 || target == hit - 10 || target == hit + 10);
+    }
+
+    /**
+     * Test Case: Verify invalid construction.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Partitioning - Invalid Class.
+     * * Description: The node limit must be positive.
+     */
+    @Test
+    public void testInvalidNodeLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new ExactCountingStrategy(0, new Random()));
+    }
+}
@@ -0,0 +1,152 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.Coordinate;
+import es.uab.tqs.battleship.model.FleetGenerator;
+import es.uab.tqs.battleship.model.Orientation;
+import es.uab.tqs.battleship.model.Ship;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Unit tests for the HuntTargetStrategy class.
+ */
+public class HuntTargetStrategyTest {
+
+    /**
+     * Test Case: Verify hunting on the parity of the shortest ship.
+     * * Type: Black Box Testing
+     * * Technique: Property Verification (parity class).
+     * * Description: With only a Cruiser afloat, every shot until the first hit lands on a cell
+     * with (x + y) % 3 == 0, and the Cruiser is found within the 34 such cells.
+     */
+    @Test
+    public void testHuntsOnParity() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.CRUISER), new Coordinate(6, 7), Orientation.HORIZONTAL);
+        HuntTargetStrategy strategy = new HuntTargetStrategy(new Random(1));
+
+        int shots = 0;
+        AttackResult result;
+        do {
+            int cell = strategy.nextTarget(board);
+            assertEquals(0, (cell % 10 + cell / 10) % 3, "cell " + cell);
+            result = board.processAttack(cell);
+            strategy.onAttackResult(board, cell, result);
+            shots++;
+        } while (result == AttackResult.MISS);
+
+        assertTrue(shots <= 34);
+        assertTrue(strategy.isTargeting());
+    }
+
+    /**
+     * Test Case: Verify targeting along the inferred orientation.
+     * * Type: Black Box Testing
+     * * Technique: State Transition Testing (hunt -> target -> line).
+     * * Description: After a hit on a Battleship the next shot is a neighbour of the hit; after a
+     * second, adjacent hit the line is known, and the next shots extend it at either end until the
+     * Battleship sinks.
+     */
+    @Test
+    public void testTargetsAlongInferredAxis() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.BATTLESHIP), new Coordinate(3, 4), Orientation.HORIZONTAL);
+        HuntTargetStrategy strategy = new HuntTargetStrategy(new Random(2));
+
+        strategy.onAttackResult(board, 44, board.processAttack(44));
+        int next = strategy.nextTarget(board);
+        assertTrue(next == 43 || next == 45 || next == 34 || next == 54, "next " + next);
+
+        strategy.onAttackResult(board, 45, board.processAttack(45));
+        AttackResult result;
+        do {
+            int cell = strategy.nextTarget(board);
+            assertTrue(cell == 42 || cell == 43 || cell == 46 || cell == 47, "cell " + cell);
+            result = board.processAttack(cell);
+            strategy.onAttackResult(board, cell, result);
+        } while (result != AttackResult.SUNK);
+    }
+
+    /**
+     * Test Case: Verify that sinking a ship clears its frontier.
+     * * Type: Unit Testing
+     * * Technique: State Transition Testing (target -> hunt).
+     * * Description: Once the only hit Destroyer sinks, no hit is pending and the frontier is
+     * empty, so the next shot hunts again on the parity of the Cruiser left.
+     */
+    @Test
+    public void testSunkClearsFrontier() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(4, 4), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.CRUISER), new Coordinate(0, 0), Orientation.VERTICAL);
+        HuntTargetStrategy strategy = new HuntTargetStrategy(new Random(3));
+
+        strategy.onAttackResult(board, 44, board.processAttack(44));
+        assertTrue(strategy.isTargeting());
+        assertEquals(4, strategy.getFrontierSize());
+        strategy.onAttackResult(board, 45, board.processAttack(45));
+
+        assertFalse(strategy.isTargeting());
+        assertEquals(0, strategy.getFrontierSize());
+        int cell = strategy.nextTarget(board);
+        assertEquals(0, (cell % 10 + cell / 10) % 3, "cell " + cell);
+    }
+
+    /**
+     * Test Case: Verify picking up a game in progress.
+     * * Type: Unit Testing
+     * * Technique: Error Guessing (board attacked before it was tracked).
+     * * Description: A strategy first seeing a board with an unresolved hit starts in target
+     * mode and fires next to that hit.
+     */
+    @Test
+    public void testReadsBoardInProgress() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        board.processAttack(0, 0);
+        HuntTargetStrategy strategy = new HuntTargetStrategy(new Random(4));
+
+        int cell = strategy.nextTarget(board);
+
+        assertTrue(strategy.isTargeting());
+        assertTrue(cell == 1 || cell == 10, "cell " + cell);
+    }
+
+    /**
+     * Test Case: Verify the strength of the strategy over full games.
+     * * Type: Performance / Black Box Testing
+     * * Technique: Simulation.
+     * * Description: Against random standard fleets, the average number of shots needed to sink
+     * everything must be far below the ~95 shots of random targeting; one strategy instance
+     * plays every game, reusing its arrays.
+     */
+    @Test
+    public void testFinishesGamesQuickly() {
+        int games = 50;
+        int totalShots = 0;
+        AttackStrategy strategy = new HuntTargetStrategy(new Random(5));
+
+        for (int g = 0; g < games; g++) {
+            Board board = new BitBoard(10);
+            ShipType[] fleet = ShipType.values();
+            new FleetGenerator(10, fleet, FleetGenerator.Mode.UNIFORM, new SplittableRandom(200 + g))
+                    .place(board, fleet);
+            while (!board.allShipsSunk()) {
+                int cell = strategy.nextTarget(board);
+                assertFalse(board.isAttacked(cell));
+                strategy.onAttackResult(board, cell, board.processAttack(cell));
+                totalShots++;
+            }
+        }
+
+        assertTrue(totalShots / games < 65, "average shots: " + totalShots / games);
+    }
+}
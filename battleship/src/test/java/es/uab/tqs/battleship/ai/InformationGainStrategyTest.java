@@ -0,0 +1,188 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.CellState;
+import es.uab.tqs.battleship.model.Coordinate;
+import es.uab.tqs.battleship.model.Orientation;
+import es.uab.tqs.battleship.model.Ship;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Unit tests for the InformationGainStrategy class.
+ */
+public class InformationGainStrategyTest {
+
+    /**
+     * Test Case: Verify the gain of a shot splitting the layouts in two.
+     * * Type: White Box Testing
+     * * Technique: Expected Value (binary entropy).
+     * * Description: A lone Destroyer hit in the corner lies either to the right of the hit or
+     * below it, each in about half the layouts. Either neighbour sinks it or misses with even
+     * odds, a gain of about one bit, and no other cell tells anything.
+     */
+    @Test
+    public void testCornerHitGainsOneBit() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        InformationGainStrategy strategy = new InformationGainStrategy(StrategyFixtures.POOL, 20_000,
+                new SplittableRandom(1));
+
+        strategy.onAttackResult(board, 0, board.processAttack(0));
+        int target = strategy.nextTarget(board);
+
+        assertTrue(target == 1 || target == 10, "target " + target);
+        assertTrue(strategy.getLastAccepted() > 0);
+        assertEquals(1.0, strategy.getLastGain(), 0.05);
+        assertEquals(99, strategy.getLastEvaluated());
+    }
+
+    /**
+     * Test Case: Verify that the most informative cell wins over the most likely hit.
+     * * Type: Black Box Testing
+     * * Technique: Oracle comparison (exact layout counts).
+     * * Description: On a 5x5 board, hits at (1,4), (2,4) and (4,4) leave three layouts of a
+     * Cruiser and a Destroyer. (3,4) is covered in all of them, so it is a sure hit but only
+     * tells which ship sinks (0.92 bits). (0,4) misses, sinks the Cruiser or sinks the
+     * Destroyer, one layout each: log2(3) bits, so it is attacked instead.
+     */
+    @Test
+    public void testPrefersInformationOverHitProbability() {
+        Board board = new BitBoard(5);
+        board.placeShip(new Ship(ShipType.CRUISER), new Coordinate(2, 4), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(1, 3), Orientation.VERTICAL);
+        for (int cell : new int[] {21, 22, 24, 1, 3, 19}) {
+            board.processAttack(cell);
+        }
+        LayoutCounter.Result exact = LayoutCounter.forBoard(board).count(ComputeBudget.unlimited());
+        InformationGainStrategy strategy = new InformationGainStrategy(StrategyFixtures.POOL, 20_000,
+                new SplittableRandom(2));
+
+        int target = strategy.nextTarget(board);
+
+        assertEquals(1.0, exact.getProbability(23), 1e-9);
+        assertTrue(exact.getProbability(20) < exact.getProbability(23));
+        assertEquals(20, target);
+        assertEquals(Math.log(3) / Math.log(2), strategy.getLastGain(), 0.05);
+    }
+
+    /**
+     * Test Case: Verify that sinking a ship is an outcome of its own.
+     * * Type: White Box Testing
+     * * Technique: Expected Value (entropy over three outcomes).
+     * * Description: On a 5x5 board with a Battleship and a Destroyer and a hit at (1,4), a
+     * shot at (2,4) misses, hits, or sinks the Destroyer. Hit or miss alone is worth at most one
+     * bit; counting the sinking apart from the hit raises the gain to about 1.39 bits.
+     */
+    @Test
+    public void testSunkCountedApartFromHit() {
+        Board board = new BitBoard(5);
+        board.placeShip(new Ship(ShipType.BATTLESHIP), new Coordinate(0, 4), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(4, 0), Orientation.VERTICAL);
+        board.processAttack(21);
+        InformationGainStrategy strategy = new InformationGainStrategy(StrategyFixtures.POOL, 20_000,
+                new SplittableRandom(3));
+
+        int target = strategy.nextTarget(board);
+
+        assertEquals(22, target);
+        assertTrue(strategy.getLastGain() > 1.0);
+        assertEquals(1.39, strategy.getLastGain(), 0.05);
+    }
+
+    /**
+     * Test Case: Verify that the node budget caps the posterior, not the evaluation.
+     * * Type: Unit Testing
+     * * Technique: Boundary Value Analysis (budget below the sample count).
+     * * Description: With a budget of 300 nodes, only 300 of the 20,000 layouts are drawn, and
+     * every unattacked cell is still evaluated against them.
+     */
+    @Test
+    public void testNodeBudget() {
+        Board board = StrategyFixtures.fullFleet(5);
+        InformationGainStrategy strategy = new InformationGainStrategy(StrategyFixtures.POOL, 20_000,
+                new SplittableRandom(4));
+
+        int target = strategy.nextTarget(board, ComputeBudget.start(null, 300));
+
+        assertEquals(300, strategy.getLastDrawn());
+        assertEquals(300, strategy.getLastAccepted());
+        assertEquals(100, strategy.getLastEvaluated());
+        assertTrue(strategy.getLastGain() > 0);
+        assertFalse(board.isAttacked(target));
+    }
+
+    /**
+     * Test Case: Verify that the posterior stays within its memory cap.
+     * * Type: Unit Testing
+     * * Technique: Boundary Value Analysis (sample count above the cap).
+     * * Description: On a 300x300 board a layout takes 180,000 bytes of posterior, so a decision
+     * draws at most 93 layouts whatever the sample count, and the next decision reuses the same
+     * buffers.
+     */
+    @Test
+    public void testPosteriorMemoryCap() {
+        Board board = new BitBoard(256);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        InformationGainStrategy strategy = new InformationGainStrategy(StrategyFixtures.POOL, 1_000_000,
+                new SplittableRandom(5));
+        int cap = InformationGainStrategy.maxDraws(256 * 256, 1);
+
+        strategy.onAttackResult(board, 0, board.processAttack(0));
+        strategy.nextTarget(board);
+        assertEquals(127, cap);
+        assertEquals(cap, strategy.getLastDrawn());
+        strategy.onAttackResult(board, 1, board.processAttack(1));
+
+        assertTrue(board.allShipsSunk());
+        assertEquals(1, InformationGainStrategy.maxDraws(Integer.MAX_VALUE, 1));
+    }
+
+    /**
+     * Test Case: Verify fleets of more ships than a byte can number.
+     * * Type: White Box Testing
+     * * Technique: Boundary Value Analysis (ship numbers past 127).
+     * * Description: 130 Destroyers are left in the only 130 slots not missed yet, so every cell
+     * is a sure hit and no shot tells anything. Ships numbered above 127 are read back as such:
+     * every cell is evaluated from the posterior, with no gain, rather than by the fallback.
+     */
+    @Test
+    public void testManyShips() {
+        Board board = new BitBoard(40);
+        for (int i = 0; i < 130; i++) {
+            board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(4 * (i % 10), 2 * (i / 10)),
+                    Orientation.HORIZONTAL);
+        }
+        for (int cell = 0; cell < 40 * 40; cell++) {
+            if (board.getCellState(cell % 40, cell / 40) != CellState.SHIP) {
+                board.processAttack(cell);
+            }
+        }
+        InformationGainStrategy strategy = new InformationGainStrategy(StrategyFixtures.POOL, 500,
+                new SplittableRandom(6));
+
+        int target = strategy.nextTarget(board);
+
+        assertEquals(500, strategy.getLastAccepted());
+        assertEquals(260, strategy.getLastEvaluated());
+        assertEquals(0.0, strategy.getLastGain(), 1e-9);
+        assertEquals(CellState.SHIP, board.getCellState(target % 40, target / 40));
+    }
+
+    /**
+     * Test Case: Verify invalid construction.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Partitioning - Invalid Class.
+     * * Description: A strategy must draw at least one layout per decision.
+     */
+    @Test
+    public void testInvalidSamples() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new InformationGainStrategy(StrategyFixtures.POOL, 0, new SplittableRandom()));
+    }
+}
@@ -0,0 +1,162 @@
+package es.uab.tqs.battleship.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.CellState;
+import es.uab.tqs.battleship.model.Coordinate;
+import es.uab.tqs.battleship.model.Orientation;
+import es.uab.tqs.battleship.model.PlacementIndex;
+import es.uab.tqs.battleship.model.Ship;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Unit tests for the LayoutCounter class.
+ */
+public class LayoutCounterTest {
+
+    /**
+     * Test Case: Verify the counts of a single ship.
+     * * Type: Unit Testing
+     * * Technique: Expected Value (hand-counted placements).
+     * * Description: A Cruiser alone on a 3x3 board has 6 placements; the centre cell is in 2
+     * of them and each corner in 2 as well, while each edge centre is in 3... (every row and
+     * column through it).
+     */
+    @Test
+    public void testSingleShip() {
+        Board board = new BitBoard(3);
+        board.placeShip(new Ship(ShipType.CRUISER), Coordinate.of(0, 0), Orientation.HORIZONTAL);
+
+        LayoutCounter.Result result = LayoutCounter.forBoard(board).count(ComputeBudget.unlimited());
+
+        assertEquals(6, result.getTotal());
+        assertEquals(2, result.getCount(4));
+        assertEquals(2, result.getCount(0));
+        assertEquals(2, result.getCount(1));
+        assertEquals(1.0 / 3, result.getProbability(4), 1e-12);
+    }
+
+    /**
+     * Test Case: Verify the counts against brute force.
+     * * Type: White Box Testing
+     * * Technique: Exhaustive enumeration (oracle comparison).
+     * * Description: On a 5x5 board with misses, hits and a sunk Destroyer, the memoized counts
+     * of the remaining Cruiser and Submarine must equal a naive enumeration of every pair of
+     * placements, halved because the two ships have the same length.
+     */
+    @Test
+    public void testMatchesBruteForce() {
+        Board board = new BitBoard(5);
+        board.placeShip(new Ship(ShipType.CRUISER), Coordinate.of(0, 0), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.SUBMARINE), Coordinate.of(0, 2), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(3, 4), Orientation.HORIZONTAL);
+        for (int[] attack : new int[][] {{4, 0}, {0, 2}, {2, 2}, {2, 4}, {1, 1}, {3, 4}, {4, 4}}) {
+            board.processAttack(attack[0], attack[1]);
+        }
+
+        LayoutCounter.Result result = LayoutCounter.forBoard(board).count(ComputeBudget.unlimited());
+
+        PlacementIndex index = PlacementIndex.forSize(5);
+        long[] blocked = new long[1];
+        long[] hits = new long[1];
+        for (int cell = 0; cell < 25; cell++) {
+            CellState state = board.getCellState(cell % 5, cell / 5);
+            if (state == CellState.MISS || (cell >= 23)) {
+                blocked[0] |= 1L << cell;
+            } else if (state == CellState.HIT) {
+                hits[0] |= 1L << cell;
+            }
+        }
+        int[] first = new int[50];
+        int[] second = new int[50];
+        long total = 0;
+        long[] counts = new long[25];
+        int firstCount = index.legalPlacements(blocked, 3, first);
+        for (int a = 0; a < firstCount; a++) {
+            long[] occupied = blocked.clone();
+            index.occupy(occupied, 3, first[a]);
+            int secondCount = index.legalPlacements(occupied, 3, second);
+            for (int b = 0; b < secondCount; b++) {
+                long[] both = occupied.clone();
+                index.occupy(both, 3, second[b]);
+                if ((hits[0] & ~both[0]) != 0) {
+                    continue;
+                }
+                total++;
+                long ships = both[0] & ~blocked[0];
+                for (int cell = 0; cell < 25; cell++) {
+                    if ((ships & (1L << cell)) != 0) {
+                        counts[cell]++;
+                    }
+                }
+            }
+        }
+
+        assertTrue(total > 0);
+        assertEquals(total / 2, result.getTotal());
+        for (int cell = 0; cell < 25; cell++) {
+            assertEquals(counts[cell] / 2, result.getCount(cell), "cell " + cell);
+        }
+    }
+
+    /**
+     * Test Case: Verify that the budget stops the count.
+     * * Type: Unit Testing
+     * * Technique: Boundary Value Analysis (tiny node limit).
+     * * Description: The full fleet on an open 10x10 board cannot be counted in 1,000 nodes, so
+     * no result is returned.
+     */
+    @Test
+    public void testBudgetExhausted() {
+        Board board = new BitBoard(10);
+        int row = 0;
+        for (ShipType type : ShipType.values()) {
+            board.placeShip(new Ship(type), Coordinate.of(0, row), Orientation.HORIZONTAL);
+            row += 2;
+        }
+
+        assertNull(LayoutCounter.forBoard(board).count(ComputeBudget.start(null, 1000)));
+    }
+
+    /**
+     * Test Case: Verify a midgame count on 10x10.
+     * * Type: Performance / White Box Testing
+     * * Technique: Expected Value (consistency of the totals).
+     * * Description: With the Carrier and Battleship sunk and a band of misses, the remaining
+     * three ships are counted exactly. Unresolved hits are held by every layout, misses by none,
+     * and the counts of all cells add up to the layouts times the 8 cells of the ships left.
+     */
+    @Test
+    public void testMidgame() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.CARRIER), Coordinate.of(0, 0), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.BATTLESHIP), Coordinate.of(0, 1), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.CRUISER), Coordinate.of(5, 5), Orientation.VERTICAL);
+        board.placeShip(new Ship(ShipType.SUBMARINE), Coordinate.of(1, 8), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(8, 3), Orientation.VERTICAL);
+        for (int x = 0; x < 5; x++) {
+            board.processAttack(x, 0);
+        }
+        for (int x = 0; x < 10; x++) {
+            board.processAttack(x, 1);
+            board.processAttack(x, 4);
+        }
+        board.processAttack(5, 6);
+
+        LayoutCounter.Result result = LayoutCounter.forBoard(board).count(ComputeBudget.start(null, 2_000_000));
+
+        assertNotNull(result);
+        assertTrue(result.getTotal() > 0);
+        assertEquals(result.getTotal(), result.getCount(board.cellIndex(5, 6)));
+        assertEquals(result.getTotal(), result.getCount(board.cellIndex(8, 4)));
+        assertEquals(0, result.getCount(board.cellIndex(0, 4)));
+        long covered = 0;
+        for (int cell = 0; cell < 100; cell++) {
+            covered += result.getCount(cell);
+        }
+        assertEquals(result.getTotal() * 8, covered);
+    }
+}
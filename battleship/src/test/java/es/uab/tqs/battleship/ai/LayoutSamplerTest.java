@@ -0,0 +1,119 @@
+package es.uab.tqs.battleship.ai;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.Coordinate;
+import es.uab.tqs.battleship.model.Orientation;
+import es.uab.tqs.battleship.model.Ship;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Unit tests for the LayoutSampler class.
+ */
+public class LayoutSamplerTest {
+
+    /**
+     * Test Case: Verify that importance weights make the sampled occupancy exact.
+     * * Type: Statistical Testing
+     * * Technique: Oracle comparison (exact layout counts).
+     * * Description: On a 5x5 board with a miss, a Battleship placed first leaves the
+     * Destroyer more or less room, so layouts are not drawn uniformly. Weighting every accepted
+     * layout by the returned weight must still give the per-cell probabilities of the
+     * LayoutCounter.
+     */
+    @Test
+    public void testWeightedOccupancyMatchesExactCounts() {
+        Board board = new BitBoard(5);
+        board.placeShip(new Ship(ShipType.BATTLESHIP), Coordinate.of(0, 4), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(4, 0), Orientation.VERTICAL);
+        board.processAttack(1, 1);
+        BoardKnowledge knowledge = new BoardKnowledge();
+        knowledge.sync(board);
+        int[] lengths = knowledge.remainingLengths();
+        LayoutCounter.Result exact = LayoutCounter.forBoard(board).count(ComputeBudget.unlimited());
+
+        LayoutSampler sampler = new LayoutSampler(knowledge, lengths);
+        SplittableRandom random = new SplittableRandom(11);
+        long[] occupancy = sampler.newOccupancy();
+        int[] candidates = sampler.newCandidates();
+        int[] layout = new int[lengths.length];
+        double[] counts = new double[25];
+        double total = 0;
+        for (int n = 0; n < 200_000; n++) {
+            double weight = sampler.draw(random, occupancy, candidates, layout, 0);
+            assertTrue(weight > 0);
+            total += weight;
+            for (int i = 0; i < layout.length; i++) {
+                int step = (layout[i] & 1) == 0 ? 1 : 5;
+                for (int k = 0, cell = layout[i] >>> 1; k < lengths[i]; k++, cell += step) {
+                    counts[cell] += weight;
+                }
+            }
+        }
+
+        for (int cell = 0; cell < 25; cell++) {
+            assertEquals(exact.getProbability(cell), counts[cell] / total, 0.01, "cell " + cell);
+        }
+    }
+
+    /**
+     * Tally keeping the numbers of the layouts it accepted.
+     */
+    private static final class Accepted implements LayoutSampler.Tally<Accepted> {
+
+        private final List<Integer> numbers = new ArrayList<>();
+        private int tasks = 1;
+
+        @Override
+        public void add(int n, int[] layout, double weight) {
+            assertTrue(weight > 0);
+            numbers.add(n);
+        }
+
+        @Override
+        public Accepted merge(Accepted other) {
+            numbers.addAll(other.numbers);
+            tasks += other.tasks;
+            return this;
+        }
+    }
+
+    /**
+     * Test Case: Verify the parallel draw into per-task tallies.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Partitioning (live and expired budgets).
+     * * Description: On an untouched board every layout drawn is accepted. Every layout of the
+     * range reaches exactly one tally, the range is split over several tasks, and their
+     * tallies are merged into the result. With a deadline already passed nothing is drawn.
+     */
+    @Test
+    public void testDrawAllMergesTallies() {
+        Board board = StrategyFixtures.fullFleet(7);
+        BoardKnowledge knowledge = new BoardKnowledge();
+        knowledge.sync(board);
+        LayoutSampler sampler = new LayoutSampler(knowledge, knowledge.remainingLengths());
+
+        Accepted accepted = sampler.drawAll(StrategyFixtures.POOL, ComputeBudget.unlimited(), new SplittableRandom(12),
+                100, 900, Accepted::new);
+
+        Collections.sort(accepted.numbers);
+        assertEquals(IntStream.range(100, 900).boxed().collect(Collectors.toList()), accepted.numbers);
+        assertTrue(accepted.tasks > 1);
+
+        Accepted none = sampler.drawAll(StrategyFixtures.POOL, ComputeBudget.start(Duration.ZERO, 1000),
+                new SplittableRandom(13), 0, 1000, Accepted::new);
+
+        assertTrue(none.numbers.isEmpty());
+    }
+}
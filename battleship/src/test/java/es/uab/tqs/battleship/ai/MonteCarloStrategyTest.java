@@ -0,0 +1,111 @@
+package es.uab.tqs.battleship.ai;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.Coordinate;
+import es.uab.tqs.battleship.model.Orientation;
+import es.uab.tqs.battleship.model.Ship;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Unit tests for the MonteCarloStrategy class.
+ */
+public class MonteCarloStrategyTest {
+
+    /**
+     * Test Case: Verify target mode after a hit.
+     * * Type: Black Box Testing
+     * * Technique: State Transition Testing (hunt -> target).
+     * * Description: Every accepted layout covers the hit on a lone Destroyer, so the most
+     * occupied unattacked cell must be one of its four neighbours.
+     */
+    @Test
+    public void testTargetsNeighboursOfHit() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(4, 4), Orientation.HORIZONTAL);
+        MonteCarloStrategy strategy = new MonteCarloStrategy(StrategyFixtures.POOL, 4000, new SplittableRandom(1));
+
+        int hit = board.cellIndex(4, 4);
+        strategy.onAttackResult(board, hit, board.processAttack(hit));
+        int target = strategy.nextTarget(board);
+
+        assertTrue(strategy.getLastAccepted() > 0);
+        assertTrue(target == hit - 1 || target == hit + 1 || target == hit - 10 || target == hit + 10);
+    }
+
+    /**
+     * Test Case: Verify that the node budget caps the layouts drawn.
+     * * Type: Unit Testing
+     * * Technique: Boundary Value Analysis (budget below the sample count).
+     * * Description: With a budget of 300 nodes, only 300 of the 20,000 layouts are drawn, split
+     * across the pool.
+     */
+    @Test
+    public void testNodeBudget() {
+        Board board = StrategyFixtures.fullFleet(5);
+        MonteCarloStrategy strategy = new MonteCarloStrategy(StrategyFixtures.POOL, 20_000, new SplittableRandom(2));
+
+        strategy.nextTarget(board, ComputeBudget.start(null, 300));
+
+        assertEquals(300, strategy.getLastDrawn());
+        assertEquals(300, strategy.getLastAccepted());
+    }
+
+    /**
+     * Test Case: Verify the fallback when the time budget is already spent.
+     * * Type: Unit Testing
+     * * Technique: Error Guessing (zero time limit).
+     * * Description: No layout can be drawn in zero time, so the decision falls back to the
+     * density strategy and still returns an unattacked cell.
+     */
+    @Test
+    public void testExpiredBudgetFallsBack() {
+        Board board = StrategyFixtures.fullFleet(6);
+        board.processAttack(0);
+        MonteCarloStrategy strategy = new MonteCarloStrategy(StrategyFixtures.POOL, 20_000, new SplittableRandom(3));
+
+        int target = strategy.nextTarget(board, ComputeBudget.start(Duration.ZERO, 1));
+
+        assertEquals(0, strategy.getLastAccepted());
+        assertFalse(board.isAttacked(target));
+    }
+
+    /**
+     * Test Case: Verify invalid construction.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Partitioning - Invalid Class.
+     * * Description: A strategy must draw at least one layout per decision.
+     */
+    @Test
+    public void testInvalidSamples() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MonteCarloStrategy(StrategyFixtures.POOL, 0, new SplittableRandom()));
+    }
+
+    /**
+     * Test Case: Verify the strength of the strategy over full games.
+     * * Type: Performance / Black Box Testing
+     * * Technique: Simulation.
+     * * Description: Against random standard fleets, the average number of shots needed to sink
+     * everything must be far below the ~95 shots of random targeting.
+     */
+    @Test
+    public void testFinishesGamesQuickly() {
+        int games = 10;
+        int totalShots = 0;
+
+        for (int g = 0; g < games; g++) {
+            Board board = StrategyFixtures.fullFleet(100 + g);
+            AttackStrategy strategy = new MonteCarloStrategy(StrategyFixtures.POOL, 2000, new SplittableRandom(g));
+            totalShots += StrategyFixtures.playToEnd(board, strategy);
+        }
+
+        assertTrue(totalShots / games < 70, "average shots: " + totalShots / games);
+    }
+}
@@ -0,0 +1,107 @@
+package es.uab.tqs.battleship.ai;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.ShipType;
+import es.uab.tqs.battleship.model.Symmetry;
+
+/**
+ * Unit tests for the OpeningBookBuilder class.
+ */
+public class OpeningBookBuilderTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test Case: Verify the structure of a built book.
+     * * Type: Integration Testing
+     * * Technique: Simulation / Property Verification.
+     * * Description: A depth-3 book built from random standard fleets opens from a central
+     * cell (edges hold fewer placements), follows both misses and hits, and ends after three
+     * shots.
+     */
+    @Test
+    public void testBuiltBook() throws IOException {
+        Path file = directory.resolve("book.bin");
+        new OpeningBookBuilder(10, ShipType.values(), 3, 20_000, 7).write(file);
+
+        OpeningBook book = OpeningBook.open(file);
+        int root = book.getRoot();
+        int move = book.getMove(root);
+        int afterMiss = book.getChild(root, AttackResult.MISS);
+        int afterHit = book.getChild(root, AttackResult.HIT);
+
+        assertEquals(10, book.getSize());
+        assertTrue(move % 10 >= 2 && move % 10 <= 7 && move / 10 >= 2 && move / 10 <= 7, "root move " + move);
+        assertTrue(afterMiss > 0);
+        assertTrue(afterHit > 0);
+        assertNotEquals(move, book.getMove(afterMiss));
+        assertNotEquals(move, book.getMove(afterHit));
+        int third = book.getChild(afterMiss, AttackResult.MISS);
+        assertTrue(third > 0);
+        assertEquals(-1, book.getChild(third, AttackResult.MISS));
+        assertEquals(-1, book.getChild(root, AttackResult.SUNK));
+    }
+
+    /**
+     * Test Case: Verify that equivalent positions share their nodes.
+     * * Type: Integration Testing
+     * * Technique: Property Verification (walk of every line of play).
+     * * Description: Every line of a depth-4 book is followed through the symmetries of its
+     * links; the actual moves along a line are all different, and some links reach a node
+     * stored as an image of the position, so the book is smaller than its tree of lines.
+     */
+    @Test
+    public void testSharesEquivalentPositions() throws IOException {
+        ShipType[] fleet = {ShipType.CRUISER, ShipType.DESTROYER};
+        OpeningBook book = OpeningBook.wrap(new OpeningBookBuilder(5, fleet, 6, 20_000, 1).build());
+        int[] stats = new int[2];
+        walk(book, book.getRoot(), Symmetry.IDENTITY, new int[6], 0, stats);
+
+        assertTrue(stats[1] > 0, "no symmetric links");
+        assertTrue(book.getNodeCount() < stats[0], book.getNodeCount() + " nodes for " + stats[0] + " lines");
+    }
+
+    /**
+     * Walks the lines of play below a node, counting positions in stats[0] and
+     * links with a symmetry other than the identity in stats[1].
+     */
+    private static void walk(OpeningBook book, int node, Symmetry frame, int[] line, int ply, int[] stats) {
+        stats[0]++;
+        line[ply] = frame.map(book.getMove(node), book.getSize());
+        for (int i = 0; i < ply; i++) {
+            assertNotEquals(line[i], line[ply]);
+        }
+        for (AttackResult result : new AttackResult[] {AttackResult.MISS, AttackResult.HIT, AttackResult.SUNK}) {
+            int child = book.getChild(node, result);
+            if (child > 0) {
+                Symmetry link = book.getChildSymmetry(node, result);
+                if (link != Symmetry.IDENTITY) {
+                    stats[1]++;
+                }
+                walk(book, child, frame.after(link), line, ply + 1, stats);
+            }
+        }
+    }
+
+    /**
+     * Test Case: Verify invalid parameters.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Partitioning - Invalid Class.
+     * * Description: The depth and the sample count must be positive.
+     */
+    @Test
+    public void testInvalidParameters() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new OpeningBookBuilder(10, ShipType.values(), 0, 100, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new OpeningBookBuilder(10, ShipType.values(), 3, 0, 1));
+    }
+}
@@ -0,0 +1,110 @@
+package es.uab.tqs.battleship.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.Coordinate;
+import es.uab.tqs.battleship.model.Orientation;
+import es.uab.tqs.battleship.model.Ship;
+import es.uab.tqs.battleship.model.ShipType;
+import es.uab.tqs.battleship.model.Symmetry;
+
+/**
+ * Unit tests for the OpeningBookStrategy class.
+ */
+public class OpeningBookStrategyTest {
+
+    /**
+     * Builds a book for 10x10 boards: 44 first, 45 after a hit on it, 0 after a miss.
+     */
+    private static OpeningBook book() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + 3 * OpeningBook.NODE_BYTES);
+        buffer.putInt(OpeningBook.MAGIC).putInt(OpeningBook.VERSION).putInt(10).putInt(3);
+        buffer.putInt(44).putInt(2 << OpeningBook.SYMMETRY_BITS).putInt(1 << OpeningBook.SYMMETRY_BITS).putInt(0);
+        buffer.putInt(45).putInt(0).putInt(0).putInt(0);
+        buffer.putInt(0).putInt(0).putInt(0).putInt(0);
+        return OpeningBook.wrap(buffer.flip());
+    }
+
+    /**
+     * Test Case: Verify following the book and leaving it.
+     * * Type: Black Box Testing
+     * * Technique: State Transition Testing (in book -> out of book).
+     * * Description: The first shot is the root move; a hit leads to the hit child; once the
+     * book ends, the live strategy chooses, and it has seen every earlier attack.
+     */
+    @Test
+    public void testFollowsBookThenLiveStrategy() throws IOException {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.BATTLESHIP), Coordinate.of(3, 4), Orientation.HORIZONTAL);
+        OpeningBookStrategy strategy = new OpeningBookStrategy(book(), new ProbabilityDensityStrategy(new Random(1)));
+
+        assertEquals("book+density", strategy.getName());
+        assertEquals(44, play(strategy, board));
+        assertTrue(strategy.isInBook());
+        assertEquals(45, play(strategy, board));
+        assertFalse(strategy.isInBook());
+
+        int live = play(strategy, board);
+        assertTrue(live == 43 || live == 46 || live == 34 || live == 54 || live == 35 || live == 55, "move " + live);
+    }
+
+    /**
+     * Test Case: Verify that unsuitable boards skip the book.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Partitioning (size mismatch, game in progress).
+     * * Description: A board of another size, or one that was already attacked when first seen,
+     * is played by the live strategy only.
+     */
+    @Test
+    public void testSkipsBookOnUnsuitableBoards() throws IOException {
+        Board small = new BitBoard(8);
+        small.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(0, 0), Orientation.HORIZONTAL);
+        OpeningBookStrategy strategy = new OpeningBookStrategy(book(), new RandomAttackStrategy(new Random(2)));
+        strategy.nextTarget(small);
+        assertFalse(strategy.isInBook());
+
+        Board started = new BitBoard(10);
+        started.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(0, 0), Orientation.HORIZONTAL);
+        started.processAttack(9, 9);
+        strategy.nextTarget(started);
+        assertFalse(strategy.isInBook());
+    }
+
+    /**
+     * Test Case: Verify following a link to an equivalent position.
+     * * Type: Unit Testing
+     * * Technique: State Transition Testing (symmetric link).
+     * * Description: A miss on the root links to a node stored as its mirror image, so the
+     * stored move of the corner 0 is played as its mirror, the corner 9.
+     */
+    @Test
+    public void testFollowsSymmetricLink() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + 2 * OpeningBook.NODE_BYTES);
+        buffer.putInt(OpeningBook.MAGIC).putInt(OpeningBook.VERSION).putInt(10).putInt(2);
+        buffer.putInt(44).putInt(1 << OpeningBook.SYMMETRY_BITS | Symmetry.FLIP_HORIZONTAL.ordinal())
+                .putInt(0).putInt(0);
+        buffer.putInt(0).putInt(0).putInt(0).putInt(0);
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(0, 9), Orientation.HORIZONTAL);
+        OpeningBookStrategy strategy = new OpeningBookStrategy(OpeningBook.wrap(buffer.flip()),
+                new RandomAttackStrategy(new Random(3)));
+
+        assertEquals(44, play(strategy, board));
+        assertTrue(strategy.isInBook());
+        assertEquals(9, play(strategy, board));
+        assertFalse(strategy.isInBook());
+    }
+
+    private static int play(AttackStrategy strategy, Board board) {
+        int cell = strategy.nextTarget(board);
+        strategy.onAttackResult(board, cell, board.processAttack(cell));
+        return cell;
+    }
+}
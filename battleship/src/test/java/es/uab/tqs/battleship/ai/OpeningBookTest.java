@@ -0,0 +1,103 @@
+package es.uab.tqs.battleship.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.Symmetry;
+
+/**
+ * Unit tests for the OpeningBook class.
+ */
+public class OpeningBookTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Test Case: Verify reading a hand-written book from a mapped file.
+     * * Type: Unit Testing
+     * * Technique: Round-trip Testing (file format).
+     * * Description: A two-node book (root 44, then 45 after a hit) is written to disk and
+     * memory-mapped; moves, children and link symmetries are read back, and missing children
+     * are reported as -1.
+     */
+    @Test
+    public void testOpenMappedFile() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + 2 * OpeningBook.NODE_BYTES);
+        buffer.putInt(OpeningBook.MAGIC).putInt(OpeningBook.VERSION).putInt(10).putInt(2);
+        buffer.putInt(44).putInt(0).putInt(1 << OpeningBook.SYMMETRY_BITS | Symmetry.TRANSPOSE.ordinal()).putInt(0);
+        buffer.putInt(45).putInt(0).putInt(0).putInt(0);
+        Path file = directory.resolve("book.bin");
+        Files.write(file, buffer.array());
+
+        OpeningBook book = OpeningBook.open(file);
+
+        assertEquals(10, book.getSize());
+        assertEquals(2, book.getNodeCount());
+        assertEquals(0, book.getRoot());
+        assertEquals(44, book.getMove(0));
+        assertEquals(1, book.getChild(0, AttackResult.HIT));
+        assertEquals(Symmetry.TRANSPOSE, book.getChildSymmetry(0, AttackResult.HIT));
+        assertEquals(-1, book.getChild(0, AttackResult.MISS));
+        assertEquals(-1, book.getChild(0, AttackResult.ALREADY_ATTACKED));
+        assertEquals(45, book.getMove(1));
+        assertThrows(IllegalArgumentException.class, () -> book.getMove(2));
+    }
+
+    /**
+     * Test Case: Verify rejection of invalid files.
+     * * Type: Unit Testing
+     * * Technique: Error Guessing (wrong magic, wrong version, truncated nodes).
+     * * Description: Files that are not books, books of another version and headers announcing
+     * more nodes than the file holds are rejected with an IOException.
+     */
+    @Test
+    public void testInvalidFiles() throws IOException {
+        Path text = directory.resolve("text.bin");
+        Files.write(text, "not a book at all".getBytes());
+        assertThrows(IOException.class, () -> OpeningBook.open(text));
+
+        ByteBuffer version = ByteBuffer.allocate(OpeningBook.HEADER_BYTES);
+        version.putInt(OpeningBook.MAGIC).putInt(OpeningBook.VERSION + 1).putInt(10).putInt(0).flip();
+        assertThrows(IOException.class, () -> OpeningBook.wrap(version));
+
+        ByteBuffer truncated = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + OpeningBook.NODE_BYTES);
+        truncated.putInt(OpeningBook.MAGIC).putInt(OpeningBook.VERSION).putInt(10).putInt(2).flip();
+        assertThrows(IOException.class, () -> OpeningBook.wrap(truncated));
+    }
+
+    /**
+     * Test Case: Verify rejection of books with corrupt nodes.
+     * * Type: Unit Testing
+     * * Technique: Boundary Value Analysis (moves and links just outside their ranges).
+     * * Description: A valid header is not enough: a move off the board or a child past the last
+     * node makes the whole book invalid, so readers never get a cell or node they cannot use.
+     * The same node at the last valid move and symmetry ordinal is accepted.
+     */
+    @Test
+    public void testCorruptNodes() throws IOException {
+        assertThrows(IOException.class, () -> OpeningBook.wrap(oneNode(100, 0)));
+        assertThrows(IOException.class, () -> OpeningBook.wrap(oneNode(-1, 0)));
+        assertThrows(IOException.class, () -> OpeningBook.wrap(oneNode(0, 1 << OpeningBook.SYMMETRY_BITS)));
+        assertThrows(IOException.class, () -> OpeningBook.wrap(oneNode(0, -1)));
+
+        OpeningBook book = OpeningBook.wrap(oneNode(99, Symmetry.COUNT - 1));
+
+        assertEquals(99, book.getMove(0));
+        assertEquals(-1, book.getChild(0, AttackResult.SUNK));
+    }
+
+    private static ByteBuffer oneNode(int move, int sunkLink) {
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_BYTES + OpeningBook.NODE_BYTES);
+        buffer.putInt(OpeningBook.MAGIC).putInt(OpeningBook.VERSION).putInt(10).putInt(1);
+        buffer.putInt(move).putInt(0).putInt(0).putInt(sunkLink).flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,73 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Coordinate;
+import es.uab.tqs.battleship.model.Game;
+import es.uab.tqs.battleship.model.GameStatus;
+import es.uab.tqs.battleship.model.Orientation;
+import es.uab.tqs.battleship.model.PlacementIndex;
+import es.uab.tqs.battleship.model.Ship;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Unit tests for the PlacementLearningStrategy class.
+ */
+public class PlacementLearningStrategyTest {
+
+    /**
+     * Test Case: Verify learning the player's placements.
+     * * Type: Integration Testing
+     * * Technique: State Transition Testing (game over).
+     * * Description: The live strategy keeps choosing the moves and is handed the prior, and
+     * the player's fleet is recorded into the prior once the game ends, and not before.
+     */
+    @Test
+    public void testRecordsPlayerFleetWhenGameEnds() {
+        PlacementPrior prior = new PlacementPrior(10);
+        ProbabilityDensityStrategy density = new ProbabilityDensityStrategy(new Random(1));
+        PlacementLearningStrategy learning = new PlacementLearningStrategy(prior, density);
+        Game game = new Game(new BitBoard(10), new BitBoard(10), learning, new RandomPlacementStrategy());
+
+        assertEquals("density", learning.getName());
+        assertSame(density, learning.getLiveStrategy());
+        assertSame(prior, learning.getPlacementPrior());
+        game.getPlayerBoard().placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        game.getComputerBoard().placeShip(new Ship(ShipType.DESTROYER), new Coordinate(5, 5), Orientation.HORIZONTAL);
+        game.startGame();
+
+        game.processPlayerAttack(5, 5);
+        assertEquals(0, prior.getFleetCount());
+        game.processComputerAttack();
+        game.processPlayerAttack(6, 5);
+
+        assertEquals(GameStatus.PLAYER_WON, game.getStatus());
+        assertEquals(1, prior.getFleetCount());
+        assertEquals(1, prior.getCount(ShipType.DESTROYER,
+                PlacementIndex.forSize(10).encode(0, 0, Orientation.HORIZONTAL)));
+    }
+
+    /**
+     * Test Case: Verify that learning can be stopped.
+     * * Type: Unit Testing
+     * * Technique: State Verification.
+     * * Description: Once the prior is cleared, the end of a game records nothing.
+     */
+    @Test
+    public void testStopLearning() {
+        PlacementPrior prior = new PlacementPrior(10);
+        PlacementLearningStrategy learning = new PlacementLearningStrategy(prior, new RandomAttackStrategy());
+        BitBoard board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+
+        learning.usePlacementPrior(null);
+        learning.onGameOver(board);
+
+        assertNull(learning.getPlacementPrior());
+        assertEquals(0, prior.getFleetCount());
+    }
+}
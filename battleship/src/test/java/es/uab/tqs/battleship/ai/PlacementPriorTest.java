@@ -0,0 +1,177 @@
+package es.uab.tqs.battleship.ai;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.Coordinate;
+import es.uab.tqs.battleship.model.Orientation;
+import es.uab.tqs.battleship.model.PlacementIndex;
+import es.uab.tqs.battleship.model.Ship;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Unit tests for the PlacementPrior class.
+ */
+public class PlacementPriorTest {
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Builds a 10x10 board with a Cruiser in the top-left corner and a
+     * Submarine along the bottom edge.
+     */
+    private static Board cornerFleet() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.CRUISER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.SUBMARINE), new Coordinate(4, 9), Orientation.HORIZONTAL);
+        return board;
+    }
+
+    /**
+     * Test Case: Verify recording fleets and the weights derived from them.
+     * * Type: Unit Testing
+     * * Technique: Expected Value (smoothed frequencies).
+     * * Description: An empty prior weights every placement as uniform. After 20 fleets, the
+     * placements seen count 20 times and a board of another size is ignored. The weights of
+     * length 3, shared by the Cruiser and the Submarine, favour both over placements never seen.
+     */
+    @Test
+    public void testRecordAndWeights() {
+        PlacementIndex index = PlacementIndex.forSize(10);
+        int cruiser = index.encode(0, 0, Orientation.HORIZONTAL);
+        int submarine = index.encode(4, 9, Orientation.HORIZONTAL);
+        int unseen = index.encode(5, 5, Orientation.VERTICAL);
+        PlacementPrior prior = new PlacementPrior(10);
+        assertEquals(PlacementPrior.SCALE, prior.weights(3)[unseen]);
+
+        for (int i = 0; i < 20; i++) {
+            prior.record(cornerFleet());
+        }
+        prior.record(new BitBoard(8));
+
+        assertEquals(20, prior.getFleetCount());
+        assertEquals(20, prior.getCount(ShipType.CRUISER, cruiser));
+        assertEquals(0, prior.getCount(ShipType.CRUISER, submarine));
+        int[] weights = prior.weights(3);
+        assertTrue(weights[cruiser] > PlacementPrior.SCALE);
+        assertEquals(weights[cruiser], weights[submarine]);
+        assertTrue(weights[unseen] < PlacementPrior.SCALE && weights[unseen] > 0);
+        assertEquals(PlacementPrior.SCALE, prior.weights(5)[unseen]);
+    }
+
+    /**
+     * Test Case: Verify concurrent recording.
+     * * Type: Concurrency Testing
+     * * Technique: Stress Testing.
+     * * Description: Four threads recording 1,000 fleets each lose no update.
+     */
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        PlacementPrior prior = new PlacementPrior(10);
+        Board board = cornerFleet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    prior.record(board);
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(4000, prior.getFleetCount());
+        assertEquals(4000, prior.getCount(ShipType.CRUISER, PlacementIndex.forSize(10).encode(0, 0,
+                Orientation.HORIZONTAL)));
+    }
+
+    /**
+     * Test Case: Verify saving and loading.
+     * * Type: Unit Testing
+     * * Technique: Round-trip Testing (file format).
+     * * Description: A saved prior loads back with the same counts; only the placements seen are
+     * stored, and a missing file gives an empty prior.
+     */
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        PlacementPrior prior = new PlacementPrior(10);
+        prior.record(cornerFleet());
+        Path file = directory.resolve("prior.bin");
+
+        prior.save(file);
+        PlacementPrior loaded = PlacementPrior.load(file);
+
+        assertEquals(24 + ShipType.values().length * 8 + 2 * 12, Files.size(file));
+        assertEquals(10, loaded.getSize());
+        assertEquals(1, loaded.getFleetCount());
+        assertArrayEquals(prior.weights(3), loaded.weights(3));
+        assertEquals(0, PlacementPrior.loadOrCreate(directory.resolve("missing.bin"), 10).getFleetCount());
+    }
+
+    /**
+     * Test Case: Verify rejection of invalid files.
+     * * Type: Unit Testing
+     * * Technique: Error Guessing (wrong magic, wrong version, truncated entries).
+     * * Description: Files that are not priors, priors of another version and truncated priors
+     * are rejected with an IOException.
+     */
+    @Test
+    public void testInvalidFiles() throws IOException {
+        Path text = directory.resolve("text.bin");
+        Files.write(text, "not a prior, clearly not a prior".getBytes());
+        assertThrows(IOException.class, () -> PlacementPrior.load(text));
+
+        ByteBuffer header = ByteBuffer.allocate(24);
+        header.putInt(PlacementPrior.MAGIC).putInt(PlacementPrior.VERSION + 1).putInt(10)
+                .putInt(ShipType.values().length).putLong(0);
+        Path version = directory.resolve("version.bin");
+        Files.write(version, header.array());
+        assertThrows(IOException.class, () -> PlacementPrior.load(version));
+
+        header.putInt(4, PlacementPrior.VERSION);
+        Path truncated = directory.resolve("truncated.bin");
+        Files.write(truncated, header.array());
+        assertThrows(IOException.class, () -> PlacementPrior.load(truncated));
+    }
+
+    /**
+     * Test Case: Verify periodic saving.
+     * * Type: Integration Testing
+     * * Technique: State Verification (background task).
+     * * Description: With autosave on, a recorded fleet reaches the file within a few periods;
+     * closing the prior saves the fleets recorded since, and stops the background saves.
+     */
+    @Test
+    public void testAutosave() throws Exception {
+        PlacementPrior prior = new PlacementPrior(10);
+        Path file = directory.resolve("auto.bin");
+        assertThrows(IllegalArgumentException.class, () -> prior.startAutosave(file, Duration.ZERO));
+
+        prior.startAutosave(file, Duration.ofMillis(20));
+        prior.record(cornerFleet());
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!Files.exists(file) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, PlacementPrior.load(file).getFleetCount());
+
+        prior.record(cornerFleet());
+        prior.close();
+        assertEquals(2, PlacementPrior.load(file).getFleetCount());
+        assertNull(prior.getLastSaveError());
+    }
+}
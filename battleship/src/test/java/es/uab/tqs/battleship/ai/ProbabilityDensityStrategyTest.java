@@ -0,0 +1,233 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.AttackResult;
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.ByteBoard;
+import es.uab.tqs.battleship.model.Coordinate;
+import es.uab.tqs.battleship.model.HeatmapIndex;
+import es.uab.tqs.battleship.model.Orientation;
+import es.uab.tqs.battleship.model.Ship;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Unit tests for the ProbabilityDensityStrategy class.
+ */
+public class ProbabilityDensityStrategyTest {
+
+    /**
+     * Test Case: Verify the density of an empty board.
+     * * Type: White Box Testing
+     * * Technique: Statement Coverage / Expected Value.
+     * * Description: With only a Destroyer afloat on a 10x10 board, a corner cell is covered by
+     * 2 placements and an inner cell by 4. The first target must be an inner cell.
+     */
+    @Test
+    public void testEmptyBoardDensity() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        ProbabilityDensityStrategy strategy = new ProbabilityDensityStrategy(new Random(1));
+
+        int target = strategy.nextTarget(board);
+
+        assertEquals(2, strategy.getDensity(0));
+        assertEquals(4, strategy.getDensity(55));
+        assertEquals(4, strategy.getDensity(target));
+    }
+
+    /**
+     * Test Case: Verify target mode after a hit.
+     * * Type: Black Box Testing
+     * * Technique: State Transition Testing (hunt -> target).
+     * * Description: After hitting a lone Destroyer in the middle of the board, the next target
+     * must be one of the four neighbours of the hit cell.
+     */
+    @Test
+    public void testTargetsNeighboursOfHit() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(4, 4), Orientation.HORIZONTAL);
+        ProbabilityDensityStrategy strategy = new ProbabilityDensityStrategy(new Random(1));
+
+        int hit = board.cellIndex(4, 4);
+        strategy.onAttackResult(board, hit, board.processAttack(hit));
+        int target = strategy.nextTarget(board);
+
+        assertTrue(target == hit - 1 || target == hit + 1 || target == hit - 10 || target == hit + 10);
+    }
+
+    /**
+     * Test Case: Verify that misses and sunk ships remove placements.
+     * * Type: White Box Testing
+     * * Technique: State Verification.
+     * * Description: After a miss and sinking the Destroyer, the missed cell and the cells of the
+     * sunk ship get no density, while the Cruiser still afloat keeps covering the rest.
+     */
+    @Test
+    public void testSunkShipsAndMisses() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.CRUISER), new Coordinate(0, 9), Orientation.HORIZONTAL);
+        ProbabilityDensityStrategy strategy = new ProbabilityDensityStrategy(new Random(1));
+        strategy.nextTarget(board);
+
+        strategy.onAttackResult(board, 55, board.processAttack(55));
+        strategy.onAttackResult(board, 0, board.processAttack(0));
+        assertEquals(AttackResult.SUNK, board.processAttack(1));
+        strategy.onAttackResult(board, 1, AttackResult.SUNK);
+        strategy.nextTarget(board);
+
+        assertEquals(0, strategy.getDensity(55));
+        assertEquals(0, strategy.getDensity(1));
+        assertEquals(0, strategy.getDensity(0));
+        assertTrue(strategy.getDensity(92) > 0);
+    }
+
+    /**
+     * Test Case: Verify that the density is the incremental heatmap of the board.
+     * * Type: Integration Testing
+     * * Technique: Oracle comparison (heatmap built from scratch).
+     * * Description: Once the strategy has followed a game through a miss, two hits in a row
+     * and a sunk Destroyer, its density must equal, cell by cell, the heat of a heatmap built
+     * from the final board, hit weighting included.
+     */
+    @Test
+    public void testDensityFollowsHeatmap() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.CARRIER), new Coordinate(3, 5), Orientation.HORIZONTAL);
+        ProbabilityDensityStrategy strategy = new ProbabilityDensityStrategy(new Random(5));
+        strategy.nextTarget(board);
+
+        for (int cell : new int[] {44, 55, 56, 0, 1}) {
+            strategy.onAttackResult(board, cell, board.processAttack(cell));
+        }
+        strategy.nextTarget(board);
+
+        HeatmapIndex oracle = HeatmapIndex.attach(board);
+        for (int cell = 0; cell < 100; cell++) {
+            assertEquals(oracle.getHeat(cell), strategy.getDensity(cell), "cell " + cell);
+        }
+    }
+
+    /**
+     * Test Case: Verify that the strategy picks up a board mid-game.
+     * * Type: Unit Testing
+     * * Technique: State Verification (resynchronisation).
+     * * Description: A strategy that has never seen the board reads the attacks already made, so
+     * after a hit it goes straight to target mode and never fires at an attacked cell.
+     */
+    @Test
+    public void testSyncsWithBoardInProgress() {
+        Board board = new ByteBoard(10);
+        board.placeShip(new Ship(ShipType.BATTLESHIP), new Coordinate(2, 2), Orientation.VERTICAL);
+        board.processAttack(2, 3);
+        board.processAttack(7, 7);
+
+        int target = new ProbabilityDensityStrategy(new Random(3)).nextTarget(board);
+
+        assertTrue(target == 22 || target == 42 || target == 31 || target == 33);
+    }
+
+    /**
+     * Test Case: Verify weighting placements by a prior.
+     * * Type: Black Box Testing
+     * * Technique: Equivalence Testing (with and without prior).
+     * * Description: Without a prior, a lone Destroyer is looked for away from the corners. Once
+     * players were seen to put it in the top-left corner again and again, the first shot goes
+     * there, on later boards too, until the prior is removed.
+     */
+    @Test
+    public void testPlacementPrior() {
+        PlacementPrior prior = new PlacementPrior(10);
+        Board seen = new BitBoard(10);
+        seen.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        for (int i = 0; i < 100; i++) {
+            prior.record(seen);
+        }
+        ProbabilityDensityStrategy strategy = new ProbabilityDensityStrategy(new Random(7));
+
+        int uniform = strategy.nextTarget(destroyerBoard());
+        strategy.usePlacementPrior(prior);
+        int first = strategy.nextTarget(destroyerBoard());
+        int second = strategy.nextTarget(destroyerBoard());
+        strategy.usePlacementPrior(null);
+        strategy.nextTarget(destroyerBoard());
+
+        assertTrue(uniform != 0 && uniform != 1, "uniform " + uniform);
+        assertTrue(first == 0 || first == 1, "first " + first);
+        assertTrue(second == 0 || second == 1, "second " + second);
+        assertTrue(strategy.getDensity(0) < strategy.getDensity(44));
+    }
+
+    private static Board destroyerBoard() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(5, 5), Orientation.VERTICAL);
+        return board;
+    }
+
+    /**
+     * Test Case: Verify the strength of the strategy over full games.
+     * * Type: Performance / Black Box Testing
+     * * Technique: Simulation.
+     * * Description: Against randomly placed standard fleets, the average number of shots needed
+     * to sink everything must be far below the ~95 shots of random targeting.
+     */
+    @Test
+    public void testFinishesGamesQuickly() {
+        Random random = new Random(42);
+        int games = 30;
+        int totalShots = 0;
+
+        for (int g = 0; g < games; g++) {
+            Board board = new BitBoard(10);
+            for (ShipType type : ShipType.values()) {
+                Ship ship = new Ship(type);
+                while (!board.placeShip(ship, Coordinate.of(random.nextInt(10), random.nextInt(10)),
+                        random.nextBoolean() ? Orientation.HORIZONTAL : Orientation.VERTICAL)) {
+                    // retry until the ship fits
+                }
+            }
+
+            AttackStrategy strategy = new ProbabilityDensityStrategy(random);
+            while (!board.allShipsSunk()) {
+                int cell = strategy.nextTarget(board);
+                assertFalse(board.isAttacked(cell));
+                strategy.onAttackResult(board, cell, board.processAttack(cell));
+                totalShots++;
+            }
+        }
+
+        assertTrue(totalShots / games < 70, "average shots: " + totalShots / games);
+    }
+
+    /**
+     * Test Case: Verify that the strategy shares the board's heatmap and lets go of it.
+     * * Type: Unit Testing
+     * * Technique: State Transition Testing (game over).
+     * * Description: Two strategies on one board read the same shared heatmap. Once the game
+     * is over for both, nobody uses it any more, and the next user gets a new heatmap.
+     */
+    @Test
+    public void testSharesHeatmapAndDetachesOnGameOver() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.CRUISER), new Coordinate(4, 4), Orientation.VERTICAL);
+        ProbabilityDensityStrategy first = new ProbabilityDensityStrategy(new Random(1));
+        ProbabilityDensityStrategy second = new ProbabilityDensityStrategy(new Random(2));
+        first.nextTarget(board);
+        second.nextTarget(board);
+
+        HeatmapIndex shared = HeatmapIndex.attachShared(board);
+        first.onGameOver(board);
+        second.onGameOver(board);
+        shared.detach();
+
+        HeatmapIndex next = HeatmapIndex.attachShared(board);
+        assertNotSame(shared, next);
+        next.detach();
+    }
+}
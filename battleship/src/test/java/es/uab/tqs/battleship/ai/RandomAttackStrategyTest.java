@@ -0,0 +1,40 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Board;
+
+/**
+ * Unit tests for the RandomAttackStrategy class.
+ */
+public class RandomAttackStrategyTest {
+
+    /**
+     * Test Case: Verify that random targeting never repeats a cell.
+     * * Type: Black Box Testing
+     * * Technique: Loop Testing (whole board).
+     * * Description: Attacking a 4x4 board 16 times with the targets chosen by the strategy
+     * must cover every cell exactly once.
+     */
+    @Test
+    public void testCoversBoardWithoutRepeats() {
+        Board board = new BitBoard(4);
+        AttackStrategy strategy = new RandomAttackStrategy(new Random(7));
+        Set<Integer> targets = new HashSet<>();
+
+        for (int i = 0; i < 16; i++) {
+            int cell = strategy.nextTarget(board);
+            assertFalse(board.isAttacked(cell));
+            board.processAttack(cell);
+            targets.add(cell);
+        }
+
+        assertEquals(16, targets.size());
+    }
+}
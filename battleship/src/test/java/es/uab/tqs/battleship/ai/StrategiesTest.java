@@ -0,0 +1,47 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Strategies service lookup.
+ */
+public class StrategiesTest {
+
+    /**
+     * Test Case: Verify discovery of the built-in strategies.
+     * * Type: Integration Testing
+     * * Technique: Black Box Testing (ServiceLoader registration).
+     * * Description: The strategies shipped with the game are registered in META-INF/services
+     * and can be listed and looked up by name; each lookup returns a fresh instance.
+     */
+    @Test
+    public void testBuiltInStrategies() {
+        List<String> attacks = Strategies.attackStrategies().stream()
+                .map(AttackStrategy::getName).collect(Collectors.toList());
+        List<String> placements = Strategies.placementStrategies().stream()
+                .map(PlacementStrategy::getName).collect(Collectors.toList());
+
+        assertTrue(attacks.containsAll(List.of("random", "density", "montecarlo", "exact", "entropy", "hunt")));
+        assertTrue(placements.containsAll(List.of("random", "uniform")));
+        assertTrue(Strategies.attackStrategy("density") instanceof ProbabilityDensityStrategy);
+        assertNotSame(Strategies.attackStrategy("density"), Strategies.attackStrategy("density"));
+        assertTrue(Strategies.placementStrategy("random") instanceof RandomPlacementStrategy);
+        assertTrue(Strategies.placementStrategy("uniform") instanceof UniformPlacementStrategy);
+    }
+
+    /**
+     * Test Case: Verify lookup of an unknown name.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Partitioning - Invalid Class.
+     * * Description: Unknown names are rejected with an IllegalArgumentException.
+     */
+    @Test
+    public void testUnknownStrategy() {
+        assertThrows(IllegalArgumentException.class, () -> Strategies.attackStrategy("oracle"));
+        assertThrows(IllegalArgumentException.class, () -> Strategies.placementStrategy("oracle"));
+    }
+}
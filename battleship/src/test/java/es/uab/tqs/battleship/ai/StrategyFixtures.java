@@ -0,0 +1,56 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import es.uab.tqs.battleship.model.BitBoard;
+import es.uab.tqs.battleship.model.Board;
+import es.uab.tqs.battleship.model.FleetGenerator;
+import es.uab.tqs.battleship.model.ShipType;
+
+/**
+ * Fixtures shared by the tests of the sampling strategies.
+ */
+final class StrategyFixtures {
+
+    /** Pool of four workers shared by the tests; its threads are daemons. */
+    static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private StrategyFixtures() {
+    }
+
+    /**
+     * Places the standard fleet uniformly at random on a 10x10 board.
+     *
+     * @param seed The seed of the fleet generator.
+     * @return The board, with no cell attacked.
+     */
+    static Board fullFleet(long seed) {
+        Board board = new BitBoard(10);
+        ShipType[] fleet = ShipType.values();
+        new FleetGenerator(10, fleet, FleetGenerator.Mode.UNIFORM, new SplittableRandom(seed)).place(board, fleet);
+        return board;
+    }
+
+    /**
+     * Plays a strategy against a board until every ship is sunk, checking
+     * that no cell is targeted twice.
+     *
+     * @param board    The opponent board.
+     * @param strategy The strategy under test.
+     * @return The number of shots fired.
+     * @throws IllegalStateException if a cell is targeted twice.
+     */
+    static int playToEnd(Board board, AttackStrategy strategy) {
+        int shots = 0;
+        while (!board.allShipsSunk()) {
+            int cell = strategy.nextTarget(board);
+            if (board.isAttacked(cell)) {
+                throw new IllegalStateException("Cell targeted twice: " + cell);
+            }
+            strategy.onAttackResult(board, cell, board.processAttack(cell));
+            shots++;
+        }
+        return shots;
+    }
+}
@@ -0,0 +1,36 @@
+package es.uab.tqs.battleship.ai;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the StrategyMetrics class.
+ */
+public class StrategyMetricsTest {
+
+    /**
+     * Test Case: Verify aggregation of recorded calls.
+     * * Type: Unit Testing
+     * * Technique: State Verification.
+     * * Description: Count, total, maximum and mean are aggregated per name; unknown names report
+     * zeros and reset forgets everything.
+     */
+    @Test
+    public void testRecordAndReset() {
+        StrategyMetrics metrics = new StrategyMetrics();
+        metrics.record("attack/density", 100);
+        metrics.record("attack/density", 300);
+        metrics.record("attack/random", 5);
+
+        StrategyMetrics.Timing density = metrics.getTiming("attack/density");
+        assertEquals(2, density.getCount());
+        assertEquals(400, density.getTotalNanos());
+        assertEquals(300, density.getMaxNanos());
+        assertEquals(200.0, density.getMeanNanos());
+        assertEquals(2, metrics.getTimings().size());
+        assertEquals(0, metrics.getTiming("attack/none").getCount());
+
+        metrics.reset();
+        assertTrue(metrics.getTimings().isEmpty());
+    }
+}
@@ -0,0 +1,134 @@
+package es.uab.tqs.battleship.ai;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TranspositionTable class.
+ */
+public class TranspositionTableTest {
+
+    /**
+     * Test Case: Verify storing and probing entries.
+     * * Type: Unit Testing
+     * * Technique: Round-trip Testing / Boundary Value Analysis (value range).
+     * * Description: Stored depths and values, negative and extreme ones included, are read back;
+     * unknown keys are reported as NOT_FOUND; the statistics count every probe and hit.
+     */
+    @Test
+    public void testStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1000);
+        assertEquals(1024, table.getCapacity());
+        long max = (1L << 47) - 1;
+
+        assertTrue(table.store(0x1234_5678_9ABCL, 3, -42));
+        assertTrue(table.store(0x0F0F_0F0F_0F0F_0F0FL, TranspositionTable.MAX_DEPTH, max));
+        long first = table.probe(0x1234_5678_9ABCL);
+        long second = table.probe(0x0F0F_0F0F_0F0F_0F0FL);
+
+        assertEquals(3, TranspositionTable.depthOf(first));
+        assertEquals(-42, TranspositionTable.valueOf(first));
+        assertEquals(TranspositionTable.MAX_DEPTH, TranspositionTable.depthOf(second));
+        assertEquals(max, TranspositionTable.valueOf(second));
+        assertEquals(TranspositionTable.NOT_FOUND, table.probe(77));
+        assertEquals(3, table.getProbes());
+        assertEquals(2, table.getHits());
+        assertEquals(2.0 / 3, table.getHitRate(), 1e-9);
+
+        table.clear();
+        assertEquals(TranspositionTable.NOT_FOUND, table.probe(0x1234_5678_9ABCL));
+        table.resetStats();
+        assertEquals(0, table.getProbes());
+        assertEquals(0, table.getHitRate());
+    }
+
+    /**
+     * Test Case: Verify the replace-by-depth policy.
+     * * Type: Unit Testing
+     * * Technique: Decision Table Testing (same key / other key, shallower / deeper).
+     * * Description: Two keys sharing a slot: a shallower entry does not evict a deeper one, an
+     * entry at least as deep does, and a key always refreshes its own entry.
+     */
+    @Test
+    public void testReplaceByDepth() {
+        TranspositionTable table = new TranspositionTable(16);
+        long a = 5;
+        long b = 5 + 16;
+
+        assertTrue(table.store(a, 4, 1));
+        assertFalse(table.store(b, 3, 2));
+        assertEquals(1, TranspositionTable.valueOf(table.probe(a)));
+        assertTrue(table.store(b, 4, 2));
+        assertEquals(TranspositionTable.NOT_FOUND, table.probe(a));
+        assertEquals(2, TranspositionTable.valueOf(table.probe(b)));
+        assertTrue(table.store(b, 0, 3));
+        assertEquals(3, TranspositionTable.valueOf(table.probe(b)));
+        assertEquals(1, table.getReplacements());
+        assertEquals(3, table.getStores());
+    }
+
+    /**
+     * Test Case: Verify invalid arguments.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Partitioning - Invalid Class.
+     * * Description: Sizes, depths and values out of range are rejected.
+     */
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TranspositionTable(0));
+        TranspositionTable table = new TranspositionTable(8);
+        assertThrows(IllegalArgumentException.class, () -> table.store(1, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> table.store(1, TranspositionTable.MAX_DEPTH + 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> table.store(1, 0, 1L << 47));
+    }
+
+    /**
+     * Test Case: Verify that concurrent writers never produce a wrong answer.
+     * * Type: Concurrency Testing
+     * * Technique: Stress Testing.
+     * * Description: Four threads store and probe random keys in a small table, each key always
+     * with a value derived from it. Every entry found must hold the value of its own key.
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        TranspositionTable table = new TranspositionTable(64);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                long seed = t;
+                results.add(executor.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    int found = 0;
+                    for (int i = 0; i < 200_000; i++) {
+                        long key = random.nextLong(1, 512) * 0x9E37_79B9_7F4A_7C15L;
+                        long entry = table.probe(key);
+                        if (entry != TranspositionTable.NOT_FOUND) {
+                            assertEquals(key & 0xFFFF_FFFFL, TranspositionTable.valueOf(entry));
+                            assertEquals((int) (key >>> 60), TranspositionTable.depthOf(entry));
+                            found++;
+                        }
+                        table.store(key, (int) (key >>> 60), key & 0xFFFF_FFFFL);
+                    }
+                    return found;
+                }));
+            }
+            int found = 0;
+            for (Future<Integer> result : results) {
+                found += result.get();
+            }
+            assertTrue(found > 0);
+            assertEquals(found, table.getHits());
+            assertEquals(800_000, table.getProbes());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
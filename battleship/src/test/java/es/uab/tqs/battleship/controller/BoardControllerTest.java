@@ -1,9 +1,5 @@
 package es.uab.tqs.battleship.controller;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -24,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import es.uab.tqs.battleship.model.Board;
 import es.uab.tqs.battleship.model.Cell;
+import es.uab.tqs.battleship.model.CellBoard;
 import es.uab.tqs.battleship.model.Coordinate;
 import es.uab.tqs.battleship.model.Orientation;
 import es.uab.tqs.battleship.model.Ship;
@@ -194,83 +191,54 @@ public class BoardControllerTest {
     /**
      * Test Case: Count remaining ships when all ships are active.
      * * Type: Black Box Testing
-     * * Technique: Loop Testing / Equivalence Partitioning.
-     * * Description: Verifies that getRemainingShips correctly iterates through the list of ships
-     * and counts all of them since none are sunk.
+     * * Technique: Equivalence Partitioning.
+     * * Description: Verifies that getRemainingShips reports the afloat counter kept by the board
+     * when none of the ships is sunk.
      * * Mock Interaction:
-     * 1. mockBoard.getShips() -> returns a list of 3 mock ships.
-     * 2. ship.isSunk() -> called on each element, returning false (active).
+     * 1. mockBoard.getRemainingShipCount() -> returns 3.
+     * 2. mockBoard.getShips() -> never called, no list is copied or scanned.
      */
     @Test
     public void testGetRemainingShipsAllActive() {
-        Ship mockShip1 = mock(Ship.class);
-        Ship mockShip2 = mock(Ship.class);
-        Ship mockShip3 = mock(Ship.class);
-
-        when(mockShip1.isSunk()).thenReturn(false);
-        when(mockShip2.isSunk()).thenReturn(false);
-        when(mockShip3.isSunk()).thenReturn(false);
-
-        List<Ship> ships = Arrays.asList(mockShip1, mockShip2, mockShip3);
-        when(mockBoard.getShips()).thenReturn(ships);
+        when(mockBoard.getRemainingShipCount()).thenReturn(3);
 
         int remaining = controller.getRemainingShips(mockBoard);
 
         assertEquals(3, remaining);
+        verify(mockBoard, never()).getShips();
     }
 
     /**
-     * Test Case: Count remaining ships when the list contains mixed states.
+     * Test Case: Count remaining ships when some ships are sunk.
      * * Type: Black Box Testing
-     * * Technique: Loop Testing  / Equivalence Partitioning.
-     * * Description: Verifies that getRemainingShips correctly filters the list of ships,
-     * counting only the ones where isSunk() returns false.
+     * * Technique: Equivalence Partitioning.
+     * * Description: Verifies that getRemainingShips returns exactly the number of active ships
+     * reported by the board, regardless of how many ships were placed.
      * * Mock Interaction:
-     * 1. mockBoard.getShips() -> returns a list of 3 ships.
-     * 2. mockShip.isSunk() -> configured to return mixed values (true/false), ensuring
-     * the conditional logic inside the loop accurately increments the counter only for active ships.
+     * 1. mockBoard.getRemainingShipCount() -> returns 2 (one of three ships sunk).
      */
     @Test
     public void testGetRemainingShipsSomeSunk() {
-        Ship mockShip1 = mock(Ship.class);
-        Ship mockShip2 = mock(Ship.class);
-        Ship mockShip3 = mock(Ship.class);
-
-        when(mockShip1.isSunk()).thenReturn(true);
-        when(mockShip2.isSunk()).thenReturn(false);
-        when(mockShip3.isSunk()).thenReturn(false);
-
-        List<Ship> ships = Arrays.asList(mockShip1, mockShip2, mockShip3);
-        when(mockBoard.getShips()).thenReturn(ships);
+        when(mockBoard.getRemainingShipCount()).thenReturn(2);
 
         int remaining = controller.getRemainingShips(mockBoard);
 
         assertEquals(2, remaining);
-        verify(mockShip1).isSunk();
-        verify(mockShip2).isSunk();
-        verify(mockShip3).isSunk();
+        verify(mockBoard).getRemainingShipCount();
     }
 
     /**
      * Test Case: Count remaining ships when all ships have been sunk.
      * * Type: Black Box Testing
      * * Technique: Equivalence Partitioning / Boundary Value.
-     * * Description: Verifies that getRemainingShips returns 0 when the isSunk() method
-     * returns true for every ship in the list.
+     * * Description: Verifies that getRemainingShips returns 0 when the board reports that no
+     * ship is afloat.
      * * Mock Interaction:
-     * 1. mockBoard.getShips() -> returns a list of ships.
-     * 2. mockShip.isSunk() -> returns true for all elements, ensuring the counter remains at 0.
+     * 1. mockBoard.getRemainingShipCount() -> returns 0.
      */
     @Test
     public void testGetRemainingShipsAllSunk() {
-        Ship mockShip1 = mock(Ship.class);
-        Ship mockShip2 = mock(Ship.class);
-
-        when(mockShip1.isSunk()).thenReturn(true);
-        when(mockShip2.isSunk()).thenReturn(true);
-
-        List<Ship> ships = Arrays.asList(mockShip1, mockShip2);
-        when(mockBoard.getShips()).thenReturn(ships);
+        when(mockBoard.getRemainingShipCount()).thenReturn(0);
 
         int remaining = controller.getRemainingShips(mockBoard);
 
@@ -278,52 +246,47 @@ public class BoardControllerTest {
     }
 
     /**
-     * Test Case: Count remaining ships when the board has no ships.
-     * * Type: Black Box Testing
-     * * Technique: Equivalence Partitioning / Edge Case.
-     * * Description: Verifies that getRemainingShips returns 0 when the list of ships
-     * provided by the board is empty, ensuring the loop handles empty lists safely.
-     * * Mock Interaction:
-     * 1. mockBoard.getShips() -> returns an empty list (Collections.emptyList()).
+     * Test Case: Count remaining ships on a real board.
+     * * Type: Integration Testing
+     * * Technique: State Transition Testing (Afloat -> Sunk).
+     * * Description: Verifies the counter end to end: an empty board reports 0, placing ships
+     * increases the count, and sinking one of them decreases it.
      */
     @Test
-    public void testGetRemainingShipsNoShips() {
-        when(mockBoard.getShips()).thenReturn(Collections.emptyList());
+    public void testGetRemainingShipsRealBoard() {
+        Board board = new CellBoard(10);
+        assertEquals(0, controller.getRemainingShips(board));
 
-        int remaining = controller.getRemainingShips(mockBoard);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.CRUISER), new Coordinate(0, 2), Orientation.HORIZONTAL);
+        assertEquals(2, controller.getRemainingShips(board));
 
-        assertEquals(0, remaining);
+        board.processAttack(0, 0);
+        board.processAttack(1, 0);
+        assertEquals(1, controller.getRemainingShips(board));
     }
 
     /**
      * Test Case: Verify that board statistics are correctly displayed.
      * * Type: White Box Testing
      * * Technique: Statement Coverage.
-     * * Description: Verifies that displayBoardStats retrieves the ship status from the board
+     * * Description: Verifies that displayBoardStats retrieves the ship counters from the board
      * and triggers the View to display messages. It ensures the interaction happens the expected
      * number of times.
      * * Mock Interaction:
-     * 1. mockBoard.getShips() -> provides the data (3 ships).
+     * 1. mockBoard.getShipCount() / getRemainingShipCount() -> provide the data (3 ships, 2 afloat).
      * 2. mockView.displayMessage() -> verifies that the view is updated at least 4 times,
      * confirming that data flows from the Model to the View correctly.
      */
     @Test
     public void testDisplayBoardStats() {
-        Ship mockShip1 = mock(Ship.class);
-        Ship mockShip2 = mock(Ship.class);
-        Ship mockShip3 = mock(Ship.class);
-
-        when(mockShip1.isSunk()).thenReturn(true);
-        when(mockShip2.isSunk()).thenReturn(false);
-        when(mockShip3.isSunk()).thenReturn(false);
-
-        List<Ship> ships = Arrays.asList(mockShip1, mockShip2, mockShip3);
-        when(mockBoard.getShips()).thenReturn(ships);
+        when(mockBoard.getRemainingShipCount()).thenReturn(2);
         when(mockBoard.getShipCount()).thenReturn(3);
 
         controller.displayBoardStats(mockBoard);
 
         verify(mockView, atLeast(4)).displayMessage(anyString());
+        verify(mockView).displayMessage("  Sunk ships: 1");
     }
 
     /**
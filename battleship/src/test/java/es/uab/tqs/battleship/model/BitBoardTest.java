@@ -0,0 +1,75 @@
+package es.uab.tqs.battleship.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Board contract tests against the bitset implementation, plus the
+ * checks that only make sense for packed storage.
+ */
+public class BitBoardTest extends BoardTest {
+
+    @Override
+    protected Board createBoard(int size) {
+        return new BitBoard(size);
+    }
+
+    /**
+     * Test Case: Verify placement of a ship whose bits span two words.
+     * * Type: White Box Testing
+     * * Technique: Boundary Value Analysis (Word Boundary).
+     * * Description: On a 12x12 board, row 5 starts at bit 60, so a horizontal CARRIER at (2, 5)
+     * covers bits 62..66 and crosses the first 64-bit word. Verifies that both the free check and
+     * the overlap check handle the boundary correctly.
+     */
+    @Test
+    public void testHorizontalPlacementAcrossWordBoundary() {
+        Board wide = createBoard(12);
+        Ship carrier = new Ship(ShipType.CARRIER);
+        Ship destroyer = new Ship(ShipType.DESTROYER);
+
+        assertTrue(wide.placeShip(carrier, new Coordinate(2, 5), Orientation.HORIZONTAL));
+        assertTrue(wide.getCell(6, 5).hasShip());
+        assertFalse(wide.isValidPlacement(destroyer, new Coordinate(6, 5), Orientation.HORIZONTAL));
+        assertTrue(wide.isValidPlacement(destroyer, new Coordinate(7, 5), Orientation.HORIZONTAL));
+    }
+
+    /**
+     * Test Case: Verify that cell views reflect the board state.
+     * * Type: White Box Testing
+     * * Technique: State Transition Testing (SHIP -> HIT, EMPTY -> MISS).
+     * * Description: Cells returned by a BitBoard are views over the bitsets. Verifies that their
+     * state follows the attacks processed by the board and that they resolve the ship placed on them.
+     */
+    @Test
+    public void testCellViewTracksBoardState() {
+        Ship ship = new Ship(ShipType.DESTROYER);
+        board.placeShip(ship, new Coordinate(0, 0), Orientation.VERTICAL);
+
+        assertEquals(CellState.SHIP, board.getCell(0, 1).getState());
+        assertSame(ship, board.getCell(0, 1).getShip());
+
+        board.processAttack(new Coordinate(0, 1));
+        board.processAttack(new Coordinate(1, 1));
+
+        assertEquals(CellState.HIT, board.getCell(0, 1).getState());
+        assertEquals(CellState.MISS, board.getCell(1, 1).getState());
+        assertTrue(board.getCell(1, 1).isAlreadyAttacked());
+        assertNull(board.getCell(1, 1).getShip());
+    }
+
+    /**
+     * Test Case: Verify that cell views cannot be modified directly.
+     * * Type: Black Box Testing
+     * * Technique: Equivalence Partitioning - Invalid Operation.
+     * * Description: Verifies that setState and setShip on a view are rejected, since the state of
+     * a BitBoard can only change through the board itself.
+     */
+    @Test
+    public void testCellViewIsReadOnly() {
+        Cell cell = board.getCell(3, 3);
+
+        assertThrows(UnsupportedOperationException.class, () -> cell.setState(CellState.HIT));
+        assertThrows(UnsupportedOperationException.class, () -> cell.setShip(new Ship(ShipType.CRUISER)));
+    }
+}
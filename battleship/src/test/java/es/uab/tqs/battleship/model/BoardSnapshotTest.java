@@ -0,0 +1,122 @@
+package es.uab.tqs.battleship.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BoardSnapshot class.
+ */
+public class BoardSnapshotTest {
+
+    private BoardSnapshot snapshot;
+
+    @BeforeEach
+    public void setUp() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(2, 3), Orientation.VERTICAL);
+        board.placeShip(new Ship(ShipType.CRUISER), new Coordinate(5, 5), Orientation.HORIZONTAL);
+        snapshot = board.snapshot();
+    }
+
+    /**
+     * Test Case: Verify the initial state of a snapshot.
+     * * Type: Unit Testing / State Verification
+     * * Technique: Statement Coverage.
+     * * Description: A fresh snapshot reports the board size, no last result, every ship afloat
+     * and the ship cells as SHIP.
+     */
+    @Test
+    public void testInitialState() {
+        assertEquals(10, snapshot.getSize());
+        assertNull(snapshot.getLastResult());
+        assertEquals(2, snapshot.getRemainingShipCount());
+        assertEquals(5, snapshot.getRemainingSegmentCount());
+        assertFalse(snapshot.allShipsSunk());
+        assertEquals(CellState.SHIP, snapshot.getCellState(2, 4));
+        assertEquals(CellState.EMPTY, snapshot.getCellState(0, 0));
+    }
+
+    /**
+     * Test Case: Verify the results of applied attacks.
+     * * Type: Unit Testing / Functional
+     * * Technique: Equivalence Partitioning (MISS, HIT, SUNK, ALREADY_ATTACKED).
+     * * Description: Applies a sequence of attacks and checks the result and counters of each new
+     * snapshot, while the original snapshot stays untouched.
+     */
+    @Test
+    public void testApply() {
+        BoardSnapshot miss = snapshot.apply(0, 0);
+        assertEquals(AttackResult.MISS, miss.getLastResult());
+        assertEquals(CellState.MISS, miss.getCellState(0, 0));
+
+        BoardSnapshot hit = miss.apply(new Coordinate(2, 3));
+        assertEquals(AttackResult.HIT, hit.getLastResult());
+        assertEquals(4, hit.getRemainingSegmentCount());
+
+        BoardSnapshot sunk = hit.apply(4 * 10 + 2);
+        assertEquals(AttackResult.SUNK, sunk.getLastResult());
+        assertEquals(1, sunk.getRemainingShipCount());
+
+        BoardSnapshot again = sunk.apply(2, 4);
+        assertEquals(AttackResult.ALREADY_ATTACKED, again.getLastResult());
+        assertEquals(sunk, again);
+
+        assertFalse(snapshot.isAttacked(0, 0));
+        assertEquals(5, snapshot.getRemainingSegmentCount());
+    }
+
+    /**
+     * Test Case: Verify that equality does not depend on the order of the attacks.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Testing (transpositions).
+     * * Description: Reaching the same attacked cells in two different orders gives equal
+     * snapshots with equal hashes; a different set of attacked cells does not.
+     */
+    @Test
+    public void testEqualsAndHashCode() {
+        BoardSnapshot first = snapshot.apply(0, 0).apply(5, 5).apply(9, 9);
+        BoardSnapshot second = snapshot.apply(9, 9).apply(0, 0).apply(5, 5);
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(first.longHashCode(), second.longHashCode());
+        assertNotEquals(first, snapshot.apply(0, 0).apply(5, 5));
+        assertNotEquals(first, null);
+    }
+
+    /**
+     * Test Case: Verify that snapshots of different board implementations agree.
+     * * Type: Integration Testing
+     * * Technique: Equivalence Testing.
+     * * Description: The generic snapshot of a CellBoard and the shared-storage snapshot of a
+     * BitBoard with the same ships and attacks must be equal.
+     */
+    @Test
+    public void testSnapshotsAcrossImplementations() {
+        Board cells = new CellBoard(10);
+        Board bits = new BitBoard(10);
+        for (Board board : new Board[] {cells, bits}) {
+            board.placeShip(new Ship(ShipType.CARRIER), new Coordinate(0, 9), Orientation.HORIZONTAL);
+            board.processAttack(1, 9);
+            board.processAttack(3, 3);
+        }
+
+        assertEquals(cells.snapshot(), bits.snapshot());
+        assertEquals(cells.snapshot().hashCode(), bits.snapshot().hashCode());
+    }
+
+    /**
+     * Test Case: Verify bounds checks.
+     * * Type: Unit Testing / Boundary Value Analysis
+     * * Technique: Boundary Value Analysis.
+     * * Description: Positions and indexes just outside the board are rejected.
+     */
+    @Test
+    public void testOutOfBounds() {
+        assertThrows(IllegalArgumentException.class, () -> snapshot.apply(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.apply(-1));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.isAttacked(100));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getCellState(0, 10));
+    }
+}
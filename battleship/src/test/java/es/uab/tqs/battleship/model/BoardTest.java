@@ -1,16 +1,34 @@
 package es.uab.tqs.battleship.model;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
-public class BoardTest {
+/**
+ * Contract tests shared by every Board implementation.
+ * Concrete subclasses only provide the implementation under test.
+ */
+public abstract class BoardTest {
+
+    protected Board board;
 
-    private Board board;
+    /**
+     * Creates the Board implementation under test.
+     *
+     * @param size The dimension of the square board.
+     * @return A new, empty board.
+     */
+    protected abstract Board createBoard(int size);
 
     @BeforeEach
     public void setUp() {
-        board = new Board(10);
+        board = createBoard(10);
     }
 
     /**
@@ -23,7 +41,7 @@ public class BoardTest {
      */
     @Test
     public void testBoardInitialization() {
-        Board testBoard = new Board(10);
+        Board testBoard = createBoard(10);
         assertEquals(10, testBoard.getSize());
         assertEquals(0, testBoard.getShipCount());
         assertFalse(testBoard.allShipsSunk());
@@ -432,6 +450,27 @@ public class BoardTest {
         assertThrows(IllegalArgumentException.class, () -> board.getCell(-1, 5));
     }
 
+    /**
+     * Test Case: Verify ship lookup without a cell view.
+     * * Type: Black Box Testing
+     * * Technique: Equivalence Partitioning (Ship Cell / Empty Cell / Outside).
+     * * Description: Verifies that getShipAt returns the same ship as the cell view, before
+     * and after the ship is hit, null on water, and rejects positions outside the board.
+     */
+    @Test
+    public void testGetShipAt() {
+        Ship ship = new Ship(ShipType.CRUISER);
+        board.placeShip(ship, new Coordinate(2, 4), Orientation.VERTICAL);
+
+        assertSame(ship, board.getShipAt(2, 6));
+        assertSame(board.getCell(2, 6).getShip(), board.getShipAt(2, 6));
+        board.processAttack(2, 6);
+        assertSame(ship, board.getShipAt(2, 6));
+        assertNull(board.getShipAt(3, 6));
+        assertThrows(IllegalArgumentException.class, () -> board.getShipAt(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> board.getShipAt(0, -1));
+    }
+
     /**
      * Test Case: Verify ship list retrieval.
      * * Type: White Box Testing
@@ -451,4 +490,358 @@ public class BoardTest {
         assertTrue(board.getShips().contains(ship1));
         assertTrue(board.getShips().contains(ship2));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test Case: Verify the primitive attack overloads.
+     * * Type: Black Box Testing
+     * * Technique: Equivalence Partitioning (HIT / MISS / SUNK / ALREADY_ATTACKED).
+     * * Description: Verifies that processAttack(x, y) and processAttack(cellIndex) report the same
+     * results as the Coordinate overload, and that the row-major index maps to (index % size, index / size).
+     */
+    @Test
+    public void testProcessAttackPrimitiveOverloads() {
+        Ship ship = new Ship(ShipType.DESTROYER);
+        board.placeShip(ship, new Coordinate(2, 4), Orientation.HORIZONTAL);
+
+        assertEquals(42, board.cellIndex(2, 4));
+        assertEquals(AttackResult.HIT, board.processAttack(42));
+        assertEquals(AttackResult.SUNK, board.processAttack(3, 4));
+        assertEquals(AttackResult.MISS, board.processAttack(0));
+        assertEquals(AttackResult.ALREADY_ATTACKED, board.processAttack(0, 0));
+        assertEquals(AttackResult.ALREADY_ATTACKED, board.processAttack(new Coordinate(2, 4)));
+    }
+
+    /**
+     * Test Case: Verify the attacked-cell queries.
+     * * Type: Black Box Testing
+     * * Technique: State Transition Testing (Untouched -> Attacked).
+     * * Description: Verifies that isAttacked reports false for untouched cells (with or without a ship)
+     * and true once the cell has been hit or missed, using both the (x, y) and the index overload.
+     */
+    @Test
+    public void testIsAttacked() {
+        Ship ship = new Ship(ShipType.CRUISER);
+        board.placeShip(ship, new Coordinate(5, 5), Orientation.VERTICAL);
+
+        assertFalse(board.isAttacked(5, 5));
+        assertFalse(board.isAttacked(board.cellIndex(0, 9)));
+
+        board.processAttack(5, 5);
+        board.processAttack(0, 9);
+
+        assertTrue(board.isAttacked(5, 5));
+        assertTrue(board.isAttacked(board.cellIndex(0, 9)));
+        assertTrue(board.getCell(5, 5).isAlreadyAttacked());
+    }
+
+    /**
+     * Test Case: Verify bounds checking of the primitive overloads.
+     * * Type: Black Box Testing
+     * * Technique: Boundary Value Analysis (Invalid Lower and Upper Bounds).
+     * * Description: Verifies that out-of-range positions and indexes are rejected with an
+     * IllegalArgumentException instead of wrapping around into another cell.
+     */
+    @Test
+    public void testPrimitiveOverloadsOutOfBounds() {
+        assertThrows(IllegalArgumentException.class, () -> board.processAttack(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> board.processAttack(-1));
+        assertThrows(IllegalArgumentException.class, () -> board.processAttack(100));
+        assertThrows(IllegalArgumentException.class, () -> board.isAttacked(0, -1));
+        assertThrows(IllegalArgumentException.class, () -> board.isAttacked(100));
+    }
+
+    /**
+     * Test Case: Verify the afloat and unhit-segment counters.
+     * * Type: White Box Testing
+     * * Technique: State Transition Testing (Placed -> Damaged -> Sunk).
+     * * Description: Verifies that placing ships adds to both counters, that every new hit removes
+     * one unhit segment, that only the sinking hit removes a ship, and that misses and repeated
+     * attacks leave the counters untouched.
+     */
+    @Test
+    public void testRemainingCounters() {
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        board.placeShip(new Ship(ShipType.CRUISER), new Coordinate(5, 5), Orientation.VERTICAL);
+        assertEquals(2, board.getRemainingShipCount());
+        assertEquals(5, board.getRemainingSegmentCount());
+
+        board.processAttack(0, 0);
+        board.processAttack(0, 0);
+        board.processAttack(9, 9);
+        assertEquals(2, board.getRemainingShipCount());
+        assertEquals(4, board.getRemainingSegmentCount());
+
+        board.processAttack(1, 0);
+        assertEquals(1, board.getRemainingShipCount());
+        assertEquals(3, board.getRemainingSegmentCount());
+        assertFalse(board.allShipsSunk());
+    }
+
+    /**
+     * Test Case: Verify the live ship view and the ship visitor.
+     * * Type: White Box Testing
+     * * Technique: State Transition Testing / Behavior Verification.
+     * * Description: Verifies that getShipsView returns the same read-only instance on every call,
+     * reflects ships placed after it was obtained, rejects modification, and that forEachShip
+     * visits ships in placement order.
+     */
+    @Test
+    public void testShipsViewAndVisitor() {
+        Ship ship1 = new Ship(ShipType.CARRIER);
+        Ship ship2 = new Ship(ShipType.DESTROYER);
+        var view = board.getShipsView();
+
+        board.placeShip(ship1, new Coordinate(0, 0), Orientation.HORIZONTAL);
+        board.placeShip(ship2, new Coordinate(0, 2), Orientation.HORIZONTAL);
+
+        assertSame(view, board.getShipsView());
+        assertEquals(List.of(ship1, ship2), view);
+        assertThrows(UnsupportedOperationException.class, () -> view.add(new Ship(ShipType.CRUISER)));
+
+        List<Ship> visited = new ArrayList<>();
+        board.forEachShip(visited::add);
+        assertEquals(view, visited);
+    }
+
+    /**
+     * Test Case: Verify the listing of legal placements.
+     * * Type: Unit Testing / Functional
+     * * Technique: Equivalence Partitioning (empty board vs. partially occupied board).
+     * * Description: On an empty 10x10 board a Destroyer fits in 90 horizontal and 90 vertical
+     * positions. After placing a Carrier along the top row, every listed placement must be
+     * accepted by isValidPlacement and every rejected anchor must be missing from the list.
+     */
+    @Test
+    public void testLegalPlacements() {
+        int[] out = new int[2 * 10 * 10];
+
+        assertEquals(180, board.legalPlacements(ShipType.DESTROYER, out));
+        assertEquals(0, out[0]);
+        assertEquals(1, out[90]);
+
+        board.placeShip(new Ship(ShipType.CARRIER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        int count = board.legalPlacements(ShipType.DESTROYER, out);
+        Ship probe = new Ship(ShipType.DESTROYER);
+
+        int valid = 0;
+        for (Orientation orientation : Orientation.values()) {
+            for (int y = 0; y < 10; y++) {
+                for (int x = 0; x < 10; x++) {
+                    if (board.isValidPlacement(probe, new Coordinate(x, y), orientation)) {
+                        valid++;
+                    }
+                }
+            }
+        }
+        assertEquals(valid, count);
+        // Horizontal: 5 lost on the top row (x = 0..4). Vertical: 5 lost on the top row.
+        assertEquals(170, count);
+        for (int i = 0; i < count; i++) {
+            int anchor = out[i] >>> 1;
+            Orientation orientation = (out[i] & 1) == 0 ? Orientation.HORIZONTAL : Orientation.VERTICAL;
+            assertTrue(board.isValidPlacement(probe, new Coordinate(anchor % 10, anchor / 10), orientation));
+        }
+    }
+
+    /**
+     * Test Case: Verify that snapshots are isolated from the board.
+     * * Type: Unit Testing / State Verification
+     * * Technique: State Transition Testing.
+     * * Description: A snapshot taken before an attack must not see it, attacks applied to the
+     * snapshot must not reach the board, and applying on a snapshot the attack made on the board
+     * must give a snapshot equal to a fresh one of the board, with the same hash.
+     */
+    @Test
+    public void testSnapshotIsolation() {
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        BoardSnapshot before = board.snapshot();
+
+        board.processAttack(0, 0);
+        assertFalse(before.isAttacked(0, 0));
+        assertEquals(CellState.SHIP, before.getCellState(0, 0));
+
+        BoardSnapshot after = before.apply(0, 0);
+        assertEquals(AttackResult.HIT, after.getLastResult());
+        assertEquals(board.snapshot(), after);
+        assertEquals(board.snapshot().hashCode(), after.hashCode());
+        assertNotEquals(before, after);
+
+        BoardSnapshot sunk = after.apply(1, 0);
+        assertEquals(AttackResult.SUNK, sunk.getLastResult());
+        assertTrue(sunk.allShipsSunk());
+        assertFalse(board.isAttacked(1, 0));
+        assertEquals(1, board.getRemainingShipCount());
+    }
+
+    /**
+     * Test Case: Verify that placing a ship after a snapshot does not change it.
+     * * Type: White Box Testing
+     * * Technique: State Transition Testing.
+     * * Description: The snapshot keeps the layout it was taken with, so the new ship's cells
+     * stay EMPTY in it and attacking them there is a MISS.
+     */
+    @Test
+    public void testSnapshotKeepsLayout() {
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        BoardSnapshot snapshot = board.snapshot();
+
+        board.placeShip(new Ship(ShipType.CRUISER), new Coordinate(0, 5), Orientation.VERTICAL);
+
+        assertEquals(CellState.EMPTY, snapshot.getCellState(0, 5));
+        assertEquals(AttackResult.MISS, snapshot.apply(0, 5).getLastResult());
+        assertEquals(CellState.SHIP, board.snapshot().getCellState(0, 5));
+    }
+
+    /**
+     * Test Case: Verify reading cell states without Cell objects.
+     * * Type: Unit Testing / State Verification
+     * * Technique: State Transition Testing (EMPTY -> MISS, SHIP -> HIT).
+     * * Description: getCellState must agree with the state of the corresponding cell through
+     * placement and attacks, and reject positions outside the board.
+     */
+    @Test
+    public void testGetCellState() {
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(4, 4), Orientation.VERTICAL);
+        assertEquals(CellState.SHIP, board.getCellState(4, 5));
+        assertEquals(CellState.EMPTY, board.getCellState(5, 4));
+
+        board.processAttack(4, 5);
+        board.processAttack(5, 4);
+
+        assertEquals(CellState.HIT, board.getCellState(4, 5));
+        assertEquals(CellState.MISS, board.getCellState(5, 4));
+        assertEquals(board.getCell(4, 5).getState(), board.getCellState(4, 5));
+        assertThrows(IllegalArgumentException.class, () -> board.getCellState(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> board.getCellState(0, -1));
+    }
+
+    /**
+     * Test Case: Verify the untargeted-cell count and random picks.
+     * * Type: White Box Testing
+     * * Technique: Loop Testing (whole board) / State Transition Testing.
+     * * Description: Attacks made before the first pick are excluded from the pool. Repeated
+     * attacks do not change the count. Attacking the picked cells until the board is exhausted
+     * visits every remaining cell exactly once, after which picking fails.
+     */
+    @Test
+    public void testRandomUntargetedCell() {
+        Random random = new Random(11);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        assertEquals(100, board.getUntargetedCellCount());
+
+        board.processAttack(0, 0);
+        board.processAttack(0, 0);
+        board.processAttack(5, 5);
+        assertEquals(98, board.getUntargetedCellCount());
+
+        Set<Integer> picked = new HashSet<>();
+        while (board.getUntargetedCellCount() > 0) {
+            int cell = board.randomUntargetedCell(random);
+            assertFalse(board.isAttacked(cell));
+            assertTrue(picked.add(cell));
+            board.processAttack(cell);
+        }
+
+        assertEquals(98, picked.size());
+        assertFalse(picked.contains(0));
+        assertFalse(picked.contains(55));
+        assertThrows(IllegalStateException.class, () -> board.randomUntargetedCell(random));
+    }
+
+    /**
+     * Test Case: Verify attack listeners.
+     * * Type: Unit Testing
+     * * Technique: State Transition Testing (miss -> hit -> sunk).
+     * * Description: A registered listener sees every new attack once the board is updated,
+     * with the hit ship on hits and sinks; repeated attacks are not reported, and a removed
+     * listener hears nothing more.
+     */
+    @Test
+    public void testAttackListeners() {
+        Ship destroyer = new Ship(ShipType.DESTROYER);
+        board.placeShip(destroyer, new Coordinate(2, 3), Orientation.HORIZONTAL);
+        List<String> events = new ArrayList<>();
+        AttackListener listener = (source, x, y, result, ship) -> {
+            assertSame(board, source);
+            assertTrue(source.isAttacked(x, y));
+            events.add(x + "," + y + " " + result + " " + (ship == null ? "-" : ship.getType()));
+        };
+        board.addAttackListener(listener);
+
+        board.processAttack(0, 0);
+        board.processAttack(2, 3);
+        board.processAttack(2, 3);
+        board.processAttack(board.cellIndex(3, 3));
+        board.removeAttackListener(listener);
+        board.processAttack(9, 9);
+
+        assertEquals(List.of("0,0 MISS -", "2,3 HIT DESTROYER", "3,3 SUNK DESTROYER"), events);
+    }
+
+    /**
+     * Test Case: Verify the incremental Zobrist hash of the board state.
+     * * Type: Unit Testing / State Verification
+     * * Technique: Equivalence Testing (move orders, hidden layouts).
+     * * Description: The hash changes with every new attack, ignores repeated attacks, equals the
+     * XOR of the Zobrist keys of the attacks and the sunk ship, and is the same for two boards with
+     * different hidden ships that went through the same public results in another order.
+     */
+    @Test
+    public void testStateHash() {
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(2, 3), Orientation.HORIZONTAL);
+        Board other = createBoard(10);
+        other.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(2, 3), Orientation.HORIZONTAL);
+        other.placeShip(new Ship(ShipType.SUBMARINE), new Coordinate(7, 7), Orientation.VERTICAL);
+        assertEquals(Zobrist.empty(10), board.getStateHash());
+        assertEquals(board.getStateHash(), other.getStateHash());
+
+        board.processAttack(0, 0);
+        long afterMiss = board.getStateHash();
+        assertNotEquals(Zobrist.empty(10), afterMiss);
+        board.processAttack(0, 0);
+        assertEquals(afterMiss, board.getStateHash());
+        board.processAttack(2, 3);
+        board.processAttack(3, 3);
+
+        other.processAttack(3, 3);
+        other.processAttack(0, 0);
+        assertNotEquals(board.getStateHash(), other.getStateHash());
+        other.processAttack(2, 3);
+
+        long expected = Zobrist.empty(10) ^ Zobrist.miss(0) ^ Zobrist.hit(32) ^ Zobrist.hit(33)
+                ^ Zobrist.sunk(32 << 1, 2);
+        assertEquals(expected, board.getStateHash());
+        assertEquals(expected, other.getStateHash());
+        assertNotEquals(Zobrist.empty(10), createBoard(12).getStateHash());
+    }
+
+    /**
+     * Test Case: Verify the canonical state hash.
+     * * Type: Unit Testing / State Verification
+     * * Technique: Equivalence Testing (mirrored games).
+     * * Description: A game and its mirror image, attacked at mirrored cells, have different
+     * state hashes but the same canonical hash; the canonical symmetries of the two boards map
+     * their attacked cells onto the same cells.
+     */
+    @Test
+    public void testCanonicalStateHash() {
+        Board mirror = createBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(2, 3), Orientation.HORIZONTAL);
+        mirror.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(6, 3), Orientation.HORIZONTAL);
+        assertEquals(board.getCanonicalStateHash(), mirror.getCanonicalStateHash());
+
+        for (int[] attack : new int[][] {{0, 0}, {2, 3}, {5, 8}, {3, 3}}) {
+            board.processAttack(attack[0], attack[1]);
+            mirror.processAttack(9 - attack[0], attack[1]);
+        }
+
+        assertNotEquals(board.getStateHash(), mirror.getStateHash());
+        assertEquals(board.getCanonicalStateHash(), mirror.getCanonicalStateHash());
+        Symmetry toCanonical = board.getCanonicalSymmetry();
+        Symmetry mirrorToCanonical = mirror.getCanonicalSymmetry();
+        for (int cell = 0; cell < 100; cell++) {
+            assertEquals(board.isAttacked(cell), mirror.isAttacked(
+                    mirrorToCanonical.inverse().map(toCanonical.map(cell, 10), 10)));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package es.uab.tqs.battleship.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Board contract tests against the byte-array implementation, plus the
+ * checks specific to its state array and flyweight cells.
+ */
+public class ByteBoardTest extends BoardTest {
+
+    @Override
+    protected Board createBoard(int size) {
+        return new ByteBoard(size);
+    }
+
+    /**
+     * Test Case: Verify that cell views are created once and reused.
+     * * Type: White Box Testing
+     * * Technique: Statement Coverage (lazy view cache).
+     * * Description: Asking twice for the same cell returns the same view, which keeps reflecting
+     * the board state, and the view rejects direct modification.
+     */
+    @Test
+    public void testCellViewsAreReused() {
+        Cell cell = board.getCell(3, 3);
+
+        assertSame(cell, board.getCell(3, 3));
+        assertSame(cell, board.getCell(new Coordinate(3, 3)));
+        assertNotSame(cell, board.getCell(3, 4));
+
+        board.processAttack(3, 3);
+        assertEquals(CellState.MISS, cell.getState());
+        assertThrows(UnsupportedOperationException.class, () -> cell.setState(CellState.HIT));
+    }
+
+    /**
+     * Test Case: Verify the raw state array copy.
+     * * Type: Unit Testing
+     * * Technique: State Verification.
+     * * Description: copyStates writes one CellState ordinal per cell in row-major order.
+     */
+    @Test
+    public void testCopyStates() {
+        ByteBoard bytes = new ByteBoard(3);
+        bytes.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 1), Orientation.HORIZONTAL);
+        bytes.processAttack(1, 1);
+        bytes.processAttack(2, 2);
+
+        byte[] states = new byte[9];
+        bytes.copyStates(states);
+
+        assertEquals(CellState.SHIP.ordinal(), states[3]);
+        assertEquals(CellState.HIT.ordinal(), states[4]);
+        assertEquals(CellState.EMPTY.ordinal(), states[5]);
+        assertEquals(CellState.MISS.ordinal(), states[8]);
+    }
+
+    /**
+     * Test Case: Verify the shared-storage snapshot.
+     * * Type: Unit Testing
+     * * Technique: Oracle comparison (snapshot rebuilt by a CellBoard).
+     * * Description: A snapshot taken from the byte board must equal the snapshot of a CellBoard
+     * that went through the same moves, and must not see the attacks made or the ships placed
+     * on the board afterwards.
+     */
+    @Test
+    public void testSnapshotSharesStorage() {
+        ByteBoard bytes = new ByteBoard(10);
+        Board cells = new CellBoard(10);
+        for (Board b : new Board[] {bytes, cells}) {
+            b.placeShip(new Ship(ShipType.CRUISER), new Coordinate(2, 2), Orientation.VERTICAL);
+            b.processAttack(2, 3);
+            b.processAttack(7, 7);
+        }
+
+        BoardSnapshot snapshot = bytes.snapshot();
+        bytes.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 9), Orientation.HORIZONTAL);
+        bytes.processAttack(2, 2);
+        bytes.processAttack(0, 9);
+
+        assertEquals(cells.snapshot(), snapshot);
+        assertEquals(CellState.SHIP, snapshot.getCellState(2, 2));
+        assertEquals(CellState.EMPTY, snapshot.getCellState(0, 9));
+        assertEquals(CellState.HIT, bytes.snapshot().getCellState(0, 9));
+        assertEquals(2, bytes.snapshot().getRemainingShipCount());
+    }
+}
@@ -0,0 +1,12 @@
+package es.uab.tqs.battleship.model;
+
+/**
+ * Runs the Board contract tests against the Cell-object implementation.
+ */
+public class CellBoardTest extends BoardTest {
+
+    @Override
+    protected Board createBoard(int size) {
+        return new CellBoard(size);
+    }
+}
@@ -0,0 +1,41 @@
+package es.uab.tqs.battleship.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CellPool class.
+ */
+public class CellPoolTest {
+
+    /**
+     * Test Case: Verify swap-remove membership.
+     * * Type: White Box Testing
+     * * Technique: Path Coverage (remove first, last and absent members).
+     * * Description: Removing members keeps the remaining ones packed at the front; adding or
+     * removing twice has no effect.
+     */
+    @Test
+    public void testAddAndRemove() {
+        CellPool pool = new CellPool(5);
+        for (int cell = 0; cell < 5; cell++) {
+            pool.add(cell);
+        }
+        pool.add(2);
+        assertEquals(5, pool.size());
+
+        pool.remove(0);
+        pool.remove(0);
+        pool.remove(3);
+
+        assertEquals(3, pool.size());
+        assertFalse(pool.contains(0));
+        assertFalse(pool.contains(3));
+        int sum = 0;
+        for (int i = 0; i < pool.size(); i++) {
+            assertTrue(pool.contains(pool.get(i)));
+            sum += pool.get(i);
+        }
+        assertEquals(1 + 2 + 4, sum);
+    }
+}
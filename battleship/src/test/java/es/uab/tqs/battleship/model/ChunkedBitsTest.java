@@ -0,0 +1,93 @@
+package es.uab.tqs.battleship.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ChunkedBits class.
+ */
+public class ChunkedBitsTest {
+
+    /**
+     * Test Case: Verify basic set and get across chunks.
+     * * Type: Unit Testing
+     * * Technique: Boundary Value Analysis (first and last bit of a chunk).
+     * * Description: Sets bits on both sides of a chunk boundary and reads them back, both bit by
+     * bit and as words.
+     */
+    @Test
+    public void testSetAndGet() {
+        ChunkedBits bits = new ChunkedBits(2000);
+        int lastOfChunk = 64 * ChunkedBits.CHUNK_WORDS - 1;
+
+        bits.set(lastOfChunk);
+        bits.set(lastOfChunk + 1);
+
+        assertTrue(bits.get(lastOfChunk));
+        assertTrue(bits.get(lastOfChunk + 1));
+        assertFalse(bits.get(0));
+        assertEquals(1L << 63, bits.word(ChunkedBits.CHUNK_WORDS - 1));
+        assertEquals(1L, bits.word(ChunkedBits.CHUNK_WORDS));
+    }
+
+    /**
+     * Test Case: Verify copy-on-write after sharing.
+     * * Type: White Box Testing
+     * * Technique: State Transition Testing.
+     * * Description: Writes made after share() must not show through the shared version, and
+     * subtrees that were not written must still be shared by reference.
+     */
+    @Test
+    public void testShareIsCopyOnWrite() {
+        ChunkedBits bits = new ChunkedBits(1 << 20);
+        int farChunk = 64 * ChunkedBits.CHUNK_WORDS * ChunkedBits.FANOUT * ChunkedBits.FANOUT;
+        bits.set(5);
+        bits.set(farChunk);
+        ChunkedBits.Version shared = bits.share();
+
+        bits.set(6);
+
+        assertTrue(shared.get(5));
+        assertFalse(shared.get(6));
+        assertTrue(bits.get(6));
+
+        ChunkedBits.Version again = bits.share();
+        assertNotSame(shared.root[0], again.root[0]);
+        assertNotNull(again.root[1]);
+        assertSame(shared.root[1], again.root[1]);
+        assertTrue(again.get(farChunk));
+    }
+
+    /**
+     * Test Case: Verify the persistent update on a very large bitset.
+     * * Type: White Box Testing
+     * * Technique: Path Coverage.
+     * * Description: On a 2^24-bit set with a bit under every child of the root, the trie is
+     * three levels deep. with() leaves its input untouched and only replaces the nodes on the
+     * path to the changed chunk, so every other child of the root is shared, and the two versions compare equal bit by bit only once
+     * the same bit is set in both.
+     */
+    @Test
+    public void testWith() {
+        long[] words = new long[1 << 18];
+        for (int i = 0; i < ChunkedBits.FANOUT; i++) {
+            words[i << 13] = 1;
+        }
+        ChunkedBits.Version empty = ChunkedBits.fromWords(words);
+        int bit = (1 << 24) - 1;
+
+        ChunkedBits.Version updated = empty.with(bit);
+
+        assertEquals(3, updated.levels);
+        assertFalse(empty.get(bit));
+        assertTrue(updated.get(bit));
+        assertFalse(updated.get(bit - 1));
+        assertNotSame(empty.root[ChunkedBits.FANOUT - 1], updated.root[ChunkedBits.FANOUT - 1]);
+        for (int i = 0; i < ChunkedBits.FANOUT - 1; i++) {
+            assertNotNull(updated.root[i]);
+            assertSame(empty.root[i], updated.root[i]);
+        }
+        assertFalse(empty.sameBits(updated));
+        assertTrue(empty.with(bit).sameBits(updated));
+    }
+}
@@ -4,6 +4,8 @@ package es.uab.tqs.battleship.model;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -270,5 +272,54 @@ public class CoordinateTest {
         String result = coord.toString();
         assertTrue(result.contains("3") && result.contains("7"));
     }
-}
 
+    /**
+     * Test Case: Verify that the factory returns interned instances.
+     * * Type: White Box Testing
+     * * Technique: Statement Coverage (Flyweight lookup).
+     * * Description: Verifies that Coordinate.of returns the very same instance for repeated
+     * calls inside the interned table, and that it is equal to a freshly constructed coordinate.
+     */
+    @Test
+    public void testOfReturnsCanonicalInstance() {
+        Coordinate first = Coordinate.of(4, 7);
+        Coordinate second = Coordinate.of(4, 7);
+
+        assertSame(first, second);
+        assertEquals(new Coordinate(4, 7), first);
+        assertEquals(new Coordinate(4, 7).hashCode(), first.hashCode());
+    }
+
+    /**
+     * Test Case: Verify the factory outside the interned table.
+     * * Type: Black Box Testing
+     * * Technique: Boundary Value Analysis (Invalid Lower Bound / Beyond Cache).
+     * * Description: Verifies that negative coordinates and coordinates beyond the largest
+     * cacheable board are still created (as new, equal instances) instead of failing.
+     */
+    @Test
+    public void testOfOutsideCacheCreatesNewInstance() {
+        int beyond = Coordinate.MAX_CACHED_SIZE + 1;
+
+        assertNotSame(Coordinate.of(-1, 2), Coordinate.of(-1, 2));
+        assertEquals(new Coordinate(-1, 2), Coordinate.of(-1, 2));
+        assertEquals(new Coordinate(beyond, 0), Coordinate.of(beyond, 0));
+    }
+
+    /**
+     * Test Case: Verify that growing the table keeps canonical identity.
+     * * Type: White Box Testing
+     * * Technique: State Transition Testing (Table growth).
+     * * Description: Verifies that after a larger board is registered with ensureCached, the
+     * coordinates of the new area are interned and the previously interned ones are reused.
+     */
+    @Test
+    public void testEnsureCachedKeepsIdentity() {
+        Coordinate before = Coordinate.of(2, 3);
+
+        Coordinate.ensureCached(40);
+
+        assertSame(before, Coordinate.of(2, 3));
+        assertSame(Coordinate.of(39, 39), Coordinate.of(39, 39));
+    }
+}
@@ -0,0 +1,221 @@
+package es.uab.tqs.battleship.model;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the FleetGenerator class.
+ */
+public class FleetGeneratorTest {
+
+    private static final ShipType[] FLEET = ShipType.values();
+
+    /**
+     * Test Case: Verify that bulk layouts are legal in both modes.
+     * * Type: Unit Testing
+     * * Technique: Property-based Testing (seeded random layouts).
+     * * Description: Generates many fleets into one buffer and checks that every ship lies
+     * inside the board and that no two ships of a fleet share a cell.
+     */
+    @Test
+    public void testGeneratedLayoutsAreLegal() {
+        PlacementIndex index = PlacementIndex.forSize(10);
+
+        for (FleetGenerator.Mode mode : FleetGenerator.Mode.values()) {
+            FleetGenerator generator = new FleetGenerator(10, FLEET, mode, new SplittableRandom(7));
+            int[] layouts = new int[1000 * generator.getFleetSize()];
+
+            generator.generate(1000, layouts);
+
+            for (int offset = 0; offset < layouts.length; offset += FLEET.length) {
+                long[] occupancy = new long[index.getWordCount()];
+                for (int i = 0; i < FLEET.length; i++) {
+                    int placement = layouts[offset + i];
+                    assertTrue(index.fits(occupancy, FLEET[i].getLength(), placement), mode + " overlap");
+                    index.occupy(occupancy, FLEET[i].getLength(), placement);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test Case: Verify that the uniform mode draws every layout equally often.
+     * * Type: Statistical Testing
+     * * Technique: Exhaustive enumeration vs. sampled frequencies.
+     * * Description: On a 3x3 board a Cruiser and a Destroyer have few enough layouts to
+     * enumerate. Each one must be drawn close to 1/N of the time, although the layouts leave
+     * different amounts of room for the Destroyer.
+     */
+    @Test
+    public void testUniformModeIsUnbiased() {
+        ShipType[] fleet = {ShipType.CRUISER, ShipType.DESTROYER};
+        PlacementIndex index = PlacementIndex.forSize(3);
+        int[] cruisers = new int[18];
+        int[] destroyers = new int[18];
+        int cruiserCount = index.legalPlacements(new long[1], 3, cruisers);
+        int layoutCount = 0;
+        for (int c = 0; c < cruiserCount; c++) {
+            long[] occupancy = new long[1];
+            index.occupy(occupancy, 3, cruisers[c]);
+            layoutCount += index.legalPlacements(occupancy, 2, destroyers);
+        }
+
+        FleetGenerator generator = new FleetGenerator(3, fleet, FleetGenerator.Mode.UNIFORM,
+                new SplittableRandom(42));
+        int samples = 1000 * layoutCount;
+        int[] layouts = new int[samples * 2];
+        generator.generate(samples, layouts);
+
+        Map<Long, Integer> counts = new HashMap<>();
+        for (int i = 0; i < layouts.length; i += 2) {
+            counts.merge(((long) layouts[i] << 32) | layouts[i + 1], 1, Integer::sum);
+        }
+
+        assertEquals(layoutCount, counts.size());
+        double expected = (double) samples / layoutCount;
+        for (int count : counts.values()) {
+            assertEquals(expected, count, expected * 0.15);
+        }
+    }
+
+    /**
+     * Test Case: Verify that the exact fallback draws every layout equally often.
+     * * Type: Statistical Testing
+     * * Technique: Exhaustive enumeration vs. sampled frequencies.
+     * * Description: With no rejection tries allowed, both modes sample by completion
+     * counts. A 4x4 board packed by four Battleships has 2 * 4! ordered layouts; each one
+     * must be drawn close to 1/48 of the time and none may be missing.
+     */
+    @Test
+    public void testExactFallbackIsUniform() {
+        ShipType[] packed = {ShipType.BATTLESHIP, ShipType.BATTLESHIP, ShipType.BATTLESHIP,
+                ShipType.BATTLESHIP};
+        int layoutCount = 2 * 4 * 3 * 2;
+
+        for (FleetGenerator.Mode mode : FleetGenerator.Mode.values()) {
+            FleetGenerator generator = new FleetGenerator(4, packed, mode, new SplittableRandom(5), 0);
+            int samples = 500 * layoutCount;
+            int[] layouts = new int[samples * packed.length];
+            generator.generate(samples, layouts);
+
+            Map<String, Integer> counts = new HashMap<>();
+            for (int i = 0; i < layouts.length; i += packed.length) {
+                counts.merge(layouts[i] + "," + layouts[i + 1] + "," + layouts[i + 2] + "," + layouts[i + 3],
+                        1, Integer::sum);
+            }
+
+            assertEquals(layoutCount, counts.size(), mode.toString());
+            double expected = (double) samples / layoutCount;
+            for (int count : counts.values()) {
+                assertEquals(expected, count, expected * 0.2, mode.toString());
+            }
+        }
+    }
+
+    /**
+     * Test Case: Verify that a generator keeps sampling exactly once it has fallen back.
+     * * Type: White Box Testing
+     * * Technique: State Transition Testing (rejection -> exact).
+     * * Description: With a single rejection try, the packed 4x4 fleet falls back to exact
+     * sampling on the first layout. The layouts after it are drawn exactly right away, with
+     * one bounded long per ship and no rejection draw, and are still legal.
+     */
+    @Test
+    public void testExactFallbackIsSticky() {
+        ShipType[] packed = {ShipType.BATTLESHIP, ShipType.BATTLESHIP, ShipType.BATTLESHIP,
+                ShipType.BATTLESHIP};
+        int[] draws = new int[2];
+        SplittableRandom seeded = new SplittableRandom(7);
+        RandomGenerator counting = new RandomGenerator() {
+            @Override
+            public long nextLong() {
+                return seeded.nextLong();
+            }
+
+            @Override
+            public int nextInt(int bound) {
+                draws[0]++;
+                return seeded.nextInt(bound);
+            }
+
+            @Override
+            public long nextLong(long bound) {
+                draws[1]++;
+                return seeded.nextLong(bound);
+            }
+        };
+        FleetGenerator generator = new FleetGenerator(4, packed, FleetGenerator.Mode.UNIFORM, counting, 1);
+        int[] layouts = new int[100 * packed.length];
+
+        generator.next(layouts, 0);
+        assertEquals(packed.length, draws[1]);
+        int rejectionDraws = draws[0];
+        generator.generate(100, layouts);
+
+        assertEquals(rejectionDraws, draws[0]);
+        assertEquals(101 * packed.length, draws[1]);
+        for (int i = 0; i < layouts.length; i += packed.length) {
+            long[] occupied = new long[1];
+            for (int s = 0; s < packed.length; s++) {
+                assertTrue(PlacementIndex.forSize(4).fits(occupied, 4, layouts[i + s]));
+                PlacementIndex.forSize(4).occupy(occupied, 4, layouts[i + s]);
+            }
+        }
+    }
+
+    /**
+     * Test Case: Verify placing a fleet around existing ships.
+     * * Type: Integration Testing
+     * * Technique: State Transition Testing.
+     * * Description: A board already holding a ship receives a generated fleet; all ships
+     * end up on the board without overlapping the one placed by hand.
+     */
+    @Test
+    public void testPlaceAvoidsExistingShips() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.CARRIER), Coordinate.of(0, 0), Orientation.VERTICAL);
+        ShipType[] rest = {ShipType.BATTLESHIP, ShipType.CRUISER, ShipType.SUBMARINE, ShipType.DESTROYER};
+
+        new FleetGenerator(10, rest, FleetGenerator.Mode.SEQUENTIAL, new SplittableRandom(3))
+                .place(board, rest);
+
+        assertEquals(5, board.getShips().size());
+        int shipCells = 0;
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 10; x++) {
+                if (board.getCellState(x, y) == CellState.SHIP) {
+                    shipCells++;
+                }
+            }
+        }
+        assertEquals(17, shipCells);
+    }
+
+    /**
+     * Test Case: Verify invalid configurations.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Partitioning - Invalid Class.
+     * * Description: A ship longer than the board is rejected up front, a board of another
+     * size is rejected on place, and a fleet with no layout at all fails after the exact
+     * fallback finds nothing to draw.
+     */
+    @Test
+    public void testInvalidConfigurations() {
+        assertThrows(IllegalArgumentException.class, () -> new FleetGenerator(4, FLEET,
+                FleetGenerator.Mode.SEQUENTIAL, new SplittableRandom()));
+
+        FleetGenerator generator = new FleetGenerator(10, FLEET, FleetGenerator.Mode.SEQUENTIAL,
+                new SplittableRandom());
+        assertThrows(IllegalArgumentException.class, () -> generator.place(new BitBoard(8), FLEET));
+
+        ShipType[] crowded = {ShipType.CRUISER, ShipType.CRUISER, ShipType.CRUISER, ShipType.CRUISER};
+        FleetGenerator impossible = new FleetGenerator(3, crowded, FleetGenerator.Mode.UNIFORM,
+                new SplittableRandom());
+        assertThrows(IllegalStateException.class, () -> impossible.next(new int[4], 0));
+    }
+}
@@ -4,11 +4,23 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import es.uab.tqs.battleship.ai.AnytimeSearch;
+import es.uab.tqs.battleship.ai.AttackStrategy;
+import es.uab.tqs.battleship.ai.ComputeBudget;
+import es.uab.tqs.battleship.ai.ProbabilityDensityStrategy;
+import es.uab.tqs.battleship.ai.RandomPlacementStrategy;
+import es.uab.tqs.battleship.ai.RandomAttackStrategy;
+
 public class GameTest {
 
     private Game game;
@@ -142,6 +154,26 @@ public class GameTest {
         assertEquals(GameStatus.COMPUTER_TURN, game.getStatus());
     }
 
+    /**
+     * Test Case: Verify Player Attack through the primitive overload.
+     * * Type: Black Box Testing
+     * * Technique: Equivalence Partitioning - Valid Class.
+     * * Description: Verifies that processPlayerAttack(x, y) applies the same rules as the
+     * Coordinate overload: the attack lands on the computer's board and the turn passes on.
+     */
+    @Test
+    public void testProcessPlayerAttackPrimitive() {
+        Ship enemyShip = new Ship(ShipType.DESTROYER);
+        game.getComputerBoard().placeShip(enemyShip, new Coordinate(5, 5), Orientation.HORIZONTAL);
+
+        game.startGame();
+
+        assertEquals(AttackResult.HIT, game.processPlayerAttack(6, 5));
+        assertTrue(game.getComputerBoard().isAttacked(6, 5));
+        assertEquals(GameStatus.COMPUTER_TURN, game.getStatus());
+        assertThrows(IllegalStateException.class, () -> game.processPlayerAttack(0, 0));
+    }
+
     /**
      * Test Case: Verify Player Attack resulting in Win.
      * * Type: Integration Testing
@@ -346,4 +378,167 @@ public class GameTest {
             assertEquals(5, newGame.getComputerBoard().getShipCount());
         }
     }
+
+    /**
+     * Test Case: Verify that the computer attacks through the selected strategy.
+     * * Type: Unit Testing / Behavior Verification
+     * * Technique: Stub Testing (fixed-target strategy).
+     * * Description: Random targeting is the default. After selecting a strategy that always
+     * returns cell 23, processComputerAttack fires at (3, 2) and reports the result back to
+     * the strategy.
+     */
+    @Test
+    public void testSelectableAttackStrategy() {
+        assertTrue(game.getAttackStrategy() instanceof RandomAttackStrategy);
+
+        List<AttackResult> reported = new ArrayList<>();
+        AttackStrategy fixed = new AttackStrategy() {
+            @Override
+            public String getName() {
+                return "fixed";
+            }
+
+            @Override
+            public int nextTarget(Board board, ComputeBudget budget) {
+                return 23;
+            }
+
+            @Override
+            public void onAttackResult(Board board, int cell, AttackResult result) {
+                reported.add(result);
+            }
+        };
+        game.setAttackStrategy(fixed);
+        assertSame(fixed, game.getAttackStrategy());
+
+        game.getPlayerBoard().placeShip(new Ship(ShipType.CARRIER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        game.startGame();
+        game.processPlayerAttack(9, 9);
+
+        assertEquals(Coordinate.of(3, 2), game.processComputerAttack());
+        assertEquals(List.of(AttackResult.MISS), reported);
+        assertTrue(game.getPlayerBoard().isAttacked(3, 2));
+    }
+
+    /**
+     * Test Case: Verify the turn and game-over callbacks of the attack strategy.
+     * * Type: Integration Testing
+     * * Technique: State Transition Testing (setup -> player turn -> computer turn -> game over).
+     * * Description: The strategy hears that the player's turn begins when the game starts and
+     * after each computer move, and hears once that the game is over, here when the player wins.
+     */
+    @Test
+    public void testStrategyCallbacks() {
+        List<String> calls = new ArrayList<>();
+        AttackStrategy recording = new AttackStrategy() {
+            @Override
+            public String getName() {
+                return "recording";
+            }
+
+            @Override
+            public int nextTarget(Board board, ComputeBudget budget) {
+                calls.add("move");
+                return 99;
+            }
+
+            @Override
+            public void onOpponentTurn(Board board) {
+                calls.add("turn");
+            }
+
+            @Override
+            public void onGameOver(Board board) {
+                assertSame(game.getPlayerBoard(), board);
+                calls.add("over");
+            }
+        };
+        game.setAttackStrategy(recording);
+        game.getPlayerBoard().placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+        game.getComputerBoard().placeShip(new Ship(ShipType.DESTROYER), new Coordinate(5, 5), Orientation.HORIZONTAL);
+
+        game.startGame();
+        game.processPlayerAttack(5, 5);
+        game.processComputerAttack();
+        game.processPlayerAttack(6, 5);
+
+        assertEquals(GameStatus.PLAYER_WON, game.getStatus());
+        assertEquals(List.of("turn", "move", "turn", "over"), calls);
+    }
+
+    /**
+     * Test Case: Verify strategy injection, move budgets and automatic timing metrics.
+     * * Type: Integration Testing
+     * * Technique: State Verification.
+     * * Description: A game built with injected strategies uses them for placement and attacks,
+     * hands every call a budget with the configured limits, and records one timing per call
+     * under "placement/" and "attack/" followed by the strategy name.
+     */
+    @Test
+    public void testInjectedStrategiesBudgetAndMetrics() {
+        List<ComputeBudget> budgets = new ArrayList<>();
+        AttackStrategy density = new ProbabilityDensityStrategy() {
+            @Override
+            public int nextTarget(Board board, ComputeBudget budget) {
+                budgets.add(budget);
+                return super.nextTarget(board, budget);
+            }
+        };
+        Game injected = new Game(new BitBoard(10), new BitBoard(10), density, new RandomPlacementStrategy());
+        injected.setMoveBudget(Duration.ofSeconds(5), 1000);
+
+        injected.placeComputerShipsRandomly();
+        injected.getPlayerBoard().placeShip(new Ship(ShipType.CRUISER), new Coordinate(0, 0), Orientation.VERTICAL);
+        injected.startGame();
+        injected.processPlayerAttack(0, 0);
+        injected.processComputerAttack();
+
+        assertEquals(5, injected.getComputerBoard().getShipCount());
+        assertEquals(1, budgets.size());
+        assertEquals(1000, budgets.get(0).getMaxNodes());
+        assertTrue(budgets.get(0).hasTimeLimit());
+        assertEquals(1, injected.getStrategyMetrics().getTiming("attack/density").getCount());
+        assertEquals(1, injected.getStrategyMetrics().getTiming("placement/random").getCount());
+        assertThrows(IllegalArgumentException.class, () -> injected.setMoveBudget(null, 0));
+    }
+
+    /**
+     * Test Case: Verify pondering during the player's turn.
+     * * Type: Integration Testing
+     * * Technique: State Transition Testing (player turn -> computer turn -> game over).
+     * * Description: With a pondering strategy, the computer thinks in the background from the
+     * start of the player's turn and plays a valid move as soon as its turn arrives; thinking
+     * restarts on the next player turn and stops when the game is over.
+     */
+    @Test
+    public void testPondering() {
+        AttackStrategy density = new ProbabilityDensityStrategy() {
+            @Override
+            public int nextTarget(Board board, ComputeBudget budget) {
+                // Think in the background until the move is committed.
+                while (budget.hasTimeLimit() && !budget.isExpired()) {
+                    Thread.onSpinWait();
+                }
+                return super.nextTarget(board, budget);
+            }
+        };
+        AnytimeSearch search = new AnytimeSearch(density, Duration.ofSeconds(5));
+        Game pondering = new Game(new BitBoard(10), new BitBoard(10), search, new RandomPlacementStrategy());
+        pondering.getComputerBoard().placeShip(new Ship(ShipType.DESTROYER), new Coordinate(5, 5), Orientation.HORIZONTAL);
+        pondering.getPlayerBoard().placeShip(new Ship(ShipType.CARRIER), new Coordinate(0, 0), Orientation.VERTICAL);
+        pondering.startGame();
+
+        assertTrue(search.isThinking());
+        pondering.processPlayerAttack(5, 5);
+        Coordinate attacked = pondering.processComputerAttack();
+
+        assertTrue(pondering.getPlayerBoard().isAttacked(attacked.getX(), attacked.getY()));
+        assertEquals(GameStatus.PLAYER_TURN, pondering.getStatus());
+        assertEquals(1, pondering.getStrategyMetrics().getTiming("attack/density").getCount());
+        assertTrue(search.isThinking());
+
+        pondering.processPlayerAttack(6, 5);
+        assertEquals(GameStatus.PLAYER_WON, pondering.getStatus());
+        assertFalse(search.isThinking());
+    }
 }
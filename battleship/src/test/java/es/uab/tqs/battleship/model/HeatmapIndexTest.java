@@ -0,0 +1,186 @@
+package es.uab.tqs.battleship.model;
+
+import java.nio.LongBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the HeatmapIndex class.
+ */
+public class HeatmapIndexTest {
+
+    /**
+     * Test Case: Verify the heat of an open board.
+     * * Type: Unit Testing
+     * * Technique: Expected Value (hand-counted placements).
+     * * Description: With only a Destroyer on a 10x10 board, a corner is covered by 2
+     * placements and an inner cell by 4; argmax and top-k return inner cells, lowest first.
+     */
+    @Test
+    public void testOpenBoard() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(0, 0), Orientation.HORIZONTAL);
+
+        HeatmapIndex heatmap = HeatmapIndex.attach(board);
+        int[] top = new int[3];
+
+        assertEquals(2, heatmap.getHeat(0));
+        assertEquals(3, heatmap.getHeat(1));
+        assertEquals(4, heatmap.getHeat(55));
+        assertEquals(11, heatmap.argmax());
+        assertEquals(3, heatmap.topK(3, top));
+        assertArrayEquals(new int[] {11, 12, 13}, top);
+    }
+
+    /**
+     * Test Case: Verify that unresolved hits heat up the cells around them.
+     * * Type: Unit Testing
+     * * Technique: Expected Value (hand-counted placements).
+     * * Description: After a hit on a Destroyer at (5,5), the placements through the hit weigh
+     * 2^5, so each neighbour has heat 32 + 3 and the lowest one is the argmax; once the
+     * Destroyer sinks, no heat is left anywhere.
+     */
+    @Test
+    public void testHitsWeighPlacements() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(5, 5), Orientation.HORIZONTAL);
+        HeatmapIndex heatmap = HeatmapIndex.attach(board);
+
+        board.processAttack(5, 5);
+
+        assertEquals(35, heatmap.getHeat(board.cellIndex(5, 4)));
+        assertEquals(35, heatmap.getHeat(board.cellIndex(6, 5)));
+        assertEquals(4, heatmap.getHeat(board.cellIndex(2, 2)));
+        assertEquals(board.cellIndex(5, 4), heatmap.argmax());
+
+        board.processAttack(6, 5);
+
+        for (int cell = 0; cell < 100; cell++) {
+            assertEquals(0, heatmap.getHeat(cell));
+        }
+        assertEquals(0, heatmap.view().get(heatmap.argmax()));
+    }
+
+    /**
+     * Test Case: Verify incremental updates against a rebuild.
+     * * Type: White Box Testing
+     * * Technique: Oracle comparison (rebuild from scratch) / Simulation.
+     * * Description: Over whole random games on every board type, the incrementally updated
+     * heat of every cell equals the heat of a heatmap freshly built from the board after
+     * each attack, misses, hits and sinks included; once every ship is sunk, no heat is left.
+     */
+    @Test
+    public void testIncrementalMatchesRebuild() {
+        ShipType[] fleet = ShipType.values();
+        Board[] boards = {new CellBoard(10), new BitBoard(10), new ByteBoard(10), new SparseBoard(10)};
+        SplittableRandom random = new SplittableRandom(5);
+
+        for (Board board : boards) {
+            new FleetGenerator(10, fleet, FleetGenerator.Mode.UNIFORM, random).place(board, fleet);
+            HeatmapIndex heatmap = HeatmapIndex.attach(board);
+
+            while (!board.allShipsSunk()) {
+                board.processAttack(board.randomUntargetedCell(random));
+                HeatmapIndex rebuilt = HeatmapIndex.attach(board);
+                rebuilt.detach();
+                for (int cell = 0; cell < 100; cell++) {
+                    assertEquals(rebuilt.getHeat(cell), heatmap.getHeat(cell), board + " cell " + cell);
+                }
+                assertEquals(rebuilt.argmax(), heatmap.argmax());
+            }
+            for (int cell = 0; cell < 100; cell++) {
+                assertEquals(0, heatmap.getHeat(cell));
+            }
+        }
+    }
+
+    /**
+     * Test Case: Verify weighting placements.
+     * * Type: White Box Testing
+     * * Technique: Expected Value (hand-counted placements) / Oracle comparison (rebuild).
+     * * Description: With the Destroyer placement at (0,0) to the right weighing 10, the corner
+     * has heat 10 + 1 and (1,0) 10 + 1 + 1. Once (1,0) is hit, that placement weighs 10 * 2^5,
+     * and every cell matches a weighted heatmap built from scratch.
+     */
+    @Test
+    public void testPlacementWeights() {
+        Board board = new BitBoard(10);
+        board.placeShip(new Ship(ShipType.DESTROYER), Coordinate.of(0, 0), Orientation.HORIZONTAL);
+        int[][] weights = new int[11][];
+        weights[2] = new int[2 * 100];
+        Arrays.fill(weights[2], 1);
+        weights[2][PlacementIndex.forSize(10).encode(0, 0, Orientation.HORIZONTAL)] = 10;
+        HeatmapIndex heatmap = HeatmapIndex.attach(board, weights);
+
+        assertEquals(11, heatmap.getHeat(0));
+        assertEquals(12, heatmap.getHeat(1));
+        assertEquals(4, heatmap.getHeat(55));
+
+        board.processAttack(1, 0);
+        HeatmapIndex rebuilt = HeatmapIndex.attach(board, weights);
+        rebuilt.detach();
+        assertEquals(321, heatmap.getHeat(0));
+        for (int cell = 0; cell < 100; cell++) {
+            assertEquals(rebuilt.getHeat(cell), heatmap.getHeat(cell), "cell " + cell);
+        }
+        heatmap.detach();
+    }
+
+    /**
+     * Test Case: Verify the read-only view and detaching.
+     * * Type: Unit Testing
+     * * Technique: State Verification.
+     * * Description: The view follows updates but rejects writes; a detached heatmap keeps
+     * its counts while the board changes.
+     */
+    @Test
+    public void testViewAndDetach() {
+        Board board = new ByteBoard(10);
+        board.placeShip(new Ship(ShipType.CRUISER), Coordinate.of(4, 4), Orientation.VERTICAL);
+        HeatmapIndex heatmap = HeatmapIndex.attach(board);
+        LongBuffer view = heatmap.view();
+        long before = view.get(1);
+
+        board.processAttack(0, 0);
+
+        assertEquals(before - 1, view.get(1));
+        assertThrows(ReadOnlyBufferException.class, () -> view.put(1, 0));
+
+        heatmap.detach();
+        board.processAttack(1, 1);
+        assertTrue(heatmap.getHeat(board.cellIndex(1, 1)) > 0);
+    }
+
+    /**
+     * Test Case: Verify the heatmap shared by the users of a board.
+     * * Type: Unit Testing
+     * * Technique: State Transition Testing (attached -> shared -> detached).
+     * * Description: Every caller of attachShared gets the same heatmap. It keeps following
+     * the board until the last user detaches, and the next caller then gets a new one.
+     */
+    @Test
+    public void testAttachShared() {
+        Board board = new ByteBoard(10);
+        board.placeShip(new Ship(ShipType.CRUISER), Coordinate.of(4, 4), Orientation.VERTICAL);
+        HeatmapIndex first = HeatmapIndex.attachShared(board);
+        HeatmapIndex second = HeatmapIndex.attachShared(board);
+        long before = first.getHeat(1);
+
+        assertSame(first, second);
+        first.detach();
+        board.processAttack(0, 0);
+        assertEquals(before - 1, second.getHeat(1));
+
+        second.detach();
+        board.processAttack(2, 0);
+        assertEquals(before - 1, second.getHeat(1));
+        HeatmapIndex third = HeatmapIndex.attachShared(board);
+        assertNotSame(second, third);
+        assertEquals(before - 2, third.getHeat(1));
+        third.detach();
+    }
+}
@@ -0,0 +1,49 @@
+package es.uab.tqs.battleship.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongIntHashMapTest {
+
+    /**
+     * Test Case: Verify lookups of present and absent keys.
+     * * Type: Black Box Testing
+     * * Technique: Equivalence Partitioning (Present / Absent Key).
+     * * Description: Verifies that stored keys return their value, overwriting keeps a single
+     * entry, and absent keys return the provided default.
+     */
+    @Test
+    public void testPutAndGet() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        map.put(0L, 7);
+        map.put(2_499_999_999L, 3);
+        map.put(0L, 9);
+
+        assertEquals(9, map.get(0L, -1));
+        assertEquals(3, map.get(2_499_999_999L, -1));
+        assertEquals(-1, map.get(42L, -1));
+        assertEquals(2, map.size());
+    }
+
+    /**
+     * Test Case: Verify the table keeps every entry while growing.
+     * * Type: White Box Testing
+     * * Technique: Loop Testing (Rehashing).
+     * * Description: Inserts enough consecutive keys to force several resizes and verifies that
+     * every key is still mapped to its value afterwards.
+     */
+    @Test
+    public void testGrowKeepsEntries() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i * 50_000L, i);
+        }
+
+        assertEquals(10_000, map.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, map.get(i * 50_000L, -1));
+        }
+    }
+}
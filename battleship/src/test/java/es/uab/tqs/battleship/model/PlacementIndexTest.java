@@ -0,0 +1,127 @@
+package es.uab.tqs.battleship.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PlacementIndex class.
+ */
+public class PlacementIndexTest {
+
+    /**
+     * Test Case: Verify that indexes are shared per board size.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Partitioning (valid sizes vs. out-of-range sizes).
+     * * Description: Verifies that forSize returns the same instance for the same size, and
+     * rejects sizes outside 1..MAX_SIZE.
+     */
+    @Test
+    public void testForSize() {
+        PlacementIndex index = PlacementIndex.forSize(10);
+
+        assertSame(index, PlacementIndex.forSize(10));
+        assertEquals(10, index.getSize());
+        assertEquals(2, index.getWordCount());
+        assertThrows(IllegalArgumentException.class, () -> PlacementIndex.forSize(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> PlacementIndex.forSize(PlacementIndex.MAX_SIZE + 1));
+    }
+
+    /**
+     * Test Case: Verify the placement encoding.
+     * * Type: Unit Testing
+     * * Technique: Round-trip Testing.
+     * * Description: Encodes a few placements and checks that bow coordinates and orientation
+     * are decoded back unchanged.
+     */
+    @Test
+    public void testEncodeDecode() {
+        PlacementIndex index = PlacementIndex.forSize(10);
+
+        int horizontal = index.encode(3, 7, Orientation.HORIZONTAL);
+        int vertical = index.encode(9, 0, Orientation.VERTICAL);
+
+        assertEquals(146, horizontal);
+        assertEquals(3, index.anchorX(horizontal));
+        assertEquals(7, index.anchorY(horizontal));
+        assertEquals(Orientation.HORIZONTAL, PlacementIndex.orientation(horizontal));
+        assertEquals(9, index.anchorX(vertical));
+        assertEquals(0, index.anchorY(vertical));
+        assertEquals(Orientation.VERTICAL, PlacementIndex.orientation(vertical));
+    }
+
+    /**
+     * Test Case: Verify legal anchors on an empty board.
+     * * Type: Unit Testing / Boundary Value Analysis
+     * * Technique: Boundary Value Analysis (ships touching the edges).
+     * * Description: A ship of length L fits in (size - L + 1) * size anchors per orientation.
+     * Placements reaching the last row/column fit; one cell further does not. Lengths outside
+     * 1..size have no placements at all.
+     */
+    @Test
+    public void testEmptyBoardPlacements() {
+        PlacementIndex index = PlacementIndex.forSize(10);
+        long[] empty = new long[index.getWordCount()];
+
+        assertEquals(2 * 6 * 10, index.countPlacements(5));
+        assertEquals(200, index.countPlacements(1));
+        assertEquals(0, index.countPlacements(11));
+        assertEquals(0, index.countPlacements(0));
+
+        assertTrue(index.fits(empty, 5, index.encode(5, 9, Orientation.HORIZONTAL)));
+        assertFalse(index.fits(empty, 5, index.encode(6, 9, Orientation.HORIZONTAL)));
+        assertTrue(index.fits(empty, 5, index.encode(9, 5, Orientation.VERTICAL)));
+        assertFalse(index.fits(empty, 5, index.encode(9, 6, Orientation.VERTICAL)));
+        assertFalse(index.fits(empty, 5, -1));
+        assertFalse(index.fits(empty, 5, 200));
+    }
+
+    /**
+     * Test Case: Verify overlap detection across a word boundary.
+     * * Type: White Box Testing
+     * * Technique: Path Coverage (footprint spanning two occupancy words).
+     * * Description: Cell 64 is the first bit of the second word. Occupying it must reject a
+     * horizontal ship over cells 60..64 and a vertical ship over cells 44..84 while leaving
+     * neighbouring placements legal. occupy must set exactly the ship's bits.
+     */
+    @Test
+    public void testFitsAndOccupyAcrossWords() {
+        PlacementIndex index = PlacementIndex.forSize(10);
+        long[] occupancy = new long[index.getWordCount()];
+        occupancy[1] = 1L;
+
+        assertFalse(index.fits(occupancy, 5, index.encode(0, 6, Orientation.HORIZONTAL)));
+        assertTrue(index.fits(occupancy, 4, index.encode(0, 6, Orientation.HORIZONTAL)));
+        assertFalse(index.fits(occupancy, 5, index.encode(4, 4, Orientation.VERTICAL)));
+        assertTrue(index.fits(occupancy, 5, index.encode(5, 4, Orientation.VERTICAL)));
+
+        long[] placed = new long[index.getWordCount()];
+        index.occupy(placed, 3, index.encode(2, 6, Orientation.VERTICAL));
+        assertEquals(1L << 62, placed[0]);
+        assertEquals((1L << (72 - 64)) | (1L << (82 - 64)), placed[1]);
+    }
+
+    /**
+     * Test Case: Verify the listing of legal placements against the occupancy.
+     * * Type: Unit Testing / Functional
+     * * Technique: Equivalence Partitioning.
+     * * Description: On a 3x3 board with the centre occupied, a ship of length 2 only fits
+     * along the border: two horizontal placements on each of the top and bottom rows and two
+     * vertical ones on each of the side columns, 8 in total, horizontal ones listed first.
+     */
+    @Test
+    public void testLegalPlacements() {
+        PlacementIndex index = PlacementIndex.forSize(3);
+        long[] occupancy = {1L << 4};
+        int[] out = new int[index.countPlacements(2)];
+
+        int count = index.legalPlacements(occupancy, 2, out);
+
+        assertEquals(8, count);
+        for (int i = 0; i < count; i++) {
+            assertTrue(index.fits(occupancy, 2, out[i]));
+        }
+        assertEquals(index.encode(0, 0, Orientation.HORIZONTAL), out[0]);
+        assertEquals(index.encode(0, 0, Orientation.VERTICAL), out[4]);
+    }
+}
@@ -2,7 +2,13 @@ package es.uab.tqs.battleship.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -251,4 +257,97 @@ public class ShipTest {
         Ship ship = new Ship(ShipType.CARRIER);
         assertEquals(ShipType.CARRIER, ship.getType());
     }
+
+    /**
+     * Test Case: Verify per-segment damage tracking.
+     * * Type: White Box Testing
+     * * Technique: State Transition Testing (Bitmask updates).
+     * * Description: Verifies that hits registered by position set the bit of the matching segment,
+     * that repeating a hit on the same segment does not count twice, and that the ship sinks only
+     * once every segment bit is set.
+     */
+    @Test
+    public void testSegmentHitMask() {
+        Ship ship = new Ship(ShipType.CRUISER);
+        ship.setPosition(new Coordinate(4, 1), Orientation.VERTICAL);
+
+        ship.registerHit(4, 3);
+        ship.registerHit(4, 3);
+        assertEquals(0b100, ship.getHitMask());
+        assertEquals(1, ship.getHitCount());
+        assertTrue(ship.isSegmentHit(2));
+        assertFalse(ship.isSegmentHit(0));
+
+        ship.registerHit(4, 1);
+        ship.registerHit(4, 2);
+        assertTrue(ship.isSunk());
+    }
+
+    /**
+     * Test Case: Verify segment lookup by position.
+     * * Type: Black Box Testing
+     * * Technique: Boundary Value Analysis (Bow, Stern and Just Outside).
+     * * Description: Verifies that segmentIndex maps the bow and stern to 0 and length - 1, and
+     * returns -1 just outside the ship, on the wrong row, or before the ship is placed.
+     */
+    @Test
+    public void testSegmentIndex() {
+        Ship ship = new Ship(ShipType.BATTLESHIP);
+        assertEquals(-1, ship.segmentIndex(0, 0));
+
+        ship.setPosition(new Coordinate(2, 7), Orientation.HORIZONTAL);
+
+        assertEquals(0, ship.segmentIndex(2, 7));
+        assertEquals(3, ship.segmentIndex(5, 7));
+        assertEquals(-1, ship.segmentIndex(6, 7));
+        assertEquals(-1, ship.segmentIndex(1, 7));
+        assertEquals(-1, ship.segmentIndex(3, 8));
+        assertTrue(ship.occupiesCoordinate(4, 7));
+    }
+
+    /**
+     * Test Case: Verify segment iteration.
+     * * Type: White Box Testing
+     * * Technique: Loop Testing.
+     * * Description: Verifies that forEachSegment visits every segment bow first, matching the
+     * snapshot returned by getCoordinates, and visits nothing for an unplaced ship.
+     */
+    @Test
+    public void testForEachSegment() {
+        Ship ship = new Ship(ShipType.SUBMARINE);
+        List<Coordinate> visited = new ArrayList<>();
+
+        ship.forEachSegment((x, y) -> visited.add(Coordinate.of(x, y)));
+        assertTrue(visited.isEmpty());
+        assertTrue(ship.getCoordinates().isEmpty());
+
+        ship.setPosition(new Coordinate(6, 6), Orientation.VERTICAL);
+        ship.forEachSegment((x, y) -> visited.add(Coordinate.of(x, y)));
+
+        assertEquals(ship.getCoordinates(), visited);
+        assertEquals(new Coordinate(6, 8), visited.get(2));
+    }
+
+    /**
+     * Test Case: Verify the live coordinates view.
+     * * Type: White Box Testing
+     * * Technique: State Transition Testing (Unplaced -> Placed -> Moved).
+     * * Description: Verifies that getCoordinatesView is a single read-only instance that is empty
+     * before placement, matches getCoordinates once placed, and follows the ship when it is moved.
+     */
+    @Test
+    public void testCoordinatesView() {
+        Ship ship = new Ship(ShipType.DESTROYER);
+        List<Coordinate> view = ship.getCoordinatesView();
+        assertTrue(view.isEmpty());
+
+        ship.setPosition(new Coordinate(1, 1), Orientation.HORIZONTAL);
+        assertEquals(ship.getCoordinates(), view);
+
+        ship.setPosition(new Coordinate(3, 0), Orientation.VERTICAL);
+        assertEquals(new Coordinate(3, 1), view.get(1));
+        assertSame(view, ship.getCoordinatesView());
+        assertThrows(UnsupportedOperationException.class, () -> view.add(new Coordinate(0, 0)));
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(2));
+    }
 }
@@ -0,0 +1,111 @@
+package es.uab.tqs.battleship.model;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Board contract tests against the sparse implementation, plus the
+ * checks specific to very large boards.
+ */
+public class SparseBoardTest extends BoardTest {
+
+    @Override
+    protected Board createBoard(int size) {
+        return new SparseBoard(size);
+    }
+
+    /**
+     * Test Case: Verify play on a very large board.
+     * * Type: Black Box Testing
+     * * Technique: Boundary Value Analysis (Far Corner of a 50,000 x 50,000 Board).
+     * * Description: Places a ship at the far corner of an ocean-sized board and sinks it. The
+     * cell count of the board does not fit in an int, so this also checks that keys are computed
+     * in long arithmetic.
+     */
+    @Test
+    public void testLargeBoardFarCorner() {
+        Board ocean = createBoard(50_000);
+        Ship ship = new Ship(ShipType.DESTROYER);
+
+        assertTrue(ocean.placeShip(ship, new Coordinate(49_998, 49_999), Orientation.HORIZONTAL));
+        assertEquals(AttackResult.MISS, ocean.processAttack(0, 49_999));
+        assertEquals(AttackResult.HIT, ocean.processAttack(49_998, 49_999));
+        assertEquals(AttackResult.SUNK, ocean.processAttack(49_999, 49_999));
+        assertTrue(ocean.allShipsSunk());
+        assertEquals(CellState.MISS, ocean.getCell(0, 49_999).getState());
+    }
+
+    /**
+     * Test Case: Verify the state hash of a very large board.
+     * * Type: White Box Testing
+     * * Technique: Boundary Value Analysis (Far Corner of a 50,000 x 50,000 Board).
+     * * Description: Attacks at the far corner have cell and placement keys beyond the int
+     * range. The state hash must combine their long keys, and a board with the same attacks
+     * rotated by a half turn must share its canonical hash.
+     */
+    @Test
+    public void testLargeBoardStateHash() {
+        int size = 50_000;
+        Board ocean = createBoard(size);
+        Board rotated = createBoard(size);
+        ocean.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(49_998, 49_999), Orientation.HORIZONTAL);
+        rotated.placeShip(new Ship(ShipType.DESTROYER), new Coordinate(0, 0), Orientation.HORIZONTAL);
+
+        ocean.processAttack(0, 49_999);
+        ocean.processAttack(49_998, 49_999);
+        ocean.processAttack(49_999, 49_999);
+        rotated.processAttack(49_999, 0);
+        rotated.processAttack(1, 0);
+        rotated.processAttack(0, 0);
+
+        long corner = (long) size * size - 1;
+        long expected = Zobrist.empty(size) ^ Zobrist.miss(corner - 49_999) ^ Zobrist.hit(corner - 1)
+                ^ Zobrist.hit(corner) ^ Zobrist.sunk((corner - 1) << 1, 2);
+        assertEquals(expected, ocean.getStateHash());
+        assertEquals(ocean.getCanonicalStateHash(), rotated.getCanonicalStateHash());
+        assertEquals(Symmetry.ROTATE_180,
+                rotated.getCanonicalSymmetry().inverse().after(ocean.getCanonicalSymmetry()));
+    }
+
+    /**
+     * Test Case: Verify that storage scales with ships and shots, not with area.
+     * * Type: White Box Testing
+     * * Technique: Statement Coverage (Storage accounting).
+     * * Description: Verifies that only ship segments and attacked cells are stored, and that
+     * attacking a ship segment does not add a second entry for the same cell.
+     */
+    @Test
+    public void testStorageScalesWithShipsAndShots() {
+        SparseBoard ocean = new SparseBoard(50_000);
+        ocean.placeShip(new Ship(ShipType.CARRIER), new Coordinate(100, 100), Orientation.VERTICAL);
+
+        ocean.processAttack(100, 100);
+        ocean.processAttack(7, 7);
+        ocean.getCell(30_000, 30_000);
+
+        assertEquals(6, ocean.getStoredCellCount());
+    }
+
+    /**
+     * Test Case: Verify random untargeted picks on boards too large for a pool.
+     * * Type: White Box Testing
+     * * Technique: Path Coverage (rejection sampling and index overflow).
+     * * Description: A 3,000x3,000 board (9 million cells) picks by rejection and still returns
+     * untargeted cells and keeps the count exact; a 50,000x50,000 board cannot express its cells
+     * as int indexes and refuses.
+     */
+    @Test
+    public void testRandomUntargetedCellOnLargeBoards() {
+        Board ocean = createBoard(3_000);
+        ocean.processAttack(1_234);
+
+        int cell = ocean.randomUntargetedCell(new Random(5));
+
+        assertFalse(ocean.isAttacked(cell));
+        assertEquals(9_000_000L - 1, ocean.getUntargetedCellCount());
+        assertThrows(UnsupportedOperationException.class,
+                () -> createBoard(50_000).randomUntargetedCell(new Random(5)));
+    }
+}
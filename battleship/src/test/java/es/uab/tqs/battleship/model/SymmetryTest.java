@@ -0,0 +1,100 @@
+package es.uab.tqs.battleship.model;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Symmetry enum.
+ */
+public class SymmetryTest {
+
+    /**
+     * Test Case: Verify the images of the cells of a board.
+     * * Type: Unit Testing
+     * * Technique: Expected Value (corner images) / Property Verification (bijection).
+     * * Description: The top-left corner of a 10x10 board goes to each corner as expected,
+     * and every symmetry maps the 100 cells onto 100 distinct cells.
+     */
+    @Test
+    public void testCellImages() {
+        assertEquals(0, Symmetry.IDENTITY.map(0, 10));
+        assertEquals(9, Symmetry.ROTATE_90.map(0, 10));
+        assertEquals(99, Symmetry.ROTATE_180.map(0, 10));
+        assertEquals(90, Symmetry.ROTATE_270.map(0, 10));
+        assertEquals(9, Symmetry.FLIP_HORIZONTAL.map(0, 10));
+        assertEquals(90, Symmetry.FLIP_VERTICAL.map(0, 10));
+        assertEquals(0, Symmetry.TRANSPOSE.map(0, 10));
+        assertEquals(99, Symmetry.ANTI_TRANSPOSE.map(0, 10));
+        assertEquals(10, Symmetry.TRANSPOSE.map(1, 10));
+
+        for (Symmetry symmetry : Symmetry.values()) {
+            Set<Integer> images = new HashSet<>();
+            for (int cell = 0; cell < 100; cell++) {
+                images.add(symmetry.map(cell, 10));
+            }
+            assertEquals(100, images.size(), symmetry.name());
+        }
+    }
+
+    /**
+     * Test Case: Verify the group structure.
+     * * Type: Unit Testing
+     * * Technique: Property Verification (inverse, composition).
+     * * Description: Every symmetry composed with its inverse is the identity, and composition
+     * agrees with applying the two symmetries in turn on every cell.
+     */
+    @Test
+    public void testComposition() {
+        for (Symmetry outer : Symmetry.values()) {
+            assertEquals(Symmetry.IDENTITY, outer.after(outer.inverse()));
+            for (Symmetry inner : Symmetry.values()) {
+                Symmetry both = outer.after(inner);
+                for (int cell = 0; cell < 25; cell++) {
+                    assertEquals(outer.map(inner.map(cell, 5), 5), both.map(cell, 5));
+                }
+            }
+        }
+        assertEquals(Symmetry.ROTATE_180, Symmetry.ROTATE_90.after(Symmetry.ROTATE_90));
+    }
+
+    /**
+     * Test Case: Verify the images of ship placements and bitsets.
+     * * Type: Unit Testing
+     * * Technique: Equivalence Testing (placement image vs. cell images).
+     * * Description: For every placement of a Cruiser and every symmetry, the cells of the mapped
+     * placement are the images of the cells of the placement; mapping a bitset maps its cells.
+     */
+    @Test
+    public void testPlacementAndBitsetImages() {
+        PlacementIndex index = PlacementIndex.forSize(6);
+        int[] placements = new int[72];
+        int count = index.legalPlacements(new long[1], 3, placements);
+        for (Symmetry symmetry : Symmetry.values()) {
+            for (int i = 0; i < count; i++) {
+                long[] cells = new long[1];
+                index.occupy(cells, 3, placements[i]);
+                long[] image = new long[1];
+                index.occupy(image, 3, symmetry.mapPlacement(placements[i], 3, 6));
+                assertArrayEquals(symmetry.map(cells, 6), image);
+            }
+        }
+    }
+
+    /**
+     * Test Case: Verify the choice of the canonical form.
+     * * Type: Unit Testing
+     * * Technique: Boundary Value Analysis (ties).
+     * * Description: The canonical symmetry is the one with the smallest hash, the lowest ordinal
+     * winning ties, and the canonical hash is that smallest hash.
+     */
+    @Test
+    public void testCanonical() {
+        long[] hashes = {5, 3, 9, 3, -1, 7, -1, 8};
+        assertEquals(Symmetry.FLIP_HORIZONTAL, Symmetry.canonical(hashes));
+        assertEquals(-1, Symmetry.canonicalHash(hashes));
+        assertEquals(Symmetry.IDENTITY, Symmetry.canonical(new long[8]));
+    }
+}